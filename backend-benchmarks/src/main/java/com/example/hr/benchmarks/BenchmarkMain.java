@@ -0,0 +1,19 @@
+package com.example.hr.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Entry point of target/benchmarks.jar. Accepts the usual JMH command line
+// (e.g. "RowMapping -p rows=1000,100000") and always adds the GC profiler so
+// allocation rate per operation (gc.alloc.rate.norm) is reported next to time.
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .addProfiler(GCProfiler.class)
+            .build()).run();
+    }
+}
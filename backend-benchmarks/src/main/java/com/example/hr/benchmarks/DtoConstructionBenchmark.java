@@ -0,0 +1,78 @@
+package com.example.hr.benchmarks;
+
+import com.example.hr.backend_springboot.dto.TopEarnerDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Splits RowMappingBenchmark.topEarners into its parts: constructing the DTOs
+// from already-typed columns versus only casting the Object[] cells.
+// Their sum against the full mapping shows what the list and boxing cost.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class DtoConstructionBenchmark {
+
+    @Param({ "1000", "100000", "1000000", "10000000" })
+    public int rows;
+
+    private List<Object[]> raw;
+    private String[] departmentNames;
+    private String[] employeeNames;
+    private BigDecimal[] salaries;
+    private BigDecimal[] commissions;
+    private BigDecimal[] totals;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        raw = new SyntheticRows().topEarners(rows);
+        departmentNames = new String[rows];
+        employeeNames = new String[rows];
+        salaries = new BigDecimal[rows];
+        commissions = new BigDecimal[rows];
+        totals = new BigDecimal[rows];
+        for (int i = 0; i < rows; i++) {
+            Object[] row = raw.get(i);
+            departmentNames[i] = (String) row[0];
+            employeeNames[i] = (String) row[1];
+            salaries[i] = (BigDecimal) row[2];
+            commissions[i] = (BigDecimal) row[3];
+            totals[i] = (BigDecimal) row[4];
+        }
+    }
+
+    @Benchmark
+    public void constructFromColumns(Blackhole bh) {
+        for (int i = 0; i < rows; i++) {
+            bh.consume(new TopEarnerDTO(departmentNames[i], employeeNames[i], salaries[i], commissions[i], totals[i]));
+        }
+    }
+
+    @Benchmark
+    public void castCellsOnly(Blackhole bh) {
+        for (Object[] row : raw) {
+            bh.consume((String) row[0]);
+            bh.consume((String) row[1]);
+            bh.consume((BigDecimal) row[2]);
+            bh.consume((BigDecimal) row[3]);
+            bh.consume((BigDecimal) row[4]);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.hr.benchmarks;
+
+import com.example.hr.backend_springboot.dto.AnalyticsRowMapper;
+import com.example.hr.backend_springboot.dto.DepartmentStatsDTO;
+import com.example.hr.backend_springboot.dto.EmployeeSalaryPercentileDTO;
+import com.example.hr.backend_springboot.dto.ManagerWorkloadDTO;
+import com.example.hr.backend_springboot.dto.TopEarnerDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Cost of AnalyticsRowMapper: per-cell casts plus one DTO per row, exactly as
+// the analytics controllers run it on a query result.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms4g", "-Xmx4g" })
+public class RowMappingBenchmark {
+
+    @Param({ "1000", "100000", "1000000", "10000000" })
+    public int rows;
+
+    private List<Object[]> topEarners;
+    private List<Object[]> departmentStats;
+    private List<Object[]> managerWorkload;
+    private List<Object[]> salaryPercentiles;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        SyntheticRows synthetic = new SyntheticRows();
+        topEarners = synthetic.topEarners(rows);
+        departmentStats = synthetic.departmentStats(rows);
+        managerWorkload = synthetic.managerWorkload(rows);
+        salaryPercentiles = synthetic.salaryPercentiles(rows);
+    }
+
+    @Benchmark
+    public List<TopEarnerDTO> topEarners() {
+        return AnalyticsRowMapper.toTopEarners(topEarners);
+    }
+
+    @Benchmark
+    public List<DepartmentStatsDTO> departmentStats() {
+        return AnalyticsRowMapper.toDepartmentStats(departmentStats);
+    }
+
+    @Benchmark
+    public List<ManagerWorkloadDTO> managerWorkload() {
+        return AnalyticsRowMapper.toManagerWorkloads(managerWorkload);
+    }
+
+    @Benchmark
+    public List<EmployeeSalaryPercentileDTO> salaryPercentiles() {
+        return AnalyticsRowMapper.toSalaryPercentiles(salaryPercentiles);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.hr.benchmarks;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Deterministic result sets shaped like the analytics native queries (same
+// column order and JDBC value types). Cell values are drawn from bounded
+// palettes so a 10M-row set fits in a few hundred MB while the row arrays
+// themselves are all distinct, as they are when Hibernate returns them.
+final class SyntheticRows {
+
+    private static final int PALETTE = 4096;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+    private final String[] departments = new String[64];
+    private final String[] names = new String[PALETTE];
+    private final String[] titles = new String[32];
+    private final BigDecimal[] salaries = new BigDecimal[PALETTE];
+    private final BigDecimal[] commissions = new BigDecimal[8];
+    private final BigDecimal[] percents = new BigDecimal[PALETTE];
+    private final BigDecimal[] counts = new BigDecimal[256];
+
+    SyntheticRows() {
+        for (int i = 0; i < departments.length; i++) {
+            departments[i] = "Department " + i;
+        }
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "First" + i + " Last" + (i * 7919 % PALETTE);
+        }
+        for (int i = 0; i < titles.length; i++) {
+            titles[i] = "Job Title " + i;
+        }
+        for (int i = 0; i < salaries.length; i++) {
+            salaries[i] = BigDecimal.valueOf(2_000 + random.nextInt(38_000));
+        }
+        for (int i = 0; i < commissions.length; i++) {
+            commissions[i] = BigDecimal.valueOf(i * 5L, 2);
+        }
+        for (int i = 0; i < percents.length; i++) {
+            percents[i] = BigDecimal.valueOf(random.nextInt(10_001), 2);
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = BigDecimal.valueOf(i);
+        }
+    }
+
+    // department_name, employee_name, salary, commission_pct, total_compensation
+    List<Object[]> topEarners(int rows) {
+        List<Object[]> result = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            BigDecimal salary = pick(salaries);
+            BigDecimal commission = pick(commissions);
+            result.add(new Object[] {
+                pick(departments), pick(names), salary, commission, pick(salaries)
+            });
+        }
+        return result;
+    }
+
+    // department_name, employee_count, avg, median, min, max, stddev
+    List<Object[]> departmentStats(int rows) {
+        List<Object[]> result = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            result.add(new Object[] {
+                pick(departments), pick(counts), pick(salaries), pick(salaries),
+                pick(salaries), pick(salaries), pick(percents)
+            });
+        }
+        return result;
+    }
+
+    // manager_name, department_name, direct_reports, total_team_salary
+    List<Object[]> managerWorkload(int rows) {
+        List<Object[]> result = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            result.add(new Object[] { pick(names), pick(departments), pick(counts), pick(salaries) });
+        }
+        return result;
+    }
+
+    // department_name, employee_name, salary, salary_percentile
+    List<Object[]> salaryPercentiles(int rows) {
+        List<Object[]> result = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            result.add(new Object[] { pick(departments), pick(names), pick(salaries), pick(percents) });
+        }
+        return result;
+    }
+
+    // region_name, country_name, employee_count, total_salary, avg_salary
+    List<Object[]> regionCountry(int rows) {
+        List<Object[]> result = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            result.add(new Object[] { pick(titles), pick(departments), pick(counts), pick(salaries), pick(salaries) });
+        }
+        return result;
+    }
+
+    private <T> T pick(T[] palette) {
+        return palette[random.nextInt(palette.length)];
+    }
+}
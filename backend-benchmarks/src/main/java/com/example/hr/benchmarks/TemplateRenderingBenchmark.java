@@ -0,0 +1,122 @@
+package com.example.hr.benchmarks;
+
+import com.example.hr.backend_springboot.dto.AnalyticsRowMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.io.Writer;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Renders the analytics templates from the application jar with the same
+// SpEL-based engine the app uses. Output goes to a counting writer so the
+// numbers exclude buffering the page. Row counts stop at 100k: a rendered
+// page with millions of table rows is not a realistic response.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = { "-Xms2g", "-Xmx2g" })
+public class TemplateRenderingBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    public int rows;
+
+    private SpringTemplateEngine engine;
+    private Context topEarners;
+    private Context departmentStats;
+    private Context managerWorkload;
+    private Context regionCountry;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCharacterEncoding("UTF-8");
+        resolver.setCacheable(true);
+        engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+
+        SyntheticRows synthetic = new SyntheticRows();
+        topEarners = context("topEarners", AnalyticsRowMapper.toTopEarners(synthetic.topEarners(rows)));
+        departmentStats = context("stats", AnalyticsRowMapper.toDepartmentStats(synthetic.departmentStats(rows)));
+        managerWorkload = context("workloads", AnalyticsRowMapper.toManagerWorkloads(synthetic.managerWorkload(rows)));
+        regionCountry = context("data", synthetic.regionCountry(rows));
+        regionCountry.setVariable("title", "Employees by Region & Country");
+        regionCountry.setVariable("icon", "fa-globe");
+        regionCountry.setVariable("description", "Synthetic rows");
+        regionCountry.setVariable("headers", List.of("Region", "Country", "Employee Count", "Total Salary", "Avg Salary"));
+    }
+
+    @Benchmark
+    public long topEarners() {
+        return render("analytics/top-earners", topEarners);
+    }
+
+    @Benchmark
+    public long departmentStats() {
+        return render("analytics/department-stats", departmentStats);
+    }
+
+    @Benchmark
+    public long managerWorkload() {
+        return render("analytics/manager-workload", managerWorkload);
+    }
+
+    @Benchmark
+    public long genericAnalytics() {
+        return render("analytics/generic-analytics", regionCountry);
+    }
+
+    private long render(String template, Context context) {
+        CountingWriter out = new CountingWriter();
+        engine.process(template, context, out);
+        return out.chars;
+    }
+
+    private static Context context(String name, Object value) {
+        Context context = new Context(Locale.US);
+        context.setVariable(name, value);
+        return context;
+    }
+
+    private static final class CountingWriter extends Writer {
+        long chars;
+
+        @Override
+        public void write(char[] buf, int off, int len) {
+            chars += len;
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            chars += len;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.hr.datagen;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Generates a dataset into an embedded database and optionally keeps the app
+// serving it:
+//   java -cp ... com.example.hr.datagen.DatasetMain --employees=1000000 --seed=7 \
+//       --hr.embedded.url=file:./target/hr-1m [--serve]
+// Other --name=value arguments are passed to Spring.
+public class DatasetMain {
+
+    public static void main(String[] args) {
+        int employees = 10_000;
+        long seed = DatasetSpec.DEFAULT_SEED;
+        boolean serve = false;
+        List<String> springArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--employees=")) {
+                employees = Integer.parseInt(arg.substring("--employees=".length()).replace("_", ""));
+            } else if (arg.startsWith("--seed=")) {
+                seed = Long.parseLong(arg.substring("--seed=".length()));
+            } else if (arg.equals("--serve")) {
+                serve = true;
+            } else {
+                springArgs.add(arg);
+            }
+        }
+        ConfigurableApplicationContext context = EmbeddedHrDataset.boot(DatasetSpec.ofEmployees(employees, seed),
+            serve ? WebApplicationType.SERVLET : WebApplicationType.NONE, springArgs.toArray(String[]::new));
+        if (!serve) {
+            context.close();
+        }
+    }
+}
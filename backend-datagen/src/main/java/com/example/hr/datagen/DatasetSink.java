@@ -0,0 +1,7 @@
+package com.example.hr.datagen;
+
+// Receives generated rows table by table, in HrTable order. Values are in the
+// column order of the table's statement.
+public interface DatasetSink {
+    void row(HrTable table, Object... values);
+}
@@ -0,0 +1,56 @@
+package com.example.hr.datagen;
+
+// Shape of a generated dataset. Everything else (department, job and location
+// counts) is derived from the employee count, so a spec is fully described by
+// its employee count and seed unless a test needs to turn a knob.
+//
+// departmentSkew is the Zipf exponent of department sizes (0 = uniform, 1 =
+// the largest department is about ten times the tenth largest). deepChain is
+// the length of one straight reporting line under a department head, on top of
+// the naturally shallow random trees. jobHistoryFraction of employees get one
+// to three earlier jobs, and overlapFraction of those later jobs start before
+// the previous one ended.
+public record DatasetSpec(
+    int employees,
+    long seed,
+    double departmentSkew,
+    int deepChain,
+    double jobHistoryFraction,
+    double overlapFraction
+) {
+    public static final long DEFAULT_SEED = 42;
+
+    public DatasetSpec {
+        if (employees < 1_000) {
+            throw new IllegalArgumentException("At least 1000 employees are needed, got " + employees);
+        }
+        if (departmentSkew < 0 || jobHistoryFraction < 0 || jobHistoryFraction > 1
+                || overlapFraction < 0 || overlapFraction > 1 || deepChain < 0) {
+            throw new IllegalArgumentException("Invalid dataset spec");
+        }
+    }
+
+    public static DatasetSpec ofEmployees(int employees) {
+        return ofEmployees(employees, DEFAULT_SEED);
+    }
+
+    public static DatasetSpec ofEmployees(int employees, long seed) {
+        return new DatasetSpec(employees, seed, 1.0, Math.min(200, employees / 50), 0.3, 0.1);
+    }
+
+    public int departments() {
+        return clamp(employees / 100, 27, 100_000);
+    }
+
+    public int jobs() {
+        return clamp(employees / 5_000, 19, 500);
+    }
+
+    public int locations() {
+        return clamp(employees / 2_000, 23, 5_000);
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.hr.datagen;
+
+// What a generator run produced. fingerprint is a hash over every generated
+// value: two runs with the same spec must report the same one.
+public record DatasetSummary(
+    int employees,
+    int departments,
+    int jobs,
+    int locations,
+    long jobHistoryRows,
+    long overlappingJobHistoryRows,
+    int maxDepth,
+    int largestDepartment,
+    int medianDepartment,
+    long fingerprint
+) {
+}
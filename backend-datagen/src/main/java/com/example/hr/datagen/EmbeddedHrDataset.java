@@ -0,0 +1,57 @@
+package com.example.hr.datagen;
+
+import com.example.hr.backend_springboot.BackendSpringbootApplication;
+import com.example.hr.backend_springboot.service.AnalyticsPrecomputer;
+import com.example.hr.backend_springboot.service.DataVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+// Boots the application on the embedded H2 stand-in (the "embedded" profile)
+// and loads a generated dataset into the schema Hibernate created for it.
+// Benchmarks, load tests and ad-hoc runs all start from here so they see the
+// same data for the same spec. The run's DatasetSummary is registered as a
+// bean so reports can name the exact dataset they ran against. The data
+// version is bumped after the load and precomputed analytics are refreshed.
+public final class EmbeddedHrDataset {
+    private static final Logger log = LoggerFactory.getLogger(EmbeddedHrDataset.class);
+
+    public static final int BATCH_SIZE = 5_000;
+
+    private EmbeddedHrDataset() {
+    }
+
+    // Extra arguments are passed to Spring, e.g. "--hr.embedded.url=file:./target/hr-1m"
+    public static ConfigurableApplicationContext boot(DatasetSpec spec, WebApplicationType webType, String... args) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendSpringbootApplication.class)
+            .profiles("embedded")
+            .web(webType)
+            .run(args);
+        try {
+            DatasetSummary summary = load(context.getBean(DataSource.class), spec);
+            context.getBeanFactory().registerSingleton("hrDatasetSummary", summary);
+            // The rows went in behind the app's back: nothing derived from the empty schema is current any more
+            context.getBean(DataVersion.class).bump();
+            context.getBean(AnalyticsPrecomputer.class).refreshAll();
+        } catch (RuntimeException | SQLException e) {
+            context.close();
+            throw e instanceof RuntimeException re ? re : new IllegalStateException(e);
+        }
+        return context;
+    }
+
+    public static DatasetSummary load(DataSource dataSource, DatasetSpec spec) throws SQLException {
+        long started = System.nanoTime();
+        DatasetSummary summary;
+        try (JdbcDatasetLoader loader = new JdbcDatasetLoader(dataSource, BATCH_SIZE)) {
+            summary = new HrDatasetGenerator(spec).generate(loader);
+        }
+        log.info("Generated {} (seed {}) in {} ms", summary, spec.seed(), (System.nanoTime() - started) / 1_000_000);
+        return summary;
+    }
+}
@@ -0,0 +1,390 @@
+package com.example.hr.datagen;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Generates a synthetic HR dataset shaped like the Oracle sample schema at any
+// scale. All randomness comes from the spec's seed in a fixed draw order, so
+// the same spec always yields the same rows (see DatasetSummary.fingerprint).
+//
+// Shape:
+//  - one president; every department head reports to the president, and
+//    everyone else reports to an earlier member of their own department (now
+//    and then to the most recent one, which makes long chains), plus one
+//    straight reporting line of spec.deepChain people;
+//  - department sizes follow a Zipf distribution over a shuffled ranking;
+//  - hire dates never precede the manager's; salaries sit inside the job's
+//    range, skewed towards the minimum; only sales jobs get a commission;
+//  - job_history rows follow the hire date, some overlapping the previous one.
+//
+// Per-employee state is kept in int arrays (about 16 bytes per employee), and
+// rows are handed to the sink as they are generated. An instance generates once.
+public class HrDatasetGenerator {
+
+    private static final LocalDate END = LocalDate.of(2025, 6, 30);
+    private static final int EPOCH_END = (int) END.toEpochDay();
+    private static final int EPOCH_FOUNDED = (int) LocalDate.of(1987, 1, 1).toEpochDay();
+    private static final long FIRST_EMPLOYEE_ID = 100;
+    private static final int EXECUTIVE = 8;
+    // Share of employees with no department, like Kimberely Grant in the sample data
+    private static final double NO_DEPARTMENT = 0.01;
+    // Chance a new member reports to the department's most recent member instead of a random one
+    private static final double CHAIN = 0.1;
+
+    private static final String[] REGIONS = { "Europe", "Americas", "Asia", "Middle East and Africa" };
+
+    private static final String[][] COUNTRIES = {
+        { "AR", "Argentina", "2" }, { "AU", "Australia", "3" }, { "BE", "Belgium", "1" }, { "BR", "Brazil", "2" },
+        { "CA", "Canada", "2" }, { "CH", "Switzerland", "1" }, { "CN", "China", "3" }, { "DE", "Germany", "1" },
+        { "DK", "Denmark", "1" }, { "EG", "Egypt", "4" }, { "FR", "France", "1" }, { "IL", "Israel", "4" },
+        { "IN", "India", "3" }, { "IT", "Italy", "1" }, { "JP", "Japan", "3" }, { "KW", "Kuwait", "4" },
+        { "ML", "Malaysia", "3" }, { "MX", "Mexico", "2" }, { "NG", "Nigeria", "4" }, { "NL", "Netherlands", "1" },
+        { "SG", "Singapore", "3" }, { "UK", "United Kingdom", "1" }, { "US", "United States of America", "2" },
+        { "ZM", "Zambia", "4" }, { "ZW", "Zimbabwe", "4" }
+    };
+
+    private static final String[][] CITIES = {
+        { "Roma", "IT" }, { "Venice", "IT" }, { "Tokyo", "JP" }, { "Hiroshima", "JP" }, { "Southlake", "US" },
+        { "South San Francisco", "US" }, { "South Brunswick", "US" }, { "Seattle", "US" }, { "Toronto", "CA" },
+        { "Whitehorse", "CA" }, { "Beijing", "CN" }, { "Bombay", "IN" }, { "Sydney", "AU" }, { "Singapore", "SG" },
+        { "London", "UK" }, { "Oxford", "UK" }, { "Stretford", "UK" }, { "Munich", "DE" }, { "Sao Paulo", "BR" },
+        { "Geneva", "CH" }, { "Bern", "CH" }, { "Utrecht", "NL" }, { "Mexico City", "MX" }
+    };
+
+    private static final Object[][] JOBS = {
+        { "AD_PRES", "President", 20080, 40000 }, { "AD_VP", "Administration Vice President", 15000, 30000 },
+        { "AD_ASST", "Administration Assistant", 3000, 6000 }, { "FI_MGR", "Finance Manager", 8200, 16000 },
+        { "FI_ACCOUNT", "Accountant", 4200, 9000 }, { "AC_MGR", "Accounting Manager", 8200, 16000 },
+        { "AC_ACCOUNT", "Public Accountant", 4200, 9000 }, { "SA_MAN", "Sales Manager", 10000, 20080 },
+        { "SA_REP", "Sales Representative", 6000, 12008 }, { "PU_MAN", "Purchasing Manager", 8000, 15000 },
+        { "PU_CLERK", "Purchasing Clerk", 2500, 5500 }, { "ST_MAN", "Stock Manager", 5500, 8500 },
+        { "ST_CLERK", "Stock Clerk", 2008, 5000 }, { "SH_CLERK", "Shipping Clerk", 2500, 5500 },
+        { "IT_PROG", "Programmer", 4000, 10000 }, { "MK_MAN", "Marketing Manager", 9000, 15000 },
+        { "MK_REP", "Marketing Representative", 4000, 9000 }, { "HR_REP", "Human Resources Representative", 4000, 9000 },
+        { "PR_REP", "Public Relations Representative", 4500, 10500 }
+    };
+    private static final int[] MANAGER_JOBS = { 1, 3, 5, 7, 9, 11, 15 };
+
+    private static final String[] DEPARTMENTS = {
+        "Administration", "Marketing", "Purchasing", "Human Resources", "Shipping", "IT", "Public Relations",
+        "Sales", "Executive", "Finance", "Accounting", "Treasury", "Corporate Tax", "Control And Credit",
+        "Shareholder Services", "Benefits", "Manufacturing", "Construction", "Contracting", "Operations",
+        "IT Support", "NOC", "IT Helpdesk", "Government Sales", "Retail Sales", "Recruiting", "Payroll"
+    };
+
+    private static final String[] FIRST_NAMES = {
+        "Steven", "Neena", "Lex", "Alexander", "Bruce", "David", "Valli", "Diana", "Nancy", "Daniel", "John",
+        "Ismael", "Jose Manuel", "Luis", "Den", "Shelli", "Sigal", "Guy", "Karen", "Matthew", "Adam", "Payam",
+        "Shanta", "Kevin", "Julia", "Irene", "James", "Steven", "Laura", "Mozhe", "Jason", "Michael", "Ki",
+        "Hazel", "Renske", "Stephen", "John", "Joshua", "Trenna", "Curtis", "Randall", "Peter", "John", "Karen",
+        "Alberto", "Gerald", "Eleni", "Christopher", "Nanette", "Oliver", "Janette", "Patrick", "Allan",
+        "Lindsey", "Louise", "Sarath", "Clara", "Danielle", "Mattea", "David", "Sundar", "Amit", "Lisa",
+        "Harrison", "Tayler", "William", "Elizabeth", "Sundita", "Ellen", "Alyssa", "Jonathon", "Jack",
+        "Kimberely", "Charles", "Winston", "Jean", "Martha", "Girard", "Nandita", "Alexis", "Julia", "Anthony",
+        "Kelly", "Jennifer", "Timothy", "Randall", "Sarah", "Britney", "Samuel", "Vance", "Alana", "Kevin",
+        "Donald", "Douglas", "Pat", "Susan", "Hermann", "Shelley", "William"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "King", "Kochhar", "De Haan", "Hunold", "Ernst", "Austin", "Pataballa", "Lorentz", "Greenberg",
+        "Faviet", "Chen", "Sciarra", "Urman", "Popp", "Raphaely", "Khoo", "Baida", "Tobias", "Himuro",
+        "Colmenares", "Weiss", "Fripp", "Kaufling", "Vollman", "Mourgos", "Nayer", "Mikkilineni", "Landry",
+        "Markle", "Bissot", "Atkinson", "Marlow", "Olson", "Mallin", "Rogers", "Gee", "Philtanker", "Ladwig",
+        "Stiles", "Seo", "Patel", "Rajs", "Davies", "Matos", "Vargas", "Russell", "Partners", "Errazuriz",
+        "Cambrault", "Zlotkey", "Tucker", "Bernstein", "Hall", "Olsen", "Tuvault", "Smith", "Doran", "Sewall",
+        "Vishney", "Greene", "Marvins", "Lee", "Ande", "Banda", "Ozer", "Bloom", "Fox", "Taylor", "Livingston",
+        "Grant", "Johnson", "Taylor", "Fleaur", "Sullivan", "Geoni", "Sarchand", "Bull", "Dellinger", "Cabrio",
+        "Chung", "Dilly", "Gates", "Perkins", "Bell", "Everett", "McCain", "Jones", "Walsh", "Feeney",
+        "OConnell", "Grant", "Whalen", "Hartstein", "Fay", "Mavris", "Baer", "Higgins", "Gietz"
+    };
+
+    private final DatasetSpec spec;
+    private final SplittableRandom random;
+    private DatasetSink sink;
+    private long fingerprint = 17;
+
+    private String[] jobIds;
+    private int[] jobMin;
+    private int[] jobMax;
+    private int[] staffJobs;
+    private int[][] departmentJobs;
+    private int[] departmentLocation;
+
+    public HrDatasetGenerator(DatasetSpec spec) {
+        this.spec = spec;
+        this.random = new SplittableRandom(spec.seed());
+    }
+
+    public DatasetSummary generate(DatasetSink sink) {
+        this.sink = sink;
+        regionsAndCountries();
+        locations();
+        jobs();
+        departments();
+        return employees();
+    }
+
+    private void regionsAndCountries() {
+        for (int r = 0; r < REGIONS.length; r++) {
+            emit(HrTable.REGIONS, (long) (r + 1), REGIONS[r]);
+        }
+        for (String[] c : COUNTRIES) {
+            emit(HrTable.COUNTRIES, c[0], c[1], Long.valueOf(c[2]));
+        }
+    }
+
+    private void locations() {
+        for (int i = 0; i < spec.locations(); i++) {
+            String[] city = CITIES[i % CITIES.length];
+            emit(HrTable.LOCATIONS, locationId(i), (1 + random.nextInt(9999)) + " " + LAST_NAMES[i % LAST_NAMES.length] + " St",
+                String.valueOf(10000 + random.nextInt(90000)), city[0], null, city[1]);
+        }
+    }
+
+    private void jobs() {
+        int count = spec.jobs();
+        jobIds = new String[count];
+        jobMin = new int[count];
+        jobMax = new int[count];
+        for (int j = 0; j < count; j++) {
+            String title;
+            if (j < JOBS.length) {
+                jobIds[j] = (String) JOBS[j][0];
+                title = (String) JOBS[j][1];
+                jobMin[j] = (Integer) JOBS[j][2];
+                jobMax[j] = (Integer) JOBS[j][3];
+            } else {
+                jobIds[j] = String.format("SY_%04d", j - JOBS.length + 1);
+                title = "Specialist Grade " + (j - JOBS.length + 1);
+                jobMin[j] = 3000 + random.nextInt(9000);
+                jobMax[j] = jobMin[j] + jobMin[j] / 2 + random.nextInt(jobMin[j]);
+            }
+            emit(HrTable.JOBS, jobIds[j], title, BigDecimal.valueOf(jobMin[j]), BigDecimal.valueOf(jobMax[j]));
+        }
+        int[] staff = new int[count];
+        int n = 0;
+        for (int j = 1; j < count; j++) {
+            if (Arrays.binarySearch(MANAGER_JOBS, j) < 0) {
+                staff[n++] = j;
+            }
+        }
+        staffJobs = Arrays.copyOf(staff, n);
+    }
+
+    private void departments() {
+        int count = spec.departments();
+        departmentJobs = new int[count][];
+        departmentLocation = new int[count];
+        for (int d = 0; d < count; d++) {
+            String base = DEPARTMENTS[d % DEPARTMENTS.length];
+            String name = d < DEPARTMENTS.length ? base : base + " " + (d / DEPARTMENTS.length + 1);
+            departmentLocation[d] = random.nextInt(spec.locations());
+            // Most of a department shares its first job, the rest split the other two
+            departmentJobs[d] = new int[] { pick(staffJobs), pick(staffJobs), pick(staffJobs) };
+            emit(HrTable.DEPARTMENTS, departmentId(d), name, locationId(departmentLocation[d]));
+        }
+    }
+
+    private DatasetSummary employees() {
+        int n = spec.employees();
+        int departments = spec.departments();
+        int[] department = new int[n];
+        int[] hire = new int[n];
+        int[] depth = new int[n];
+        int[][] members = new int[departments][];
+        int[] memberCount = new int[departments];
+        double[] cumulative = zipf(departments);
+        int[] byRank = shuffledRanks(departments);
+        for (int d = 0; d < departments; d++) {
+            members[d] = new int[8];
+        }
+
+        // The president, then one head per department
+        department[0] = EXECUTIVE;
+        hire[0] = EPOCH_FOUNDED + 167;
+        employee(0, 0, -1, EXECUTIVE, hire[0], BigDecimal.valueOf(24000));
+        int next = 1;
+        for (int d = 0; d < departments; d++, next++) {
+            department[next] = d;
+            depth[next] = 1;
+            hire[next] = hire[0] + 30 + random.nextInt(4000);
+            int job = MANAGER_JOBS[random.nextInt(MANAGER_JOBS.length)];
+            employee(next, job, 0, d, hire[next], salary(job));
+            members[d][memberCount[d]++] = next;
+        }
+
+        // One long reporting line in the largest department
+        int deep = byRank[0];
+        for (int c = 0; c < spec.deepChain() && next < n; c++, next++) {
+            int manager = members[deep][memberCount[deep] - 1];
+            place(next, deep, manager, department, hire, depth);
+            members[deep] = grow(members[deep], memberCount[deep]);
+            members[deep][memberCount[deep]++] = next;
+        }
+
+        for (; next < n; next++) {
+            if (random.nextDouble() < NO_DEPARTMENT) {
+                place(next, -1, 1 + random.nextInt(departments), department, hire, depth);
+                continue;
+            }
+            int d = byRank[sample(cumulative)];
+            int count = memberCount[d];
+            int manager = random.nextDouble() < CHAIN
+                ? members[d][count - 1]
+                : members[d][random.nextInt(count)];
+            place(next, d, manager, department, hire, depth);
+            members[d] = grow(members[d], count);
+            members[d][memberCount[d]++] = next;
+        }
+
+        for (int d = 0; d < departments; d++) {
+            emit(HrTable.DEPARTMENT_MANAGERS, employeeId(members[d][0]), departmentId(d));
+        }
+
+        long[] history = jobHistory(department, hire);
+
+        int maxDepth = 0;
+        for (int i = 0; i < n; i++) {
+            maxDepth = Math.max(maxDepth, depth[i]);
+        }
+        int[] sizes = memberCount.clone();
+        Arrays.sort(sizes);
+        return new DatasetSummary(n, departments, jobIds.length, spec.locations(), history[0], history[1],
+            maxDepth, sizes[sizes.length - 1], sizes[sizes.length / 2], fingerprint);
+    }
+
+    // A regular employee: staff job from the department's mix, hired after the manager
+    private void place(int i, int d, int manager, int[] department, int[] hire, int[] depth) {
+        department[i] = d;
+        depth[i] = depth[manager] + 1;
+        hire[i] = Math.min(EPOCH_END, hire[manager] + 30 + random.nextInt(3000));
+        int job;
+        if (d < 0) {
+            job = pick(staffJobs);
+        } else {
+            double u = random.nextDouble();
+            int[] mix = departmentJobs[d];
+            job = u < 0.6 ? mix[0] : u < 0.9 ? mix[1] : mix[2];
+        }
+        employee(i, job, manager, d, hire[i], salary(job));
+    }
+
+    private void employee(int i, int job, int manager, int d, int hireDay, BigDecimal salary) {
+        String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+        String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        long id = employeeId(i);
+        String email = (Character.toLowerCase(first.charAt(0)) + last.toLowerCase().replace(" ", "")) + id
+            + "@example.com";
+        String phone = "515.555." + (1000 + random.nextInt(9000));
+        BigDecimal commission = jobIds[job].startsWith("SA_")
+            ? BigDecimal.valueOf(10 + 5 * random.nextInt(7), 2)
+            : null;
+        emit(HrTable.EMPLOYEES, id, first, last, email, phone, LocalDate.ofEpochDay(hireDay), jobIds[job], salary,
+            commission, manager < 0 ? null : employeeId(manager), d < 0 ? null : departmentId(d));
+    }
+
+    // Earlier jobs starting at the hire date, drawn from a separate stream so the
+    // employee rows do not depend on how many history rows are generated.
+    // Returns { rows, overlapping rows }.
+    private long[] jobHistory(int[] department, int[] hire) {
+        SplittableRandom r = new SplittableRandom(spec.seed() ^ 0x9E3779B97F4A7C15L);
+        long rows = 0;
+        long overlapping = 0;
+        for (int i = 1; i < department.length; i++) {
+            if (r.nextDouble() >= spec.jobHistoryFraction()) {
+                continue;
+            }
+            int jobs = 1 + r.nextInt(3);
+            int start = hire[i];
+            boolean overlaps = false;
+            for (int k = 0; k < jobs; k++) {
+                int length = 180 + r.nextInt(1300);
+                int end = start + length;
+                if (end > EPOCH_END) {
+                    break;
+                }
+                int d = department[i] < 0 || r.nextDouble() < 0.2 ? r.nextInt(spec.departments()) : department[i];
+                int job = staffJobs[r.nextInt(staffJobs.length)];
+                emit(HrTable.JOB_HISTORY, employeeId(i), LocalDate.ofEpochDay(start), LocalDate.ofEpochDay(end),
+                    jobIds[job], departmentId(d));
+                rows++;
+                if (overlaps) {
+                    overlapping++;
+                }
+                // The next job either starts the day after or while this one is still running
+                overlaps = r.nextDouble() < spec.overlapFraction();
+                start = overlaps ? end - 1 - r.nextInt(Math.min(90, length - 1)) : end + 1;
+            }
+        }
+        return new long[] { rows, overlapping };
+    }
+
+    private BigDecimal salary(int job) {
+        double u = random.nextDouble();
+        long amount = jobMin[job] + Math.round((jobMax[job] - jobMin[job]) * Math.pow(u, 1.5));
+        return BigDecimal.valueOf(amount / 10 * 10);
+    }
+
+    private double[] zipf(int count) {
+        double[] cumulative = new double[count];
+        double total = 0;
+        for (int k = 0; k < count; k++) {
+            total += 1.0 / Math.pow(k + 1, spec.departmentSkew());
+            cumulative[k] = total;
+        }
+        for (int k = 0; k < count; k++) {
+            cumulative[k] /= total;
+        }
+        return cumulative;
+    }
+
+    private int sample(double[] cumulative) {
+        int k = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(cumulative.length - 1, k >= 0 ? k : -k - 1);
+    }
+
+    private int[] shuffledRanks(int count) {
+        int[] ranks = new int[count];
+        for (int i = 0; i < count; i++) {
+            ranks[i] = i;
+        }
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = ranks[i];
+            ranks[i] = ranks[j];
+            ranks[j] = t;
+        }
+        return ranks;
+    }
+
+    private int pick(int[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static int[] grow(int[] values, int size) {
+        return size < values.length ? values : Arrays.copyOf(values, values.length * 2);
+    }
+
+    private void emit(HrTable table, Object... values) {
+        long h = fingerprint * 31 + table.ordinal();
+        for (Object v : values) {
+            h = h * 1_000_003 + (v == null ? 0 : v.hashCode());
+        }
+        fingerprint = h;
+        sink.row(table, values);
+    }
+
+    static long employeeId(int index) {
+        return FIRST_EMPLOYEE_ID + index;
+    }
+
+    static long departmentId(int index) {
+        return (index + 1) * 10L;
+    }
+
+    static long locationId(int index) {
+        return 1000 + index * 100L;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.hr.datagen;
+
+// Statements the generator's rows are written with, in load order. Departments
+// are inserted without a manager and get one once the employees exist.
+public enum HrTable {
+    REGIONS("INSERT INTO regions (region_id, region_name) VALUES (?, ?)"),
+    COUNTRIES("INSERT INTO countries (country_id, country_name, region_id) VALUES (?, ?, ?)"),
+    LOCATIONS("INSERT INTO locations (location_id, street_address, postal_code, city, state_province, country_id) "
+        + "VALUES (?, ?, ?, ?, ?, ?)"),
+    JOBS("INSERT INTO jobs (job_id, job_title, min_salary, max_salary) VALUES (?, ?, ?, ?)"),
+    DEPARTMENTS("INSERT INTO departments (department_id, department_name, location_id) VALUES (?, ?, ?)"),
+    EMPLOYEES("INSERT INTO employees (employee_id, first_name, last_name, email, phone_number, hire_date, job_id, "
+        + "salary, commission_pct, manager_id, department_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"),
+    DEPARTMENT_MANAGERS("UPDATE departments SET manager_id = ? WHERE department_id = ?"),
+    JOB_HISTORY("INSERT INTO job_history (employee_id, start_date, end_date, job_id, department_id) "
+        + "VALUES (?, ?, ?, ?, ?)");
+
+    private final String sql;
+
+    HrTable(String sql) {
+        this.sql = sql;
+    }
+
+    public String sql() {
+        return sql;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.hr.datagen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+
+// Writes generated rows into an existing (entity-generated) HR schema with JDBC
+// statement batching, committing every batchSize rows. Once everything is in,
+// the id sequences are moved past the generated ids so rows added through the
+// app do not collide with them. Expects an empty schema.
+public class JdbcDatasetLoader implements DatasetSink, AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(JdbcDatasetLoader.class);
+
+    private final Connection connection;
+    private final int batchSize;
+    private final boolean autoCommit;
+    private HrTable table;
+    private PreparedStatement statement;
+    private int pending;
+    private long rows;
+    private long maxEmployeeId;
+    private long maxDepartmentId;
+    private long maxLocationId;
+
+    public JdbcDatasetLoader(DataSource dataSource, int batchSize) throws SQLException {
+        this.connection = dataSource.getConnection();
+        this.autoCommit = connection.getAutoCommit();
+        this.batchSize = batchSize;
+        connection.setAutoCommit(false);
+    }
+
+    @Override
+    public void row(HrTable table, Object... values) {
+        try {
+            if (table != this.table) {
+                flush();
+                if (statement != null) {
+                    statement.close();
+                }
+                statement = connection.prepareStatement(table.sql());
+                this.table = table;
+            }
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            statement.addBatch();
+            track(table, values);
+            if (++pending == batchSize) {
+                flush();
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Loading " + table + " failed after " + rows + " rows", e);
+        }
+    }
+
+    public long rows() {
+        return rows;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            flush();
+            if (statement != null) {
+                statement.close();
+            }
+            try (Statement s = connection.createStatement()) {
+                restart(s, "EMPLOYEES_SEQ", maxEmployeeId);
+                restart(s, "DEPARTMENTS_SEQ", maxDepartmentId);
+                restart(s, "LOCATIONS_SEQ", maxLocationId);
+            }
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(autoCommit);
+            connection.close();
+        }
+    }
+
+    private void flush() throws SQLException {
+        if (pending == 0) {
+            return;
+        }
+        statement.executeBatch();
+        connection.commit();
+        rows += pending;
+        pending = 0;
+        if (rows % 1_000_000 < batchSize) {
+            log.info("Loaded {} rows", rows);
+        }
+    }
+
+    private void track(HrTable table, Object[] values) {
+        switch (table) {
+            case EMPLOYEES -> maxEmployeeId = Math.max(maxEmployeeId, (Long) values[0]);
+            case DEPARTMENTS -> maxDepartmentId = Math.max(maxDepartmentId, (Long) values[0]);
+            case LOCATIONS -> maxLocationId = Math.max(maxLocationId, (Long) values[0]);
+            default -> { }
+        }
+    }
+
+    private static void restart(Statement s, String sequence, long maxId) throws SQLException {
+        s.execute(String.format(Locale.ROOT, "ALTER SEQUENCE %s RESTART WITH %d", sequence, maxId + 1));
+    }
+}
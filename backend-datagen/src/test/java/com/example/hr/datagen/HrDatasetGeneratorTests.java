@@ -0,0 +1,99 @@
+package com.example.hr.datagen;
+
+import com.example.hr.backend_springboot.model.Employee;
+import com.example.hr.backend_springboot.repository.EmployeeRepository;
+import com.example.hr.backend_springboot.repository.JobRepository;
+import com.example.hr.backend_springboot.service.AnalyticsPrecomputer;
+import com.example.hr.backend_springboot.service.AnalyticsQuery;
+import com.example.hr.backend_springboot.service.DataVersion;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HrDatasetGeneratorTests {
+
+	@Test
+	void sameSpecGivesTheSameRows() {
+		DatasetSummary first = new HrDatasetGenerator(DatasetSpec.ofEmployees(5_000)).generate((table, values) -> { });
+		DatasetSummary second = new HrDatasetGenerator(DatasetSpec.ofEmployees(5_000)).generate((table, values) -> { });
+		DatasetSummary otherSeed = new HrDatasetGenerator(DatasetSpec.ofEmployees(5_000, 7)).generate((table, values) -> { });
+
+		assertThat(second).isEqualTo(first);
+		assertThat(otherSeed.fingerprint()).isNotEqualTo(first.fingerprint());
+	}
+
+	@Test
+	void datasetHasSkewedDepartmentsDeepTreesAndOverlappingHistory() {
+		Map<HrTable, Integer> counts = new EnumMap<>(HrTable.class);
+		Map<Long, LocalDate> hired = new HashMap<>();
+		int[] badManagers = new int[1];
+		DatasetSummary summary = new HrDatasetGenerator(DatasetSpec.ofEmployees(20_000)).generate((table, values) -> {
+			counts.merge(table, 1, Integer::sum);
+			if (table == HrTable.EMPLOYEES) {
+				Long manager = (Long) values[9];
+				LocalDate hire = (LocalDate) values[5];
+				// Managers come first and were hired no later than their reports
+				if (manager != null && (!hired.containsKey(manager) || hired.get(manager).isAfter(hire))) {
+					badManagers[0]++;
+				}
+				hired.put((Long) values[0], hire);
+			}
+		});
+
+		assertThat(counts.get(HrTable.EMPLOYEES)).isEqualTo(20_000);
+		assertThat(counts.get(HrTable.DEPARTMENTS)).isEqualTo(summary.departments());
+		assertThat(counts.get(HrTable.DEPARTMENT_MANAGERS)).isEqualTo(summary.departments());
+		assertThat(badManagers[0]).isZero();
+		assertThat(summary.largestDepartment()).isGreaterThan(10 * summary.medianDepartment());
+		assertThat(summary.maxDepth()).isGreaterThan(DatasetSpec.ofEmployees(20_000).deepChain());
+		assertThat(summary.jobHistoryRows()).isEqualTo(counts.get(HrTable.JOB_HISTORY).longValue());
+		assertThat(summary.overlappingJobHistoryRows()).isPositive();
+	}
+
+	@Test
+	void loadsIntoTheEmbeddedSchema() {
+		DatasetSpec spec = DatasetSpec.ofEmployees(10_000);
+		try (ConfigurableApplicationContext context = EmbeddedHrDataset.boot(spec, WebApplicationType.NONE,
+				"--hr.embedded.url=mem:datagen")) {
+			JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+			assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM employees", Long.class)).isEqualTo(10_000L);
+			assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM departments WHERE manager_id IS NULL", Long.class))
+				.isZero();
+			assertThat(jdbc.queryForObject("SELECT COUNT(*) FROM job_history", Long.class)).isPositive();
+
+			// The sequence was moved past the generated ids
+			Employee added = new Employee();
+			added.setFirstName("New");
+			added.setLastName("Hire");
+			added.setEmail("new.hire@example.com");
+			added.setHireDate(LocalDate.of(2025, 7, 1));
+			added.setSalary(new BigDecimal("5000"));
+			added.setJob(context.getBean(JobRepository.class).findById("IT_PROG").orElseThrow());
+			Employee saved = context.getBean(EmployeeRepository.class).save(added);
+			assertThat(saved.getEmployeeId()).isEqualTo(HrDatasetGenerator.employeeId(10_000));
+		}
+	}
+
+	@Test
+	void precomputedAnalyticsReflectTheLoadedRows() {
+		try (ConfigurableApplicationContext context = EmbeddedHrDataset.boot(DatasetSpec.ofEmployees(2_000),
+				WebApplicationType.NONE, "--hr.embedded.url=mem:datagen-precompute")) {
+			AnalyticsPrecomputer precomputer = context.getBean(AnalyticsPrecomputer.class);
+			assertThat(precomputer.handles(AnalyticsQuery.JOB_ROLES_BY_REGION)).isTrue();
+			int expected = context.getBean(JdbcTemplate.class).queryForList(AnalyticsQuery.JOB_ROLES_BY_REGION.sql()).size();
+
+			assertThat(expected).isPositive();
+			assertThat(precomputer.get(AnalyticsQuery.JOB_ROLES_BY_REGION)).hasSize(expected);
+			assertThat(context.getBean(DataVersion.class).current()).isPositive();
+		}
+	}
+}
@@ -0,0 +1,92 @@
+package com.example.hr.loadtest;
+
+import com.example.hr.backend_springboot.metrics.LatencyHistogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Outcomes of one endpoint during the measured window. Latency is recorded for
+// every completed request, failed or not; outcomes are counted by HTTP status,
+// or by "timeout", "io-error" and "dropped" (not sent because too many
+// requests were already outstanding). A 503 is the server shedding load (a
+// full bulkhead or queue): it counts as an error and is also reported as shed.
+// Drops never reached the server, so they are not errors. Throughput counts
+// successful completions only; errors and drops get their own per-second rates.
+class EndpointStats {
+    static final String SHED = "503";
+    static final String DROPPED = "dropped";
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    void record(String outcome, long latencyNanos, boolean ok) {
+        if (latencyNanos >= 0) {
+            latency.recordNanos(latencyNanos);
+        }
+        if (ok) {
+            successes.increment();
+        } else if (DROPPED.equals(outcome)) {
+            dropped.increment();
+        } else {
+            errors.increment();
+        }
+        if (SHED.equals(outcome)) {
+            shed.increment();
+        }
+        outcomes.computeIfAbsent(outcome, k -> new LongAdder()).increment();
+    }
+
+    long requests() {
+        return outcomes.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    long successes() {
+        return successes.sum();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    long shed() {
+        return shed.sum();
+    }
+
+    LatencyHistogram latency() {
+        return latency;
+    }
+
+    Map<String, Object> report(double seconds) {
+        long requests = requests();
+        Map<String, Object> r = new TreeMap<>();
+        r.put("requests", requests);
+        r.put("errors", errors());
+        r.put("errorRate", requests == 0 ? 0.0 : round(errors() / (double) requests, 4));
+        r.put("shed", shed());
+        r.put("shedRate", requests == 0 ? 0.0 : round(shed() / (double) requests, 4));
+        r.put("dropped", dropped());
+        r.put("throughputPerSec", round(successes() / seconds, 2));
+        r.put("errorsPerSec", round(errors() / seconds, 2));
+        r.put("droppedPerSec", round(dropped() / seconds, 2));
+        r.put("latency", latency.summary());
+        Map<String, Long> byOutcome = new TreeMap<>();
+        outcomes.forEach((k, v) -> byOutcome.put(k, v.sum()));
+        r.put("outcomes", byOutcome);
+        return r;
+    }
+
+    static double round(double value, int digits) {
+        double scale = Math.pow(10, digits);
+        return Math.round(value * scale) / scale;
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.hr.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-model load: requests arrive as a Poisson process at the target rate,
+// independent of how fast earlier ones complete, the way real users do. A slow
+// server therefore builds a queue instead of quietly lowering the offered load
+// (closed-loop drivers hide exactly the latency we want to see). Latency is
+// measured from each request's scheduled arrival, not from when it was actually
+// sent, so time spent waiting behind the driver itself is counted too.
+//
+// Arrivals, operation choice and request parameters come from one seeded
+// random stream, so two runs with the same settings send the same sequence.
+class LoadDriver {
+    private static final Logger log = LoggerFactory.getLogger(LoadDriver.class);
+
+    private final HttpClient client;
+    private final Workload workload;
+    private final List<Operation> operations;
+    private final double[] cumulative;
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final Semaphore outstanding;
+    private final int maxOutstanding;
+
+    LoadDriver(HttpClient client, Workload workload, List<Operation> operations, int maxOutstanding) {
+        this.client = client;
+        this.workload = workload;
+        this.operations = operations;
+        this.cumulative = new double[operations.size()];
+        double total = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            total += operations.get(i).weight();
+            cumulative[i] = total;
+            stats.putIfAbsent(operations.get(i).label(), new EndpointStats());
+        }
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] /= total;
+        }
+        this.maxOutstanding = maxOutstanding;
+        this.outstanding = new Semaphore(maxOutstanding);
+    }
+
+    // Runs warmup + duration of arrivals, then waits up to drainTimeout for the
+    // stragglers. Only arrivals scheduled after the warmup are recorded.
+    LoadResult run(double ratePerSecond, Duration warmup, Duration duration, long seed, Duration drainTimeout)
+            throws InterruptedException {
+        SplittableRandom random = new SplittableRandom(seed);
+        double meanGapNanos = 1e9 / ratePerSecond;
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        long arrival = start;
+        long sent = 0;
+        long dropped = 0;
+        while (true) {
+            arrival += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+            if (arrival >= end) {
+                break;
+            }
+            long wait = arrival - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation op = null;
+            HttpRequest request = null;
+            while (request == null) {
+                op = pick(random);
+                request = op.request().apply(workload, random);
+            }
+            boolean measured = arrival >= measureFrom;
+            EndpointStats endpoint = stats.get(op.label());
+            if (!outstanding.tryAcquire()) {
+                dropped++;
+                if (measured) {
+                    endpoint.record(EndpointStats.DROPPED, -1, false);
+                }
+                continue;
+            }
+            sent++;
+            send(op, request, arrival, measured ? endpoint : null);
+        }
+        if (outstanding.tryAcquire(maxOutstanding, drainTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            outstanding.release(maxOutstanding);
+        } else {
+            log.warn("Requests still outstanding after {}; reporting without them", drainTimeout);
+        }
+        double seconds = duration.toNanos() / 1e9;
+        log.info("Sent {} requests ({} dropped) over {} s", sent, dropped, (System.nanoTime() - start) / 1_000_000_000);
+        return new LoadResult(stats, seconds);
+    }
+
+    private void send(Operation op, HttpRequest request, long arrival, EndpointStats endpoint) {
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+            .whenComplete((response, failure) -> {
+                long latency = System.nanoTime() - arrival;
+                try {
+                    if (failure == null) {
+                        int status = response.statusCode();
+                        boolean ok = op.succeeded(status);
+                        if (ok) {
+                            op.afterSuccess().accept(workload);
+                        }
+                        if (endpoint != null) {
+                            endpoint.record(String.valueOf(status), latency, ok);
+                        }
+                    } else if (endpoint != null) {
+                        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                            ? failure.getCause() : failure;
+                        endpoint.record(cause instanceof HttpTimeoutException ? "timeout"
+                            : cause instanceof IOException ? "io-error" : cause.getClass().getSimpleName(),
+                            latency, false);
+                    }
+                } finally {
+                    outstanding.release();
+                }
+            });
+    }
+
+    private Operation pick(SplittableRandom random) {
+        double u = random.nextDouble();
+        for (int i = 0; i < cumulative.length; i++) {
+            if (u < cumulative[i]) {
+                return operations.get(i);
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    record LoadResult(Map<String, EndpointStats> endpoints, double measuredSeconds) {
+    }
+}
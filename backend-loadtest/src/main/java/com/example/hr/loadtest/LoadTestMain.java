@@ -0,0 +1,131 @@
+package com.example.hr.loadtest;
+
+import com.example.hr.backend_springboot.metrics.LatencyHistogram;
+import com.example.hr.datagen.DatasetSpec;
+import com.example.hr.datagen.DatasetSummary;
+import com.example.hr.datagen.EmbeddedHrDataset;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Entry point of target/loadtest.jar. Boots the app on a generated embedded
+// dataset (or targets --url), drives a scenario at a fixed arrival rate and
+// writes a JSON report with keys in a stable order, so two reports can be
+// diffed directly:
+//   java -jar loadtest.jar --scenario=mixed --rate=200 --warmup=30s --duration=2m \
+//       --employees=100000 --out=target/loadtest/mixed.json
+// Other --name=value arguments are passed to Spring.
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        Map<String, Object> report = run(options);
+        Path out = Path.of(options.out());
+        write(report, out);
+        System.out.println("Load test report written to " + out.toAbsolutePath());
+    }
+
+    static Map<String, Object> run(LoadTestOptions options) throws InterruptedException {
+        DatasetSpec spec = DatasetSpec.ofEmployees(options.employees(), options.seed());
+        ConfigurableApplicationContext context = null;
+        URI baseUri;
+        DatasetSummary dataset = null;
+        try {
+            if (options.url() == null) {
+                List<String> springArgs = new ArrayList<>(options.springArgs());
+                springArgs.add("--server.port=0");
+                context = EmbeddedHrDataset.boot(spec, WebApplicationType.SERVLET, springArgs.toArray(String[]::new));
+                baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+                dataset = context.getBean(DatasetSummary.class);
+            } else {
+                baseUri = URI.create(options.url());
+            }
+            HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+            Workload workload = new Workload(baseUri, options.timeout(), 100, spec.employees(), spec.departments());
+            LoadDriver driver = new LoadDriver(client, workload, options.scenario().operations(), options.maxOutstanding());
+            LoadDriver.LoadResult result = driver.run(options.rate(), options.warmup(), options.duration(),
+                options.seed(), options.timeout());
+            return report(options, dataset, result);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static Map<String, Object> report(LoadTestOptions options, DatasetSummary dataset,
+                                              LoadDriver.LoadResult result) {
+        Map<String, Object> report = new TreeMap<>();
+        Map<String, Object> settings = new TreeMap<>();
+        settings.put("scenario", options.scenario().name().toLowerCase());
+        settings.put("targetRatePerSec", options.rate());
+        settings.put("warmupSeconds", options.warmup().toSeconds());
+        settings.put("durationSeconds", options.duration().toSeconds());
+        settings.put("maxOutstanding", options.maxOutstanding());
+        settings.put("seed", options.seed());
+        settings.put("target", options.url() == null ? "embedded" : options.url());
+        report.put("settings", settings);
+        if (dataset != null) {
+            report.put("dataset", dataset);
+        }
+
+        LatencyHistogram all = new LatencyHistogram();
+        long requests = 0;
+        long successes = 0;
+        long errors = 0;
+        long dropped = 0;
+        long shed = 0;
+        Map<String, Object> endpoints = new TreeMap<>();
+        for (Map.Entry<String, EndpointStats> e : result.endpoints().entrySet()) {
+            EndpointStats s = e.getValue();
+            if (s.requests() == 0) {
+                continue;
+            }
+            endpoints.put(e.getKey(), s.report(result.measuredSeconds()));
+            requests += s.requests();
+            successes += s.successes();
+            errors += s.errors();
+            dropped += s.dropped();
+            shed += s.shed();
+        }
+        Map<String, Object> totals = new TreeMap<>();
+        totals.put("requests", requests);
+        totals.put("errors", errors);
+        totals.put("errorRate", requests == 0 ? 0.0 : EndpointStats.round(errors / (double) requests, 4));
+        totals.put("shed", shed);
+        totals.put("shedRate", requests == 0 ? 0.0 : EndpointStats.round(shed / (double) requests, 4));
+        totals.put("dropped", dropped);
+        totals.put("throughputPerSec", EndpointStats.round(successes / result.measuredSeconds(), 2));
+        totals.put("errorsPerSec", EndpointStats.round(errors / result.measuredSeconds(), 2));
+        totals.put("droppedPerSec", EndpointStats.round(dropped / result.measuredSeconds(), 2));
+        report.put("totals", totals);
+        report.put("endpoints", endpoints);
+        return report;
+    }
+
+    static void write(Map<String, Object> report, Path out) throws IOException {
+        if (out.getParent() != null) {
+            Files.createDirectories(out.getParent());
+        }
+        new ObjectMapper()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .writeValue(out.toFile(), report);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.hr.loadtest;
+
+import com.example.hr.datagen.DatasetSpec;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Command line of the load test. Durations take the Spring forms (30s, 2m, PT1M).
+record LoadTestOptions(
+    Scenario scenario,
+    double rate,
+    Duration warmup,
+    Duration duration,
+    Duration timeout,
+    int maxOutstanding,
+    int employees,
+    long seed,
+    String url,
+    String out,
+    List<String> springArgs
+) {
+    static LoadTestOptions parse(String... args) {
+        Scenario scenario = Scenario.MIXED;
+        double rate = 50;
+        Duration warmup = Duration.ofSeconds(10);
+        Duration duration = Duration.ofSeconds(60);
+        Duration timeout = Duration.ofSeconds(30);
+        int maxOutstanding = 1_000;
+        int employees = 10_000;
+        long seed = DatasetSpec.DEFAULT_SEED;
+        String url = null;
+        String out = null;
+        List<String> springArgs = new ArrayList<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            String name = eq < 0 ? arg : arg.substring(0, eq);
+            String value = eq < 0 ? "" : arg.substring(eq + 1);
+            switch (name) {
+                case "--scenario" -> scenario = Scenario.fromName(value);
+                case "--rate" -> rate = Double.parseDouble(value);
+                case "--warmup" -> warmup = DurationStyle.detectAndParse(value);
+                case "--duration" -> duration = DurationStyle.detectAndParse(value);
+                case "--timeout" -> timeout = DurationStyle.detectAndParse(value);
+                case "--max-outstanding" -> maxOutstanding = Integer.parseInt(value);
+                case "--employees" -> employees = Integer.parseInt(value.replace("_", ""));
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--url" -> url = value;
+                case "--out" -> out = value;
+                default -> springArgs.add(arg);
+            }
+        }
+        if (rate <= 0) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+        if (out == null) {
+            out = "target/loadtest/" + scenario.name().toLowerCase() + ".json";
+        }
+        return new LoadTestOptions(scenario, rate, warmup, duration, timeout, maxOutstanding, employees, seed,
+            url, out, List.copyOf(springArgs));
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.hr.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.SplittableRandom;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+// One kind of request in a traffic mix. label names the endpoint in the report
+// (path templates, not concrete ids). Form posts must answer with a redirect;
+// a 200 there means the form was re-rendered with errors. request may return
+// null when the operation has nothing to act on yet; another one is picked.
+record Operation(String label, double weight, boolean expectRedirect,
+                 BiFunction<Workload, SplittableRandom, HttpRequest> request,
+                 Consumer<Workload> afterSuccess) {
+
+    Operation(String label, double weight, boolean expectRedirect,
+              BiFunction<Workload, SplittableRandom, HttpRequest> request) {
+        this(label, weight, expectRedirect, request, w -> { });
+    }
+
+    Operation scaled(double factor) {
+        return new Operation(label, weight * factor, expectRedirect, request, afterSuccess);
+    }
+
+    boolean succeeded(int status) {
+        return expectRedirect ? status >= 300 && status < 400 : status >= 200 && status < 400;
+    }
+}
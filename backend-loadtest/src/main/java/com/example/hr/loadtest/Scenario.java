@@ -0,0 +1,88 @@
+package com.example.hr.loadtest;
+
+import com.example.hr.backend_springboot.service.AnalyticsQuery;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Traffic mixes. Weights are relative within a mix; MIXED combines the other
+// three as 60% browsing, 15% writes and 25% analytics.
+enum Scenario {
+    BROWSE, CRUD, ANALYTICS, MIXED;
+
+    List<Operation> operations() {
+        return switch (this) {
+            case BROWSE -> browse();
+            case CRUD -> crud();
+            case ANALYTICS -> analytics();
+            case MIXED -> {
+                List<Operation> ops = new ArrayList<>();
+                browse().forEach(o -> ops.add(o.scaled(0.60 / total(browse()))));
+                crud().forEach(o -> ops.add(o.scaled(0.15 / total(crud()))));
+                analytics().forEach(o -> ops.add(o.scaled(0.25 / total(analytics()))));
+                yield ops;
+            }
+        };
+    }
+
+    static Scenario fromName(String name) {
+        return valueOf(name.trim().toUpperCase());
+    }
+
+    private static List<Operation> browse() {
+        return List.of(
+            new Operation("GET /employees", 25, false, (w, r) -> w.get("/employees")),
+            new Operation("GET /employees?sort=name", 5, false, (w, r) -> w.get("/employees?sort=name")),
+            new Operation("GET /employees/view/{id}", 40, false,
+                (w, r) -> w.get("/employees/view/" + w.generatedEmployee(r))),
+            new Operation("GET /employees/edit/{id}", 10, false,
+                (w, r) -> w.get("/employees/edit/" + w.generatedEmployee(r))),
+            new Operation("GET /departments", 10, false, (w, r) -> w.get("/departments")),
+            new Operation("GET /api/org/{id}/chain", 10, false,
+                (w, r) -> w.get("/api/org/" + w.generatedEmployee(r) + "/chain")));
+    }
+
+    private static List<Operation> crud() {
+        return List.of(
+            new Operation("POST /employees/add", 40, true, (w, r) -> w.postForm("/employees/add", form(w, r, null)),
+                Workload::added),
+            new Operation("POST /employees/edit/{id}", 35, true, (w, r) -> {
+                long id = w.ownEmployee(r);
+                return id < 0 ? null : w.postForm("/employees/edit/" + id, form(w, r, id));
+            }),
+            new Operation("GET /employees/delete/{id}", 25, true, (w, r) -> {
+                long id = w.nextToDelete();
+                return id < 0 ? null : w.get("/employees/delete/" + id);
+            }));
+    }
+
+    private static List<Operation> analytics() {
+        List<Operation> ops = new ArrayList<>();
+        ops.add(new Operation("GET /analytics/dashboard", 2, false, (w, r) -> w.get("/analytics/dashboard")));
+        for (AnalyticsQuery q : AnalyticsQuery.values()) {
+            String path = "/analytics/" + q.getSlug();
+            ops.add(new Operation("GET " + path, 1, false, (w, r) -> w.get(path)));
+        }
+        return ops;
+    }
+
+    private static Map<String, String> form(Workload w, SplittableRandom r, Long id) {
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("firstName", "Load");
+        form.put("lastName", id == null ? "Added" : "Edited");
+        form.put("email", w.uniqueEmail());
+        form.put("hireDate", "2025-07-01");
+        form.put("salary", String.valueOf(3000 + r.nextInt(9000)));
+        form.put("department", String.valueOf(w.department(r)));
+        form.put("job", "IT_PROG");
+        form.put("manager", String.valueOf(w.generatedEmployee(r)));
+        return form;
+    }
+
+    private static double total(List<Operation> ops) {
+        return ops.stream().mapToDouble(Operation::weight).sum();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.hr.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLong;
+
+// What the operations need to build requests: the server, the generated id
+// ranges, and the employees this run has added itself. Edits and deletes only
+// touch those, so the generated dataset keeps its shape however long a run is.
+class Workload {
+    private final URI baseUri;
+    private final Duration timeout;
+    private final long firstEmployeeId;
+    private final int employees;
+    private final int departments;
+    private final AtomicLong added = new AtomicLong();
+    private final AtomicLong deleted = new AtomicLong();
+    private final AtomicLong emails = new AtomicLong();
+
+    // firstEmployeeId is also where the app's sequence continues after the generated ids
+    Workload(URI baseUri, Duration timeout, long firstEmployeeId, int employees, int departments) {
+        this.baseUri = baseUri;
+        this.timeout = timeout;
+        this.firstEmployeeId = firstEmployeeId;
+        this.employees = employees;
+        this.departments = departments;
+    }
+
+    HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(timeout).GET().build();
+    }
+
+    HttpRequest postForm(String path, Map<String, String> form) {
+        StringJoiner body = new StringJoiner("&");
+        form.forEach((k, v) -> body.add(URLEncoder.encode(k, StandardCharsets.UTF_8) + "="
+            + URLEncoder.encode(v, StandardCharsets.UTF_8)));
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(timeout)
+            .header("Content-Type", "application/x-www-form-urlencoded")
+            .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+            .build();
+    }
+
+    long generatedEmployee(SplittableRandom random) {
+        return firstEmployeeId + random.nextInt(employees);
+    }
+
+    long department(SplittableRandom random) {
+        return (random.nextInt(departments) + 1) * 10L;
+    }
+
+    String uniqueEmail() {
+        return "load" + emails.incrementAndGet() + "@example.com";
+    }
+
+    // Counted when an add has been acknowledged with its redirect. Ids are assumed to
+    // follow on from the generated ones in order, which holds while adds do not fail.
+    void added() {
+        added.incrementAndGet();
+    }
+
+    // An employee this run added that has not been handed to a delete yet, or -1
+    long ownEmployee(SplittableRandom random) {
+        long from = deleted.get();
+        long to = added.get();
+        return to > from ? firstEmployeeId + employees + from + random.nextLong(to - from) : -1;
+    }
+
+    long nextToDelete() {
+        while (true) {
+            long d = deleted.get();
+            if (d >= added.get()) {
+                return -1;
+            }
+            if (deleted.compareAndSet(d, d + 1)) {
+                return firstEmployeeId + employees + d;
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.hr.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadTestHarnessTests {
+
+	@Test
+	void shortRunReportsEveryEndpointOfTheMix(@TempDir Path dir) throws Exception {
+		LoadTestOptions options = LoadTestOptions.parse("--scenario=mixed", "--rate=40", "--warmup=1s",
+			"--duration=4s", "--employees=2000", "--hr.embedded.url=mem:loadtest");
+
+		Map<String, Object> report = LoadTestMain.run(options);
+		Path out = dir.resolve("report.json");
+		LoadTestMain.write(report, out);
+
+		JsonNode json = new ObjectMapper().readTree(out.toFile());
+		assertThat(json.at("/settings/scenario").asText()).isEqualTo("mixed");
+		assertThat(json.at("/dataset/employees").asInt()).isEqualTo(2000);
+		assertThat(json.at("/totals/requests").asLong()).isPositive();
+		assertThat(json.at("/totals/shedRate").asDouble()).isLessThan(1.0);
+		JsonNode view = json.at("/endpoints/GET ~1employees~1view~1{id}");
+		long requests = view.get("requests").asLong();
+		assertThat(requests).isPositive();
+		assertThat(view.at("/latency/p99Ms").asDouble()).isPositive();
+		// The bulkhead may shed part of a short burst on a small machine, but nothing else may fail
+		long shed = view.get("shed").asLong();
+		assertThat(view.at("/outcomes/200").asLong()).isPositive().isEqualTo(requests - shed);
+		assertThat(view.get("errors").asLong()).isEqualTo(shed);
+		assertThat(view.get("shedRate").asDouble()).isEqualTo(EndpointStats.round(shed / (double) requests, 4));
+		assertThat(view.get("throughputPerSec").asDouble()).isEqualTo(EndpointStats.round((requests - shed) / 4.0, 2));
+	}
+
+	@Test
+	void throughputCountsSuccessesWithErrorsAndDropsReportedApart() {
+		EndpointStats stats = new EndpointStats();
+		for (int i = 0; i < 6; i++) {
+			stats.record("200", 1_000_000, true);
+		}
+		stats.record(EndpointStats.SHED, 1_000_000, false);
+		stats.record("timeout", 5_000_000, false);
+		stats.record(EndpointStats.DROPPED, -1, false);
+		stats.record(EndpointStats.DROPPED, -1, false);
+
+		Map<String, Object> report = stats.report(2.0);
+
+		assertThat(report.get("requests")).isEqualTo(10L);
+		assertThat(report.get("throughputPerSec")).isEqualTo(3.0);
+		assertThat(report.get("errors")).isEqualTo(2L);
+		assertThat(report.get("errorsPerSec")).isEqualTo(1.0);
+		assertThat(report.get("dropped")).isEqualTo(2L);
+		assertThat(report.get("droppedPerSec")).isEqualTo(1.0);
+		assertThat(report.get("shed")).isEqualTo(1L);
+	}
+}
@@ -0,0 +1,44 @@
+package com.example.hr.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs the shaded target/loadtest.jar as LoadTestMain documents: the classpath
+// harness test cannot catch resources the shade step merged badly.
+class LoadTestJarIT {
+
+	@Test
+	void shadedJarBootsTheAppAndWritesAReport(@TempDir Path dir) throws Exception {
+		Path jar = Path.of("target", "loadtest.jar");
+		assertThat(jar).exists();
+		Path out = dir.resolve("report.json");
+		Path log = dir.resolve("loadtest.log");
+
+		Process process = new ProcessBuilder(
+				Path.of(System.getProperty("java.home"), "bin", "java").toString(), "-jar", jar.toString(),
+				"--scenario=mixed", "--rate=10", "--warmup=1s", "--duration=2s", "--employees=1000",
+				"--out=" + out, "--logging.level.root=WARN")
+			.redirectErrorStream(true)
+			.redirectOutput(log.toFile())
+			.start();
+		boolean exited = process.waitFor(5, TimeUnit.MINUTES);
+		if (!exited) {
+			process.destroyForcibly();
+		}
+
+		assertThat(exited).as("jar finished").isTrue();
+		assertThat(process.exitValue()).as(Files.readString(log)).isZero();
+		JsonNode json = new ObjectMapper().readTree(out.toFile());
+		assertThat(json.at("/settings/target").asText()).isEqualTo("embedded");
+		assertThat(json.at("/dataset/employees").asInt()).isEqualTo(1000);
+		assertThat(json.at("/totals/requests").asLong()).isPositive();
+	}
+}
@@ -0,0 +1,105 @@
+package com.example.hr.backend_springboot.bulkhead;
+
+import com.example.hr.backend_springboot.metrics.LatencyHistogram;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// A fixed number of slots with a bounded, fair wait queue in front of them.
+// Callers that find the queue full are rejected at once; queued callers give
+// up after maxWait. Time spent queueing is recorded per compartment.
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long maxWaitNanos;
+    private final Semaphore slots;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LatencyHistogram queueWait = new LatencyHistogram();
+
+    public Bulkhead(String name, int maxConcurrent, int maxQueue, Duration maxWait) {
+        this.name = name;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.maxQueue = Math.max(0, maxQueue);
+        this.maxWaitNanos = maxWait.toNanos();
+        this.slots = new Semaphore(this.maxConcurrent, true);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // True when the caller holds a slot and must call exit(); false when it was turned away
+    public boolean tryEnter() {
+        // The timed form honours fairness: a free slot goes to queued callers first
+        if (tryAcquire(0)) {
+            admitted.increment();
+            queueWait.recordNanos(0);
+            return true;
+        }
+        if (queued.incrementAndGet() > maxQueue) {
+            queued.decrementAndGet();
+            rejected.increment();
+            return false;
+        }
+        long started = System.nanoTime();
+        try {
+            if (tryAcquire(maxWaitNanos)) {
+                admitted.increment();
+                queueWait.recordNanos(System.nanoTime() - started);
+                return true;
+            }
+            timedOut.increment();
+            return false;
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    private boolean tryAcquire(long nanos) {
+        try {
+            return slots.tryAcquire(nanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void exit() {
+        slots.release();
+    }
+
+    public <T> T call(Supplier<T> task) {
+        if (!tryEnter()) {
+            throw new BulkheadFullException(name);
+        }
+        try {
+            return task.get();
+        } finally {
+            exit();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("maxConcurrent", maxConcurrent);
+        result.put("maxQueue", maxQueue);
+        result.put("active", maxConcurrent - slots.availablePermits());
+        result.put("queued", queued.get());
+        result.put("admitted", admitted.sum());
+        result.put("rejected", rejected.sum());
+        result.put("timedOut", timedOut.sum());
+        result.put("queueWait", queueWait.summary());
+        return result;
+    }
+}
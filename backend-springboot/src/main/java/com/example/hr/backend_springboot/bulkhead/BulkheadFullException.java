@@ -0,0 +1,10 @@
+package com.example.hr.backend_springboot.bulkhead;
+
+// A compartment had no free slot within its wait limit, or its queue was full.
+public class BulkheadFullException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public BulkheadFullException(String compartment) {
+        super("Bulkhead " + compartment + " is full");
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.hr.backend_springboot.bulkhead;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.io.IOException;
+
+// Admits each request through the compartment serving its path and answers
+// 503 with Retry-After when the compartment is full. The slot is held until
+// the handler and view are done, or until async processing takes over.
+@Component
+public class BulkheadInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ENTERED = BulkheadInterceptor.class.getName() + ".entered";
+
+    @Autowired
+    private BulkheadRegistry registry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        Bulkhead bulkhead = registry.forPath(request.getRequestURI().substring(request.getContextPath().length()));
+        if (bulkhead == null) {
+            return true;
+        }
+        if (!bulkhead.tryEnter()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many " + bulkhead.getName() + " requests in progress");
+            return false;
+        }
+        request.setAttribute(ENTERED, bulkhead);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        exit(request);
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        exit(request);
+    }
+
+    private static void exit(HttpServletRequest request) {
+        Bulkhead bulkhead = (Bulkhead) request.getAttribute(ENTERED);
+        if (bulkhead != null) {
+            request.removeAttribute(ENTERED);
+            bulkhead.exit();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.hr.backend_springboot.bulkhead;
+
+import com.example.hr.backend_springboot.config.AnalyticsExportProperties;
+import com.example.hr.backend_springboot.config.AnalyticsPrecomputeProperties;
+import com.example.hr.backend_springboot.config.BulkheadProperties;
+import com.example.hr.backend_springboot.config.EmployeeImportProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// The configured compartments and the request paths each one serves. The
+// first compartment whose pattern matches a path wins. Exports, imports, the
+// precompute thread and the health ping hold primary connections outside any
+// compartment, so startup fails unless the pool covers them and every slot.
+@Component
+public class BulkheadRegistry {
+    private static final Logger log = LoggerFactory.getLogger(BulkheadRegistry.class);
+
+    private record Route(String pattern, Bulkhead bulkhead) {}
+
+    private final BulkheadProperties properties;
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final Map<String, Bulkhead> bulkheads = new LinkedHashMap<>();
+    private final List<Route> routes;
+
+    public BulkheadRegistry(BulkheadProperties properties,
+                            AnalyticsExportProperties exports,
+                            EmployeeImportProperties imports,
+                            AnalyticsPrecomputeProperties precompute,
+                            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        this.properties = properties;
+        int slots = 0;
+        for (Map.Entry<String, BulkheadProperties.Compartment> entry : properties.getCompartments().entrySet()) {
+            BulkheadProperties.Compartment compartment = entry.getValue();
+            bulkheads.put(entry.getKey(), new Bulkhead(entry.getKey(), compartment.getMaxConcurrent(),
+                compartment.getMaxQueue(), compartment.getMaxWait()));
+            slots += compartment.getMaxConcurrent();
+        }
+        this.routes = properties.getCompartments().entrySet().stream()
+            .flatMap(e -> e.getValue().getPaths().stream().map(p -> new Route(p, bulkheads.get(e.getKey()))))
+            .toList();
+        if (properties.isEnabled()) {
+            Map<String, Integer> outside = new LinkedHashMap<>();
+            outside.put("exports", Math.max(1, exports.getMaxConcurrent()));
+            outside.put("imports", Math.max(1, imports.getMaxConcurrent()));
+            outside.put("precompute", precompute.isEnabled() ? 1 : 0);
+            outside.put("health ping", 1);
+            int needed = slots + outside.values().stream().mapToInt(Integer::intValue).sum();
+            if (needed > poolSize) {
+                throw new IllegalStateException("Bulkhead slots (" + slots + ") plus connections held outside them "
+                    + outside + " need " + needed + " connections, but the pool has " + poolSize
+                    + "; raise spring.datasource.hikari.maximum-pool-size or lower the limits");
+            }
+            log.info("Bulkheads {} share {} slots, {} more held outside them (pool size {})",
+                bulkheads.keySet(), slots, outside, poolSize);
+        }
+    }
+
+    // The compartment for a request path, or null when it is not bulkheaded
+    public Bulkhead forPath(String path) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        for (String excluded : properties.getExcludePaths()) {
+            if (matcher.match(excluded, path)) {
+                return null;
+            }
+        }
+        for (Route route : routes) {
+            if (matcher.match(route.pattern(), path)) {
+                return route.bulkhead();
+            }
+        }
+        return null;
+    }
+
+    public Bulkhead get(String name) {
+        return properties.isEnabled() ? bulkheads.get(name) : null;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        bulkheads.forEach((name, bulkhead) -> result.put(name, bulkhead.stats()));
+        return result;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.hr.backend_springboot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "analytics.cache")
+public class AnalyticsCacheProperties {
+    private boolean enabled = true;
+    private int maxEntries = 64;
+    private Duration defaultTtl = Duration.ofMinutes(5);
+    // Per-query overrides keyed by query slug, e.g. analytics.cache.ttl.top-earners=2m
+    private Map<String, Duration> ttl = new HashMap<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getMaxEntries() { return maxEntries; }
+    public void setMaxEntries(int maxEntries) { this.maxEntries = maxEntries; }
+
+    public Duration getDefaultTtl() { return defaultTtl; }
+    public void setDefaultTtl(Duration defaultTtl) { this.defaultTtl = defaultTtl; }
+
+    public Map<String, Duration> getTtl() { return ttl; }
+    public void setTtl(Map<String, Duration> ttl) { this.ttl = ttl; }
+
+    public Duration ttlFor(String slug) {
+        return ttl.getOrDefault(slug, defaultTtl);
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.hr.backend_springboot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "analytics.dashboard")
+public class AnalyticsDashboardProperties {
+    // Overall deadline for all dashboard widgets; widgets still running after it are skipped.
+    private Duration timeout = Duration.ofSeconds(5);
+    // Upper bound on widget queries running at once across all dashboard requests.
+    // 0 derives it from the Hikari pool size, leaving connections for CRUD traffic.
+    private int maxConcurrentQueries = 0;
+    private int reservedConnections = 2;
+    // Widget queries waiting for a worker; beyond this a widget is rejected and shown as unavailable.
+    private int maxQueuedQueries = 6;
+
+    public Duration getTimeout() { return timeout; }
+    public void setTimeout(Duration timeout) { this.timeout = timeout; }
+
+    public int getMaxConcurrentQueries() { return maxConcurrentQueries; }
+    public void setMaxConcurrentQueries(int maxConcurrentQueries) { this.maxConcurrentQueries = maxConcurrentQueries; }
+
+    public int getReservedConnections() { return reservedConnections; }
+    public void setReservedConnections(int reservedConnections) { this.reservedConnections = reservedConnections; }
+
+    public int getMaxQueuedQueries() { return maxQueuedQueries; }
+    public void setMaxQueuedQueries(int maxQueuedQueries) { this.maxQueuedQueries = maxQueuedQueries; }
+}
@@ -0,0 +1,22 @@
+package com.example.hr.backend_springboot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "analytics.export")
+public class AnalyticsExportProperties {
+    // Rows the JDBC driver pulls per round trip while an export is streaming.
+    private int fetchSize = 500;
+    // Rows written between explicit flushes to the client.
+    private int flushRows = 200;
+    // Each running export holds a pooled connection until the client has read everything.
+    private int maxConcurrent = 2;
+
+    public int getFetchSize() { return fetchSize; }
+    public void setFetchSize(int fetchSize) { this.fetchSize = fetchSize; }
+
+    public int getFlushRows() { return flushRows; }
+    public void setFlushRows(int flushRows) { this.flushRows = flushRows; }
+
+    public int getMaxConcurrent() { return maxConcurrent; }
+    public void setMaxConcurrent(int maxConcurrent) { this.maxConcurrent = maxConcurrent; }
+}
@@ -0,0 +1,35 @@
+package com.example.hr.backend_springboot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "analytics.precompute")
+public class AnalyticsPrecomputeProperties {
+    private boolean enabled = true;
+    // Query slugs kept precomputed; they bypass the analytics result cache.
+    private List<String> queries = new ArrayList<>(List.of("job-mobility", "job-roles-by-region"));
+    // Every result is recomputed at least this often, and counts as stale once older.
+    private Duration refreshInterval = Duration.ofMinutes(15);
+    // Delay between a data change and the refresh it triggers, so bursts of writes cost one refresh.
+    private Duration changeDelay = Duration.ofSeconds(5);
+    // Compute every result at startup instead of on the first request.
+    private boolean warmUp = true;
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public List<String> getQueries() { return queries; }
+    public void setQueries(List<String> queries) { this.queries = queries; }
+
+    public Duration getRefreshInterval() { return refreshInterval; }
+    public void setRefreshInterval(Duration refreshInterval) { this.refreshInterval = refreshInterval; }
+
+    public Duration getChangeDelay() { return changeDelay; }
+    public void setChangeDelay(Duration changeDelay) { this.changeDelay = changeDelay; }
+
+    public boolean isWarmUp() { return warmUp; }
+    public void setWarmUp(boolean warmUp) { this.warmUp = warmUp; }
+}
@@ -0,0 +1,28 @@
+package com.example.hr.backend_springboot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "analytics.render")
+public class AnalyticsRenderProperties {
+    // Off by default so template edits show up without a restart; the prod profile turns it on
+    private boolean fragmentCache = false;
+    private int maxEntries = 32;
+    // Larger tables are not cached; they render straight into the response
+    private int maxCachedRows = 2000;
+    // Safety net for rows written outside the app
+    private Duration ttl = Duration.ofMinutes(5);
+
+    public boolean isFragmentCache() { return fragmentCache; }
+    public void setFragmentCache(boolean fragmentCache) { this.fragmentCache = fragmentCache; }
+
+    public int getMaxEntries() { return maxEntries; }
+    public void setMaxEntries(int maxEntries) { this.maxEntries = maxEntries; }
+
+    public int getMaxCachedRows() { return maxCachedRows; }
+    public void setMaxCachedRows(int maxCachedRows) { this.maxCachedRows = maxCachedRows; }
+
+    public Duration getTtl() { return ttl; }
+    public void setTtl(Duration ttl) { this.ttl = ttl; }
+}
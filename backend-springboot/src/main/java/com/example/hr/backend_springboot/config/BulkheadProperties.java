@@ -0,0 +1,49 @@
+package com.example.hr.backend_springboot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "bulkhead")
+public class BulkheadProperties {
+    private boolean enabled = true;
+    // Requests matching these are never admitted through a compartment (they have their own limits)
+    private List<String> excludePaths = new ArrayList<>();
+    // Compartments keyed by name, e.g. bulkhead.compartments.analytics.max-concurrent=2
+    private Map<String, Compartment> compartments = new LinkedHashMap<>();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public List<String> getExcludePaths() { return excludePaths; }
+    public void setExcludePaths(List<String> excludePaths) { this.excludePaths = excludePaths; }
+
+    public Map<String, Compartment> getCompartments() { return compartments; }
+    public void setCompartments(Map<String, Compartment> compartments) { this.compartments = compartments; }
+
+    public static class Compartment {
+        // Ant-style request paths served by this compartment
+        private List<String> paths = new ArrayList<>();
+        // Requests running at once; each uses at most one pooled connection at a time
+        private int maxConcurrent = 2;
+        // Requests allowed to wait for a slot; beyond this they are rejected straight away
+        private int maxQueue = 20;
+        private Duration maxWait = Duration.ofSeconds(2);
+
+        public List<String> getPaths() { return paths; }
+        public void setPaths(List<String> paths) { this.paths = paths; }
+
+        public int getMaxConcurrent() { return maxConcurrent; }
+        public void setMaxConcurrent(int maxConcurrent) { this.maxConcurrent = maxConcurrent; }
+
+        public int getMaxQueue() { return maxQueue; }
+        public void setMaxQueue(int maxQueue) { this.maxQueue = maxQueue; }
+
+        public Duration getMaxWait() { return maxWait; }
+        public void setMaxWait(Duration maxWait) { this.maxWait = maxWait; }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.hr.backend_springboot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "conditional-get")
+public class ConditionalGetProperties {
+    private boolean enabled = true;
+    // Validators also roll over on this interval so rows written outside the app show up eventually
+    private Duration maxStaleness = Duration.ofMinutes(5);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Duration getMaxStaleness() { return maxStaleness; }
+    public void setMaxStaleness(Duration maxStaleness) { this.maxStaleness = maxStaleness; }
+}
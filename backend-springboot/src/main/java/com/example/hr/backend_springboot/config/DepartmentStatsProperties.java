@@ -0,0 +1,19 @@
+package com.example.hr.backend_springboot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "stats.department")
+public class DepartmentStatsProperties {
+    // Serve department-stats from the incrementally maintained store instead of the SQL query
+    private boolean enabled = true;
+    // App writes are applied in place; the store is reloaded after this long to pick up writes made elsewhere.
+    private Duration refreshInterval = Duration.ofMinutes(30);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Duration getRefreshInterval() { return refreshInterval; }
+    public void setRefreshInterval(Duration refreshInterval) { this.refreshInterval = refreshInterval; }
+}
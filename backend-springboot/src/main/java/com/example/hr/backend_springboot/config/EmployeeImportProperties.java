@@ -0,0 +1,22 @@
+package com.example.hr.backend_springboot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "employees.import")
+public class EmployeeImportProperties {
+    // Rows written per JDBC batch and committed per transaction.
+    private int chunkSize = 1000;
+    // Row errors kept in the report; further errors are only counted.
+    private int maxErrors = 1000;
+    // Each running import holds a pooled connection for most of its run.
+    private int maxConcurrent = 1;
+
+    public int getChunkSize() { return chunkSize; }
+    public void setChunkSize(int chunkSize) { this.chunkSize = chunkSize; }
+
+    public int getMaxErrors() { return maxErrors; }
+    public void setMaxErrors(int maxErrors) { this.maxErrors = maxErrors; }
+
+    public int getMaxConcurrent() { return maxConcurrent; }
+    public void setMaxConcurrent(int maxConcurrent) { this.maxConcurrent = maxConcurrent; }
+}
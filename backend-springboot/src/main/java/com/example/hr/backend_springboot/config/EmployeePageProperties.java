@@ -0,0 +1,22 @@
+package com.example.hr.backend_springboot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "employees.page")
+public class EmployeePageProperties {
+    private int defaultSize = 20;
+    private int maxSize = 100;
+    // The total shown under the list is a cached COUNT(*), refreshed on writes or after this long.
+    private Duration countTtl = Duration.ofMinutes(5);
+
+    public int getDefaultSize() { return defaultSize; }
+    public void setDefaultSize(int defaultSize) { this.defaultSize = defaultSize; }
+
+    public int getMaxSize() { return maxSize; }
+    public void setMaxSize(int maxSize) { this.maxSize = maxSize; }
+
+    public Duration getCountTtl() { return countTtl; }
+    public void setCountTtl(Duration countTtl) { this.countTtl = countTtl; }
+}
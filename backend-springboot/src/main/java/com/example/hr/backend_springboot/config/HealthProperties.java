@@ -0,0 +1,34 @@
+package com.example.hr.backend_springboot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "health")
+public class HealthProperties {
+    // Connection.isValid timeout for the readiness ping.
+    private Duration pingTimeout = Duration.ofSeconds(2);
+    // Longest the ping waits for a pooled connection; a pool with none free by then is SATURATED.
+    private Duration poolWait = Duration.ofMillis(250);
+    // Probes arriving within this interval reuse the last ping result.
+    private Duration pingInterval = Duration.ofSeconds(2);
+    // Row-count estimates older than this are refreshed in the background.
+    private Duration rowCountRefresh = Duration.ofMinutes(5);
+    // Pool usage (active / max) at or above which the report says DEGRADED.
+    private double saturationThreshold = 0.9;
+
+    public Duration getPingTimeout() { return pingTimeout; }
+    public void setPingTimeout(Duration pingTimeout) { this.pingTimeout = pingTimeout; }
+
+    public Duration getPoolWait() { return poolWait; }
+    public void setPoolWait(Duration poolWait) { this.poolWait = poolWait; }
+
+    public Duration getPingInterval() { return pingInterval; }
+    public void setPingInterval(Duration pingInterval) { this.pingInterval = pingInterval; }
+
+    public Duration getRowCountRefresh() { return rowCountRefresh; }
+    public void setRowCountRefresh(Duration rowCountRefresh) { this.rowCountRefresh = rowCountRefresh; }
+
+    public double getSaturationThreshold() { return saturationThreshold; }
+    public void setSaturationThreshold(double saturationThreshold) { this.saturationThreshold = saturationThreshold; }
+}
@@ -0,0 +1,23 @@
+package com.example.hr.backend_springboot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "jobhistory.cache")
+public class JobHistoryCacheProperties {
+    private boolean enabled = true;
+    // Number of employee timelines kept, least recently used evicted first
+    private int maxEntries = 1000;
+    // Safety net for history rows written outside the app
+    private Duration ttl = Duration.ofMinutes(10);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public int getMaxEntries() { return maxEntries; }
+    public void setMaxEntries(int maxEntries) { this.maxEntries = maxEntries; }
+
+    public Duration getTtl() { return ttl; }
+    public void setTtl(Duration ttl) { this.ttl = ttl; }
+}
@@ -0,0 +1,19 @@
+package com.example.hr.backend_springboot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "job-intervals")
+public class JobIntervalProperties {
+    // Serve overlapping-jobs from the interval index instead of the SQL self-join
+    private boolean enabled = true;
+    // App writes mark the index stale; it is reloaded after this long to pick up history written elsewhere.
+    private Duration refreshInterval = Duration.ofMinutes(30);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Duration getRefreshInterval() { return refreshInterval; }
+    public void setRefreshInterval(Duration refreshInterval) { this.refreshInterval = refreshInterval; }
+}
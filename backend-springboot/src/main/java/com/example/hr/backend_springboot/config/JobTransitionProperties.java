@@ -0,0 +1,19 @@
+package com.example.hr.backend_springboot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "job-transitions")
+public class JobTransitionProperties {
+    // Serve job-transitions from the in-memory matrix instead of the SQL query
+    private boolean enabled = true;
+    // App writes are applied per employee; the matrix is reloaded after this long to pick up writes made elsewhere.
+    private Duration refreshInterval = Duration.ofMinutes(30);
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public Duration getRefreshInterval() { return refreshInterval; }
+    public void setRefreshInterval(Duration refreshInterval) { this.refreshInterval = refreshInterval; }
+}
@@ -0,0 +1,18 @@
+package com.example.hr.backend_springboot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "lookup")
+public class LookupProperties {
+    // Lookups are also refreshed after this long, to pick up writes made outside the app.
+    private Duration ttl = Duration.ofMinutes(10);
+    private int typeaheadLimit = 20;
+
+    public Duration getTtl() { return ttl; }
+    public void setTtl(Duration ttl) { this.ttl = ttl; }
+
+    public int getTypeaheadLimit() { return typeaheadLimit; }
+    public void setTypeaheadLimit(int typeaheadLimit) { this.typeaheadLimit = typeaheadLimit; }
+}
@@ -0,0 +1,19 @@
+package com.example.hr.backend_springboot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "orgtree")
+public class OrgTreeProperties {
+    // App writes are applied in place; the tree is reloaded after this long to pick up writes made elsewhere.
+    private Duration refreshInterval = Duration.ofMinutes(30);
+    // Default number of levels returned by /api/org/{id}/subtree
+    private int defaultLevels = 50;
+
+    public Duration getRefreshInterval() { return refreshInterval; }
+    public void setRefreshInterval(Duration refreshInterval) { this.refreshInterval = refreshInterval; }
+
+    public int getDefaultLevels() { return defaultLevels; }
+    public void setDefaultLevels(int defaultLevels) { this.defaultLevels = defaultLevels; }
+}
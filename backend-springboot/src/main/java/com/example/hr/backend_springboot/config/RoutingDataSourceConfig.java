@@ -0,0 +1,62 @@
+package com.example.hr.backend_springboot.config;
+
+import com.example.hr.backend_springboot.routing.ReadWriteRoutingDataSource;
+import com.example.hr.backend_springboot.routing.ReplicaMonitor;
+import com.example.hr.backend_springboot.service.DataVersion;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+// With routing.enabled=true the application DataSource becomes a lazy
+// read/write router over two pools: the usual spring.datasource.* primary and
+// a routing.replica.* pool that can be sized without touching the primary.
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "routing", name = "enabled", havingValue = "true")
+public class RoutingDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(RoutingProperties routing, DataSourceProperties primary) {
+        RoutingProperties.Replica replica = routing.getReplica();
+        HikariDataSource dataSource = DataSourceBuilder.create()
+            .type(HikariDataSource.class)
+            .url(replica.getUrl())
+            .username(replica.getUsername() != null ? replica.getUsername() : primary.determineUsername())
+            .password(replica.getPassword() != null ? replica.getPassword() : primary.determinePassword())
+            .driverClassName(replica.getDriverClassName() != null ? replica.getDriverClassName() : primary.determineDriverClassName())
+            .build();
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public ReplicaMonitor replicaMonitor(@Qualifier("replicaDataSource") DataSource replica, RoutingProperties routing) {
+        return new ReplicaMonitor(replica, routing);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaMonitor monitor, DataVersion dataVersion, RoutingProperties routing) {
+        return new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, monitor, dataVersion, routing));
+    }
+}
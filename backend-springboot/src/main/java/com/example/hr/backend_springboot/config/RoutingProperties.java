@@ -0,0 +1,68 @@
+package com.example.hr.backend_springboot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "routing")
+public class RoutingProperties {
+    private boolean enabled = false;
+    // GET requests on these paths may read from the replica
+    private List<String> readPaths = new ArrayList<>();
+    // Replica reads stop while its measured lag, or the time since the last write, is below this
+    private Duration maxLag = Duration.ofSeconds(5);
+    // After a client's own write its reads stay on the primary for this long
+    private Duration readYourWrites = Duration.ofSeconds(10);
+    // Query run on the replica returning its apply lag in seconds; required when routing is enabled
+    private String lagQuery = "";
+    private Duration lagCheckInterval = Duration.ofSeconds(10);
+    private Replica replica = new Replica();
+
+    public boolean isEnabled() { return enabled; }
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    public List<String> getReadPaths() { return readPaths; }
+    public void setReadPaths(List<String> readPaths) { this.readPaths = readPaths; }
+
+    public Duration getMaxLag() { return maxLag; }
+    public void setMaxLag(Duration maxLag) { this.maxLag = maxLag; }
+
+    public Duration getReadYourWrites() { return readYourWrites; }
+    public void setReadYourWrites(Duration readYourWrites) { this.readYourWrites = readYourWrites; }
+
+    public String getLagQuery() { return lagQuery; }
+    public void setLagQuery(String lagQuery) { this.lagQuery = lagQuery; }
+
+    public Duration getLagCheckInterval() { return lagCheckInterval; }
+    public void setLagCheckInterval(Duration lagCheckInterval) { this.lagCheckInterval = lagCheckInterval; }
+
+    public Replica getReplica() { return replica; }
+    public void setReplica(Replica replica) { this.replica = replica; }
+
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        // Defaults to the primary's driver
+        private String driverClassName;
+        // Sized independently of spring.datasource.hikari.maximum-pool-size
+        private int maximumPoolSize = 10;
+
+        public String getUrl() { return url; }
+        public void setUrl(String url) { this.url = url; }
+
+        public String getUsername() { return username; }
+        public void setUsername(String username) { this.username = username; }
+
+        public String getPassword() { return password; }
+        public void setPassword(String password) { this.password = password; }
+
+        public String getDriverClassName() { return driverClassName; }
+        public void setDriverClassName(String driverClassName) { this.driverClassName = driverClassName; }
+
+        public int getMaximumPoolSize() { return maximumPoolSize; }
+        public void setMaximumPoolSize(int maximumPoolSize) { this.maximumPoolSize = maximumPoolSize; }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.hr.backend_springboot.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "stats.sketch")
+public class SalarySketchProperties {
+    // Quantile values are within this relative error of the exact salary (0.01 = 1%)
+    private double relativeAccuracy = 0.01;
+    // Quantiles returned when a request does not name any
+    private List<Double> defaultQuantiles = List.of(0.5, 0.9, 0.99);
+    // App writes are applied in place; sketches are rebuilt after this long to pick up writes made elsewhere.
+    private Duration refreshInterval = Duration.ofMinutes(30);
+
+    public double getRelativeAccuracy() { return relativeAccuracy; }
+    public void setRelativeAccuracy(double relativeAccuracy) { this.relativeAccuracy = relativeAccuracy; }
+
+    public List<Double> getDefaultQuantiles() { return defaultQuantiles; }
+    public void setDefaultQuantiles(List<Double> defaultQuantiles) { this.defaultQuantiles = defaultQuantiles; }
+
+    public Duration getRefreshInterval() { return refreshInterval; }
+    public void setRefreshInterval(Duration refreshInterval) { this.refreshInterval = refreshInterval; }
+}
@@ -0,0 +1,38 @@
+package com.example.hr.backend_springboot.config;
+
+import com.example.hr.backend_springboot.bulkhead.BulkheadInterceptor;
+import com.example.hr.backend_springboot.controller.ConditionalGetInterceptor;
+import com.example.hr.backend_springboot.metrics.QueryTimingInterceptor;
+import com.example.hr.backend_springboot.routing.ReadRoutingInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private QueryTimingInterceptor queryTimingInterceptor;
+
+    @Autowired
+    private ConditionalGetInterceptor conditionalGetInterceptor;
+
+    @Autowired
+    private BulkheadInterceptor bulkheadInterceptor;
+
+    @Autowired
+    private ReadRoutingInterceptor readRoutingInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // First, so a 304 skips everything else
+        registry.addInterceptor(conditionalGetInterceptor).addPathPatterns(
+            "/analytics/*", "/departments", "/departments/view/*", "/jobs", "/jobs/view/*", "/employees", "/employees/view/*");
+        // Compartments are matched inside the interceptor, see bulkhead.compartments.*
+        registry.addInterceptor(bulkheadInterceptor);
+        // Read paths are matched inside the interceptor, see routing.read-paths
+        registry.addInterceptor(readRoutingInterceptor);
+        registry.addInterceptor(queryTimingInterceptor).addPathPatterns("/analytics/*");
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.hr.backend_springboot.controller;
+
+import com.example.hr.backend_springboot.service.AnalyticsApiService;
+import com.example.hr.backend_springboot.service.AnalyticsQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Analytics result sets as columnar JSON for BI tools: /api/analytics lists the
+// queries, /api/analytics/{slug} returns one of them. If-None-Match is answered
+// with 304 by Spring from the ETag set here.
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsApiController {
+
+    @Autowired
+    private AnalyticsApiService apiService;
+
+    @GetMapping
+    public List<Map<String, String>> queries() {
+        return Arrays.stream(AnalyticsQuery.values())
+            .map(q -> Map.of("name", q.getSlug(), "href", "/api/analytics/" + q.getSlug()))
+            .toList();
+    }
+
+    @GetMapping("/{slug}")
+    public ResponseEntity<byte[]> query(@PathVariable String slug,
+                                        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        AnalyticsQuery query;
+        try {
+            query = AnalyticsQuery.fromSlug(slug);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+        AnalyticsApiService.Payload payload = apiService.payload(query);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .cacheControl(CacheControl.noCache())
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (payload.gzip() != null && acceptsGzip(acceptEncoding)) {
+            // The compressed body is a different representation, so it gets its own ETag
+            return response
+                .eTag(payload.etag().replaceFirst("\"$", "-gzip\""))
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .body(payload.gzip());
+        }
+        return response.eTag(payload.etag()).body(payload.json());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equals("gzip") || parts[0].trim().equals("*")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -1,84 +1,65 @@
 package com.example.hr.backend_springboot.controller;
 
 import com.example.hr.backend_springboot.dto.*;
-import com.example.hr.backend_springboot.repository.EmployeeRepository;
+import com.example.hr.backend_springboot.service.AnalyticsDashboardService;
+import com.example.hr.backend_springboot.service.AnalyticsFragmentCache;
+import com.example.hr.backend_springboot.service.AnalyticsQuery;
+import com.example.hr.backend_springboot.service.AnalyticsService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 
-import java.math.BigDecimal;
-import java.util.ArrayList;
 import java.util.List;
 
 @Controller
 public class AnalyticsController {
     @Autowired
-    private EmployeeRepository employeeRepository;
+    private AnalyticsService analyticsService;
+    @Autowired
+    private AnalyticsDashboardService dashboardService;
+    @Autowired
+    private AnalyticsFragmentCache fragmentCache;
 
     @GetMapping("/analytics/top-earners")
     public String topEarners(Model model) {
-        List<Object[]> rawResults = employeeRepository.findTopEarnersByDepartmentRaw();
-        List<TopEarnerDTO> topEarners = new ArrayList<>();
-        for (Object[] row : rawResults) {
-            topEarners.add(new TopEarnerDTO(
-                (String) row[0],
-                (String) row[1],
-                (BigDecimal) row[2],
-                (BigDecimal) row[3],
-                (BigDecimal) row[4]
-            ));
-        }
-        model.addAttribute("topEarners", topEarners);
+        // Only the table shows the rows, so a cached table skips the query too
+        model.addAttribute("tableHtml", fragmentCache.render(AnalyticsQuery.TOP_EARNERS, "analytics/top-earners", "table",
+            model, "topEarners", () -> AnalyticsRowMapper.toTopEarners(analyticsService.run(AnalyticsQuery.TOP_EARNERS))));
         return "analytics/top-earners";
     }
 
     @GetMapping("/analytics/employee-hierarchy")
     public String employeeHierarchy(Model model) {
-        List<Object[]> rawResults = employeeRepository.findEmployeeHierarchyRaw();
-        List<EmployeeHierarchyDTO> hierarchy = new ArrayList<>();
-        for (Object[] row : rawResults) {
-            hierarchy.add(new EmployeeHierarchyDTO(
-                ((Number) row[0]).intValue(),
-                (String) row[1],
-                (String) row[2],
-                (String) row[3],
-                (BigDecimal) row[4]
-            ));
-        }
+        List<EmployeeHierarchyDTO> hierarchy = AnalyticsRowMapper.toHierarchy(analyticsService.run(AnalyticsQuery.EMPLOYEE_HIERARCHY));
         model.addAttribute("hierarchy", hierarchy);
+        // The statistics card needs the rows anyway; the table (one row per employee) is cached
+        model.addAttribute("tableHtml", fragmentCache.render(AnalyticsQuery.EMPLOYEE_HIERARCHY,
+            "analytics/employee-hierarchy", "table", model, "hierarchy", () -> hierarchy));
         return "analytics/employee-hierarchy";
     }
 
     @GetMapping("/analytics/department-stats")
     public String departmentStats(Model model) {
-        List<Object[]> rawResults = employeeRepository.findDepartmentStatsRaw();
-        List<DepartmentStatsDTO> stats = new ArrayList<>();
-        for (Object[] row : rawResults) {
-            stats.add(new DepartmentStatsDTO(
-                (String) row[0],
-                ((Number) row[1]).longValue(),
-                (BigDecimal) row[2],
-                (BigDecimal) row[3],
-                (BigDecimal) row[4],
-                (BigDecimal) row[5],
-                (BigDecimal) row[6]
-            ));
-        }
+        List<DepartmentStatsDTO> stats = AnalyticsRowMapper.toDepartmentStats(analyticsService.run(AnalyticsQuery.DEPARTMENT_STATS));
         model.addAttribute("stats", stats);
+        // Cards and charts need the stats anyway; only the table rendering is cached
+        model.addAttribute("tableHtml", fragmentCache.render(AnalyticsQuery.DEPARTMENT_STATS,
+            "analytics/department-stats", "table", model, "stats", () -> stats));
         return "analytics/department-stats";
     }
 
 @GetMapping("/analytics/region-country")
 public String employeesByRegionAndCountry(Model model) {
-    List<Object[]> rawResults = employeeRepository.findEmployeesByRegionAndCountryRaw();
-    
     // Set up the model for the generic template
     model.addAttribute("title", "Employees by Region & Country");
     model.addAttribute("icon", "fa-globe");
     model.addAttribute("description", "A breakdown of employee count and salary distribution across different geographical regions and countries.");
     model.addAttribute("headers", List.of("Region", "Country", "Employee Count", "Total Salary", "Avg Salary"));
-    model.addAttribute("data", rawResults);
+    // A cached table skips both the query and the rendering
+    model.addAttribute("tableHtml", fragmentCache.render(AnalyticsQuery.REGION_COUNTRY,
+        "analytics/generic-analytics", "table", model, "data", () -> analyticsService.run(AnalyticsQuery.REGION_COUNTRY)));
 
     // Return the generic template view
     return "analytics/generic-analytics";
@@ -86,156 +67,139 @@ public String employeesByRegionAndCountry(Model model) {
 
     @GetMapping("/analytics/job-mobility")
     public String employeeJobMobility(Model model) {
-        List<Object[]> rawResults = employeeRepository.findEmployeeJobMobilityRaw();
+        List<Object[]> rawResults = analyticsService.run(AnalyticsQuery.JOB_MOBILITY);
         model.addAttribute("mobilityData", rawResults);
         return "analytics/job-mobility";
     }
 
     @GetMapping("/analytics/manager-salary-impact")
     public String managerSalaryImpact(Model model) {
-        List<Object[]> rawResults = employeeRepository.findManagerSalaryImpactRaw();
+        List<Object[]> rawResults = analyticsService.run(AnalyticsQuery.MANAGER_SALARY_IMPACT);
         model.addAttribute("managerData", rawResults);
         return "analytics/manager-salary-impact";
     }
 
     @GetMapping("/analytics/long-tenure-low-salary")
     public String longTenureLowSalary(Model model) {
-        List<Object[]> rawResults = employeeRepository.findLongTenureLowSalaryRaw();
+        List<Object[]> rawResults = analyticsService.run(AnalyticsQuery.LONG_TENURE_LOW_SALARY);
         model.addAttribute("tenureData", rawResults);
         return "analytics/long-tenure-low-salary";
     }
 
     @GetMapping("/analytics/promotion-patterns")
     public String promotionPatterns(Model model) {
-        List<Object[]> rawResults = employeeRepository.findPromotionPatternsRaw();
+        List<Object[]> rawResults = analyticsService.run(AnalyticsQuery.PROMOTION_PATTERNS);
         model.addAttribute("promotionData", rawResults);
         return "analytics/promotion-patterns";
     }
 
     @GetMapping("/analytics/overlapping-jobs")
     public String overlappingJobAssignments(Model model) {
-        List<Object[]> rawResults = employeeRepository.findOverlappingJobAssignmentsRaw();
+        List<Object[]> rawResults = analyticsService.run(AnalyticsQuery.OVERLAPPING_JOBS);
         model.addAttribute("overlapData", rawResults);
         return "analytics/overlapping-jobs";
     }
 
     @GetMapping("/analytics/job-roles-by-region")
     public String uniqueJobRolesByRegion(Model model) {
-        List<Object[]> rawResults = employeeRepository.findUniqueJobRolesByRegionRaw();
+        List<Object[]> rawResults = analyticsService.run(AnalyticsQuery.JOB_ROLES_BY_REGION);
         model.addAttribute("roleData", rawResults);
         return "analytics/job-roles-by-region";
     }
 
     @GetMapping("/analytics/employee-turnover")
     public String employeeTurnoverByYear(Model model) {
-        List<Object[]> rawResults = employeeRepository.findEmployeeTurnoverByYearRaw();
+        List<Object[]> rawResults = analyticsService.run(AnalyticsQuery.EMPLOYEE_TURNOVER);
         model.addAttribute("turnoverData", rawResults);
         return "analytics/employee-turnover";
     }
 
     @GetMapping("/analytics/hiring-trends")
     public String departmentalHiringTrends(Model model) {
-        List<Object[]> rawResults = employeeRepository.findDepartmentalHiringTrendsRaw();
+        List<Object[]> rawResults = analyticsService.run(AnalyticsQuery.HIRING_TRENDS);
         model.addAttribute("hiringData", rawResults);
         return "analytics/hiring-trends";
     }
 
     @GetMapping("/analytics/salary-percentiles")
     public String salaryPercentileAnalysis(Model model) {
-        List<Object[]> rawResults = employeeRepository.findSalaryPercentileAnalysisRaw();
-        List<EmployeeSalaryPercentileDTO> percentiles = new ArrayList<>();
-        for (Object[] row : rawResults) {
-            percentiles.add(new EmployeeSalaryPercentileDTO(
-                (String) row[0],
-                (String) row[1],
-                (BigDecimal) row[2],
-                (BigDecimal) row[3]
-            ));
-        }
+        List<EmployeeSalaryPercentileDTO> percentiles = AnalyticsRowMapper.toSalaryPercentiles(analyticsService.run(AnalyticsQuery.SALARY_PERCENTILES));
         model.addAttribute("percentiles", percentiles);
         return "analytics/salary-percentiles";
     }
 
     @GetMapping("/analytics/no-recent-changes")
     public String employeesWithoutRecentRoleChanges(Model model) {
-        List<Object[]> rawResults = employeeRepository.findEmployeesWithoutRecentRoleChangesRaw();
+        List<Object[]> rawResults = analyticsService.run(AnalyticsQuery.NO_RECENT_CHANGES);
         model.addAttribute("stagnantData", rawResults);
         return "analytics/no-recent-changes";
     }
 
     @GetMapping("/analytics/salary-budget")
     public String departmentalSalaryBudgetAllocation(Model model) {
-        List<Object[]> rawResults = employeeRepository.findDepartmentalSalaryBudgetAllocationRaw();
+        List<Object[]> rawResults = analyticsService.run(AnalyticsQuery.SALARY_BUDGET);
         model.addAttribute("budgetData", rawResults);
         return "analytics/salary-budget";
     }
 
     @GetMapping("/analytics/department-path")
     public String recursiveDepartmentPath(Model model) {
-        List<Object[]> rawResults = employeeRepository.findRecursiveDepartmentPathRaw();
+        List<Object[]> rawResults = analyticsService.run(AnalyticsQuery.DEPARTMENT_PATH);
         model.addAttribute("pathData", rawResults);
         return "analytics/department-path";
     }
 
     @GetMapping("/analytics/high-commission")
     public String highCommissionImpact(Model model) {
-        List<Object[]> rawResults = employeeRepository.findHighCommissionImpactRaw();
+        List<Object[]> rawResults = analyticsService.run(AnalyticsQuery.HIGH_COMMISSION);
         model.addAttribute("commissionData", rawResults);
         return "analytics/high-commission";
     }
 
     @GetMapping("/analytics/job-transitions")
     public String jobRoleTransitionMatrix(Model model) {
-        List<Object[]> rawResults = employeeRepository.findJobRoleTransitionMatrixRaw();
+        List<Object[]> rawResults = analyticsService.run(AnalyticsQuery.JOB_TRANSITIONS);
         model.addAttribute("transitionData", rawResults);
         return "analytics/job-transitions";
     }
 
     @GetMapping("/analytics/diverse-job-roles")
     public String departmentsWithDiverseJobRoles(Model model) {
-        List<Object[]> rawResults = employeeRepository.findDepartmentsWithDiverseJobRolesRaw();
+        List<Object[]> rawResults = analyticsService.run(AnalyticsQuery.DIVERSE_JOB_ROLES);
         model.addAttribute("diverseData", rawResults);
         return "analytics/diverse-job-roles";
     }
 
     @GetMapping("/analytics/manager-workload")
     public String managerWorkload(Model model) {
-        List<Object[]> rawResults = employeeRepository.findManagerWorkloadRaw();
-        List<ManagerWorkloadDTO> workloads = new ArrayList<>();
-        for (Object[] row : rawResults) {
-            workloads.add(new ManagerWorkloadDTO(
-                (String) row[0],
-                (String) row[1],
-                ((Number) row[2]).longValue(),
-                (BigDecimal) row[3]
-            ));
-        }
+        List<ManagerWorkloadDTO> workloads = AnalyticsRowMapper.toManagerWorkloads(analyticsService.run(AnalyticsQuery.MANAGER_WORKLOAD));
         model.addAttribute("workloads", workloads);
+        // Cards and insights need the rows anyway; only the details table rendering is cached.
+        // A "table" selector would also match the page's second <table> element.
+        model.addAttribute("tableHtml", fragmentCache.render(AnalyticsQuery.MANAGER_WORKLOAD,
+            "analytics/manager-workload", "workload-table", model, "workloads", () -> workloads));
         return "analytics/manager-workload";
     }
 
 @GetMapping("/analytics/dashboard")
-public String analyticsDashboard(Model model) {
-    // Get summary data for dashboard
-    List<Object[]> rawTopEarners = employeeRepository.findTopEarnersByDepartmentRaw();
-    List<TopEarnerDTO> topEarners = new ArrayList<>();
-    for (Object[] row : rawTopEarners) {
-        topEarners.add(new TopEarnerDTO(
-            (String) row[0],
-            (String) row[1],
-            (BigDecimal) row[2],
-            (BigDecimal) row[3],
-            (BigDecimal) row[4]
-        ));
-    }
-
-    List<Object[]> deptStats = employeeRepository.findDepartmentStatsRaw();
-    List<Object[]> managerWorkload = employeeRepository.findManagerWorkloadRaw();
+public String analyticsDashboard(Model model, HttpServletRequest request) {
+    // Widget queries run concurrently; any widget that misses the deadline renders empty
+    AnalyticsDashboardService.DashboardResult dashboard = dashboardService.load();
+    if (!dashboard.getUnavailable().isEmpty()) {
+        // Don't let clients revalidate a partial dashboard
+        ConditionalGetInterceptor.skip(request);
+    }
+
+    List<TopEarnerDTO> topEarners = AnalyticsRowMapper.toTopEarners(dashboard.rows(AnalyticsQuery.TOP_EARNERS));
+
+    List<Object[]> deptStats = dashboard.rows(AnalyticsQuery.DEPARTMENT_STATS);
+    List<Object[]> managerWorkload = dashboard.rows(AnalyticsQuery.MANAGER_WORKLOAD);
 
     // Pass the mapped DTO list to the model
     model.addAttribute("topEarners", topEarners.subList(0, Math.min(5, topEarners.size())));
     model.addAttribute("deptStats", deptStats);
     model.addAttribute("managerWorkload", managerWorkload);
+    model.addAttribute("unavailableWidgets", dashboard.getUnavailable().stream().map(AnalyticsQuery::getSlug).toList());
 
     return "analytics/dashboard";
 
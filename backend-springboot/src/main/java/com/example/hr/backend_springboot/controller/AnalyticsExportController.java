@@ -0,0 +1,79 @@
+package com.example.hr.backend_springboot.controller;
+
+import com.example.hr.backend_springboot.service.AnalyticsExportService;
+import com.example.hr.backend_springboot.service.AnalyticsQuery;
+import com.example.hr.backend_springboot.service.ExportFormat;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@RestController
+public class AnalyticsExportController {
+    @Autowired
+    private AnalyticsExportService exportService;
+
+    // e.g. /analytics/overlapping-jobs/export?format=ndjson
+    @GetMapping("/analytics/{slug}/export")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String slug,
+                                                        @RequestParam(defaultValue = "csv") String format,
+                                                        NativeWebRequest request) {
+        AnalyticsQuery query;
+        ExportFormat exportFormat;
+        try {
+            query = AnalyticsQuery.fromSlug(slug);
+            exportFormat = ExportFormat.fromName(format);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!exportService.tryAcquire()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .build();
+        }
+        // The permit is taken here so a full house can still answer 503, but the
+        // body may never run if the request times out, errors or is dropped while
+        // queued. afterCompletion fires on all of those; whichever comes first
+        // gives the permit back.
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                exportService.release();
+            }
+        };
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor("export-permit",
+            new CallableProcessingInterceptor() {
+                @Override
+                public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                    release.run();
+                }
+            });
+        StreamingResponseBody body = out -> {
+            // Already given back: the request ended before the body got to run
+            if (released.get()) {
+                return;
+            }
+            try {
+                exportService.export(query, exportFormat, out);
+            } finally {
+                release.run();
+            }
+        };
+        return ResponseEntity.ok()
+            .contentType(exportFormat.getMediaType())
+            .header(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + slug + "." + exportFormat.getExtension() + "\"")
+            .body(body);
+    }
+}
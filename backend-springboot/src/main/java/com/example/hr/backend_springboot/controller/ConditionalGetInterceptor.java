@@ -0,0 +1,114 @@
+package com.example.hr.backend_springboot.controller;
+
+import com.example.hr.backend_springboot.config.ConditionalGetProperties;
+import com.example.hr.backend_springboot.service.AnalyticsPrecomputer;
+import com.example.hr.backend_springboot.service.DataVersion;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import java.util.Map;
+
+// Conditional GET for the HTML pages. Their content only changes with the
+// data version, so the ETag and Last-Modified are derived from it and a
+// matching If-None-Match / If-Modified-Since is answered with 304 before the
+// controller runs: no query, no template. Validators are only sent once the
+// handler has completed normally, and handlers can opt a response out.
+@Component
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private static final String VALIDATOR = ConditionalGetInterceptor.class.getName() + ".validator";
+    private static final String SKIP = ConditionalGetInterceptor.class.getName() + ".skip";
+
+    private record Validator(String etag, long lastModifiedMillis) {}
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    @Autowired
+    private ConditionalGetProperties properties;
+
+    // For pages that are not a pure function of the data, e.g. a dashboard with timed-out widgets
+    public static void skip(HttpServletRequest request) {
+        request.setAttribute(SKIP, Boolean.TRUE);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!properties.isEnabled() || !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()))) {
+            return true;
+        }
+        // Flash messages after a redirect are one-off content
+        Map<String, ?> flash = RequestContextUtils.getInputFlashMap(request);
+        if (flash != null && !flash.isEmpty()) {
+            return true;
+        }
+        Validator validator = validator();
+        request.setAttribute(VALIDATOR, validator);
+        if (notModified(request, validator)) {
+            writeHeaders(response, validator);
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        Validator validator = (Validator) request.getAttribute(VALIDATOR);
+        // A page built from a stale precomputed result must not carry the current version's validator
+        if (validator == null || request.getAttribute(SKIP) != null
+                || request.getAttribute(AnalyticsPrecomputer.SERVED_STALE) != null || response.isCommitted()) {
+            return;
+        }
+        writeHeaders(response, validator);
+    }
+
+    // Taken before the handler runs, so a write racing the page only makes the validator older
+    private Validator validator() {
+        long now = System.currentTimeMillis();
+        long interval = properties.getMaxStaleness().toMillis();
+        long bucket = interval > 0 ? now / interval : 0;
+        String etag = "\"" + Long.toString(dataVersion.startedAtMillis(), 36) + "-" + dataVersion.current()
+            + "-" + Long.toString(bucket, 36) + "\"";
+        long lastModified = Math.max(dataVersion.changedAtMillis(), bucket * interval);
+        // HTTP dates have one-second resolution
+        return new Validator(etag, lastModified / 1000 * 1000);
+    }
+
+    private static boolean notModified(HttpServletRequest request, Validator validator) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            // If-None-Match takes precedence and uses the weak comparison
+            for (String tag : ifNoneMatch.split(",")) {
+                tag = tag.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(validator.etag())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        try {
+            long ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
+            return ifModifiedSince >= 0 && validator.lastModifiedMillis() <= ifModifiedSince;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static void writeHeaders(HttpServletResponse response, Validator validator) {
+        response.setHeader(HttpHeaders.ETAG, validator.etag());
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, validator.lastModifiedMillis());
+        // Always revalidate; without this browsers guess a freshness lifetime from Last-Modified
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+    }
+}
@@ -16,13 +16,13 @@ public class DepartmentController {
 
     @GetMapping
     public String listDepartments(Model model) {
-        model.addAttribute("departments", departmentRepository.findAll());
+        model.addAttribute("departments", departmentRepository.findAllForList());
         return "department/list";
     }
 
     @GetMapping("/view/{id}")
     public String viewDepartment(@PathVariable Long id, Model model) {
-        Optional<Department> department = departmentRepository.findById(id);
+        Optional<Department> department = departmentRepository.findDetailByDepartmentId(id);
         model.addAttribute("department", department.orElse(null));
         return "department/view";
     }
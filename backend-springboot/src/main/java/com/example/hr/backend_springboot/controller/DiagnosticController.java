@@ -1,10 +1,16 @@
 package com.example.hr.backend_springboot.controller;
 
+import com.example.hr.backend_springboot.bulkhead.BulkheadRegistry;
+import com.example.hr.backend_springboot.health.HealthService;
+import com.example.hr.backend_springboot.metrics.QueryStats;
 import com.example.hr.backend_springboot.repository.*;
+import com.example.hr.backend_springboot.service.AnalyticsPrecomputer;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import java.util.HashMap;
 import java.util.Map;
@@ -15,42 +21,49 @@ public class DiagnosticController {
     
     @Autowired
     private EmployeeRepository employeeRepository;
-    
+
     @Autowired
-    private DepartmentRepository departmentRepository;
-    
+    private HealthService healthService;
+
+    @Autowired
+    private QueryStats queryStats;
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
     @Autowired
-    private JobRepository jobRepository;
+    private AnalyticsPrecomputer precomputer;
     
+    // Full report: DB ping, pool usage, recent query latencies and cached row counts. No table scans.
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> checkHealth() {
-        Map<String, Object> status = new HashMap<>();
-        
-        try {
-            status.put("status", "UP");
-            status.put("employeeCount", employeeRepository.count());
-            status.put("departmentCount", departmentRepository.count());
-            status.put("jobCount", jobRepository.count());
-            
-            // Test a simple query
-            status.put("firstEmployee", employeeRepository.findAll().stream().findFirst().orElse(null));
-            
-            // Test native query
-            try {
-                employeeRepository.findTopEarnersByDepartmentRaw();
-                status.put("nativeQueryStatus", "WORKING");
-            } catch (Exception e) {
-                status.put("nativeQueryStatus", "FAILED");
-                status.put("nativeQueryError", e.getMessage());
-            }
-            
-        } catch (Exception e) {
-            status.put("status", "DOWN");
-            status.put("error", e.getMessage());
-            status.put("errorClass", e.getClass().getName());
-        }
-        
-        return ResponseEntity.ok(status);
+        return ResponseEntity.ok(healthService.report());
+    }
+
+    // Liveness probe: the process is up and serving requests; never touches the database
+    @GetMapping("/health/live")
+    public ResponseEntity<Map<String, Object>> liveness() {
+        return ResponseEntity.ok(healthService.liveness());
+    }
+
+    // Readiness probe: 503 while the database cannot be reached
+    @GetMapping("/health/ready")
+    public ResponseEntity<Map<String, Object>> readiness() {
+        Map<String, Object> readiness = healthService.readiness();
+        HttpStatus status = healthService.isReady(readiness) ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(status).body(readiness);
+    }
+    
+    // Per-compartment slots, queue length, rejections and queue wait percentiles
+    @GetMapping("/bulkheads")
+    public ResponseEntity<Map<String, Object>> bulkheads() {
+        return ResponseEntity.ok(bulkheadRegistry.stats());
+    }
+
+    // Precomputed analytics: result age, last refresh duration, staleness and failures
+    @GetMapping("/precompute")
+    public ResponseEntity<Map<String, Object>> precompute() {
+        return ResponseEntity.ok(precomputer.stats());
     }
     
     @GetMapping("/test-queries")
@@ -85,25 +98,21 @@ public class DiagnosticController {
         return ResponseEntity.ok(results);
     }
     
+    // Cached row-count estimates instead of loading every row
     @GetMapping("/tables")
     public ResponseEntity<Map<String, Object>> checkTables() {
-        Map<String, Object> results = new HashMap<>();
-        
-        try {
-            // Check if we can query basic tables
-            results.put("employees", employeeRepository.findAll().size());
-            results.put("departments", departmentRepository.findAll().size());
-            results.put("jobs", jobRepository.findAll().size());
-            
-            // Get sample data
-            results.put("sampleEmployee", employeeRepository.findAll().stream().findFirst().orElse(null));
-            results.put("sampleDepartment", departmentRepository.findAll().stream().findFirst().orElse(null));
-            
-        } catch (Exception e) {
-            results.put("error", e.getMessage());
-            results.put("stackTrace", e.getStackTrace());
-        }
-        
-        return ResponseEntity.ok(results);
+        return ResponseEntity.ok(healthService.rowCounts());
+    }
+
+    // Latency histograms per analytics query (db / mapping / render), heaviest total DB time first
+    @GetMapping("/query-stats")
+    public ResponseEntity<Map<String, Object>> queryStats() {
+        return ResponseEntity.ok(queryStats.snapshot());
+    }
+
+    @DeleteMapping("/query-stats")
+    public ResponseEntity<Void> resetQueryStats() {
+        queryStats.reset();
+        return ResponseEntity.noContent().build();
     }
 }
@@ -1,20 +1,27 @@
 package com.example.hr.backend_springboot.controller;
 
+import com.example.hr.backend_springboot.dto.SalaryBandDTO;
+import com.example.hr.backend_springboot.event.EmployeeChangedEvent;
+import com.example.hr.backend_springboot.event.EmployeeState;
 import com.example.hr.backend_springboot.model.Employee;
 import com.example.hr.backend_springboot.repository.DepartmentRepository;
 import com.example.hr.backend_springboot.repository.EmployeeRepository;
 import com.example.hr.backend_springboot.repository.JobRepository;
+import com.example.hr.backend_springboot.service.EmployeePageService;
+import com.example.hr.backend_springboot.service.EmployeeSort;
+import com.example.hr.backend_springboot.service.LookupService;
+import com.example.hr.backend_springboot.stats.SalarySketchStore;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.web.PageableDefault;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 @Controller
@@ -27,19 +34,37 @@ public class EmployeeController {
     private DepartmentRepository departmentRepository;
     @Autowired
     private JobRepository jobRepository;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private LookupService lookupService;
+    @Autowired
+    private EmployeePageService employeePageService;
+    @Autowired
+    private SalarySketchStore salarySketchStore;
 
     @GetMapping
-    public String listEmployees(Model model, @PageableDefault(size = 20) Pageable pageable) {
-        Page<Employee> employees = employeeRepository.findAll(pageable);
-        model.addAttribute("employees", employees);
+    public String listEmployees(Model model,
+                                @RequestParam(required = false) String cursor,
+                                @RequestParam(defaultValue = "id") String sort,
+                                @RequestParam(required = false) Integer size) {
+        EmployeeSort employeeSort;
+        try {
+            employeeSort = EmployeeSort.fromParam(sort);
+        } catch (IllegalArgumentException e) {
+            employeeSort = EmployeeSort.ID;
+        }
+        // Keyset pagination: cursor tokens replace page numbers, see EmployeePageService
+        model.addAttribute("employees", employeePageService.page(employeeSort, cursor, size));
         return "employee/list";
     }
 
     @GetMapping("/view/{id}")
     public String viewEmployee(@PathVariable Long id, Model model) {
-        Optional<Employee> employee = employeeRepository.findById(id);
+        Optional<Employee> employee = employeeRepository.findDetailByEmployeeId(id);
         if (employee.isPresent()) {
             model.addAttribute("employee", employee.get());
+            model.addAttribute("salaryBands", salaryBands(employee.get()));
             return "employee/view";
         } else {
             return "redirect:/employees";
@@ -49,9 +74,7 @@ public class EmployeeController {
     @GetMapping("/add")
     public String addEmployeeForm(Model model) {
         model.addAttribute("employee", new Employee());
-        model.addAttribute("departments", departmentRepository.findAll());
-        model.addAttribute("jobs", jobRepository.findAll());
-        model.addAttribute("managers", employeeRepository.findAll());
+        addFormOptions(model);
         return "employee/add";
     }
 
@@ -65,9 +88,7 @@ public class EmployeeController {
                             RedirectAttributes redirectAttributes) {
 
         if (result.hasErrors()) {
-            model.addAttribute("departments", departmentRepository.findAll());
-            model.addAttribute("jobs", jobRepository.findAll());
-            model.addAttribute("managers", employeeRepository.findAll());
+            addFormOptions(model);
             return "employee/add";
         }
 
@@ -85,40 +106,39 @@ public class EmployeeController {
             newEmployee.setSalary(employeeFormData.getSalary());
             newEmployee.setCommissionPct(employeeFormData.getCommissionPct());
 
-            // Set relationships from the request parameters.
+            // Set relationships from the request parameters. References only carry the
+            // foreign key, so no select is issued for the department, job or manager.
             if (department != null) {
-                newEmployee.setDepartment(departmentRepository.findById(department).orElse(null));
+                newEmployee.setDepartment(departmentRepository.getReferenceById(department));
             }
             if (job != null) {
-                newEmployee.setJob(jobRepository.findById(job).orElse(null));
+                newEmployee.setJob(jobRepository.getReferenceById(job));
             }
             if (manager != null) {
-                newEmployee.setManager(employeeRepository.findById(manager).orElse(null));
+                newEmployee.setManager(employeeRepository.getReferenceById(manager));
             }
 
             // Save the new entity, forcing an INSERT.
-            employeeRepository.save(newEmployee);
+            Employee saved = employeeRepository.save(newEmployee);
+            eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.ChangeType.CREATED,
+                saved.getEmployeeId(), null, EmployeeState.of(saved)));
 
             redirectAttributes.addFlashAttribute("successMessage", "Employee added successfully!");
             return "redirect:/employees";
 
         } catch (Exception e) {
             model.addAttribute("errorMessage", "Error saving employee: " + e.getMessage());
-            model.addAttribute("departments", departmentRepository.findAll());
-            model.addAttribute("jobs", jobRepository.findAll());
-            model.addAttribute("managers", employeeRepository.findAll());
+            addFormOptions(model);
             return "employee/add";
         }
     }
 
     @GetMapping("/edit/{id}")
     public String editEmployeeForm(@PathVariable Long id, Model model) {
-        Optional<Employee> employee = employeeRepository.findById(id);
+        Optional<Employee> employee = employeeRepository.findFormByEmployeeId(id);
         if (employee.isPresent()) {
             model.addAttribute("employee", employee.get());
-            model.addAttribute("departments", departmentRepository.findAll());
-            model.addAttribute("jobs", jobRepository.findAll());
-            model.addAttribute("managers", employeeRepository.findAll());
+            addFormOptions(model);
             return "employee/edit";
         } else {
             return "redirect:/employees";
@@ -136,9 +156,7 @@ public class EmployeeController {
                              RedirectAttributes redirectAttributes) {
 
         if (result.hasErrors()) {
-            model.addAttribute("departments", departmentRepository.findAll());
-            model.addAttribute("jobs", jobRepository.findAll());
-            model.addAttribute("managers", employeeRepository.findAll());
+            addFormOptions(model);
             return "employee/edit";
         }
 
@@ -148,6 +166,7 @@ public class EmployeeController {
             Optional<Employee> existingEmployee = employeeRepository.findById(id);
             if (existingEmployee.isPresent()) {
                 Employee empToUpdate = existingEmployee.get();
+                EmployeeState before = EmployeeState.of(empToUpdate);
 
                 // Update only the fields from the form.
                 empToUpdate.setFirstName(employee.getFirstName());
@@ -159,22 +178,24 @@ public class EmployeeController {
                 empToUpdate.setCommissionPct(employee.getCommissionPct());
 
                 if (department != null) {
-                    empToUpdate.setDepartment(departmentRepository.findById(department).orElse(null));
+                    empToUpdate.setDepartment(departmentRepository.getReferenceById(department));
                 } else {
                     empToUpdate.setDepartment(null);
                 }
                 if (job != null) {
-                    empToUpdate.setJob(jobRepository.findById(job).orElse(null));
+                    empToUpdate.setJob(jobRepository.getReferenceById(job));
                 } else {
                     empToUpdate.setJob(null);
                 }
                 if (manager != null) {
-                    empToUpdate.setManager(employeeRepository.findById(manager).orElse(null));
+                    empToUpdate.setManager(employeeRepository.getReferenceById(manager));
                 } else {
                     empToUpdate.setManager(null);
                 }
 
-                employeeRepository.save(empToUpdate);
+                Employee saved = employeeRepository.save(empToUpdate);
+                eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.ChangeType.UPDATED,
+                    id, before, EmployeeState.of(saved)));
                 redirectAttributes.addFlashAttribute("successMessage", "Employee updated successfully!");
                 return "redirect:/employees";
             } else {
@@ -183,9 +204,7 @@ public class EmployeeController {
             }
         } catch (Exception e) {
             model.addAttribute("errorMessage", "Error updating employee: " + e.getMessage());
-            model.addAttribute("departments", departmentRepository.findAll());
-            model.addAttribute("jobs", jobRepository.findAll());
-            model.addAttribute("managers", employeeRepository.findAll());
+            addFormOptions(model);
             return "employee/edit";
         }
     }
@@ -193,11 +212,39 @@ public class EmployeeController {
     @GetMapping("/delete/{id}")
     public String deleteEmployee(@PathVariable Long id, RedirectAttributes redirectAttributes) {
         try {
+            // Load the row first so listeners learn what was removed
+            EmployeeState before = employeeRepository.findById(id).map(EmployeeState::of).orElse(null);
             employeeRepository.deleteById(id);
+            eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.ChangeType.DELETED, id, before, null));
             redirectAttributes.addFlashAttribute("successMessage", "Employee deleted successfully!");
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("errorMessage", "Error deleting employee: " + e.getMessage());
         }
         return "redirect:/employees";
     }
+
+    // Approximate salary percentile within the employee's department and job, from the salary sketches
+    private List<SalaryBandDTO> salaryBands(Employee employee) {
+        List<SalaryBandDTO> bands = new ArrayList<>(2);
+        if (employee.getDepartment() != null) {
+            SalaryBandDTO band = salarySketchStore.departmentBand(employee.getDepartment().getDepartmentId(), employee.getSalary());
+            if (band != null) {
+                bands.add(band);
+            }
+        }
+        if (employee.getJob() != null) {
+            SalaryBandDTO band = salarySketchStore.jobBand(employee.getJob().getJobId(), employee.getSalary());
+            if (band != null) {
+                bands.add(band);
+            }
+        }
+        return bands;
+    }
+
+    // Dropdown options come from the cached lookup tables rather than entity findAll()
+    private void addFormOptions(Model model) {
+        model.addAttribute("departments", lookupService.departments().options());
+        model.addAttribute("jobs", lookupService.jobs().options());
+        model.addAttribute("managers", lookupService.managers().options());
+    }
 }
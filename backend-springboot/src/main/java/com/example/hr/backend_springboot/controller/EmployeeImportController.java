@@ -0,0 +1,52 @@
+package com.example.hr.backend_springboot.controller;
+
+import com.example.hr.backend_springboot.importer.EmployeeImportService;
+import com.example.hr.backend_springboot.service.ExportFormat;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+// Bulk employee import; the request body is the file itself, read as it arrives, e.g.
+// curl -X POST --data-binary @people.csv -H 'Content-Type: text/csv' '/api/employees/import?format=csv'
+// Columns: first_name, last_name, email, phone_number, hire_date (yyyy-MM-dd), job_id,
+// salary, commission_pct, department_id, and manager_id or manager_email.
+@RestController
+public class EmployeeImportController {
+    @Autowired
+    private EmployeeImportService importService;
+
+    @PostMapping("/api/employees/import")
+    public ResponseEntity<?> importEmployees(HttpServletRequest request,
+                                             @RequestParam(defaultValue = "csv") String format,
+                                             @RequestParam(defaultValue = "false") boolean dryRun)
+            throws IOException {
+        ExportFormat importFormat;
+        try {
+            importFormat = ExportFormat.fromName(format);
+        } catch (IllegalArgumentException e) {
+            List<String> accepted = Arrays.stream(ExportFormat.values()).map(ExportFormat::getExtension).toList();
+            return ResponseEntity.badRequest()
+                .body(Map.of("error", "Unknown format: " + format, "acceptedFormats", accepted));
+        }
+        if (!importService.tryAcquire()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .build();
+        }
+        try {
+            return ResponseEntity.ok(importService.importEmployees(request.getInputStream(), importFormat, dryRun));
+        } finally {
+            importService.release();
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package com.example.hr.backend_springboot.controller;
 
-import com.example.hr.backend_springboot.model.JobHistory;
-import com.example.hr.backend_springboot.repository.JobHistoryRepository;
+import com.example.hr.backend_springboot.dto.JobHistoryEntryDTO;
 import com.example.hr.backend_springboot.repository.EmployeeRepository;
+import com.example.hr.backend_springboot.service.JobHistoryService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -13,17 +13,15 @@ import java.util.List;
 @RequestMapping("/jobhistory")
 public class JobHistoryController {
     @Autowired
-    private JobHistoryRepository jobHistoryRepository;
+    private JobHistoryService jobHistoryService;
     @Autowired
     private EmployeeRepository employeeRepository;
 
     @GetMapping("/employee/{employeeId}")
     public String listJobHistoryByEmployee(@PathVariable Long employeeId, Model model) {
-        List<JobHistory> jobHistory = jobHistoryRepository.findAll().stream()
-            .filter(jh -> jh.getEmployee().getEmployeeId().equals(employeeId))
-            .toList();
+        List<JobHistoryEntryDTO> jobHistory = jobHistoryService.timeline(employeeId);
         model.addAttribute("jobHistory", jobHistory);
         model.addAttribute("employee", employeeRepository.findById(employeeId).orElse(null));
         return "jobhistory/list";
     }
-} 
\ No newline at end of file
+}
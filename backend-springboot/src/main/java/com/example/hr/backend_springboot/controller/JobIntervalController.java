@@ -0,0 +1,27 @@
+package com.example.hr.backend_springboot.controller;
+
+import com.example.hr.backend_springboot.dto.ConcurrentRoleDTO;
+import com.example.hr.backend_springboot.snapshot.JobIntervalService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Point-in-time job history queries answered from the interval tree over job_history
+@RestController
+@RequestMapping("/api/job-history")
+public class JobIntervalController {
+    @Autowired
+    private JobIntervalService jobIntervalService;
+
+    // Employees who held two or more assignments on the date, e.g. ?date=2005-03-01
+    @GetMapping("/concurrent-roles")
+    public List<ConcurrentRoleDTO> concurrentRoles(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return jobIntervalService.concurrentRoles(date);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.hr.backend_springboot.controller;
+
+import com.example.hr.backend_springboot.dto.NextRoleDTO;
+import com.example.hr.backend_springboot.transitions.JobTransitionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Career-path queries answered from the in-memory job transition matrix
+@RestController
+@RequestMapping("/api/job-transitions")
+public class JobTransitionController {
+    @Autowired
+    private JobTransitionService jobTransitionService;
+
+    // Most likely roles after a job, e.g. ?job=SA_REP&k=3; steps=2 looks two moves ahead
+    @GetMapping("/next")
+    public List<NextRoleDTO> next(@RequestParam String job,
+                                  @RequestParam(defaultValue = "1") int steps,
+                                  @RequestParam(defaultValue = "5") int k) {
+        return jobTransitionService.next(job, Math.min(Math.max(steps, 1), 20), k);
+    }
+
+    // Probability of a career path taken one transition at a time, e.g. ?jobs=ST_CLERK,ST_MAN,SA_MAN
+    @GetMapping("/path")
+    public Map<String, Object> path(@RequestParam List<String> jobs) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("jobs", jobs);
+        result.put("probability", jobTransitionService.pathProbability(jobs));
+        return result;
+    }
+}
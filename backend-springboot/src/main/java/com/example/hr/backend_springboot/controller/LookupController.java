@@ -0,0 +1,40 @@
+package com.example.hr.backend_springboot.controller;
+
+import com.example.hr.backend_springboot.config.LookupProperties;
+import com.example.hr.backend_springboot.dto.LookupOptionDTO;
+import com.example.hr.backend_springboot.service.LookupService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/lookup")
+public class LookupController {
+    @Autowired
+    private LookupService lookupService;
+    @Autowired
+    private LookupProperties properties;
+
+    // Prefix typeahead, e.g. /api/lookup/employees?q=joh matches "John Chen" and "Alyssa Johnson"
+    @GetMapping("/{kind}")
+    public ResponseEntity<List<LookupOptionDTO>> search(@PathVariable String kind,
+                                                        @RequestParam(defaultValue = "") String q,
+                                                        @RequestParam(required = false) Integer limit) {
+        LookupService.Kind lookupKind;
+        try {
+            lookupKind = LookupService.Kind.valueOf(kind.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+        int max = Math.min(limit == null ? properties.getTypeaheadLimit() : Math.max(1, limit),
+            properties.getTypeaheadLimit() * 5);
+        return ResponseEntity.ok(lookupService.table(lookupKind).search(q, max));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.hr.backend_springboot.controller;
+
+import com.example.hr.backend_springboot.dto.OrgNodeDTO;
+import com.example.hr.backend_springboot.orgtree.OrgTreeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+// Reporting-line queries answered from the in-memory org tree instead of CONNECT BY
+@RestController
+@RequestMapping("/api/org")
+public class OrgTreeController {
+    @Autowired
+    private OrgTreeService orgTreeService;
+
+    // Top-level employees (no manager) with their subtree totals
+    @GetMapping
+    public List<OrgNodeDTO> roots() {
+        return orgTreeService.roots();
+    }
+
+    // Headcount and total salary under an employee, O(1)
+    @GetMapping("/{id}")
+    public ResponseEntity<OrgNodeDTO> node(@PathVariable Long id) {
+        OrgNodeDTO node = orgTreeService.node(id);
+        return node == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(node);
+    }
+
+    // Everyone under an employee in reporting order, O(subtree); levels limits the depth
+    @GetMapping("/{id}/subtree")
+    public ResponseEntity<List<OrgNodeDTO>> subtree(@PathVariable Long id,
+                                                    @RequestParam(required = false) Integer levels) {
+        List<OrgNodeDTO> subtree = orgTreeService.subtree(id, levels);
+        return subtree == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(subtree);
+    }
+
+    // Chain of command from an employee up to the top, O(depth)
+    @GetMapping("/{id}/chain")
+    public ResponseEntity<List<OrgNodeDTO>> chain(@PathVariable Long id) {
+        List<OrgNodeDTO> chain = orgTreeService.chain(id);
+        return chain == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(chain);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.hr.backend_springboot.controller;
+
+import com.example.hr.backend_springboot.config.SalarySketchProperties;
+import com.example.hr.backend_springboot.dto.SalaryBandDTO;
+import com.example.hr.backend_springboot.dto.SalaryDistributionDTO;
+import com.example.hr.backend_springboot.stats.SalarySketchStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Approximate salary percentiles from the per-department and per-job sketches,
+// e.g. /api/salary-sketch/departments/50?q=0.5,0.9,0.99 or
+// /api/salary-sketch/jobs/IT_PROG/percentile?salary=6000
+@RestController
+@RequestMapping("/api/salary-sketch")
+public class SalarySketchController {
+    @Autowired
+    private SalarySketchStore store;
+    @Autowired
+    private SalarySketchProperties properties;
+
+    @GetMapping("/company")
+    public ResponseEntity<SalaryDistributionDTO> company(@RequestParam(required = false) List<Double> q) {
+        return orNotFound(store.company(quantiles(q)));
+    }
+
+    @GetMapping("/departments/{id}")
+    public ResponseEntity<SalaryDistributionDTO> department(@PathVariable Long id,
+                                                            @RequestParam(required = false) List<Double> q) {
+        return orNotFound(store.department(id, quantiles(q)));
+    }
+
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<SalaryDistributionDTO> job(@PathVariable String id,
+                                                     @RequestParam(required = false) List<Double> q) {
+        return orNotFound(store.job(id, quantiles(q)));
+    }
+
+    @GetMapping("/departments/{id}/percentile")
+    public ResponseEntity<SalaryBandDTO> departmentPercentile(@PathVariable Long id, @RequestParam BigDecimal salary) {
+        return orNotFound(store.departmentBand(id, salary));
+    }
+
+    @GetMapping("/jobs/{id}/percentile")
+    public ResponseEntity<SalaryBandDTO> jobPercentile(@PathVariable String id, @RequestParam BigDecimal salary) {
+        return orNotFound(store.jobBand(id, salary));
+    }
+
+    private List<Double> quantiles(List<Double> requested) {
+        if (requested == null || requested.isEmpty()) {
+            return properties.getDefaultQuantiles();
+        }
+        return requested.stream().filter(q -> q >= 0 && q <= 1).limit(20).toList();
+    }
+
+    private static <T> ResponseEntity<T> orNotFound(T body) {
+        return body == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(body);
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.hr.backend_springboot.dto;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+// Converts the raw Object[] rows of the analytics native queries into DTOs.
+// Column positions follow the SELECT lists in EmployeeRepository.
+public final class AnalyticsRowMapper {
+
+    private AnalyticsRowMapper() {
+    }
+
+    public static List<TopEarnerDTO> toTopEarners(List<Object[]> rows) {
+        List<TopEarnerDTO> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            result.add(new TopEarnerDTO(
+                (String) row[0],
+                (String) row[1],
+                (BigDecimal) row[2],
+                (BigDecimal) row[3],
+                (BigDecimal) row[4]
+            ));
+        }
+        return result;
+    }
+
+    public static List<EmployeeHierarchyDTO> toHierarchy(List<Object[]> rows) {
+        List<EmployeeHierarchyDTO> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            result.add(new EmployeeHierarchyDTO(
+                ((Number) row[0]).intValue(),
+                (String) row[1],
+                (String) row[2],
+                (String) row[3],
+                (BigDecimal) row[4]
+            ));
+        }
+        return result;
+    }
+
+    public static List<DepartmentStatsDTO> toDepartmentStats(List<Object[]> rows) {
+        List<DepartmentStatsDTO> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            result.add(new DepartmentStatsDTO(
+                (String) row[0],
+                ((Number) row[1]).longValue(),
+                (BigDecimal) row[2],
+                (BigDecimal) row[3],
+                (BigDecimal) row[4],
+                (BigDecimal) row[5],
+                (BigDecimal) row[6]
+            ));
+        }
+        return result;
+    }
+
+    public static List<EmployeeSalaryPercentileDTO> toSalaryPercentiles(List<Object[]> rows) {
+        List<EmployeeSalaryPercentileDTO> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            result.add(new EmployeeSalaryPercentileDTO(
+                (String) row[0],
+                (String) row[1],
+                (BigDecimal) row[2],
+                (BigDecimal) row[3]
+            ));
+        }
+        return result;
+    }
+
+    public static List<ManagerWorkloadDTO> toManagerWorkloads(List<Object[]> rows) {
+        List<ManagerWorkloadDTO> result = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            result.add(new ManagerWorkloadDTO(
+                (String) row[0],
+                (String) row[1],
+                ((Number) row[2]).longValue(),
+                (BigDecimal) row[3]
+            ));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.hr.backend_springboot.dto;
+
+import java.time.LocalDate;
+
+// One job_history assignment held on the queried date by an employee who held
+// more than one assignment that day.
+public record ConcurrentRoleDTO(
+    Long employeeId,
+    String employeeName,
+    String jobId,
+    String jobTitle,
+    LocalDate startDate,
+    LocalDate endDate
+) {
+}
@@ -0,0 +1,21 @@
+package com.example.hr.backend_springboot.dto;
+
+import java.util.List;
+
+// Outcome of a bulk employee import. rowsRejected counts every rejected row;
+// errors lists the first maxErrors of them by input line.
+public record EmployeeImportReportDTO(
+    boolean dryRun,
+    long rowsRead,
+    long rowsImported,
+    long rowsRejected,
+    int chunks,
+    long elapsedMillis,
+    double rowsPerSecond,
+    Long firstEmployeeId,
+    Long lastEmployeeId,
+    List<RowError> errors
+) {
+    public record RowError(long line, String message) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.hr.backend_springboot.dto;
+
+import java.time.LocalDate;
+
+// One row of an employee's job timeline, detached from the JPA entities so it can be cached.
+public class JobHistoryEntryDTO {
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+    private final String jobId;
+    private final String jobTitle;
+    private final Long departmentId;
+    private final String departmentName;
+
+    public JobHistoryEntryDTO(LocalDate startDate, LocalDate endDate, String jobId, String jobTitle,
+                              Long departmentId, String departmentName) {
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.jobId = jobId;
+        this.jobTitle = jobTitle;
+        this.departmentId = departmentId;
+        this.departmentName = departmentName;
+    }
+
+    public LocalDate getStartDate() { return startDate; }
+    public LocalDate getEndDate() { return endDate; }
+    public String getJobId() { return jobId; }
+    public String getJobTitle() { return jobTitle; }
+    public Long getDepartmentId() { return departmentId; }
+    public String getDepartmentName() { return departmentName; }
+}
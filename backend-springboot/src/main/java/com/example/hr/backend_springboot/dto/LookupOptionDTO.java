@@ -0,0 +1,16 @@
+package com.example.hr.backend_springboot.dto;
+
+// One (id, display name) entry of a form dropdown or typeahead result.
+public class LookupOptionDTO {
+    private final Object id;
+    private final String label;
+
+    public LookupOptionDTO(Object id, String label) {
+        this.id = id;
+        this.label = label;
+    }
+
+    public Object getId() { return id; }
+
+    public String getLabel() { return label; }
+}
@@ -0,0 +1,11 @@
+package com.example.hr.backend_springboot.dto;
+
+// A role reachable from the queried job. transitions is the observed count for
+// a single step and null for multi-step queries, where only the probability applies.
+public record NextRoleDTO(
+    String jobId,
+    String jobTitle,
+    Integer transitions,
+    double probability
+) {
+}
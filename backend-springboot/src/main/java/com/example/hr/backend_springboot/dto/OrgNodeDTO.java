@@ -0,0 +1,20 @@
+package com.example.hr.backend_springboot.dto;
+
+import java.math.BigDecimal;
+
+// One employee in the org tree with the aggregates of the subtree rooted at
+// them (themselves included). level is relative to the queried root.
+public record OrgNodeDTO(
+    Long employeeId,
+    String name,
+    Long managerId,
+    String jobId,
+    Long departmentId,
+    BigDecimal salary,
+    int depth,
+    int level,
+    int directReports,
+    int headcount,
+    BigDecimal subtreeSalary
+) {
+}
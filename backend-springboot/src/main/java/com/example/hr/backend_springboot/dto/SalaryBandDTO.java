@@ -0,0 +1,16 @@
+package com.example.hr.backend_springboot.dto;
+
+import java.math.BigDecimal;
+
+// Where a salary sits within a department or job: the approximate PERCENT_RANK
+// (0-100, may be low by up to maxError points) and the group's median and p90.
+public record SalaryBandDTO(
+    String scope,
+    String key,
+    long count,
+    BigDecimal percentile,
+    BigDecimal maxError,
+    BigDecimal median,
+    BigDecimal p90
+) {
+}
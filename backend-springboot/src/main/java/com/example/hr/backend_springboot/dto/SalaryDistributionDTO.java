@@ -0,0 +1,15 @@
+package com.example.hr.backend_springboot.dto;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+// Approximate salary quantiles for one department, job or the whole company,
+// keyed "p50", "p90", ... Each value is within relativeAccuracy of the exact one.
+public record SalaryDistributionDTO(
+    String scope,
+    String key,
+    long count,
+    double relativeAccuracy,
+    Map<String, BigDecimal> quantiles
+) {
+}
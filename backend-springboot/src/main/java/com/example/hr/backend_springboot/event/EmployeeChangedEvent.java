@@ -0,0 +1,39 @@
+package com.example.hr.backend_springboot.event;
+
+// Published after an employee write has been committed so that caches and
+// derived structures can react to it. before is null for CREATED, after is
+// null for DELETED; either may also be null when the caller did not have it,
+// in which case listeners should fall back to reloading.
+public class EmployeeChangedEvent {
+
+    public enum ChangeType { CREATED, UPDATED, DELETED }
+
+    private final ChangeType type;
+    private final Long employeeId;
+    private final EmployeeState before;
+    private final EmployeeState after;
+
+    public EmployeeChangedEvent(ChangeType type, Long employeeId) {
+        this(type, employeeId, null, null);
+    }
+
+    public EmployeeChangedEvent(ChangeType type, Long employeeId, EmployeeState before, EmployeeState after) {
+        this.type = type;
+        this.employeeId = employeeId;
+        this.before = before;
+        this.after = after;
+    }
+
+    public ChangeType getType() { return type; }
+    public Long getEmployeeId() { return employeeId; }
+    public EmployeeState getBefore() { return before; }
+    public EmployeeState getAfter() { return after; }
+
+    @Override
+    public String toString() {
+        return "EmployeeChangedEvent{" +
+                "type=" + type +
+                ", employeeId=" + employeeId +
+                '}';
+    }
+}
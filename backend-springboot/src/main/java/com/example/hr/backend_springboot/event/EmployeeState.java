@@ -0,0 +1,26 @@
+package com.example.hr.backend_springboot.event;
+
+import com.example.hr.backend_springboot.model.Employee;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Column values of one employee row at the time of a write. Associations are
+// reduced to their ids so listeners never touch lazy entity state.
+public record EmployeeState(Long employeeId, String firstName, String lastName, Long managerId,
+                            Long departmentId, String jobId, BigDecimal salary, BigDecimal commissionPct,
+                            LocalDate hireDate) {
+
+    public static EmployeeState of(Employee e) {
+        return new EmployeeState(
+            e.getEmployeeId(),
+            e.getFirstName(),
+            e.getLastName(),
+            e.getManager() != null ? e.getManager().getEmployeeId() : null,
+            e.getDepartment() != null ? e.getDepartment().getDepartmentId() : null,
+            e.getJob() != null ? e.getJob().getJobId() : null,
+            e.getSalary(),
+            e.getCommissionPct(),
+            e.getHireDate());
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.hr.backend_springboot.health;
+
+import com.example.hr.backend_springboot.config.HealthProperties;
+import com.example.hr.backend_springboot.routing.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.pool.HikariPool;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Constant-cost database check: borrow a pooled connection and ask the driver
+// whether it is valid (a protocol-level ping on Oracle). Results are reused
+// for health.ping-interval so a burst of probes costs one round trip, and only
+// one probe pings at a time; the others get the previous result instead of
+// queueing behind it. The ping waits at most health.pool-wait for a pooled
+// connection: a pool with none to spare is SATURATED, not DOWN.
+@Component
+public class DatabasePing {
+
+    public enum Status { UP, SATURATED, DOWN }
+
+    private final DataSource dataSource;
+    private final HealthProperties properties;
+    private final AtomicReference<CompletableFuture<Result>> inFlight = new AtomicReference<>();
+    private volatile Result last;
+
+    public DatabasePing(DataSource dataSource, HealthProperties properties) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+    }
+
+    public Result ping() {
+        Result previous = last;
+        if (previous != null && System.nanoTime() - previous.checkedAtNanos < properties.getPingInterval().toNanos()) {
+            return previous;
+        }
+        CompletableFuture<Result> mine = new CompletableFuture<>();
+        CompletableFuture<Result> running = inFlight.compareAndExchange(null, mine);
+        if (running == null) {
+            try {
+                Result result = check();
+                last = result;
+                mine.complete(result);
+                return result;
+            } finally {
+                inFlight.set(null);
+            }
+        }
+        if (previous != null) {
+            return previous;
+        }
+        // First ping of the process: wait for the one in flight, but not longer than a ping may take
+        long waitNanos = properties.getPoolWait().toNanos() + properties.getPingTimeout().toNanos();
+        try {
+            return running.get(waitNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return new Result(Status.SATURATED, waitNanos / 1_000_000.0, "Ping still in progress", System.nanoTime());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Result(Status.DOWN, 0, "Interrupted", System.nanoTime());
+        } catch (ExecutionException e) {
+            return new Result(Status.DOWN, 0, e.getCause().getMessage(), System.nanoTime());
+        }
+    }
+
+    private Result check() {
+        long started = System.nanoTime();
+        Status status;
+        String error = null;
+        try (Connection connection = borrow()) {
+            boolean valid = connection.isValid((int) Math.max(1, properties.getPingTimeout().toSeconds()));
+            status = valid ? Status.UP : Status.DOWN;
+            if (!valid) {
+                error = "Connection reported invalid";
+            }
+        } catch (SQLTransientConnectionException e) {
+            // Every connection is in use for longer than pool-wait: busy, not broken
+            status = Status.SATURATED;
+            error = e.getMessage();
+        } catch (Exception e) {
+            status = Status.DOWN;
+            error = e.getMessage();
+        }
+        long now = System.nanoTime();
+        return new Result(status, (now - started) / 1_000_000.0, error, now);
+    }
+
+    // A connection from the primary pool, waiting at most pool-wait when the pool is Hikari and started
+    private Connection borrow() throws SQLException {
+        HikariPool pool = primaryPool();
+        return pool != null ? pool.getConnection(properties.getPoolWait().toMillis()) : dataSource.getConnection();
+    }
+
+    private HikariPool primaryPool() throws SQLException {
+        DataSource target = dataSource;
+        if (target.isWrapperFor(ReadWriteRoutingDataSource.class)) {
+            target = target.unwrap(ReadWriteRoutingDataSource.class).getPrimary();
+        }
+        if (target.isWrapperFor(HikariDataSource.class)) {
+            // The MXBean is the pool itself once the first connection has been made
+            return target.unwrap(HikariDataSource.class).getHikariPoolMXBean() instanceof HikariPool pool ? pool : null;
+        }
+        return null;
+    }
+
+    public record Result(Status status, double latencyMs, String error, long checkedAtNanos) {
+        // The database answered, or at least its connections are all busy
+        public boolean up() {
+            return status != Status.DOWN;
+        }
+    }
+}
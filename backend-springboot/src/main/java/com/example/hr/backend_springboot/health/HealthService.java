@@ -0,0 +1,128 @@
+package com.example.hr.backend_springboot.health;
+
+import com.example.hr.backend_springboot.config.HealthProperties;
+import com.example.hr.backend_springboot.metrics.QueryLatencyRecorder;
+import com.example.hr.backend_springboot.routing.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Health checks that never scan tables. Liveness only says the process can
+// serve requests; readiness adds one cached connection ping; the full report
+// adds pool usage, cached row-count estimates and recent query latencies.
+// A saturated pool keeps the instance ready: it is busy, and taking it out of
+// rotation would only move its load onto the others.
+@Service
+public class HealthService {
+
+    @Autowired
+    private DatabasePing databasePing;
+    @Autowired
+    private RowCountCache rowCountCache;
+    @Autowired
+    private QueryLatencyRecorder latencyRecorder;
+    @Autowired
+    private HealthProperties properties;
+    @Autowired
+    private DataSource dataSource;
+
+    public Map<String, Object> liveness() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("status", "UP");
+        return result;
+    }
+
+    public Map<String, Object> readiness() {
+        DatabasePing.Result ping = databasePing.ping();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("status", ping.status().name());
+        result.put("database", pingDetails(ping));
+        return result;
+    }
+
+    public boolean isReady(Map<String, Object> readiness) {
+        return !DatabasePing.Status.DOWN.name().equals(readiness.get("status"));
+    }
+
+    public Map<String, Object> report() {
+        DatabasePing.Result ping = databasePing.ping();
+        ReadWriteRoutingDataSource routing = routing();
+        Map<String, Object> pool = poolDetails(routing != null ? routing.getPrimary() : dataSource);
+        String status;
+        if (!ping.up()) {
+            status = "DOWN";
+        } else if (ping.status() == DatabasePing.Status.SATURATED || Boolean.TRUE.equals(pool.get("saturated"))) {
+            status = "DEGRADED";
+        } else {
+            status = "UP";
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("status", status);
+        result.put("database", pingDetails(ping));
+        result.put("pool", pool);
+        if (routing != null) {
+            Map<String, Object> replica = routing.stats();
+            replica.put("pool", poolDetails(routing.getReplica()));
+            result.put("replica", replica);
+        }
+        result.put("queryLatency", latencyRecorder.percentiles());
+        result.put("rowCounts", rowCountCache.estimates());
+        return result;
+    }
+
+    public Map<String, Object> rowCounts() {
+        return rowCountCache.estimates();
+    }
+
+    private Map<String, Object> pingDetails(DatabasePing.Result ping) {
+        Map<String, Object> db = new LinkedHashMap<>();
+        db.put("up", ping.up());
+        db.put("status", ping.status().name());
+        db.put("pingMs", Math.round(ping.latencyMs() * 100) / 100.0);
+        if (ping.error() != null) {
+            db.put("error", ping.error());
+        }
+        return db;
+    }
+
+    // The read/write router when routing.enabled=true, otherwise null
+    private ReadWriteRoutingDataSource routing() {
+        try {
+            return dataSource.isWrapperFor(ReadWriteRoutingDataSource.class)
+                ? dataSource.unwrap(ReadWriteRoutingDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    private Map<String, Object> poolDetails(DataSource dataSource) {
+        Map<String, Object> pool = new LinkedHashMap<>();
+        if (!(dataSource instanceof HikariDataSource hikari)) {
+            pool.put("type", dataSource.getClass().getSimpleName());
+            return pool;
+        }
+        HikariPoolMXBean mx = hikari.getHikariPoolMXBean();
+        int max = hikari.getMaximumPoolSize();
+        pool.put("max", max);
+        if (mx == null) {
+            pool.put("status", "NOT_STARTED");
+            return pool;
+        }
+        int active = mx.getActiveConnections();
+        int waiting = mx.getThreadsAwaitingConnection();
+        pool.put("active", active);
+        pool.put("idle", mx.getIdleConnections());
+        pool.put("total", mx.getTotalConnections());
+        pool.put("waiting", waiting);
+        double usage = max == 0 ? 0 : (double) active / max;
+        pool.put("usage", Math.round(usage * 100) / 100.0);
+        pool.put("saturated", waiting > 0 || usage >= properties.getSaturationThreshold());
+        return pool;
+    }
+}
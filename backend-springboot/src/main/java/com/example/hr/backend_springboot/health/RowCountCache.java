@@ -0,0 +1,105 @@
+package com.example.hr.backend_springboot.health;
+
+import com.example.hr.backend_springboot.config.HealthProperties;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Approximate row counts of the HR tables for the health report. On Oracle
+// they come from optimizer statistics (USER_TABLES.NUM_ROWS), elsewhere from
+// COUNT(*). Either way they are refreshed on a background thread once stale,
+// so a health probe only ever reads the cached map.
+@Component
+public class RowCountCache {
+    private static final Logger log = LoggerFactory.getLogger(RowCountCache.class);
+
+    static final List<String> TABLES = List.of(
+        "REGIONS", "COUNTRIES", "LOCATIONS", "DEPARTMENTS", "JOBS", "EMPLOYEES", "JOB_HISTORY");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final HealthProperties properties;
+    private final ExecutorService refresher =
+        Executors.newSingleThreadExecutor(new CustomizableThreadFactory("row-counts-"));
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile Snapshot snapshot;
+
+    public RowCountCache(DataSource dataSource, HealthProperties properties) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.properties = properties;
+    }
+
+    // Current estimates (possibly stale or empty); schedules a refresh when stale
+    public Map<String, Object> estimates() {
+        Snapshot s = snapshot;
+        if (s == null || s.loadedAt.plus(properties.getRowCountRefresh()).isBefore(Instant.now())) {
+            refreshAsync();
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (s == null) {
+            result.put("status", "PENDING");
+            return result;
+        }
+        result.put("source", s.source);
+        result.put("asOf", s.loadedAt.toString());
+        result.put("tables", s.counts);
+        return result;
+    }
+
+    private void refreshAsync() {
+        if (refreshing.compareAndSet(false, true)) {
+            refresher.execute(() -> {
+                try {
+                    snapshot = load();
+                } catch (Exception e) {
+                    log.warn("Row count refresh failed: {}", e.getMessage());
+                } finally {
+                    refreshing.set(false);
+                }
+            });
+        }
+    }
+
+    private Snapshot load() {
+        String product = jdbcTemplate.execute((java.sql.Connection c) -> {
+            DatabaseMetaData meta = c.getMetaData();
+            return meta.getDatabaseProductName();
+        });
+        Map<String, Long> counts = new LinkedHashMap<>();
+        if (product != null && product.toLowerCase(Locale.ROOT).contains("oracle")) {
+            jdbcTemplate.query("SELECT table_name, num_rows FROM user_tables", rs -> {
+                String table = rs.getString(1);
+                if (TABLES.contains(table)) {
+                    long rows = rs.getLong(2);
+                    counts.put(table.toLowerCase(Locale.ROOT), rs.wasNull() ? null : rows);
+                }
+            });
+            return new Snapshot(counts, "optimizer-statistics", Instant.now());
+        }
+        for (String table : TABLES) {
+            counts.put(table.toLowerCase(Locale.ROOT), jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class));
+        }
+        return new Snapshot(counts, "count", Instant.now());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private record Snapshot(Map<String, Long> counts, String source, Instant loadedAt) {
+    }
+}
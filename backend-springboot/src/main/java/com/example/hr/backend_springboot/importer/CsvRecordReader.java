@@ -0,0 +1,136 @@
+package com.example.hr.backend_springboot.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// RFC 4180 CSV: the first record is the header, fields may be quoted, quoted
+// fields may contain commas, doubled quotes and line breaks. Empty fields read
+// as null. Reads straight from the (buffered) Reader, one record at a time.
+class CsvRecordReader implements ImportRecordReader {
+    private final Reader in;
+    private final String[] header;
+    private final StringBuilder field = new StringBuilder();
+    private long currentLine = 1;
+    private long recordLine;
+    private int pushback = -2;
+
+    CsvRecordReader(Reader in) throws IOException {
+        this.in = in;
+        List<String> names = readFields();
+        if (names == null) {
+            throw new ImportFormatException("CSV input is empty; a header row is required");
+        }
+        header = new String[names.size()];
+        for (int i = 0; i < header.length; i++) {
+            header[i] = names.get(i) == null ? "" : ImportRecordReader.normalize(names.get(i));
+        }
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        List<String> fields;
+        do {
+            fields = readFields();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0) == null);  // blank line
+        if (fields.size() != header.length) {
+            throw new ImportFormatException("Expected " + header.length + " fields but found " + fields.size());
+        }
+        Map<String, String> record = new HashMap<>(header.length * 2);
+        for (int i = 0; i < header.length; i++) {
+            record.put(header[i], fields.get(i));
+        }
+        return record;
+    }
+
+    @Override
+    public long line() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // Fields of the next record, or null at end of input
+    private List<String> readFields() throws IOException {
+        recordLine = currentLine;
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        field.setLength(0);
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new ImportFormatException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    int n = read();
+                    if (n == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = n;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        currentLine++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0 && !wasQuoted) {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                fields.add(value(wasQuoted));
+                wasQuoted = false;
+            } else if (c == '\r' || c == '\n' || c == -1) {
+                if (c == '\r') {
+                    int n = read();
+                    if (n != '\n') {
+                        unread(n);
+                    }
+                }
+                if (c != -1) {
+                    currentLine++;
+                }
+                fields.add(value(wasQuoted));
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private String value(boolean wasQuoted) {
+        String v = field.toString();
+        field.setLength(0);
+        return v.isEmpty() && !wasQuoted ? null : v;
+    }
+
+    private int read() throws IOException {
+        if (pushback != -2) {
+            int c = pushback;
+            pushback = -2;
+            return c;
+        }
+        return in.read();
+    }
+
+    private void unread(int c) {
+        pushback = c;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.hr.backend_springboot.importer;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+
+// Draws a block of EMPLOYEES_SEQ values in one round trip instead of one
+// NEXTVAL per insert (the entity mapping uses allocationSize = 1 because the
+// HR sequence increments by 1). Values come from the sequence itself, so they
+// never collide with ids handed out by the form or by other sessions; they are
+// ascending but need not be contiguous.
+@Component
+public class EmployeeIdAllocator {
+    private static final String SEQUENCE = "EMPLOYEES_SEQ";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String blockSql;
+
+    public EmployeeIdAllocator(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public long[] allocate(int count) {
+        if (count <= 0) {
+            return new long[0];
+        }
+        List<Long> ids = jdbcTemplate.queryForList(blockSql(), Long.class, count);
+        if (ids.size() != count) {
+            throw new IllegalStateException("Asked " + SEQUENCE + " for " + count + " values, got " + ids.size());
+        }
+        long[] block = new long[count];
+        for (int i = 0; i < count; i++) {
+            block[i] = ids.get(i);
+        }
+        return block;
+    }
+
+    private String blockSql() {
+        String sql = blockSql;
+        if (sql == null) {
+            String product = jdbcTemplate.execute((Connection c) -> productName(c));
+            // Oracle has no row generator other than CONNECT BY on DUAL; H2 (tests) has SYSTEM_RANGE
+            sql = product.contains("oracle")
+                ? "SELECT " + SEQUENCE + ".NEXTVAL FROM dual CONNECT BY LEVEL <= ?"
+                : "SELECT NEXT VALUE FOR " + SEQUENCE + " FROM SYSTEM_RANGE(1, ?)";
+            blockSql = sql;
+        }
+        return sql;
+    }
+
+    private static String productName(Connection c) throws SQLException {
+        return c.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT);
+    }
+}
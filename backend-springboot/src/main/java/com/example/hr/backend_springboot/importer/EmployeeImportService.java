@@ -0,0 +1,465 @@
+package com.example.hr.backend_springboot.importer;
+
+import com.example.hr.backend_springboot.config.EmployeeImportProperties;
+import com.example.hr.backend_springboot.dto.EmployeeImportReportDTO;
+import com.example.hr.backend_springboot.event.EmployeeChangedEvent;
+import com.example.hr.backend_springboot.event.EmployeeState;
+import com.example.hr.backend_springboot.metrics.QueryStats;
+import com.example.hr.backend_springboot.model.Employee;
+import com.example.hr.backend_springboot.repository.DepartmentRepository;
+import com.example.hr.backend_springboot.repository.EmployeeRepository;
+import com.example.hr.backend_springboot.repository.JobRepository;
+import com.example.hr.backend_springboot.service.ExportFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+
+// Bulk employee import from CSV or NDJSON. Rows are streamed, validated with
+// the same bean constraints as the employee form, and have their department,
+// job and manager resolved against maps loaded once up front, so a row costs
+// no lookups. Ids are drawn from EMPLOYEES_SEQ in blocks of chunk-size, and
+// rows are written chunk-size at a time as one JDBC batch in one transaction.
+//
+// A manager may be given as manager_id (an existing employee) or manager_email
+// (an existing employee or a row earlier in the same input), so a whole
+// acquisition can be loaded managers-first in one file. If a chunk's batch
+// fails, the chunk is retried row by row to find the offending rows. Chunks
+// already committed stay committed when a later chunk or the stream fails.
+@Service
+public class EmployeeImportService {
+    private static final Logger log = LoggerFactory.getLogger(EmployeeImportService.class);
+
+    private static final String INSERT_SQL =
+        "INSERT INTO employees (employee_id, first_name, last_name, email, phone_number, hire_date, " +
+        "job_id, salary, commission_pct, manager_id, department_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // HR column widths: FIRST_NAME VARCHAR2(20), LAST_NAME/EMAIL VARCHAR2(25),
+    // PHONE_NUMBER VARCHAR2(20), SALARY NUMBER(8,2), COMMISSION_PCT NUMBER(2,2)
+    private static final int FIRST_NAME_MAX = 20;
+    private static final int LAST_NAME_MAX = 25;
+    private static final int EMAIL_MAX = 25;
+    private static final int PHONE_MAX = 20;
+    private static final BigDecimal SALARY_LIMIT = new BigDecimal("1000000");
+
+    private final EmployeeImportProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final EmployeeIdAllocator idAllocator;
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentRepository departmentRepository;
+    private final JobRepository jobRepository;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final QueryStats queryStats;
+    private final Semaphore permits;
+
+    public EmployeeImportService(EmployeeImportProperties properties, DataSource dataSource,
+                                 PlatformTransactionManager transactionManager, EmployeeIdAllocator idAllocator,
+                                 EmployeeRepository employeeRepository, DepartmentRepository departmentRepository,
+                                 JobRepository jobRepository, Validator validator, ObjectMapper objectMapper,
+                                 ApplicationEventPublisher eventPublisher, QueryStats queryStats) {
+        this.properties = properties;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.idAllocator = idAllocator;
+        this.employeeRepository = employeeRepository;
+        this.departmentRepository = departmentRepository;
+        this.jobRepository = jobRepository;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.queryStats = queryStats;
+        this.permits = new Semaphore(Math.max(1, properties.getMaxConcurrent()));
+    }
+
+    // Reserves a slot for an import; false when max-concurrent imports are already running.
+    public boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    // dryRun validates and resolves every row without drawing ids or writing anything.
+    public EmployeeImportReportDTO importEmployees(InputStream input, ExportFormat format, boolean dryRun)
+            throws IOException {
+        Run run = new Run(dryRun);
+        BufferedReader in = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 1 << 16);
+        try (ImportRecordReader reader = format == ExportFormat.CSV
+                ? new CsvRecordReader(in) : new NdjsonRecordReader(in, objectMapper)) {
+            run.preload();
+            while (true) {
+                Map<String, String> record;
+                try {
+                    record = reader.next();
+                } catch (ImportFormatException e) {
+                    run.rowsRead++;
+                    run.reject(reader.line(), e.getMessage());
+                    continue;
+                }
+                if (record == null) {
+                    break;
+                }
+                run.rowsRead++;
+                run.accept(reader.line(), record);
+            }
+            run.flush();
+        } catch (ImportFormatException e) {
+            run.reject(1, e.getMessage());
+        }
+        EmployeeImportReportDTO report = run.report();
+        log.info("Employee import{}: {} read, {} imported, {} rejected in {} ms ({} rows/s)",
+            dryRun ? " (dry run)" : "", report.rowsRead(), report.rowsImported(), report.rowsRejected(),
+            report.elapsedMillis(), Math.round(report.rowsPerSecond()));
+        return report;
+    }
+
+    private record Row(long line, long employeeId, String firstName, String lastName, String email,
+                       String phoneNumber, LocalDate hireDate, String jobId, BigDecimal salary,
+                       BigDecimal commissionPct, Long managerId, Long departmentId) {
+
+        EmployeeState state() {
+            return new EmployeeState(employeeId, firstName, lastName, managerId, departmentId, jobId,
+                salary, commissionPct, hireDate);
+        }
+    }
+
+    private final class Run {
+        private final boolean dryRun;
+        private final long started = System.nanoTime();
+        private final int chunkSize = Math.max(1, properties.getChunkSize());
+        private final List<Row> pending = new ArrayList<>();
+        private final List<EmployeeImportReportDTO.RowError> errors = new ArrayList<>();
+        private Set<Long> departmentIds;
+        private Set<String> jobIds;
+        private Set<Long> employeeIds;
+        private Map<String, Long> idsByEmail;
+        private long[] idBlock = new long[0];
+        private int idBlockNext;
+        private long dryRunIds;
+        private long rowsRead;
+        private long rowsImported;
+        private long rowsRejected;
+        private int chunks;
+        private Long firstId;
+        private Long lastId;
+
+        Run(boolean dryRun) {
+            this.dryRun = dryRun;
+        }
+
+        void preload() {
+            long t = System.nanoTime();
+            List<Object[]> departments = departmentRepository.findDepartmentNames();
+            List<Object[]> jobs = jobRepository.findJobTitles();
+            List<Object[]> employees = employeeRepository.findEmployeeEmails();
+            queryStats.recordDb("employee-import-preload", System.nanoTime() - t,
+                departments.size() + jobs.size() + employees.size());
+            departmentIds = new HashSet<>(departments.size() * 2);
+            for (Object[] d : departments) {
+                departmentIds.add(((Number) d[0]).longValue());
+            }
+            jobIds = new HashSet<>(jobs.size() * 2);
+            for (Object[] j : jobs) {
+                jobIds.add((String) j[0]);
+            }
+            employeeIds = new HashSet<>(employees.size() * 2);
+            idsByEmail = new HashMap<>(employees.size() * 2);
+            for (Object[] e : employees) {
+                long id = ((Number) e[0]).longValue();
+                employeeIds.add(id);
+                if (e[1] != null) {
+                    idsByEmail.put((String) e[1], id);
+                }
+            }
+        }
+
+        void accept(long line, Map<String, String> record) {
+            List<String> problems = new ArrayList<>();
+            String firstName = text(record, "first_name", FIRST_NAME_MAX, problems);
+            String lastName = text(record, "last_name", LAST_NAME_MAX, problems);
+            String email = text(record, "email", EMAIL_MAX, problems);
+            String phone = text(record, "phone_number", PHONE_MAX, problems);
+            LocalDate hireDate = date(record, "hire_date", problems);
+            BigDecimal salary = decimal(record, "salary", problems);
+            BigDecimal commission = decimal(record, "commission_pct", problems);
+            if (salary != null && (salary.scale() > 2 || salary.compareTo(SALARY_LIMIT) >= 0)) {
+                problems.add("salary must be below 1000000 with at most 2 decimals");
+            }
+            if (commission != null && (commission.scale() > 2 || commission.signum() < 0
+                    || commission.compareTo(BigDecimal.ONE) >= 0)) {
+                problems.add("commission_pct must be between 0 and 0.99");
+            }
+
+            Employee candidate = new Employee();
+            candidate.setFirstName(firstName);
+            candidate.setLastName(lastName);
+            candidate.setEmail(email);
+            candidate.setHireDate(hireDate);
+            candidate.setSalary(salary);
+            for (ConstraintViolation<Employee> v : validator.validate(candidate)) {
+                String field = v.getPropertyPath().toString();
+                if (v.getInvalidValue() == null && value(record, field) != null) {
+                    continue;  // present but unparseable, already reported
+                }
+                problems.add(column(field) + " " + v.getMessage());
+            }
+
+            String jobId = text(record, "job_id", Integer.MAX_VALUE, problems);
+            if (jobId == null) {
+                problems.add("job_id is required");
+            } else if (!jobIds.contains(jobId)) {
+                problems.add("Unknown job_id " + jobId);
+            }
+            Long departmentId = id(record, "department_id", problems);
+            if (departmentId != null && !departmentIds.contains(departmentId)) {
+                problems.add("Unknown department_id " + departmentId);
+            }
+            Long managerId = manager(record, problems);
+            if (email != null && idsByEmail.containsKey(email)) {
+                problems.add("Email " + email + " is already in use");
+            }
+
+            if (!problems.isEmpty()) {
+                reject(line, String.join("; ", problems));
+                return;
+            }
+            long id = nextId();
+            idsByEmail.put(email, id);
+            employeeIds.add(id);
+            pending.add(new Row(line, id, firstName, lastName, email, phone, hireDate, jobId, salary,
+                commission, managerId, departmentId));
+            if (pending.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(long line, String message) {
+            rowsRejected++;
+            if (errors.size() < properties.getMaxErrors()) {
+                errors.add(new EmployeeImportReportDTO.RowError(line, message));
+            }
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            chunks++;
+            List<Row> chunk = new ArrayList<>(pending);
+            pending.clear();
+            if (dryRun) {
+                rowsImported += chunk.size();
+                return;
+            }
+            List<Row> written;
+            long t = System.nanoTime();
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(chunk));
+                written = chunk;
+            } catch (DataAccessException e) {
+                log.debug("Import chunk of {} rows failed as a batch, retrying row by row: {}", chunk.size(),
+                    NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                written = insertOneByOne(chunk);
+            }
+            queryStats.recordDb("employee-import-chunk", System.nanoTime() - t, written.size());
+            rowsImported += written.size();
+            for (Row row : written) {
+                if (firstId == null) {
+                    firstId = row.employeeId();
+                }
+                lastId = row.employeeId();
+                eventPublisher.publishEvent(new EmployeeChangedEvent(EmployeeChangedEvent.ChangeType.CREATED,
+                    row.employeeId(), null, row.state()));
+            }
+        }
+
+        private List<Row> insertOneByOne(List<Row> chunk) {
+            List<Row> written = new ArrayList<>(chunk.size());
+            for (Row row : chunk) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(row)));
+                    written.add(row);
+                } catch (DataAccessException e) {
+                    // Later rows naming this one as their manager must not resolve to it
+                    idsByEmail.remove(row.email());
+                    employeeIds.remove(row.employeeId());
+                    reject(row.line(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                }
+            }
+            return written;
+        }
+
+        private void insert(List<Row> rows) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Row r = rows.get(i);
+                    ps.setLong(1, r.employeeId());
+                    ps.setString(2, r.firstName());
+                    ps.setString(3, r.lastName());
+                    ps.setString(4, r.email());
+                    ps.setString(5, r.phoneNumber());
+                    ps.setDate(6, Date.valueOf(r.hireDate()));
+                    ps.setString(7, r.jobId());
+                    ps.setBigDecimal(8, r.salary());
+                    ps.setBigDecimal(9, r.commissionPct());
+                    setLong(ps, 10, r.managerId());
+                    setLong(ps, 11, r.departmentId());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return rows.size();
+                }
+            });
+        }
+
+        private long nextId() {
+            if (dryRun) {
+                return -(++dryRunIds);
+            }
+            if (idBlockNext == idBlock.length) {
+                long t = System.nanoTime();
+                idBlock = idAllocator.allocate(chunkSize);
+                queryStats.recordDb("employee-import-ids", System.nanoTime() - t, idBlock.length);
+                idBlockNext = 0;
+            }
+            return idBlock[idBlockNext++];
+        }
+
+        private Long manager(Map<String, String> record, List<String> problems) {
+            Long managerId = id(record, "manager_id", problems);
+            String managerEmail = text(record, "manager_email", EMAIL_MAX, problems);
+            if (managerId != null && managerEmail != null) {
+                problems.add("Give manager_id or manager_email, not both");
+                return null;
+            }
+            if (managerId != null) {
+                if (!employeeIds.contains(managerId)) {
+                    problems.add("Unknown manager_id " + managerId);
+                }
+                return managerId;
+            }
+            if (managerEmail != null) {
+                Long resolved = idsByEmail.get(managerEmail);
+                if (resolved == null) {
+                    problems.add("Unknown manager_email " + managerEmail + " (managers must come before their reports)");
+                }
+                return resolved;
+            }
+            return null;
+        }
+
+        EmployeeImportReportDTO report() {
+            long elapsed = System.nanoTime() - started;
+            double seconds = elapsed / 1e9;
+            return new EmployeeImportReportDTO(dryRun, rowsRead, rowsImported, rowsRejected, chunks,
+                elapsed / 1_000_000, seconds > 0 ? rowsImported / seconds : 0, firstId, lastId, errors);
+        }
+    }
+
+    private static String text(Map<String, String> record, String field, int maxLength, List<String> problems) {
+        String value = value(record, field);
+        if (value == null) {
+            return null;
+        }
+        value = value.trim();
+        if (value.length() > maxLength) {
+            problems.add(field + " is longer than " + maxLength + " characters");
+        }
+        return value;
+    }
+
+    private static LocalDate date(Map<String, String> record, String field, List<String> problems) {
+        String value = value(record, field);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            problems.add(field + " must be a yyyy-MM-dd date: " + value);
+            return null;
+        }
+    }
+
+    private static BigDecimal decimal(Map<String, String> record, String field, List<String> problems) {
+        String value = value(record, field);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            problems.add(field + " is not a number: " + value);
+            return null;
+        }
+    }
+
+    private static Long id(Map<String, String> record, String field, List<String> problems) {
+        String value = value(record, field);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            problems.add(field + " is not an id: " + value);
+            return null;
+        }
+    }
+
+    // Raw value of a column, looked up by its normalized name; blank reads as null
+    private static String value(Map<String, String> record, String column) {
+        String value = record.get(ImportRecordReader.normalize(column));
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    // hireDate -> hire_date, for messages
+    private static String column(String property) {
+        return property.replaceAll("([a-z])([A-Z])", "$1_$2").toLowerCase(Locale.ROOT);
+    }
+
+    private static void setLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.NUMERIC);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+}
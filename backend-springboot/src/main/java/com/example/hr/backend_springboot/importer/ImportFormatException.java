@@ -0,0 +1,10 @@
+package com.example.hr.backend_springboot.importer;
+
+// A single record could not be parsed; reported against its line and skipped.
+class ImportFormatException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    ImportFormatException(String message) {
+        super(message);
+    }
+}
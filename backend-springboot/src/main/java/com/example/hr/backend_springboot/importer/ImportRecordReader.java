@@ -0,0 +1,31 @@
+package com.example.hr.backend_springboot.importer;
+
+import java.io.IOException;
+import java.util.Map;
+
+// Pulls one record at a time from an import stream. Field names are
+// normalized (lower case, no '_' or '-') so first_name, firstName and
+// FIRST-NAME all read as "firstname".
+interface ImportRecordReader extends AutoCloseable {
+
+    // Next record, or null at end of input. Throws ImportFormatException when
+    // the record itself cannot be parsed; the reader stays usable afterwards.
+    Map<String, String> next() throws IOException;
+
+    // 1-based line where the last record returned by next() started
+    long line();
+
+    @Override
+    void close() throws IOException;
+
+    static String normalize(String field) {
+        StringBuilder sb = new StringBuilder(field.length());
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c != '_' && c != '-' && c != '\uFEFF' && !Character.isWhitespace(c)) {
+                sb.append(Character.toLowerCase(c));
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.hr.backend_springboot.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+// One JSON object per line. Scalars are read as their text; null and missing
+// fields read as null. A malformed line is reported and the next line is read.
+class NdjsonRecordReader implements ImportRecordReader {
+    private final BufferedReader in;
+    private final ObjectMapper objectMapper;
+    private long currentLine;
+    private long recordLine;
+
+    NdjsonRecordReader(BufferedReader in, ObjectMapper objectMapper) {
+        this.in = in;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public Map<String, String> next() throws IOException {
+        String text;
+        do {
+            text = in.readLine();
+            if (text == null) {
+                return null;
+            }
+            currentLine++;
+        } while (text.isBlank());
+        recordLine = currentLine;
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(text);
+        } catch (JsonProcessingException e) {
+            throw new ImportFormatException("Malformed JSON: " + e.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            throw new ImportFormatException("Expected a JSON object");
+        }
+        Map<String, String> record = new HashMap<>();
+        for (Map.Entry<String, JsonNode> f : node.properties()) {
+            JsonNode value = f.getValue();
+            if (value.isContainerNode()) {
+                throw new ImportFormatException("Field " + f.getKey() + " must be a scalar");
+            }
+            record.put(ImportRecordReader.normalize(f.getKey()), value.isNull() ? null : value.asText());
+        }
+        return record;
+    }
+
+    @Override
+    public long line() {
+        return recordLine;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
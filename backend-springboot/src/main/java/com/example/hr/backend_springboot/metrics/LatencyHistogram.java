@@ -0,0 +1,96 @@
+package com.example.hr.backend_springboot.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// HDR-style log-linear histogram of durations in microseconds. Values below
+// 64us get exact buckets; above that every power of two is split into 32
+// linear sub-buckets, so any recorded value is reported within ~3%.
+// Recording is a single atomic increment; memory is fixed (~8 KB).
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 6;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    private static final int HALF = SUB_COUNT / 2;
+    private static final int BUCKETS = 1024;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public void recordNanos(long nanos) {
+        long micros = Math.max(0, nanos / 1_000);
+        counts.incrementAndGet(bucketOf(micros));
+        count.increment();
+        sumMicros.add(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public long totalMicros() {
+        return sumMicros.sum();
+    }
+
+    // Upper bound of the bucket holding the value at the given quantile
+    public long percentileMicros(double quantile) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(upperBound(i), maxMicros.get());
+            }
+        }
+        return maxMicros.get();
+    }
+
+    public Map<String, Object> summary() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        long n = count();
+        result.put("count", n);
+        if (n == 0) {
+            return result;
+        }
+        result.put("meanMs", millis(totalMicros() / n));
+        result.put("p50Ms", millis(percentileMicros(0.50)));
+        result.put("p90Ms", millis(percentileMicros(0.90)));
+        result.put("p99Ms", millis(percentileMicros(0.99)));
+        result.put("maxMs", millis(maxMicros.get()));
+        return result;
+    }
+
+    static int bucketOf(long micros) {
+        if (micros < SUB_COUNT) {
+            return (int) micros;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(micros);
+        int shift = msb - (SUB_BITS - 1);
+        int index = SUB_COUNT + (shift - 1) * HALF + (int) ((micros >> shift) - HALF);
+        return Math.min(index, BUCKETS - 1);
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < SUB_COUNT) {
+            return bucket;
+        }
+        int k = bucket - SUB_COUNT;
+        int shift = k / HALF + 1;
+        long sub = k % HALF + HALF;
+        return ((sub + 1) << shift) - 1;
+    }
+
+    private static double millis(long micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.hr.backend_springboot.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Keeps the durations of the most recent database queries in a fixed-size
+// ring so the health report can show latency percentiles without a metrics
+// backend. Recording is lock-free; percentiles sort a copy of the ring.
+@Component
+public class QueryLatencyRecorder {
+
+    private static final int WINDOW = 1024;
+
+    private final long[] samples = new long[WINDOW];
+    private final AtomicLong recorded = new AtomicLong();
+
+    public void record(long nanos) {
+        long n = recorded.getAndIncrement();
+        samples[(int) (n % WINDOW)] = nanos;
+    }
+
+    // p50/p95/p99/max in milliseconds over the last WINDOW samples
+    public Map<String, Object> percentiles() {
+        long total = recorded.get();
+        int n = (int) Math.min(total, WINDOW);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("samples", n);
+        if (n == 0) {
+            return result;
+        }
+        long[] sorted = Arrays.copyOf(samples, n);
+        Arrays.sort(sorted);
+        result.put("p50Ms", millis(sorted[rank(n, 0.50)]));
+        result.put("p95Ms", millis(sorted[rank(n, 0.95)]));
+        result.put("p99Ms", millis(sorted[rank(n, 0.99)]));
+        result.put("maxMs", millis(sorted[n - 1]));
+        return result;
+    }
+
+    private static int rank(int n, double quantile) {
+        return Math.min(n - 1, (int) Math.ceil(quantile * n) - 1);
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+}
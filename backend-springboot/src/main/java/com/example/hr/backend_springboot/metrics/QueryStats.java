@@ -0,0 +1,137 @@
+package com.example.hr.backend_springboot.metrics;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Per-query latency histograms, split into phases:
+//   DB      - executing the query (or computing it over the snapshot) on a cache miss
+//   MAPPING - the controller handler minus the DB time spent on its behalf
+//             (cache lookups, Object[] to DTO mapping, model building)
+//   RENDER  - Thymeleaf rendering of the view
+// plus call, cache-hit, row and error counts. Names are the analytics slugs.
+@Component
+public class QueryStats {
+
+    public enum Phase { DB, MAPPING, RENDER }
+
+    @Autowired
+    private QueryLatencyRecorder latencyRecorder;
+
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    // DB time accumulated by the current request thread, read by the web interceptor.
+    // Worker threads point theirs at the request's accumulator while working for it.
+    private final ThreadLocal<AtomicLong> threadDbNanos = ThreadLocal.withInitial(AtomicLong::new);
+
+    public void recordDb(String name, long nanos, int rows) {
+        Stats s = stats(name);
+        s.phases.get(Phase.DB).recordNanos(nanos);
+        s.rows.add(rows);
+        threadDbNanos.get().addAndGet(nanos);
+        latencyRecorder.record(nanos);
+    }
+
+    public void recordError(String name, long nanos) {
+        Stats s = stats(name);
+        s.errors.increment();
+        threadDbNanos.get().addAndGet(nanos);
+        latencyRecorder.record(nanos);
+    }
+
+    public void recordCacheHit(String name) {
+        stats(name).cacheHits.increment();
+    }
+
+    public void recordPhase(String name, Phase phase, long nanos) {
+        Stats s = stats(name);
+        if (phase == Phase.MAPPING) {
+            s.calls.increment();
+        }
+        s.phases.get(phase).recordNanos(nanos);
+    }
+
+    // Runs a task on a worker thread, adding the DB time it records to the given accumulator
+    public <T> T accumulatingDbInto(AtomicLong accumulator, Supplier<T> task) {
+        AtomicLong own = threadDbNanos.get();
+        threadDbNanos.set(accumulator);
+        try {
+            return task.get();
+        } finally {
+            threadDbNanos.set(own);
+        }
+    }
+
+    // DB time spent on the current request's behalf elsewhere, e.g. by its dashboard widgets
+    public void addThreadDbNanos(long nanos) {
+        threadDbNanos.get().addAndGet(nanos);
+    }
+
+    void resetThreadDbNanos() {
+        threadDbNanos.get().set(0);
+    }
+
+    long threadDbNanos() {
+        return threadDbNanos.get().get();
+    }
+
+    // Heaviest first, by total DB time
+    public Map<String, Object> snapshot() {
+        List<Map.Entry<String, Stats>> entries = new ArrayList<>(stats.entrySet());
+        entries.sort((a, b) -> Long.compare(
+            b.getValue().phases.get(Phase.DB).totalMicros(), a.getValue().phases.get(Phase.DB).totalMicros()));
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (Map.Entry<String, Stats> entry : entries) {
+            result.put(entry.getKey(), entry.getValue().summary());
+        }
+        return result;
+    }
+
+    public void reset() {
+        stats.clear();
+    }
+
+    private Stats stats(String name) {
+        return stats.computeIfAbsent(name, k -> new Stats());
+    }
+
+    private static final class Stats {
+        final Map<Phase, LatencyHistogram> phases = new EnumMap<>(Phase.class);
+        final LongAdder calls = new LongAdder();
+        final LongAdder cacheHits = new LongAdder();
+        final LongAdder rows = new LongAdder();
+        final LongAdder errors = new LongAdder();
+
+        Stats() {
+            for (Phase phase : Phase.values()) {
+                phases.put(phase, new LatencyHistogram());
+            }
+        }
+
+        Map<String, Object> summary() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            long executions = phases.get(Phase.DB).count();
+            result.put("requests", calls.sum());
+            result.put("executions", executions);
+            result.put("cacheHits", cacheHits.sum());
+            result.put("errors", errors.sum());
+            result.put("rowsTotal", rows.sum());
+            result.put("rowsPerExecution", executions == 0 ? 0 : rows.sum() / executions);
+            Map<String, Object> phaseSummaries = new LinkedHashMap<>();
+            for (Map.Entry<Phase, LatencyHistogram> phase : phases.entrySet()) {
+                phaseSummaries.put(phase.getKey().name().toLowerCase(), phase.getValue().summary());
+            }
+            result.put("phases", phaseSummaries);
+            return result;
+        }
+    }
+}
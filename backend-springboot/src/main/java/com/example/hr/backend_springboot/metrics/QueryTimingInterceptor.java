@@ -0,0 +1,54 @@
+package com.example.hr.backend_springboot.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+// Times the handler and rendering phases of the /analytics/{slug} pages and
+// hands them to QueryStats under the page's slug.
+@Component
+public class QueryTimingInterceptor implements HandlerInterceptor {
+
+    private static final String STARTED = QueryTimingInterceptor.class.getName() + ".started";
+    private static final String HANDLED = QueryTimingInterceptor.class.getName() + ".handled";
+
+    @Autowired
+    private QueryStats queryStats;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        queryStats.resetThreadDbNanos();
+        request.setAttribute(STARTED, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        Long started = (Long) request.getAttribute(STARTED);
+        if (started == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        long mapping = Math.max(0, now - started - queryStats.threadDbNanos());
+        queryStats.recordPhase(slug(request), QueryStats.Phase.MAPPING, mapping);
+        request.setAttribute(HANDLED, now);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Long handled = (Long) request.getAttribute(HANDLED);
+        if (handled != null) {
+            queryStats.recordPhase(slug(request), QueryStats.Phase.RENDER, System.nanoTime() - handled);
+        }
+    }
+
+    private static String slug(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+}
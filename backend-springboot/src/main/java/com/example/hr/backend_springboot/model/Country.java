@@ -15,7 +15,7 @@ public class Country {
     @Column(name = "country_name", length = 40)
     private String countryName;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "region_id")
     private Region region;
 
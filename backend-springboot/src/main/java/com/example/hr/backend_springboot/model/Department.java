@@ -7,7 +7,14 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 @Entity
 @Table(name = "departments")
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@NamedEntityGraph(name = Department.LIST_GRAPH, attributeNodes = {
+        @NamedAttributeNode("manager"),
+        @NamedAttributeNode("location")
+})
 public class Department {
+    // Department list and view both show the manager name and location
+    public static final String LIST_GRAPH = "Department.list";
+
     @Id
     @Column(name = "department_id")
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "departments_seq")
@@ -18,11 +25,11 @@ public class Department {
     @NotBlank
     private String departmentName;
 
-    @ManyToOne(fetch = FetchType.EAGER) // Changed from LAZY to EAGER
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "manager_id")
     private Employee manager;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "location_id")
     private Location location;
 
@@ -11,9 +11,25 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
+// Associations are LAZY; each page loads what it renders through one of the
+// named fetch plans below (see the EmployeeRepository *ById / page queries).
 @Entity
 @Table(name = "employees")
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = Employee.LIST_GRAPH, attributeNodes = {
+                @NamedAttributeNode("job"),
+                @NamedAttributeNode("department")
+        }),
+        @NamedEntityGraph(name = Employee.DETAIL_GRAPH, attributeNodes = {
+                @NamedAttributeNode("job"),
+                @NamedAttributeNode("department"),
+                @NamedAttributeNode("manager")
+        })
+})
 public class Employee {
+    public static final String LIST_GRAPH = "Employee.list";
+    public static final String DETAIL_GRAPH = "Employee.detail";
+
 
     @Id
     @Column(name = "employee_id")
@@ -42,7 +58,7 @@ public class Employee {
     @NotNull
     private LocalDate hireDate;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "job_id")
     private Job job;
 
@@ -63,7 +79,7 @@ public class Employee {
     @JsonManagedReference
     private List<Employee> subordinates;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "department_id")
     private Department department;
 
@@ -6,11 +6,11 @@ import java.time.LocalDate;
 import java.util.Objects;
 
 @Entity
-@Table(name = "job_history")
+@Table(name = "job_history", indexes = @Index(name = "jhist_employee_ix", columnList = "employee_id"))
 @IdClass(JobHistory.JobHistoryId.class)
 public class JobHistory {
     @Id
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "employee_id")
     private Employee employee;
 
@@ -27,7 +27,7 @@ public class Location {
     @Column(name = "state_province", length = 25)
     private String stateProvince;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "country_id")
     private Country country;
 
@@ -0,0 +1,290 @@
+package com.example.hr.backend_springboot.orgtree;
+
+import com.example.hr.backend_springboot.dto.OrgNodeDTO;
+import com.example.hr.backend_springboot.event.EmployeeState;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Reporting tree built from employees.manager_id. Every node keeps the
+// headcount and salary total of its subtree plus its depth, so "everyone under
+// manager X" is answered from the node itself. Writes are applied
+// incrementally: a salary change walks the ancestor chain, a manager change
+// moves one subtree. Not thread-safe; OrgTreeService guards it with a lock.
+public class OrgTree {
+
+    static final class Node {
+        final long id;
+        String name;
+        String lastName;
+        String jobId;
+        Long departmentId;
+        BigDecimal salary;
+        Node parent;
+        final List<Node> children = new ArrayList<>(2);
+        int depth;
+        int headcount = 1;
+        BigDecimal subtreeSalary = BigDecimal.ZERO;
+
+        Node(long id) {
+            this.id = id;
+        }
+    }
+
+    private static final Comparator<Node> BY_NAME = Comparator
+        .comparing((Node n) -> n.lastName == null ? "" : n.lastName)
+        .thenComparing(n -> n.name == null ? "" : n.name)
+        .thenComparingLong(n -> n.id);
+
+    private final Map<Long, Node> nodes;
+    private final List<Node> roots = new ArrayList<>();
+
+    private OrgTree(int expectedSize) {
+        this.nodes = new HashMap<>(Math.max(16, expectedSize * 4 / 3 + 1));
+    }
+
+    // Rows of [employee_id, first_name, last_name, manager_id, salary, job_id, department_id]
+    public static OrgTree build(List<Object[]> rows) {
+        OrgTree tree = new OrgTree(rows.size());
+        Map<Long, Long> managerOf = new HashMap<>(Math.max(16, rows.size() * 4 / 3 + 1));
+        for (Object[] row : rows) {
+            Node node = new Node(((Number) row[0]).longValue());
+            setDetails(node, (String) row[1], (String) row[2], (String) row[5],
+                row[6] == null ? null : ((Number) row[6]).longValue(), (BigDecimal) row[4]);
+            tree.nodes.put(node.id, node);
+            if (row[3] != null) {
+                managerOf.put(node.id, ((Number) row[3]).longValue());
+            }
+        }
+        for (Node node : tree.nodes.values()) {
+            Long managerId = managerOf.get(node.id);
+            Node manager = managerId == null ? null : tree.nodes.get(managerId);
+            if (manager != null) {
+                node.parent = manager;
+                manager.children.add(node);
+            } else {
+                tree.roots.add(node);
+            }
+        }
+        tree.recomputeAll();
+        return tree;
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    public boolean contains(long employeeId) {
+        return nodes.containsKey(employeeId);
+    }
+
+    // Insert or update one employee. Returns false if the change cannot be applied
+    // incrementally (it would create a reporting cycle); the caller should rebuild.
+    public boolean upsert(EmployeeState state) {
+        Node node = nodes.get(state.employeeId());
+        Node newParent = state.managerId() == null ? null : nodes.get(state.managerId());
+        if (node == null) {
+            node = new Node(state.employeeId());
+            setDetails(node, state.firstName(), state.lastName(), state.jobId(), state.departmentId(), state.salary());
+            node.subtreeSalary = orZero(node.salary);
+            nodes.put(node.id, node);
+            attach(node, newParent);
+            return true;
+        }
+
+        BigDecimal delta = orZero(state.salary()).subtract(orZero(node.salary));
+        setDetails(node, state.firstName(), state.lastName(), state.jobId(), state.departmentId(), state.salary());
+        if (delta.signum() != 0) {
+            for (Node n = node; n != null; n = n.parent) {
+                n.subtreeSalary = n.subtreeSalary.add(delta);
+            }
+        }
+        if (newParent != node.parent) {
+            for (Node n = newParent; n != null; n = n.parent) {
+                if (n == node) {
+                    return false;
+                }
+            }
+            detach(node);
+            attach(node, newParent);
+        }
+        return true;
+    }
+
+    // Returns false if the employee still has reports; the caller should rebuild.
+    public boolean remove(long employeeId) {
+        Node node = nodes.get(employeeId);
+        if (node == null) {
+            return true;
+        }
+        if (!node.children.isEmpty()) {
+            return false;
+        }
+        detach(node);
+        nodes.remove(employeeId);
+        return true;
+    }
+
+    // O(1)
+    public OrgNodeDTO node(long employeeId) {
+        Node node = nodes.get(employeeId);
+        return node == null ? null : toDto(node, 0);
+    }
+
+    // Pre-order walk of the subtree, siblings by name. O(subtree).
+    public List<OrgNodeDTO> subtree(long employeeId, int maxLevels) {
+        Node root = nodes.get(employeeId);
+        if (root == null) {
+            return null;
+        }
+        List<OrgNodeDTO> result = new ArrayList<>();
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            int level = node.depth - root.depth;
+            result.add(toDto(node, level));
+            if (level < maxLevels && !node.children.isEmpty()) {
+                List<Node> children = new ArrayList<>(node.children);
+                children.sort(BY_NAME.reversed());
+                children.forEach(stack::push);
+            }
+        }
+        return result;
+    }
+
+    // From the employee up to the top of the org. O(depth).
+    public List<OrgNodeDTO> chain(long employeeId) {
+        Node node = nodes.get(employeeId);
+        if (node == null) {
+            return null;
+        }
+        List<OrgNodeDTO> result = new ArrayList<>(node.depth + 1);
+        for (Node n = node; n != null; n = n.parent) {
+            result.add(toDto(n, n.depth - node.depth));
+        }
+        return result;
+    }
+
+    public List<OrgNodeDTO> roots() {
+        List<Node> sorted = new ArrayList<>(roots);
+        sorted.sort(BY_NAME);
+        List<OrgNodeDTO> result = new ArrayList<>(sorted.size());
+        for (Node root : sorted) {
+            result.add(toDto(root, 0));
+        }
+        return result;
+    }
+
+    private void attach(Node node, Node parent) {
+        node.parent = parent;
+        if (parent == null) {
+            roots.add(node);
+        } else {
+            parent.children.add(node);
+            for (Node n = parent; n != null; n = n.parent) {
+                n.headcount += node.headcount;
+                n.subtreeSalary = n.subtreeSalary.add(node.subtreeSalary);
+            }
+        }
+        setDepths(node, parent == null ? 0 : parent.depth + 1);
+    }
+
+    private void detach(Node node) {
+        Node parent = node.parent;
+        if (parent == null) {
+            roots.remove(node);
+            return;
+        }
+        parent.children.remove(node);
+        for (Node n = parent; n != null; n = n.parent) {
+            n.headcount -= node.headcount;
+            n.subtreeSalary = n.subtreeSalary.subtract(node.subtreeSalary);
+        }
+        node.parent = null;
+    }
+
+    private static void setDepths(Node top, int depth) {
+        int shift = depth - top.depth;
+        if (shift == 0) {
+            return;
+        }
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(top);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            node.depth += shift;
+            node.children.forEach(stack::push);
+        }
+    }
+
+    // Depths top-down, then aggregates bottom-up, without recursion so deep chains are safe.
+    // Nodes not reachable from a root sit on a manager cycle; the first one seen is made a root.
+    private void recomputeAll() {
+        List<Node> order = new ArrayList<>(nodes.size());
+        walkFrom(roots, order);
+        if (order.size() < nodes.size()) {
+            Set<Node> seen = new HashSet<>(order);
+            for (Node node : nodes.values()) {
+                if (!seen.contains(node)) {
+                    node.parent.children.remove(node);
+                    node.parent = null;
+                    roots.add(node);
+                    int from = order.size();
+                    walkFrom(List.of(node), order);
+                    seen.addAll(order.subList(from, order.size()));
+                }
+            }
+        }
+        for (int i = order.size() - 1; i >= 0; i--) {
+            Node node = order.get(i);
+            node.headcount = 1;
+            node.subtreeSalary = orZero(node.salary);
+            for (Node child : node.children) {
+                node.headcount += child.headcount;
+                node.subtreeSalary = node.subtreeSalary.add(child.subtreeSalary);
+            }
+        }
+    }
+
+    private static void walkFrom(List<Node> starts, List<Node> order) {
+        Deque<Node> stack = new ArrayDeque<>();
+        for (Node start : starts) {
+            start.depth = start.parent == null ? 0 : start.parent.depth + 1;
+            stack.push(start);
+        }
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            order.add(node);
+            for (Node child : node.children) {
+                child.depth = node.depth + 1;
+                stack.push(child);
+            }
+        }
+    }
+
+    private static void setDetails(Node node, String first, String last, String jobId, Long departmentId, BigDecimal salary) {
+        node.name = ((first == null ? "" : first) + " " + (last == null ? "" : last)).trim();
+        node.lastName = last;
+        node.jobId = jobId;
+        node.departmentId = departmentId;
+        node.salary = salary;
+    }
+
+    private static OrgNodeDTO toDto(Node node, int level) {
+        return new OrgNodeDTO(node.id, node.name, node.parent == null ? null : node.parent.id, node.jobId,
+            node.departmentId, node.salary, node.depth, level, node.children.size(), node.headcount, node.subtreeSalary);
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value == null ? BigDecimal.ZERO : value;
+    }
+}
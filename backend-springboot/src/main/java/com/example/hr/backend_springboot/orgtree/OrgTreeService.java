@@ -0,0 +1,104 @@
+package com.example.hr.backend_springboot.orgtree;
+
+import com.example.hr.backend_springboot.config.OrgTreeProperties;
+import com.example.hr.backend_springboot.dto.OrgNodeDTO;
+import com.example.hr.backend_springboot.event.EmployeeChangedEvent;
+import com.example.hr.backend_springboot.metrics.QueryStats;
+import com.example.hr.backend_springboot.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+// Holds the OrgTree. It is loaded on first use, never at startup, and kept
+// current by applying each EmployeeChangedEvent in place. Loading happens under
+// the write lock, so an event racing with a load waits and is then applied to
+// the fresh tree; updates are idempotent, so applying one the load already saw
+// is harmless.
+@Service
+public class OrgTreeService {
+    private static final Logger log = LoggerFactory.getLogger(OrgTreeService.class);
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private OrgTreeProperties properties;
+    @Autowired
+    private QueryStats queryStats;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private OrgTree tree;
+    private long loadedAtNanos;
+
+    public OrgNodeDTO node(long employeeId) {
+        return read(t -> t.node(employeeId));
+    }
+
+    public List<OrgNodeDTO> subtree(long employeeId, Integer levels) {
+        int maxLevels = levels == null ? properties.getDefaultLevels() : Math.max(0, levels);
+        return read(t -> t.subtree(employeeId, maxLevels));
+    }
+
+    public List<OrgNodeDTO> chain(long employeeId) {
+        return read(t -> t.chain(employeeId));
+    }
+
+    public List<OrgNodeDTO> roots() {
+        return read(OrgTree::roots);
+    }
+
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (tree == null) {
+                return;
+            }
+            boolean applied = switch (event.getType()) {
+                case CREATED, UPDATED -> event.getAfter() != null && tree.upsert(event.getAfter());
+                case DELETED -> tree.remove(event.getEmployeeId());
+            };
+            if (!applied) {
+                log.debug("Org tree cannot apply {} in place; reloading on next read", event);
+                tree = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private <T> T read(Function<OrgTree, T> query) {
+        lock.readLock().lock();
+        try {
+            if (tree != null && System.nanoTime() - loadedAtNanos < properties.getRefreshInterval().toNanos()) {
+                return query.apply(tree);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (tree == null || System.nanoTime() - loadedAtNanos >= properties.getRefreshInterval().toNanos()) {
+                load();
+            }
+            return query.apply(tree);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void load() {
+        long started = System.nanoTime();
+        List<Object[]> rows = employeeRepository.findOrgTreeRows();
+        long dbNanos = System.nanoTime() - started;
+        queryStats.recordDb("org-tree", dbNanos, rows.size());
+        tree = OrgTree.build(rows);
+        loadedAtNanos = System.nanoTime();
+        log.debug("Built org tree ({} employees) in {} ms", tree.size(), (loadedAtNanos - started) / 1_000_000);
+    }
+}
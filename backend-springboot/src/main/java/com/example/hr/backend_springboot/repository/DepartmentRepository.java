@@ -1,7 +1,22 @@
 package com.example.hr.backend_springboot.repository;
 
 import com.example.hr.backend_springboot.model.Department;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+import java.util.Optional;
 
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
-} 
\ No newline at end of file
+    @Query("SELECT d.departmentId, d.departmentName FROM Department d ORDER BY d.departmentName")
+    List<Object[]> findDepartmentNames();
+
+    // Manager and location joined into the department select instead of one query per row
+    @EntityGraph(Department.LIST_GRAPH)
+    @Query("SELECT d FROM Department d ORDER BY d.departmentId")
+    List<Department> findAllForList();
+
+    @EntityGraph(Department.LIST_GRAPH)
+    Optional<Department> findDetailByDepartmentId(Long departmentId);
+}
@@ -2,10 +2,13 @@ package com.example.hr.backend_springboot.repository;
 
 import com.example.hr.backend_springboot.model.Employee;
 import com.example.hr.backend_springboot.dto.TopEarnerDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import java.util.List;
+import java.util.Optional;
 
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     
@@ -444,4 +447,67 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
             "ORDER BY direct_reports DESC, total_team_salary DESC",
             nativeQuery = true)
     List<Object[]> findManagerWorkloadRaw();
-} 
\ No newline at end of file
+
+    // Scalar projection for dropdowns and typeahead; does not load entities or their EAGER associations
+    @Query("SELECT e.employeeId, e.firstName, e.lastName FROM Employee e ORDER BY e.lastName, e.firstName")
+    List<Object[]> findEmployeeNames();
+
+    // Keyset (seek) pages for the employee list. Each page starts from the last
+    // key seen instead of an OFFSET, so deep pages cost the same as the first one.
+    // Pass PageRequest.of(0, n) as the Pageable: List results issue no COUNT query.
+    // The "before" variants scan backwards and are reversed by the caller.
+    // All of them use the list fetch plan: job and department joined in the same select.
+    @EntityGraph(Employee.LIST_GRAPH)
+    @Query("SELECT e FROM Employee e ORDER BY e.employeeId")
+    List<Employee> findPageById(Pageable limit);
+
+    @EntityGraph(Employee.LIST_GRAPH)
+    @Query("SELECT e FROM Employee e WHERE e.employeeId > :employeeId ORDER BY e.employeeId")
+    List<Employee> findPageAfterId(@Param("employeeId") Long employeeId, Pageable limit);
+
+    @EntityGraph(Employee.LIST_GRAPH)
+    @Query("SELECT e FROM Employee e WHERE e.employeeId < :employeeId ORDER BY e.employeeId DESC")
+    List<Employee> findPageBeforeId(@Param("employeeId") Long employeeId, Pageable limit);
+
+    @EntityGraph(Employee.LIST_GRAPH)
+    @Query("SELECT e FROM Employee e ORDER BY e.lastName, e.employeeId")
+    List<Employee> findPageByName(Pageable limit);
+
+    @EntityGraph(Employee.LIST_GRAPH)
+    @Query("SELECT e FROM Employee e WHERE e.lastName > :lastName " +
+            "OR (e.lastName = :lastName AND e.employeeId > :employeeId) " +
+            "ORDER BY e.lastName, e.employeeId")
+    List<Employee> findPageAfterName(@Param("lastName") String lastName, @Param("employeeId") Long employeeId, Pageable limit);
+
+    @EntityGraph(Employee.LIST_GRAPH)
+    @Query("SELECT e FROM Employee e WHERE e.lastName < :lastName " +
+            "OR (e.lastName = :lastName AND e.employeeId < :employeeId) " +
+            "ORDER BY e.lastName DESC, e.employeeId DESC")
+    List<Employee> findPageBeforeName(@Param("lastName") String lastName, @Param("employeeId") Long employeeId, Pageable limit);
+
+    // Detail fetch plan for the view page: job, department and manager in one select
+    @EntityGraph(Employee.DETAIL_GRAPH)
+    Optional<Employee> findDetailByEmployeeId(Long employeeId);
+
+    // Form fetch plan: the employee row only. The edit form reads just the ids of
+    // job, department and manager, which the uninitialized proxies already hold.
+    Optional<Employee> findFormByEmployeeId(Long employeeId);
+
+    // Scalar rows for the in-memory org tree: [id, first, last, manager_id, salary, job_id, department_id]
+    @Query("SELECT e.employeeId, e.firstName, e.lastName, m.employeeId, e.salary, j.jobId, d.departmentId " +
+            "FROM Employee e LEFT JOIN e.manager m LEFT JOIN e.job j LEFT JOIN e.department d")
+    List<Object[]> findOrgTreeRows();
+
+    // Scalar rows for the department stats store: [employee_id, department_name, salary]
+    @Query("SELECT e.employeeId, d.departmentName, e.salary FROM Employee e JOIN e.department d")
+    List<Object[]> findDepartmentSalaryRows();
+
+    // Scalar rows for the salary sketches: [employee_id, department_id, job_id, salary]
+    @Query("SELECT e.employeeId, d.departmentId, j.jobId, e.salary FROM Employee e " +
+            "LEFT JOIN e.department d LEFT JOIN e.job j WHERE e.salary IS NOT NULL")
+    List<Object[]> findSalarySketchRows();
+
+    // Scalar rows for the bulk import's manager and duplicate-email checks: [employee_id, email]
+    @Query("SELECT e.employeeId, e.email FROM Employee e")
+    List<Object[]> findEmployeeEmails();
+}
@@ -2,6 +2,29 @@ package com.example.hr.backend_springboot.repository;
 
 import com.example.hr.backend_springboot.model.JobHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface JobHistoryRepository extends JpaRepository<JobHistory, JobHistory.JobHistoryId> {
-} 
\ No newline at end of file
+    // Range scan on the (employee_id, start_date) primary key / JHIST_EMPLOYEE_IX,
+    // with job and department fetched in the same statement; the employee is the key, not loaded
+    @Query("SELECT jh FROM JobHistory jh " +
+           "LEFT JOIN FETCH jh.job " +
+           "LEFT JOIN FETCH jh.department " +
+           "WHERE jh.employee.employeeId = :employeeId " +
+           "ORDER BY jh.startDate")
+    List<JobHistory> findTimelineByEmployeeId(@Param("employeeId") Long employeeId);
+
+    // (employee_id, job_id, job_title) of every history row, each employee's rows in start order
+    @Query("SELECT jh.employee.employeeId, j.jobId, j.jobTitle FROM JobHistory jh JOIN jh.job j " +
+           "ORDER BY jh.employee.employeeId, jh.startDate")
+    List<Object[]> findJobSequences();
+
+    // (job_id, job_title) of one employee's history rows in start order
+    @Query("SELECT j.jobId, j.jobTitle FROM JobHistory jh JOIN jh.job j " +
+           "WHERE jh.employee.employeeId = :employeeId " +
+           "ORDER BY jh.startDate")
+    List<Object[]> findJobSequenceByEmployeeId(@Param("employeeId") Long employeeId);
+}
@@ -2,6 +2,11 @@ package com.example.hr.backend_springboot.repository;
 
 import com.example.hr.backend_springboot.model.Job;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
 
 public interface JobRepository extends JpaRepository<Job, String> {
-} 
\ No newline at end of file
+    @Query("SELECT j.jobId, j.jobTitle FROM Job j ORDER BY j.jobTitle")
+    List<Object[]> findJobTitles();
+}
@@ -0,0 +1,59 @@
+package com.example.hr.backend_springboot.routing;
+
+import java.util.concurrent.Callable;
+
+// Per-thread flag saying the current request only reads, so its connections
+// may come from the replica. Set and cleared by ReadRoutingInterceptor. Work a
+// request hands to another thread (dashboard widgets, async exports) carries
+// the flag over with inherit(); background refreshes that only read use
+// readOnly().
+public final class ReadRouting {
+
+    private static final ThreadLocal<Boolean> READ_ONLY = new ThreadLocal<>();
+
+    private ReadRouting() {
+    }
+
+    static void markReadOnly() {
+        READ_ONLY.set(Boolean.TRUE);
+    }
+
+    static void clear() {
+        READ_ONLY.remove();
+    }
+
+    static boolean isReadOnly() {
+        return READ_ONLY.get() != null;
+    }
+
+    // Wraps a task so it runs with the calling thread's routing
+    public static <T> Callable<T> inherit(Callable<T> task) {
+        if (!isReadOnly()) {
+            return task;
+        }
+        return () -> {
+            markReadOnly();
+            try {
+                return task.call();
+            } finally {
+                clear();
+            }
+        };
+    }
+
+    public static Runnable inherit(Runnable task) {
+        return isReadOnly() ? readOnly(task) : task;
+    }
+
+    // Wraps a task that only reads, so it may use the replica wherever it runs
+    public static Runnable readOnly(Runnable task) {
+        return () -> {
+            markReadOnly();
+            try {
+                task.run();
+            } finally {
+                clear();
+            }
+        };
+    }
+}
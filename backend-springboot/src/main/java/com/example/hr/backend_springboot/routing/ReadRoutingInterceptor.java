@@ -0,0 +1,74 @@
+package com.example.hr.backend_springboot.routing;
+
+import com.example.hr.backend_springboot.config.RoutingProperties;
+import com.example.hr.backend_springboot.event.EmployeeChangedEvent;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+// Marks GET requests on routing.read-paths as read-only so their queries may
+// go to the replica. A client that has just written through the app keeps
+// reading the primary for routing.read-your-writes; the deadline lives in
+// its session.
+@Component
+public class ReadRoutingInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PRIMARY_UNTIL = ReadRoutingInterceptor.class.getName() + ".primaryUntil";
+
+    @Autowired
+    private RoutingProperties properties;
+
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (properties.isEnabled()
+                && ("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()))
+                && isReadPath(request.getRequestURI().substring(request.getContextPath().length()))
+                && !recentlyWrote(request)) {
+            ReadRouting.markReadOnly();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReadRouting.clear();
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        ReadRouting.clear();
+    }
+
+    // Runs on the writing request's thread
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (properties.isEnabled() && RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            attributes.getRequest().getSession().setAttribute(PRIMARY_UNTIL,
+                System.currentTimeMillis() + properties.getReadYourWrites().toMillis());
+        }
+    }
+
+    private boolean isReadPath(String path) {
+        for (String pattern : properties.getReadPaths()) {
+            if (matcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean recentlyWrote(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        Object until = session != null ? session.getAttribute(PRIMARY_UNTIL) : null;
+        return until instanceof Long deadline && deadline > System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.hr.backend_springboot.routing;
+
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Component;
+
+// Spring Boot applies this to the application task executor, which runs async
+// MVC work such as streamed exports: the task reads where its request would.
+@Component
+public class ReadRoutingTaskDecorator implements TaskDecorator {
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        return ReadRouting.inherit(runnable);
+    }
+}
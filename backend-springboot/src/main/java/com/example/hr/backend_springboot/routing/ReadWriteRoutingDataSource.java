@@ -0,0 +1,81 @@
+package com.example.hr.backend_springboot.routing;
+
+import com.example.hr.backend_springboot.config.RoutingProperties;
+import com.example.hr.backend_springboot.service.DataVersion;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Hands out replica connections only to requests marked read-only, and only
+// when nothing could make the replica's answer wrong:
+//  - a read-write transaction always gets the primary;
+//  - the replica must be within routing.max-lag (ReplicaMonitor);
+//  - for max-lag after any write through this instance everyone reads the
+//    primary, so caches keyed by the data version are never filled from a
+//    replica that has not caught up with that version yet.
+// Wrapped in a LazyConnectionDataSourceProxy, so the route is chosen at the
+// first statement, after the transaction has been set up.
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Route { PRIMARY, REPLICA }
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaMonitor monitor;
+    private final DataVersion dataVersion;
+    private final RoutingProperties properties;
+    private final LongAdder primaryConnections = new LongAdder();
+    private final LongAdder replicaConnections = new LongAdder();
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaMonitor monitor,
+                                      DataVersion dataVersion, RoutingProperties properties) {
+        this.primary = primary;
+        this.replica = replica;
+        this.monitor = monitor;
+        this.dataVersion = dataVersion;
+        this.properties = properties;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public DataSource getReplica() {
+        return replica;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Route route = useReplica() ? Route.REPLICA : Route.PRIMARY;
+        (route == Route.REPLICA ? replicaConnections : primaryConnections).increment();
+        return route;
+    }
+
+    private boolean useReplica() {
+        if (!ReadRouting.isReadOnly()) {
+            return false;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return false;
+        }
+        if (System.currentTimeMillis() - dataVersion.changedAtMillis() < properties.getMaxLag().toMillis()) {
+            return false;
+        }
+        return monitor.isUsable();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>(monitor.status());
+        result.put("primaryConnections", primaryConnections.sum());
+        result.put("replicaConnections", replicaConnections.sum());
+        return result;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.hr.backend_springboot.routing;
+
+import com.example.hr.backend_springboot.config.RoutingProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Tracks whether the replica can serve reads: reachable and no further behind
+// than routing.max-lag. Checks run on a background thread once the last
+// result is older than routing.lag-check-interval, so routing decisions only
+// ever read the cached state. Until the first check completes the replica is
+// treated as unusable. routing.lag-query is required: without a measured lag
+// max-lag could not be enforced.
+public class ReplicaMonitor {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaMonitor.class);
+
+    private record State(boolean usable, Double lagSeconds, String error, Instant checkedAt) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RoutingProperties properties;
+    private final ExecutorService checker =
+        Executors.newSingleThreadExecutor(new CustomizableThreadFactory("replica-lag-"));
+    private final AtomicBoolean checking = new AtomicBoolean();
+    private volatile State state = new State(false, null, "not checked yet", null);
+
+    public ReplicaMonitor(DataSource replica, RoutingProperties properties) {
+        if (!StringUtils.hasText(properties.getLagQuery())) {
+            throw new IllegalStateException("routing.lag-query must be set when routing.enabled=true, "
+                + "otherwise the replica's lag is unknown and routing.max-lag cannot be enforced");
+        }
+        this.jdbcTemplate = new JdbcTemplate(replica);
+        this.properties = properties;
+    }
+
+    public boolean isUsable() {
+        State s = state;
+        if (s.checkedAt() == null || s.checkedAt().plus(properties.getLagCheckInterval()).isBefore(Instant.now())) {
+            checkAsync();
+        }
+        return s.usable();
+    }
+
+    public void check() {
+        State previous = state;
+        State next;
+        try {
+            Number value = jdbcTemplate.queryForObject(properties.getLagQuery(), Number.class);
+            if (value == null) {
+                throw new IllegalStateException("routing.lag-query returned no lag");
+            }
+            double lag = value.doubleValue();
+            boolean usable = lag * 1000 <= properties.getMaxLag().toMillis();
+            next = new State(usable, lag, null, Instant.now());
+        } catch (Exception e) {
+            next = new State(false, null, e.getMessage(), Instant.now());
+        }
+        state = next;
+        if (previous.usable() != next.usable()) {
+            log.info("Replica {} for reads (lag {}s{})", next.usable() ? "enabled" : "disabled", next.lagSeconds(),
+                next.error() != null ? ", " + next.error() : "");
+        }
+    }
+
+    public Map<String, Object> status() {
+        State s = state;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("usable", s.usable());
+        result.put("lagSeconds", s.lagSeconds());
+        result.put("maxLagSeconds", properties.getMaxLag().toMillis() / 1000.0);
+        if (s.error() != null) {
+            result.put("error", s.error());
+        }
+        if (s.checkedAt() != null) {
+            result.put("checkedAt", s.checkedAt().toString());
+        }
+        return result;
+    }
+
+    private void checkAsync() {
+        if (checking.compareAndSet(false, true)) {
+            checker.execute(() -> {
+                try {
+                    check();
+                } finally {
+                    checking.set(false);
+                }
+            });
+        }
+    }
+
+    public void shutdown() {
+        checker.shutdownNow();
+    }
+}
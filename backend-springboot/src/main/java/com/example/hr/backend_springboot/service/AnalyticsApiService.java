@@ -0,0 +1,234 @@
+package com.example.hr.backend_springboot.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+// Columnar JSON for /api/analytics/{slug}. Column names and types are written
+// once, followed by one array per column; string columns with repeated values
+// are sent as a dictionary plus indexes into it. The encoded body, its gzip
+// form and ETag are kept per query and reused for as long as AnalyticsService
+// hands back the same result list.
+@Service
+public class AnalyticsApiService {
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsApiService.class);
+
+    public record Payload(byte[] json, byte[] gzip, String etag) {}
+
+    private record Column(String name, String type) {}
+
+    private record Encoded(List<Object[]> rows, Payload payload) {}
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Bodies smaller than this are not worth compressing
+    @Value("${analytics.api.gzip-min-size:1024}")
+    private int gzipMinSize;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final Map<AnalyticsQuery, List<Column>> columns = new ConcurrentHashMap<>();
+    private final Map<AnalyticsQuery, Encoded> encoded = new ConcurrentHashMap<>();
+
+    public Payload payload(AnalyticsQuery query) {
+        List<Object[]> rows = analyticsService.run(query);
+        Encoded cached = encoded.get(query);
+        if (cached != null && cached.rows() == rows) {
+            return cached.payload();
+        }
+        byte[] json = encode(query, columnsOf(query, rows), rows);
+        Payload payload = new Payload(json, json.length >= gzipMinSize ? gzip(json) : null, etag(json));
+        encoded.put(query, new Encoded(rows, payload));
+        return payload;
+    }
+
+    private byte[] encode(AnalyticsQuery query, List<Column> columns, List<Object[]> rows) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + rows.size() * columns.size() * 8);
+        try (JsonGenerator json = jsonFactory.createGenerator(out)) {
+            json.writeStartObject();
+            json.writeStringField("query", query.getSlug());
+            json.writeNumberField("rows", rows.size());
+
+            List<Map<String, Integer>> dictionaries = new ArrayList<>();
+            json.writeArrayFieldStart("columns");
+            for (int c = 0; c < columns.size(); c++) {
+                Column column = columns.get(c);
+                Map<String, Integer> dictionary = "string".equals(column.type()) ? dictionary(rows, c) : null;
+                dictionaries.add(dictionary);
+                json.writeStartObject();
+                json.writeStringField("name", column.name());
+                json.writeStringField("type", column.type());
+                if (dictionary != null) {
+                    json.writeArrayFieldStart("dictionary");
+                    for (String value : dictionary.keySet()) {
+                        json.writeString(value);
+                    }
+                    json.writeEndArray();
+                }
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+
+            json.writeArrayFieldStart("data");
+            for (int c = 0; c < columns.size(); c++) {
+                Map<String, Integer> dictionary = dictionaries.get(c);
+                json.writeStartArray();
+                for (Object[] row : rows) {
+                    Object value = c < row.length ? row[c] : null;
+                    if (value == null) {
+                        json.writeNull();
+                    } else if (dictionary != null) {
+                        json.writeNumber(dictionary.get(AnalyticsExportService.format(value)));
+                    } else {
+                        writeValue(json, value);
+                    }
+                }
+                json.writeEndArray();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    // Distinct values in first-seen order, or null when the column repeats too little to gain from it
+    private static Map<String, Integer> dictionary(List<Object[]> rows, int column) {
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        int values = 0;
+        for (Object[] row : rows) {
+            Object value = column < row.length ? row[column] : null;
+            if (value != null) {
+                values++;
+                dictionary.putIfAbsent(AnalyticsExportService.format(value), dictionary.size());
+            }
+        }
+        return dictionary.size() * 2 <= values ? dictionary : null;
+    }
+
+    private static void writeValue(JsonGenerator json, Object value) throws IOException {
+        if (value instanceof BigDecimal number) {
+            json.writeNumber(number);
+        } else if (value instanceof Number number) {
+            json.writeNumber(number.toString());
+        } else if (value instanceof Boolean bool) {
+            json.writeBoolean(bool);
+        } else {
+            json.writeString(AnalyticsExportService.format(value));
+        }
+    }
+
+    // Names and types come from the statement metadata, looked up once per query
+    private List<Column> columnsOf(AnalyticsQuery query, List<Object[]> rows) {
+        List<Column> known = columns.get(query);
+        if (known != null) {
+            return known;
+        }
+        List<Column> described;
+        try {
+            described = describe(query);
+        } catch (DataAccessException e) {
+            // Results served from memory (department stats, snapshot engine) do not need the database to parse the SQL
+            log.debug("Cannot describe {}: {}", query.getSlug(), e.getMessage());
+            described = null;
+        }
+        if (described == null) {
+            // Fall back to the values themselves
+            return inferred(rows);
+        }
+        columns.put(query, described);
+        return described;
+    }
+
+    private List<Column> describe(AnalyticsQuery query) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Column>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(query.sql())) {
+                ResultSetMetaData meta = statement.getMetaData();
+                if (meta == null) {
+                    // Driver cannot describe without executing
+                    return null;
+                }
+                List<Column> result = new ArrayList<>();
+                for (int i = 1; i <= meta.getColumnCount(); i++) {
+                    result.add(new Column(meta.getColumnLabel(i).toLowerCase(Locale.ROOT), typeOf(meta.getColumnType(i))));
+                }
+                return result;
+            }
+        });
+    }
+
+    private static String typeOf(int sqlType) {
+        return switch (sqlType) {
+            case Types.NUMERIC, Types.DECIMAL, Types.INTEGER, Types.BIGINT, Types.SMALLINT, Types.TINYINT,
+                 Types.DOUBLE, Types.FLOAT, Types.REAL -> "number";
+            case Types.DATE -> "date";
+            case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> "timestamp";
+            case Types.BOOLEAN, Types.BIT -> "boolean";
+            default -> "string";
+        };
+    }
+
+    private static List<Column> inferred(List<Object[]> rows) {
+        int width = rows.stream().mapToInt(row -> row.length).max().orElse(0);
+        List<Column> result = new ArrayList<>();
+        for (int c = 0; c < width; c++) {
+            String type = "string";
+            for (Object[] row : rows) {
+                if (c < row.length && row[c] != null) {
+                    type = row[c] instanceof Number ? "number" : row[c] instanceof Boolean ? "boolean" : "string";
+                    break;
+                }
+            }
+            result.add(new Column("column_" + (c + 1), type));
+        }
+        return result;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
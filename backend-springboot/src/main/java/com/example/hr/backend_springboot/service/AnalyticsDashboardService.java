@@ -0,0 +1,148 @@
+package com.example.hr.backend_springboot.service;
+
+import com.example.hr.backend_springboot.bulkhead.Bulkhead;
+import com.example.hr.backend_springboot.bulkhead.BulkheadFullException;
+import com.example.hr.backend_springboot.bulkhead.BulkheadRegistry;
+import com.example.hr.backend_springboot.config.AnalyticsDashboardProperties;
+import com.example.hr.backend_springboot.metrics.QueryStats;
+import com.example.hr.backend_springboot.routing.ReadRouting;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Runs the dashboard widget queries concurrently under one overall deadline.
+// The worker pool is shared by all dashboard requests and sized below the
+// connection pool, so dashboards can never hold every connection, and its
+// queue is bounded: a widget that cannot be queued renders as unavailable.
+// Widgets still queued or running at the deadline are cancelled. Widget
+// queries also take slots in the analytics bulkhead, like any analytics page.
+@Service
+public class AnalyticsDashboardService {
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsDashboardService.class);
+
+    public static final List<AnalyticsQuery> WIDGETS = List.of(
+        AnalyticsQuery.TOP_EARNERS,
+        AnalyticsQuery.DEPARTMENT_STATS,
+        AnalyticsQuery.MANAGER_WORKLOAD
+    );
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @Autowired
+    private BulkheadRegistry bulkheads;
+
+    @Autowired
+    private QueryStats queryStats;
+
+    private final AnalyticsDashboardProperties properties;
+    private final ThreadPoolExecutor executor;
+
+    public AnalyticsDashboardService(AnalyticsDashboardProperties properties,
+                                     @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize) {
+        this.properties = properties;
+        int workers = properties.getMaxConcurrentQueries() > 0
+            ? Math.min(properties.getMaxConcurrentQueries(), poolSize)
+            : Math.max(1, poolSize - properties.getReservedConnections());
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, properties.getMaxQueuedQueries())),
+            new CustomizableThreadFactory("dashboard-"), new ThreadPoolExecutor.AbortPolicy());
+        log.info("Dashboard widget queries limited to {} concurrent connections (pool size {}), {} queued",
+            workers, poolSize, properties.getMaxQueuedQueries());
+    }
+
+    public DashboardResult load() {
+        Bulkhead bulkhead = bulkheads.get("analytics");
+        Map<AnalyticsQuery, Future<List<Object[]>>> futures = new EnumMap<>(AnalyticsQuery.class);
+        List<AnalyticsQuery> unavailable = new ArrayList<>();
+        AtomicLong widgetDbNanos = new AtomicLong();
+        long started = System.nanoTime();
+        for (AnalyticsQuery widget : WIDGETS) {
+            try {
+                futures.put(widget, executor.submit(ReadRouting.inherit(() -> queryStats.accumulatingDbInto(widgetDbNanos,
+                    () -> bulkhead != null ? bulkhead.call(() -> analyticsService.run(widget)) : analyticsService.run(widget)))));
+            } catch (RejectedExecutionException e) {
+                log.warn("Dashboard widget {} rejected: widget queue is full", widget.getSlug());
+                unavailable.add(widget);
+            }
+        }
+
+        long deadline = System.nanoTime() + properties.getTimeout().toNanos();
+        Map<AnalyticsQuery, List<Object[]>> results = new EnumMap<>(AnalyticsQuery.class);
+        boolean cancelled = false;
+        for (Map.Entry<AnalyticsQuery, Future<List<Object[]>>> entry : futures.entrySet()) {
+            AnalyticsQuery widget = entry.getKey();
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                results.put(widget, entry.getValue().get(remaining, TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                // Nobody will read the result: free the queue slot, the bulkhead wait or the worker
+                log.warn("Dashboard widget {} missed the {} deadline", widget.getSlug(), properties.getTimeout());
+                entry.getValue().cancel(true);
+                cancelled = true;
+                unavailable.add(widget);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof BulkheadFullException) {
+                    log.warn("Dashboard widget {} rejected: {}", widget.getSlug(), e.getCause().getMessage());
+                    unavailable.add(widget);
+                    continue;
+                }
+                log.error("Dashboard widget {} failed", widget.getSlug(), e.getCause());
+                unavailable.add(widget);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                entry.getValue().cancel(true);
+                cancelled = true;
+                unavailable.add(widget);
+            }
+        }
+        if (cancelled) {
+            executor.purge();
+        }
+        // Widgets overlap, so the request only spent as much DB time as it waited for them
+        queryStats.addThreadDbNanos(Math.min(widgetDbNanos.get(), System.nanoTime() - started));
+        return new DashboardResult(results, unavailable);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public static class DashboardResult {
+        private final Map<AnalyticsQuery, List<Object[]>> results;
+        private final List<AnalyticsQuery> unavailable;
+
+        DashboardResult(Map<AnalyticsQuery, List<Object[]>> results, List<AnalyticsQuery> unavailable) {
+            this.results = results;
+            this.unavailable = unavailable;
+        }
+
+        // Rows for a widget, or an empty list when it failed or timed out.
+        public List<Object[]> rows(AnalyticsQuery widget) {
+            return results.getOrDefault(widget, Collections.emptyList());
+        }
+
+        public List<AnalyticsQuery> getUnavailable() {
+            return unavailable;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.hr.backend_springboot.service;
+
+import com.example.hr.backend_springboot.config.AnalyticsExportProperties;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Locale;
+import java.util.concurrent.Semaphore;
+
+// Streams an analytics query from a forward-only JDBC cursor straight to an
+// OutputStream. Only one fetch batch and one write buffer are held at a time.
+// Writes block while the client is not reading, which in turn stops the
+// cursor from fetching the next batch, so a slow reader slows the query down
+// instead of piling rows up on the heap.
+@Service
+public class AnalyticsExportService {
+
+    private final AnalyticsExportProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final Semaphore permits;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public AnalyticsExportService(AnalyticsExportProperties properties, DataSource dataSource) {
+        this.properties = properties;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(properties.getFetchSize());
+        this.permits = new Semaphore(Math.max(1, properties.getMaxConcurrent()));
+    }
+
+    // Reserves a slot for an export; false when max-concurrent exports are already running.
+    public boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public void export(AnalyticsQuery query, ExportFormat format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        RowWriter rows = format == ExportFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+        try {
+            jdbcTemplate.query(query.sql(), (ResultSetExtractor<Void>) rs -> {
+                try {
+                    ResultSetMetaData meta = rs.getMetaData();
+                    String[] columns = new String[meta.getColumnCount()];
+                    for (int i = 0; i < columns.length; i++) {
+                        columns[i] = meta.getColumnLabel(i + 1).toLowerCase(Locale.ROOT);
+                    }
+                    rows.header(columns);
+                    long count = 0;
+                    while (rs.next()) {
+                        rows.row(rs);
+                        if (++count % properties.getFlushRows() == 0) {
+                            writer.flush();
+                        }
+                    }
+                    return null;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        rows.finish();
+        writer.flush();
+    }
+
+    private interface RowWriter {
+        void header(String[] columns) throws IOException;
+
+        void row(ResultSet rs) throws IOException, SQLException;
+
+        void finish() throws IOException;
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+        private int columnCount;
+
+        CsvRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void header(String[] columns) throws IOException {
+            columnCount = columns.length;
+            for (int i = 0; i < columns.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeField(columns[i]);
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void row(ResultSet rs) throws IOException, SQLException {
+            for (int i = 1; i <= columnCount; i++) {
+                if (i > 1) {
+                    writer.write(',');
+                }
+                Object value = rs.getObject(i);
+                if (value != null) {
+                    writeField(format(value));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void finish() {
+        }
+
+        // RFC 4180: quote fields containing a separator, quote or line break
+        private void writeField(String value) throws IOException {
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+        private final Writer writer;
+        private JsonGenerator json;
+        private String[] columns;
+
+        NdjsonRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void header(String[] columns) throws IOException {
+            this.columns = columns;
+            json = jsonFactory.createGenerator(writer);
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+        }
+
+        @Override
+        public void row(ResultSet rs) throws IOException, SQLException {
+            json.writeStartObject();
+            for (int i = 0; i < columns.length; i++) {
+                Object value = rs.getObject(i + 1);
+                json.writeFieldName(columns[i]);
+                if (value == null) {
+                    json.writeNull();
+                } else if (value instanceof BigDecimal number) {
+                    json.writeNumber(number);
+                } else if (value instanceof Number number) {
+                    json.writeNumber(number.toString());
+                } else {
+                    json.writeString(format(value));
+                }
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+            json.flush();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (json != null) {
+                json.close();
+            }
+        }
+    }
+
+    // Dates without a time part (the HR schema's DATE columns) are written as ISO dates
+    static String format(Object value) {
+        if (value instanceof BigDecimal number) {
+            return number.toPlainString();
+        }
+        if (value instanceof Timestamp ts) {
+            LocalDateTime dateTime = ts.toLocalDateTime();
+            return dateTime.toLocalTime().equals(LocalTime.MIDNIGHT)
+                ? dateTime.toLocalDate().toString() : dateTime.toString();
+        }
+        return value.toString();
+    }
+}
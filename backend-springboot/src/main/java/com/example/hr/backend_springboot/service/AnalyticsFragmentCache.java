@@ -0,0 +1,106 @@
+package com.example.hr.backend_springboot.service;
+
+import com.example.hr.backend_springboot.config.AnalyticsRenderProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.ui.Model;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+// Size-bounded LRU cache of rendered analytics tables. A table fragment is
+// rendered once per query and data version and the page inserts the cached
+// HTML. Tables above analytics.render.max-cached-rows are never rendered to a
+// String: the caller gets null and the page renders them inline, so Thymeleaf
+// writes their rows straight to the (chunked) response.
+@Component
+public class AnalyticsFragmentCache {
+
+    private record Key(AnalyticsQuery query, String template, String fragment, long version) {}
+
+    private record Entry(String html, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+
+    @Autowired
+    private AnalyticsRenderProperties properties;
+
+    @Autowired
+    private SpringTemplateEngine templateEngine;
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            return size() > properties.getMaxEntries();
+        }
+    };
+
+    private long hits;
+    private long misses;
+
+    // Returns the rendered fragment, or null when the page should render it itself.
+    // The rows are only fetched on a miss and are always added to the model under rowsAttribute.
+    public String render(AnalyticsQuery query, String template, String fragment, Model model,
+                         String rowsAttribute, Supplier<? extends List<?>> rows) {
+        if (!properties.isFragmentCache()) {
+            model.addAttribute(rowsAttribute, rows.get());
+            return null;
+        }
+
+        long version = dataVersion.current();
+        Key key = new Key(query, template, fragment, version);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && !entry.isExpired(System.nanoTime())) {
+                hits++;
+                return entry.html();
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+            misses++;
+        }
+
+        List<?> data = rows.get();
+        model.addAttribute(rowsAttribute, data);
+        // Stale precomputed rows must not be cached under the current version
+        if (data.size() > properties.getMaxCachedRows() || AnalyticsPrecomputer.servedStale()) {
+            return null;
+        }
+
+        Context context = new Context(LocaleContextHolder.getLocale(), model.asMap());
+        String html = templateEngine.process(template, Set.of(fragment), context);
+        synchronized (entries) {
+            entries.put(key, new Entry(html, System.nanoTime() + properties.getTtl().toNanos()));
+        }
+        return html;
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        synchronized (entries) {
+            return Map.of(
+                "size", entries.size(),
+                "maxEntries", properties.getMaxEntries(),
+                "hits", hits,
+                "misses", misses
+            );
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.hr.backend_springboot.service;
+
+import com.example.hr.backend_springboot.config.AnalyticsPrecomputeProperties;
+import com.example.hr.backend_springboot.event.EmployeeChangedEvent;
+import com.example.hr.backend_springboot.metrics.QueryStats;
+import com.example.hr.backend_springboot.routing.ReadRouting;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+// Keeps the last good result of the heavy analytics in analytics.precompute.queries
+// in memory and serves every request from it (stale-while-revalidate):
+//  - a result is stale once the data version moved past the one it was computed at,
+//    or once it is older than refresh-interval; a stale read still returns it at
+//    once and starts a background refresh;
+//  - results are also refreshed on the refresh-interval cadence and change-delay
+//    after a write, so most requests never see a stale one;
+//  - only a query with no result yet (warm-up off, or the first refresh failed)
+//    is computed on the request thread.
+// Background refreshes run one at a time on a single thread, so precompute never
+// holds more than one connection. A failed refresh keeps the previous result.
+@Component
+public class AnalyticsPrecomputer {
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsPrecomputer.class);
+
+    // Request attribute set when a response was built from a stale result, so
+    // version-keyed validators and caches do not label it as current
+    public static final String SERVED_STALE = AnalyticsPrecomputer.class.getName() + ".stale";
+
+    private record Result(List<Object[]> rows, long version, long computedAtMillis, long refreshNanos) {}
+
+    private static final class Entry {
+        volatile Result result;
+        volatile String lastError;
+        final AtomicReference<CompletableFuture<Result>> refreshing = new AtomicReference<>();
+        final LongAdder refreshes = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder staleReads = new LongAdder();
+    }
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    @Autowired
+    private QueryStats queryStats;
+
+    private final AnalyticsPrecomputeProperties properties;
+    private final Map<AnalyticsQuery, Entry> entries = new EnumMap<>(AnalyticsQuery.class);
+    private final ScheduledExecutorService refresher =
+        Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("analytics-precompute-"));
+    private final AtomicBoolean changeRefreshPending = new AtomicBoolean();
+    private volatile Function<AnalyticsQuery, List<Object[]>> loader;
+
+    public AnalyticsPrecomputer(AnalyticsPrecomputeProperties properties) {
+        this.properties = properties;
+        if (properties.isEnabled()) {
+            for (String slug : properties.getQueries()) {
+                entries.put(AnalyticsQuery.fromSlug(slug.trim()), new Entry());
+            }
+        }
+    }
+
+    // Set by AnalyticsService: how a result is computed on a refresh
+    void setLoader(Function<AnalyticsQuery, List<Object[]>> loader) {
+        this.loader = loader;
+    }
+
+    public boolean handles(AnalyticsQuery query) {
+        return entries.containsKey(query);
+    }
+
+    public List<Object[]> get(AnalyticsQuery query) {
+        Entry entry = entries.get(query);
+        Result result = entry.result;
+        if (result == null) {
+            return join(refresh(query, entry, true)).rows();
+        }
+        if (isStale(result)) {
+            entry.staleReads.increment();
+            refresh(query, entry, false);
+            RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+            if (attributes != null) {
+                attributes.setAttribute(SERVED_STALE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+            }
+        }
+        queryStats.recordCacheHit(query.getSlug());
+        return result.rows();
+    }
+
+    // True when the current request was answered from a stale result
+    public static boolean servedStale() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null && attributes.getAttribute(SERVED_STALE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    // Recomputes every result now, in the background
+    public void refreshAll() {
+        entries.forEach((query, entry) -> refresh(query, entry, false));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (entries.isEmpty()) {
+            return;
+        }
+        long interval = properties.getRefreshInterval().toMillis();
+        refresher.scheduleWithFixedDelay(this::refreshAll, properties.isWarmUp() ? 0 : interval, interval,
+            TimeUnit.MILLISECONDS);
+        log.info("Precomputing analytics {} every {}", entries.keySet(), properties.getRefreshInterval());
+    }
+
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        if (!entries.isEmpty() && changeRefreshPending.compareAndSet(false, true)) {
+            refresher.schedule(() -> {
+                // Cleared first: a write landing during the refresh schedules another one
+                changeRefreshPending.set(false);
+                refreshAll();
+            }, properties.getChangeDelay().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Starts a refresh unless one is already running, and returns the running one
+    private CompletableFuture<Result> refresh(AnalyticsQuery query, Entry entry, boolean inline) {
+        CompletableFuture<Result> mine = new CompletableFuture<>();
+        CompletableFuture<Result> running = entry.refreshing.compareAndExchange(null, mine);
+        if (running != null) {
+            return running;
+        }
+        if (inline) {
+            compute(query, entry, mine);
+        } else {
+            refresher.execute(ReadRouting.readOnly(() -> compute(query, entry, mine)));
+        }
+        return mine;
+    }
+
+    private void compute(AnalyticsQuery query, Entry entry, CompletableFuture<Result> future) {
+        // Taken before the query runs, so a write racing it leaves the result stale
+        long version = dataVersion.current();
+        long started = System.nanoTime();
+        try {
+            List<Object[]> rows = Collections.unmodifiableList(loader.apply(query));
+            Result result = new Result(rows, version, System.currentTimeMillis(), System.nanoTime() - started);
+            entry.result = result;
+            entry.lastError = null;
+            entry.refreshes.increment();
+            future.complete(result);
+        } catch (RuntimeException e) {
+            entry.failures.increment();
+            entry.lastError = e.getMessage();
+            log.warn("Precompute of {} failed{}: {}", query.getSlug(),
+                entry.result != null ? ", keeping the previous result" : "", e.getMessage());
+            future.completeExceptionally(e);
+        } finally {
+            entry.refreshing.set(null);
+        }
+    }
+
+    private boolean isStale(Result result) {
+        return result.version() != dataVersion.current()
+            || System.currentTimeMillis() - result.computedAtMillis() >= properties.getRefreshInterval().toMillis();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        long now = System.currentTimeMillis();
+        entries.forEach((query, entry) -> {
+            Result r = entry.result;
+            Map<String, Object> s = new LinkedHashMap<>();
+            s.put("ready", r != null);
+            if (r != null) {
+                s.put("rows", r.rows().size());
+                s.put("stale", isStale(r));
+                s.put("version", r.version());
+                s.put("computedAt", Instant.ofEpochMilli(r.computedAtMillis()).toString());
+                s.put("ageSeconds", (now - r.computedAtMillis()) / 1000.0);
+                s.put("refreshMillis", r.refreshNanos() / 1_000_000.0);
+            }
+            s.put("refreshing", entry.refreshing.get() != null);
+            s.put("refreshes", entry.refreshes.sum());
+            s.put("failures", entry.failures.sum());
+            s.put("staleReads", entry.staleReads.sum());
+            if (entry.lastError != null) {
+                s.put("lastError", entry.lastError);
+            }
+            result.put(query.getSlug(), s);
+        });
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private static Result join(CompletableFuture<Result> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.hr.backend_springboot.service;
+
+import com.example.hr.backend_springboot.repository.EmployeeRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.function.Function;
+
+// The analytics queries exposed by EmployeeRepository, keyed by the slug used
+// in their /analytics/{slug} URL.
+public enum AnalyticsQuery {
+    TOP_EARNERS("top-earners", EmployeeRepository::findTopEarnersByDepartmentRaw),
+    EMPLOYEE_HIERARCHY("employee-hierarchy", EmployeeRepository::findEmployeeHierarchyRaw),
+    DEPARTMENT_STATS("department-stats", EmployeeRepository::findDepartmentStatsRaw),
+    REGION_COUNTRY("region-country", EmployeeRepository::findEmployeesByRegionAndCountryRaw),
+    JOB_MOBILITY("job-mobility", EmployeeRepository::findEmployeeJobMobilityRaw),
+    MANAGER_SALARY_IMPACT("manager-salary-impact", EmployeeRepository::findManagerSalaryImpactRaw),
+    LONG_TENURE_LOW_SALARY("long-tenure-low-salary", EmployeeRepository::findLongTenureLowSalaryRaw),
+    PROMOTION_PATTERNS("promotion-patterns", EmployeeRepository::findPromotionPatternsRaw),
+    OVERLAPPING_JOBS("overlapping-jobs", EmployeeRepository::findOverlappingJobAssignmentsRaw),
+    JOB_ROLES_BY_REGION("job-roles-by-region", EmployeeRepository::findUniqueJobRolesByRegionRaw),
+    EMPLOYEE_TURNOVER("employee-turnover", EmployeeRepository::findEmployeeTurnoverByYearRaw),
+    HIRING_TRENDS("hiring-trends", EmployeeRepository::findDepartmentalHiringTrendsRaw),
+    SALARY_PERCENTILES("salary-percentiles", EmployeeRepository::findSalaryPercentileAnalysisRaw),
+    NO_RECENT_CHANGES("no-recent-changes", EmployeeRepository::findEmployeesWithoutRecentRoleChangesRaw),
+    SALARY_BUDGET("salary-budget", EmployeeRepository::findDepartmentalSalaryBudgetAllocationRaw),
+    DEPARTMENT_PATH("department-path", EmployeeRepository::findRecursiveDepartmentPathRaw),
+    HIGH_COMMISSION("high-commission", EmployeeRepository::findHighCommissionImpactRaw),
+    JOB_TRANSITIONS("job-transitions", EmployeeRepository::findJobRoleTransitionMatrixRaw),
+    DIVERSE_JOB_ROLES("diverse-job-roles", EmployeeRepository::findDepartmentsWithDiverseJobRolesRaw),
+    MANAGER_WORKLOAD("manager-workload", EmployeeRepository::findManagerWorkloadRaw);
+
+    private final String slug;
+    private final Function<EmployeeRepository, List<Object[]>> query;
+    private volatile String sql;
+
+    AnalyticsQuery(String slug, Function<EmployeeRepository, List<Object[]>> query) {
+        this.slug = slug;
+        this.query = query;
+    }
+
+    public String getSlug() {
+        return slug;
+    }
+
+    public List<Object[]> execute(EmployeeRepository repository) {
+        return query.apply(repository);
+    }
+
+    // The native SQL from the repository method's @Query, for callers that need
+    // to run it outside JPA (e.g. streaming over a JDBC cursor). The method is the
+    // one the query's method reference calls, so renames are checked by the compiler.
+    public String sql() {
+        String s = sql;
+        if (s == null) {
+            Method method = repositoryMethod();
+            Query annotation = method.getAnnotation(Query.class);
+            if (annotation == null || !annotation.nativeQuery()) {
+                throw new IllegalStateException(method.getName() + " has no native @Query");
+            }
+            s = annotation.value();
+            sql = s;
+        }
+        return s;
+    }
+
+    // Runs the query against a proxy that only records which method was called
+    private Method repositoryMethod() {
+        Method[] called = new Method[1];
+        EmployeeRepository recorder = (EmployeeRepository) Proxy.newProxyInstance(
+            EmployeeRepository.class.getClassLoader(), new Class<?>[] { EmployeeRepository.class },
+            (proxy, method, args) -> {
+                called[0] = method;
+                return List.of();
+            });
+        query.apply(recorder);
+        return called[0];
+    }
+
+    public static AnalyticsQuery fromSlug(String slug) {
+        for (AnalyticsQuery q : values()) {
+            if (q.slug.equals(slug)) {
+                return q;
+            }
+        }
+        throw new IllegalArgumentException("Unknown analytics query: " + slug);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.hr.backend_springboot.service;
+
+import com.example.hr.backend_springboot.config.AnalyticsCacheProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+// Size-bounded LRU cache of analytics result sets. Entries are keyed by the
+// query and the data version they were computed at, so a write makes every
+// older entry unreachable without an explicit flush. Concurrent misses for the
+// same key share a single database round trip.
+@Component
+public class AnalyticsQueryCache {
+
+    private record Key(AnalyticsQuery query, long version) {}
+
+    private record Entry(List<Object[]> rows, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+
+    @Autowired
+    private AnalyticsCacheProperties properties;
+
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+            return size() > properties.getMaxEntries();
+        }
+    };
+
+    private final ConcurrentHashMap<Key, CompletableFuture<List<Object[]>>> inFlight = new ConcurrentHashMap<>();
+
+    private long hits;
+    private long misses;
+
+    public List<Object[]> get(AnalyticsQuery query, long version, Supplier<List<Object[]>> loader) {
+        if (!properties.isEnabled()) {
+            return loader.get();
+        }
+
+        Key key = new Key(query, version);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && !entry.isExpired(System.nanoTime())) {
+                hits++;
+                return entry.rows();
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+            misses++;
+        }
+
+        CompletableFuture<List<Object[]>> mine = new CompletableFuture<>();
+        CompletableFuture<List<Object[]>> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return join(running);
+        }
+
+        try {
+            List<Object[]> rows = Collections.unmodifiableList(loader.get());
+            Duration ttl = properties.ttlFor(query.getSlug());
+            synchronized (entries) {
+                entries.put(key, new Entry(rows, System.nanoTime() + ttl.toNanos()));
+            }
+            mine.complete(rows);
+            return rows;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public Map<String, Object> stats() {
+        synchronized (entries) {
+            return Map.of(
+                "size", entries.size(),
+                "maxEntries", properties.getMaxEntries(),
+                "hits", hits,
+                "misses", misses
+            );
+        }
+    }
+
+    private static List<Object[]> join(CompletableFuture<List<Object[]>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
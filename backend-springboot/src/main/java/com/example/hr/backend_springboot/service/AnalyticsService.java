@@ -0,0 +1,107 @@
+package com.example.hr.backend_springboot.service;
+
+import com.example.hr.backend_springboot.metrics.QueryStats;
+import com.example.hr.backend_springboot.repository.EmployeeRepository;
+import com.example.hr.backend_springboot.snapshot.HrSnapshotService;
+import com.example.hr.backend_springboot.snapshot.JobIntervalService;
+import com.example.hr.backend_springboot.snapshot.SnapshotAnalytics;
+import com.example.hr.backend_springboot.stats.DepartmentStatsStore;
+import com.example.hr.backend_springboot.transitions.JobTransitionService;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Set;
+
+// Entry point for the analytics result sets. Results are served from the
+// versioned cache and only computed on a miss, either by the native queries
+// (analytics.engine=database) or over the in-memory snapshot (analytics.engine=snapshot,
+// or the slugs in analytics.snapshot-queries).
+// Department stats and job transitions are maintained incrementally, overlapping jobs come
+// from the job history interval index and the queries in analytics.precompute.queries are
+// refreshed in the background; all of them bypass the cache.
+@Service
+public class AnalyticsService {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private AnalyticsQueryCache cache;
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    @Autowired
+    private HrSnapshotService snapshotService;
+
+    @Autowired
+    private QueryStats queryStats;
+
+    @Autowired
+    private DepartmentStatsStore departmentStatsStore;
+
+    @Autowired
+    private AnalyticsPrecomputer precomputer;
+
+    @Autowired
+    private JobTransitionService jobTransitionService;
+
+    @Autowired
+    private JobIntervalService jobIntervalService;
+
+    @Value("${analytics.engine:database}")
+    private String engine;
+
+    // Slugs computed over the snapshot whatever the engine
+    @Value("${analytics.snapshot-queries:}")
+    private Set<String> snapshotQueries;
+
+    private final SnapshotAnalytics snapshotAnalytics = new SnapshotAnalytics(Clock.systemDefaultZone());
+
+    @PostConstruct
+    void registerPrecompute() {
+        precomputer.setLoader(this::compute);
+    }
+
+    public List<Object[]> run(AnalyticsQuery query) {
+        if (query == AnalyticsQuery.DEPARTMENT_STATS && departmentStatsStore.isEnabled()) {
+            return departmentStatsStore.rows();
+        }
+        if (query == AnalyticsQuery.JOB_TRANSITIONS && jobTransitionService.isEnabled()) {
+            return jobTransitionService.rows();
+        }
+        if (query == AnalyticsQuery.OVERLAPPING_JOBS && jobIntervalService.isEnabled()) {
+            return jobIntervalService.overlapRows();
+        }
+        if (precomputer.handles(query)) {
+            return precomputer.get(query);
+        }
+        boolean[] computed = { false };
+        List<Object[]> rows = cache.get(query, dataVersion.current(), () -> {
+            computed[0] = true;
+            return compute(query);
+        });
+        if (!computed[0]) {
+            queryStats.recordCacheHit(query.getSlug());
+        }
+        return rows;
+    }
+
+    private List<Object[]> compute(AnalyticsQuery query) {
+        long started = System.nanoTime();
+        try {
+            List<Object[]> rows = "snapshot".equalsIgnoreCase(engine) || snapshotQueries.contains(query.getSlug())
+                ? snapshotAnalytics.run(query, snapshotService.current())
+                : query.execute(employeeRepository);
+            queryStats.recordDb(query.getSlug(), System.nanoTime() - started, rows.size());
+            return rows;
+        } catch (RuntimeException e) {
+            queryStats.recordError(query.getSlug(), System.nanoTime() - started);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.hr.backend_springboot.service;
+
+import com.example.hr.backend_springboot.event.EmployeeChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Monotonic counter of HR data changes. Anything derived from the data
+// (cached query results, precomputed views, HTTP validators) is keyed by this version.
+@Component
+public class DataVersion {
+    private static final Logger log = LoggerFactory.getLogger(DataVersion.class);
+
+    private final AtomicLong version = new AtomicLong();
+    // Versions restart at zero with the process, so validators also carry the start time
+    private final long startedAtMillis = System.currentTimeMillis();
+    private volatile long changedAtMillis = startedAtMillis;
+
+    public long current() {
+        return version.get();
+    }
+
+    public long startedAtMillis() {
+        return startedAtMillis;
+    }
+
+    // Wall-clock time of the last change, or of startup when nothing has changed yet
+    public long changedAtMillis() {
+        return changedAtMillis;
+    }
+
+    public long bump() {
+        long next = version.incrementAndGet();
+        changedAtMillis = System.currentTimeMillis();
+        return next;
+    }
+
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        long next = bump();
+        log.debug("Data version bumped to {} by {}", next, event);
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.hr.backend_springboot.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+// Position in the keyset-paginated employee list: the sort key of the row the
+// page starts after (or before, for backward navigation). Sent to the browser
+// as an opaque URL-safe token so clients cannot depend on its layout.
+public record EmployeeCursor(EmployeeSort sort, boolean backward, long employeeId, String lastName) {
+
+    private static final String VERSION = "1";
+
+    public static EmployeeCursor after(EmployeeSort sort, long employeeId, String lastName) {
+        return new EmployeeCursor(sort, false, employeeId, lastName);
+    }
+
+    public static EmployeeCursor before(EmployeeSort sort, long employeeId, String lastName) {
+        return new EmployeeCursor(sort, true, employeeId, lastName);
+    }
+
+    public String encode() {
+        String raw = VERSION + "|" + sort.getParam() + "|" + (backward ? "b" : "f") + "|" + employeeId
+                + "|" + (lastName == null ? "" : lastName);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Throws IllegalArgumentException for tokens this version did not produce
+    public static EmployeeCursor decode(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        // Last name goes last so a '|' inside it survives the split
+        String[] parts = raw.split("\\|", 5);
+        if (parts.length != 5 || !VERSION.equals(parts[0])) {
+            throw new IllegalArgumentException("Unrecognised cursor");
+        }
+        EmployeeSort sort = EmployeeSort.fromParam(parts[1]);
+        boolean backward = switch (parts[2]) {
+            case "f" -> false;
+            case "b" -> true;
+            default -> throw new IllegalArgumentException("Unrecognised cursor direction");
+        };
+        long employeeId = Long.parseLong(parts[3]);
+        return new EmployeeCursor(sort, backward, employeeId, parts[4]);
+    }
+}
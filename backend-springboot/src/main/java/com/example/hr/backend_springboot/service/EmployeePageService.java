@@ -0,0 +1,136 @@
+package com.example.hr.backend_springboot.service;
+
+import com.example.hr.backend_springboot.config.EmployeePageProperties;
+import com.example.hr.backend_springboot.model.Employee;
+import com.example.hr.backend_springboot.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Keyset (seek) pagination for the employee list. A page is "the next N rows
+// after this key", so the database walks the index from the cursor instead of
+// counting and skipping OFFSET rows, and no COUNT(*) runs per page view. The
+// total shown to the user comes from a cached count instead.
+@Service
+public class EmployeePageService {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private DataVersion dataVersion;
+    @Autowired
+    private EmployeePageProperties properties;
+
+    private volatile CachedCount cachedCount;
+
+    public record EmployeePage(List<Employee> content, EmployeeSort sort, int size,
+                               String prevCursor, String nextCursor, long totalEmployees) {
+        public boolean hasPrevious() { return prevCursor != null; }
+        public boolean hasNext() { return nextCursor != null; }
+    }
+
+    public EmployeePage page(EmployeeSort sort, String cursorToken, Integer requestedSize) {
+        int size = clampSize(requestedSize);
+        EmployeeCursor cursor = parseCursor(cursorToken, sort);
+        if (cursor == null) {
+            return firstPage(sort, size);
+        }
+
+        // Fetch one extra row to learn whether another page exists in this direction
+        List<Employee> rows = new ArrayList<>(fetch(cursor, size + 1));
+        boolean more = rows.size() > size;
+        if (more) {
+            rows = rows.subList(0, size);
+        }
+
+        if (cursor.backward()) {
+            // Walked back to the start: show a full first page rather than a short one
+            if (!more) {
+                return firstPage(sort, size);
+            }
+            Collections.reverse(rows);
+            String prev = before(sort, rows.get(0));
+            String next = after(sort, rows.get(rows.size() - 1));
+            return new EmployeePage(rows, sort, size, prev, next, totalEmployees());
+        }
+
+        String prev = rows.isEmpty()
+                ? EmployeeCursor.before(sort, cursor.employeeId(), cursor.lastName()).encode()
+                : before(sort, rows.get(0));
+        String next = more ? after(sort, rows.get(rows.size() - 1)) : null;
+        return new EmployeePage(rows, sort, size, prev, next, totalEmployees());
+    }
+
+    // Cached COUNT(*); refreshed when the app writes an employee or the TTL passes
+    public long totalEmployees() {
+        long version = dataVersion.current();
+        CachedCount c = cachedCount;
+        if (c != null && c.version == version && System.nanoTime() < c.expiresAtNanos) {
+            return c.count;
+        }
+        long count = employeeRepository.count();
+        cachedCount = new CachedCount(count, version, System.nanoTime() + properties.getCountTtl().toNanos());
+        return count;
+    }
+
+    private EmployeePage firstPage(EmployeeSort sort, int size) {
+        Pageable limit = PageRequest.of(0, size + 1);
+        List<Employee> rows = sort == EmployeeSort.NAME
+                ? employeeRepository.findPageByName(limit)
+                : employeeRepository.findPageById(limit);
+        boolean more = rows.size() > size;
+        if (more) {
+            rows = rows.subList(0, size);
+        }
+        String next = more ? after(sort, rows.get(rows.size() - 1)) : null;
+        return new EmployeePage(rows, sort, size, null, next, totalEmployees());
+    }
+
+    private List<Employee> fetch(EmployeeCursor cursor, int limit) {
+        Pageable pageable = PageRequest.of(0, limit);
+        if (cursor.sort() == EmployeeSort.NAME) {
+            return cursor.backward()
+                    ? employeeRepository.findPageBeforeName(cursor.lastName(), cursor.employeeId(), pageable)
+                    : employeeRepository.findPageAfterName(cursor.lastName(), cursor.employeeId(), pageable);
+        }
+        return cursor.backward()
+                ? employeeRepository.findPageBeforeId(cursor.employeeId(), pageable)
+                : employeeRepository.findPageAfterId(cursor.employeeId(), pageable);
+    }
+
+    // A stale, tampered or other-sort cursor just restarts the list from the top
+    private static EmployeeCursor parseCursor(String token, EmployeeSort sort) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            EmployeeCursor cursor = EmployeeCursor.decode(token);
+            return cursor.sort() == sort ? cursor : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private int clampSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return properties.getDefaultSize();
+        }
+        return Math.min(requested, properties.getMaxSize());
+    }
+
+    private static String after(EmployeeSort sort, Employee e) {
+        return EmployeeCursor.after(sort, e.getEmployeeId(), e.getLastName()).encode();
+    }
+
+    private static String before(EmployeeSort sort, Employee e) {
+        return EmployeeCursor.before(sort, e.getEmployeeId(), e.getLastName()).encode();
+    }
+
+    private record CachedCount(long count, long version, long expiresAtNanos) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.hr.backend_springboot.service;
+
+// Orderings supported by the keyset employee list. Every ordering ends with
+// employee_id so the key is unique and a cursor identifies exactly one row.
+public enum EmployeeSort {
+    ID("id"),
+    NAME("name");
+
+    private final String param;
+
+    EmployeeSort(String param) {
+        this.param = param;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    public static EmployeeSort fromParam(String param) {
+        for (EmployeeSort sort : values()) {
+            if (sort.param.equalsIgnoreCase(param)) {
+                return sort;
+            }
+        }
+        throw new IllegalArgumentException("Unknown employee sort: " + param);
+    }
+}
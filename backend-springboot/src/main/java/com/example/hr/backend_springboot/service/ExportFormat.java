@@ -0,0 +1,33 @@
+package com.example.hr.backend_springboot.service;
+
+import org.springframework.http.MediaType;
+
+public enum ExportFormat {
+    CSV("csv", new MediaType("text", "csv")),
+    NDJSON("ndjson", new MediaType("application", "x-ndjson"));
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    ExportFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static ExportFormat fromName(String name) {
+        for (ExportFormat f : values()) {
+            if (f.extension.equalsIgnoreCase(name)) {
+                return f;
+            }
+        }
+        throw new IllegalArgumentException("Unknown export format: " + name);
+    }
+}
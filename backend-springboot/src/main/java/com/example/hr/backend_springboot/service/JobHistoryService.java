@@ -0,0 +1,95 @@
+package com.example.hr.backend_springboot.service;
+
+import com.example.hr.backend_springboot.config.JobHistoryCacheProperties;
+import com.example.hr.backend_springboot.dto.JobHistoryEntryDTO;
+import com.example.hr.backend_springboot.event.EmployeeChangedEvent;
+import com.example.hr.backend_springboot.metrics.QueryStats;
+import com.example.hr.backend_springboot.model.JobHistory;
+import com.example.hr.backend_springboot.repository.JobHistoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Per-employee job timelines. Each lookup is an index range scan on the
+// employee's own rows; results are optionally kept in a small LRU that drops
+// an employee's entry whenever that employee is written (a job or department
+// change makes the UPDATE_JOB_HISTORY trigger insert a history row).
+@Service
+public class JobHistoryService {
+
+    @Autowired
+    private JobHistoryRepository jobHistoryRepository;
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    @Autowired
+    private QueryStats queryStats;
+
+    private final JobHistoryCacheProperties properties;
+    private final Map<Long, Entry> cache;
+
+    public JobHistoryService(JobHistoryCacheProperties properties) {
+        this.properties = properties;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > properties.getMaxEntries();
+            }
+        };
+    }
+
+    public List<JobHistoryEntryDTO> timeline(Long employeeId) {
+        if (!properties.isEnabled()) {
+            return load(employeeId);
+        }
+        synchronized (cache) {
+            Entry entry = cache.get(employeeId);
+            if (entry != null && System.nanoTime() < entry.expiresAtNanos) {
+                return entry.timeline;
+            }
+        }
+        long version = dataVersion.current();
+        List<JobHistoryEntryDTO> timeline = load(employeeId);
+        synchronized (cache) {
+            // Skip the put if a write landed while loading; the next request reloads
+            if (dataVersion.current() == version) {
+                cache.put(employeeId, new Entry(timeline, System.nanoTime() + properties.getTtl().toNanos()));
+            }
+        }
+        return timeline;
+    }
+
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        synchronized (cache) {
+            cache.remove(event.getEmployeeId());
+        }
+    }
+
+    private List<JobHistoryEntryDTO> load(Long employeeId) {
+        long started = System.nanoTime();
+        List<JobHistory> rows = jobHistoryRepository.findTimelineByEmployeeId(employeeId);
+        queryStats.recordDb("job-history-timeline", System.nanoTime() - started, rows.size());
+        List<JobHistoryEntryDTO> timeline = new ArrayList<>(rows.size());
+        for (JobHistory jh : rows) {
+            timeline.add(new JobHistoryEntryDTO(
+                jh.getStartDate(),
+                jh.getEndDate(),
+                jh.getJob() != null ? jh.getJob().getJobId() : null,
+                jh.getJob() != null ? jh.getJob().getJobTitle() : null,
+                jh.getDepartment() != null ? jh.getDepartment().getDepartmentId() : null,
+                jh.getDepartment() != null ? jh.getDepartment().getDepartmentName() : null
+            ));
+        }
+        return List.copyOf(timeline);
+    }
+
+    private record Entry(List<JobHistoryEntryDTO> timeline, long expiresAtNanos) {
+    }
+}
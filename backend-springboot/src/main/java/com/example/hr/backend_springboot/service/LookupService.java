@@ -0,0 +1,102 @@
+package com.example.hr.backend_springboot.service;
+
+import com.example.hr.backend_springboot.config.LookupProperties;
+import com.example.hr.backend_springboot.repository.DepartmentRepository;
+import com.example.hr.backend_springboot.repository.EmployeeRepository;
+import com.example.hr.backend_springboot.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+// Cached (id, name) options for the employee form dropdowns. Each table is
+// loaded with a scalar projection query (no entities, no EAGER joins) and kept
+// until the data version moves or the TTL expires, so rendering a form costs
+// no database work in the common case.
+@Service
+public class LookupService {
+
+    public enum Kind { EMPLOYEES, DEPARTMENTS, JOBS }
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private JobRepository jobRepository;
+    @Autowired
+    private DataVersion dataVersion;
+    @Autowired
+    private LookupProperties properties;
+
+    // Only employees are written through this app; departments and jobs rely on the TTL
+    private final Cached employees = new Cached(true, () -> withFullNames(employeeRepository.findEmployeeNames()));
+    private final Cached departments = new Cached(false, () -> departmentRepository.findDepartmentNames());
+    private final Cached jobs = new Cached(false, () -> jobRepository.findJobTitles());
+
+    public LookupTable table(Kind kind) {
+        return switch (kind) {
+            case EMPLOYEES -> employees.get();
+            case DEPARTMENTS -> departments.get();
+            case JOBS -> jobs.get();
+        };
+    }
+
+    public LookupTable managers() {
+        return employees.get();
+    }
+
+    public LookupTable departments() {
+        return departments.get();
+    }
+
+    public LookupTable jobs() {
+        return jobs.get();
+    }
+
+    // [id, first, last] -> [id, "first last"]
+    private static List<Object[]> withFullNames(List<Object[]> rows) {
+        List<Object[]> named = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            String first = row[1] == null ? "" : (String) row[1];
+            String last = row[2] == null ? "" : (String) row[2];
+            named.add(new Object[] { row[0], (first + " " + last).trim() });
+        }
+        return named;
+    }
+
+    private final class Cached {
+        private final boolean versioned;
+        private final Supplier<List<Object[]>> loader;
+        private volatile Snapshot snapshot;
+
+        Cached(boolean versioned, Supplier<List<Object[]>> loader) {
+            this.versioned = versioned;
+            this.loader = loader;
+        }
+
+        LookupTable get() {
+            long version = versioned ? dataVersion.current() : 0;
+            Snapshot s = snapshot;
+            if (s != null && s.version == version && System.nanoTime() < s.expiresAtNanos) {
+                return s.table;
+            }
+            return reload(version);
+        }
+
+        private synchronized LookupTable reload(long version) {
+            Snapshot s = snapshot;
+            if (s != null && s.version == version && System.nanoTime() < s.expiresAtNanos) {
+                return s.table;
+            }
+            LookupTable table = LookupTable.of(loader.get());
+            snapshot = new Snapshot(table, version, System.nanoTime() + properties.getTtl().toNanos());
+            return table;
+        }
+    }
+
+    private record Snapshot(LookupTable table, long version, long expiresAtNanos) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.hr.backend_springboot.service;
+
+import com.example.hr.backend_springboot.dto.LookupOptionDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+// Immutable list of (id, label) options in label order, with a sorted index of
+// every word of every label for prefix search in O(log n + matches).
+public final class LookupTable {
+
+    private final List<LookupOptionDTO> options;
+    private final String[] tokens;
+    private final int[] tokenOwners;
+
+    private LookupTable(List<LookupOptionDTO> options, String[] tokens, int[] tokenOwners) {
+        this.options = options;
+        this.tokens = tokens;
+        this.tokenOwners = tokenOwners;
+    }
+
+    // rows are [id, label] pairs already sorted for display
+    public static LookupTable of(List<Object[]> rows) {
+        List<LookupOptionDTO> options = new ArrayList<>(rows.size());
+        List<String[]> entries = new ArrayList<>();
+        for (Object[] row : rows) {
+            String label = row[1] == null ? "" : row[1].toString();
+            int ordinal = options.size();
+            options.add(new LookupOptionDTO(row[0], label));
+            for (String word : normalize(label).split(" ")) {
+                if (!word.isEmpty()) {
+                    entries.add(new String[] { word, Integer.toString(ordinal) });
+                }
+            }
+        }
+        entries.sort((a, b) -> a[0].compareTo(b[0]));
+        String[] tokens = new String[entries.size()];
+        int[] owners = new int[entries.size()];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = entries.get(i)[0];
+            owners[i] = Integer.parseInt(entries.get(i)[1]);
+        }
+        return new LookupTable(Collections.unmodifiableList(options), tokens, owners);
+    }
+
+    public List<LookupOptionDTO> options() {
+        return options;
+    }
+
+    public int size() {
+        return options.size();
+    }
+
+    // Options with a word starting with the prefix, in label order.
+    // A multi-word query ("john sm") matches labels that also contain the rest of the query.
+    public List<LookupOptionDTO> search(String query, int limit) {
+        String normalized = normalize(query == null ? "" : query);
+        if (normalized.isEmpty()) {
+            return options.subList(0, Math.min(limit, options.size()));
+        }
+        int space = normalized.indexOf(' ');
+        String prefix = space < 0 ? normalized : normalized.substring(0, space);
+        BitSet matches = new BitSet(options.size());
+        for (int i = lowerBound(prefix); i < tokens.length && tokens[i].startsWith(prefix); i++) {
+            int owner = tokenOwners[i];
+            if (space < 0 || normalize(options.get(owner).getLabel()).contains(normalized)) {
+                matches.set(owner);
+            }
+        }
+        List<LookupOptionDTO> result = new ArrayList<>(Math.min(limit, matches.cardinality()));
+        for (int i = matches.nextSetBit(0); i >= 0 && result.size() < limit; i = matches.nextSetBit(i + 1)) {
+            result.add(options.get(i));
+        }
+        return result;
+    }
+
+    private int lowerBound(String key) {
+        int i = Arrays.binarySearch(tokens, key);
+        if (i < 0) {
+            return -i - 1;
+        }
+        // back up to the first equal token
+        while (i > 0 && tokens[i - 1].equals(key)) {
+            i--;
+        }
+        return i;
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.hr.backend_springboot.snapshot;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Conversions between the snapshot's scaled-long columns and the values the
+// Oracle driver returns for the native queries (NUMBER -> BigDecimal without
+// trailing zeros, DATE -> Timestamp), plus Oracle's date arithmetic.
+public final class Decimals {
+    public static final int MONEY_SCALE = 2;
+    public static final int COMMISSION_SCALE = 4;
+
+    private static final BigDecimal THIRTY_ONE = BigDecimal.valueOf(31);
+    private static final BigDecimal SECONDS_PER_DAY = BigDecimal.valueOf(86_400);
+
+    private Decimals() {}
+
+    public static long toCents(BigDecimal amount) {
+        return amount.setScale(MONEY_SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal money(long cents) {
+        return normalize(BigDecimal.valueOf(cents, MONEY_SCALE));
+    }
+
+    public static BigDecimal number(long value) {
+        return BigDecimal.valueOf(value);
+    }
+
+    // Oracle NUMBER values carry no trailing zeros; keep plain notation for integers.
+    public static BigDecimal normalize(BigDecimal value) {
+        if (value == null) {
+            return null;
+        }
+        BigDecimal stripped = value.stripTrailingZeros();
+        return stripped.scale() < 0 ? stripped.setScale(0) : stripped;
+    }
+
+    // ROUND(numerator / denominator, 2), rounding half away from zero like Oracle.
+    public static BigDecimal round2(BigDecimal numerator, BigDecimal denominator) {
+        return normalize(numerator.divide(denominator, 2, RoundingMode.HALF_UP));
+    }
+
+    public static BigDecimal round2(BigDecimal value) {
+        return normalize(value.setScale(2, RoundingMode.HALF_UP));
+    }
+
+    // ROUND(AVG(x), 2) over cents.
+    public static BigDecimal averageMoney(long sumCents, long count) {
+        return round2(BigDecimal.valueOf(sumCents, MONEY_SCALE), BigDecimal.valueOf(count));
+    }
+
+    // Oracle MEDIAN over an ascending array of cents.
+    public static BigDecimal median(long[] sortedCents, int from, int to) {
+        int n = to - from;
+        int mid = from + n / 2;
+        if (n % 2 == 1) {
+            return money(sortedCents[mid]);
+        }
+        BigDecimal pair = BigDecimal.valueOf(sortedCents[mid - 1]).add(BigDecimal.valueOf(sortedCents[mid]));
+        return normalize(pair.divide(BigDecimal.valueOf(200)));
+    }
+
+    // ROUND(STDDEV(x), 2): the sample standard deviation, 0 for a single row.
+    public static BigDecimal sampleStddev(long count, long sumCents, BigInteger sumSquaresCents) {
+        if (count < 2) {
+            return BigDecimal.ZERO;
+        }
+        BigInteger n = BigInteger.valueOf(count);
+        BigInteger sum = BigInteger.valueOf(sumCents);
+        BigInteger numerator = n.multiply(sumSquaresCents).subtract(sum.multiply(sum));
+        BigInteger denominator = n.multiply(n.subtract(BigInteger.ONE));
+        BigDecimal variance = new BigDecimal(numerator).divide(new BigDecimal(denominator), MathContext.DECIMAL128);
+        BigDecimal stddevCents = variance.signum() <= 0 ? BigDecimal.ZERO : variance.sqrt(MathContext.DECIMAL128);
+        return round2(stddevCents.movePointLeft(MONEY_SCALE));
+    }
+
+    public static Timestamp timestamp(int epochDay) {
+        return epochDay == HrSnapshot.NO_DATE ? null : Timestamp.valueOf(LocalDate.ofEpochDay(epochDay).atStartOfDay());
+    }
+
+    public static int year(int epochDay) {
+        return LocalDate.ofEpochDay(epochDay).getYear();
+    }
+
+    // MONTHS_BETWEEN(date1, date2) for two DATE values without a time component.
+    public static BigDecimal monthsBetween(int epochDay1, int epochDay2) {
+        return monthsBetween(LocalDate.ofEpochDay(epochDay1).atStartOfDay(), LocalDate.ofEpochDay(epochDay2));
+    }
+
+    // MONTHS_BETWEEN(date1, date2): whole months when the days of month match or both
+    // are month ends, otherwise the remainder is counted against a 31-day month,
+    // including date1's time of day.
+    public static BigDecimal monthsBetween(LocalDateTime date1, LocalDate date2) {
+        LocalDate d1 = date1.toLocalDate();
+        long months = (d1.getYear() - date2.getYear()) * 12L + (d1.getMonthValue() - date2.getMonthValue());
+        boolean sameDay = d1.getDayOfMonth() == date2.getDayOfMonth();
+        boolean bothMonthEnds = d1.getDayOfMonth() == d1.lengthOfMonth()
+            && date2.getDayOfMonth() == date2.lengthOfMonth();
+        if (sameDay || bothMonthEnds) {
+            return BigDecimal.valueOf(months);
+        }
+        BigDecimal days = BigDecimal.valueOf(d1.getDayOfMonth() - date2.getDayOfMonth())
+            .add(BigDecimal.valueOf(date1.toLocalTime().toSecondOfDay()).divide(SECONDS_PER_DAY, MathContext.DECIMAL128));
+        return BigDecimal.valueOf(months).add(days.divide(THIRTY_ONE, MathContext.DECIMAL128));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.hr.backend_springboot.snapshot;
+
+import java.util.Arrays;
+
+// Counting-sort partition of row ordinals by an int key column. The rows of
+// group k are members[start[k] .. start[k + 1]) in ascending row order;
+// rows whose key is HrSnapshot.NONE are left out.
+public final class Grouping {
+    public final int[] start;
+    public final int[] members;
+
+    private Grouping(int[] start, int[] members) {
+        this.start = start;
+        this.members = members;
+    }
+
+    public static Grouping of(int[] keys, int rows, int keyCount) {
+        int[] start = new int[keyCount + 1];
+        for (int row = 0; row < rows; row++) {
+            int key = keys[row];
+            if (key != HrSnapshot.NONE) {
+                start[key + 1]++;
+            }
+        }
+        for (int k = 0; k < keyCount; k++) {
+            start[k + 1] += start[k];
+        }
+        int[] cursor = start.clone();
+        int[] members = new int[start[keyCount]];
+        for (int row = 0; row < rows; row++) {
+            int key = keys[row];
+            if (key != HrSnapshot.NONE) {
+                members[cursor[key]++] = row;
+            }
+        }
+        return new Grouping(start, members);
+    }
+
+    public int groupCount() {
+        return start.length - 1;
+    }
+
+    public int size(int group) {
+        return start[group + 1] - start[group];
+    }
+
+    // Sorts each group's rows by an int column, e.g. job history by start date.
+    public Grouping sortedBy(int[] column) {
+        int[] sorted = members.clone();
+        for (int g = 0; g < groupCount(); g++) {
+            insertionOrMergeSort(sorted, start[g], start[g + 1], column);
+        }
+        return new Grouping(start, sorted);
+    }
+
+    private static void insertionOrMergeSort(int[] rows, int from, int to, int[] column) {
+        if (to - from < 32) {
+            for (int i = from + 1; i < to; i++) {
+                int row = rows[i];
+                int key = column[row];
+                int j = i - 1;
+                while (j >= from && column[rows[j]] > key) {
+                    rows[j + 1] = rows[j];
+                    j--;
+                }
+                rows[j + 1] = row;
+            }
+            return;
+        }
+        long[] packed = new long[to - from];
+        for (int i = from; i < to; i++) {
+            packed[i - from] = ((long) column[rows[i]] << 32) | (rows[i] & 0xFFFFFFFFL);
+        }
+        Arrays.sort(packed);
+        for (int i = from; i < to; i++) {
+            rows[i] = (int) packed[i - from];
+        }
+    }
+}
@@ -0,0 +1,397 @@
+package com.example.hr.backend_springboot.snapshot;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+// Immutable, column-oriented copy of the HR schema. Every table is a set of
+// parallel primitive arrays indexed by a dense row ordinal:
+//   - primary keys are dictionary-encoded to ordinals and foreign keys hold the
+//     referenced ordinal (NONE for null or dangling references),
+//   - strings are codes into a shared StringDictionary,
+//   - money is long cents, commission_pct is long ten-thousandths,
+//   - dates are epoch days (NO_DATE for null).
+// Columns are exposed as public arrays for tight loops and must not be modified.
+public final class HrSnapshot {
+    public static final int NONE = -1;
+    public static final int NO_DATE = Integer.MIN_VALUE;
+    public static final long NO_VALUE = Long.MIN_VALUE;
+
+    public final long version;
+    public final StringDictionary strings;
+    public final Regions regions;
+    public final Countries countries;
+    public final Locations locations;
+    public final Departments departments;
+    public final Jobs jobs;
+    public final Employees employees;
+    public final JobHistory jobHistory;
+
+    private final LongIntHashMap employeeOrdinals;
+    private final LongIntHashMap departmentOrdinals;
+    private final int[] jobOrdinalByCode;
+    private volatile JobIntervals jobIntervals;
+
+    private HrSnapshot(Builder b, long version) {
+        this.version = version;
+        this.strings = b.strings;
+        this.regions = b.regions;
+        this.countries = b.countries;
+        this.locations = b.locations;
+        this.departments = b.departments;
+        this.jobs = b.jobs;
+        this.employees = b.employees;
+        this.jobHistory = b.jobHistory;
+        this.employeeOrdinals = b.employeeIds;
+        this.departmentOrdinals = b.departmentIds;
+        this.jobOrdinalByCode = b.jobOrdinalByCode;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // Interval index over jobHistory, built by the first caller and kept for the snapshot's lifetime
+    public JobIntervals jobIntervals() {
+        JobIntervals i = jobIntervals;
+        if (i == null) {
+            i = JobIntervals.of(this);
+            jobIntervals = i;
+        }
+        return i;
+    }
+
+    public int employeeOrdinal(long employeeId) {
+        return employeeOrdinals.get(employeeId);
+    }
+
+    public int departmentOrdinal(long departmentId) {
+        return departmentOrdinals.get(departmentId);
+    }
+
+    public int jobOrdinal(String jobId) {
+        int code = strings.lookup(jobId);
+        return code == StringDictionary.NULL || code >= jobOrdinalByCode.length ? NONE : jobOrdinalByCode[code];
+    }
+
+    public String string(int code) {
+        return strings.decode(code);
+    }
+
+    // first_name || ' ' || last_name
+    public String employeeName(int e) {
+        String first = strings.decode(employees.firstName[e]);
+        String last = strings.decode(employees.lastName[e]);
+        return (first == null ? "" : first) + " " + (last == null ? "" : last);
+    }
+
+    public static final class Regions {
+        public long[] id;
+        public int[] name;
+        public int size;
+    }
+
+    public static final class Countries {
+        public int[] id;
+        public int[] name;
+        public int[] region;
+        public int size;
+    }
+
+    public static final class Locations {
+        public long[] id;
+        public int[] city;
+        public int[] stateProvince;
+        public int[] country;
+        public int size;
+    }
+
+    public static final class Departments {
+        public long[] id;
+        public int[] name;
+        public int[] manager;
+        public int[] location;
+        public int size;
+    }
+
+    public static final class Jobs {
+        public int[] id;
+        public int[] title;
+        public long[] minSalary;
+        public long[] maxSalary;
+        public int size;
+    }
+
+    public static final class Employees {
+        public long[] id;
+        public int[] firstName;
+        public int[] lastName;
+        public int[] hireDate;
+        public int[] job;
+        public long[] salary;
+        public long[] commission;
+        public int[] manager;
+        public int[] department;
+        public int size;
+    }
+
+    public static final class JobHistory {
+        public int[] employee;
+        public int[] startDate;
+        public int[] endDate;
+        public int[] job;
+        public int[] department;
+        public int size;
+    }
+
+    // Accumulates rows in any order; foreign keys are resolved in build().
+    public static final class Builder {
+        private final StringDictionary strings = new StringDictionary();
+        private final Regions regions = new Regions();
+        private final Countries countries = new Countries();
+        private final Locations locations = new Locations();
+        private final Departments departments = new Departments();
+        private final Jobs jobs = new Jobs();
+        private final Employees employees = new Employees();
+        private final JobHistory jobHistory = new JobHistory();
+
+        private final LongIntHashMap regionIds = new LongIntHashMap(16, NONE);
+        private final LongIntHashMap locationIds = new LongIntHashMap(16, NONE);
+        private final LongIntHashMap departmentIds = new LongIntHashMap(16, NONE);
+        private final LongIntHashMap employeeIds = new LongIntHashMap(1024, NONE);
+
+        // Raw foreign key values (NO_VALUE for null, string keys as dictionary
+        // codes), resolved to ordinals once every table is loaded.
+        private long[] countryRegionRefs = new long[16];
+        private int[] locationCountryRefs = new int[16];
+        private long[] departmentManagerRefs = new long[16];
+        private long[] departmentLocationRefs = new long[16];
+        private int[] employeeJobRefs = new int[16];
+        private long[] employeeManagerRefs = new long[16];
+        private long[] employeeDepartmentRefs = new long[16];
+        private long[] historyEmployeeRefs = new long[16];
+        private int[] historyJobRefs = new int[16];
+        private long[] historyDepartmentRefs = new long[16];
+
+        private int[] jobOrdinalByCode;
+        private boolean built;
+
+        private Builder() {
+            regions.id = new long[16];
+            regions.name = new int[16];
+            countries.id = new int[16];
+            countries.name = new int[16];
+            locations.id = new long[16];
+            locations.city = new int[16];
+            locations.stateProvince = new int[16];
+            departments.id = new long[16];
+            departments.name = new int[16];
+            jobs.id = new int[16];
+            jobs.title = new int[16];
+            jobs.minSalary = new long[16];
+            jobs.maxSalary = new long[16];
+            employees.id = new long[16];
+            employees.firstName = new int[16];
+            employees.lastName = new int[16];
+            employees.hireDate = new int[16];
+            employees.salary = new long[16];
+            employees.commission = new long[16];
+            jobHistory.startDate = new int[16];
+            jobHistory.endDate = new int[16];
+        }
+
+        public Builder region(long id, String name) {
+            Regions t = regions;
+            int row = t.size;
+            if (row == t.id.length) {
+                int cap = row * 2;
+                t.id = Arrays.copyOf(t.id, cap);
+                t.name = Arrays.copyOf(t.name, cap);
+            }
+            t.id[row] = id;
+            t.name[row] = strings.encode(name);
+            regionIds.put(id, row);
+            t.size++;
+            return this;
+        }
+
+        public Builder country(String id, String name, Long regionId) {
+            Countries t = countries;
+            int row = t.size;
+            if (row == t.id.length) {
+                int cap = row * 2;
+                t.id = Arrays.copyOf(t.id, cap);
+                t.name = Arrays.copyOf(t.name, cap);
+                countryRegionRefs = Arrays.copyOf(countryRegionRefs, cap);
+            }
+            t.id[row] = strings.encode(id);
+            t.name[row] = strings.encode(name);
+            countryRegionRefs[row] = ref(regionId);
+            t.size++;
+            return this;
+        }
+
+        public Builder location(long id, String city, String stateProvince, String countryId) {
+            Locations t = locations;
+            int row = t.size;
+            if (row == t.id.length) {
+                int cap = row * 2;
+                t.id = Arrays.copyOf(t.id, cap);
+                t.city = Arrays.copyOf(t.city, cap);
+                t.stateProvince = Arrays.copyOf(t.stateProvince, cap);
+                locationCountryRefs = Arrays.copyOf(locationCountryRefs, cap);
+            }
+            t.id[row] = id;
+            t.city[row] = strings.encode(city);
+            t.stateProvince[row] = strings.encode(stateProvince);
+            locationIds.put(id, row);
+            locationCountryRefs[row] = strings.encode(countryId);
+            t.size++;
+            return this;
+        }
+
+        public Builder department(long id, String name, Long managerId, Long locationId) {
+            Departments t = departments;
+            int row = t.size;
+            if (row == t.id.length) {
+                int cap = row * 2;
+                t.id = Arrays.copyOf(t.id, cap);
+                t.name = Arrays.copyOf(t.name, cap);
+                departmentManagerRefs = Arrays.copyOf(departmentManagerRefs, cap);
+                departmentLocationRefs = Arrays.copyOf(departmentLocationRefs, cap);
+            }
+            t.id[row] = id;
+            t.name[row] = strings.encode(name);
+            departmentIds.put(id, row);
+            departmentManagerRefs[row] = ref(managerId);
+            departmentLocationRefs[row] = ref(locationId);
+            t.size++;
+            return this;
+        }
+
+        public Builder job(String id, String title, BigDecimal minSalary, BigDecimal maxSalary) {
+            Jobs t = jobs;
+            int row = t.size;
+            if (row == t.id.length) {
+                int cap = row * 2;
+                t.id = Arrays.copyOf(t.id, cap);
+                t.title = Arrays.copyOf(t.title, cap);
+                t.minSalary = Arrays.copyOf(t.minSalary, cap);
+                t.maxSalary = Arrays.copyOf(t.maxSalary, cap);
+            }
+            t.id[row] = strings.encode(id);
+            t.title[row] = strings.encode(title);
+            t.minSalary[row] = minSalary == null ? NO_VALUE : Decimals.toCents(minSalary);
+            t.maxSalary[row] = maxSalary == null ? NO_VALUE : Decimals.toCents(maxSalary);
+            t.size++;
+            return this;
+        }
+
+        public Builder employee(long id, String firstName, String lastName, LocalDate hireDate, String jobId,
+                                BigDecimal salary, BigDecimal commissionPct, Long managerId, Long departmentId) {
+            Employees t = employees;
+            int row = t.size;
+            if (row == t.id.length) {
+                int cap = row * 2;
+                t.id = Arrays.copyOf(t.id, cap);
+                t.firstName = Arrays.copyOf(t.firstName, cap);
+                t.lastName = Arrays.copyOf(t.lastName, cap);
+                t.hireDate = Arrays.copyOf(t.hireDate, cap);
+                t.salary = Arrays.copyOf(t.salary, cap);
+                t.commission = Arrays.copyOf(t.commission, cap);
+                employeeJobRefs = Arrays.copyOf(employeeJobRefs, cap);
+                employeeManagerRefs = Arrays.copyOf(employeeManagerRefs, cap);
+                employeeDepartmentRefs = Arrays.copyOf(employeeDepartmentRefs, cap);
+            }
+            t.id[row] = id;
+            t.firstName[row] = strings.encode(firstName);
+            t.lastName[row] = strings.encode(lastName);
+            t.hireDate[row] = epochDay(hireDate);
+            t.salary[row] = salary == null ? NO_VALUE : Decimals.toCents(salary);
+            t.commission[row] = commissionPct == null ? NO_VALUE
+                : commissionPct.movePointRight(Decimals.COMMISSION_SCALE).longValueExact();
+            employeeIds.put(id, row);
+            employeeJobRefs[row] = strings.encode(jobId);
+            employeeManagerRefs[row] = ref(managerId);
+            employeeDepartmentRefs[row] = ref(departmentId);
+            t.size++;
+            return this;
+        }
+
+        public Builder jobHistory(long employeeId, LocalDate startDate, LocalDate endDate, String jobId, Long departmentId) {
+            JobHistory t = jobHistory;
+            int row = t.size;
+            if (row == t.startDate.length) {
+                int cap = row * 2;
+                t.startDate = Arrays.copyOf(t.startDate, cap);
+                t.endDate = Arrays.copyOf(t.endDate, cap);
+                historyEmployeeRefs = Arrays.copyOf(historyEmployeeRefs, cap);
+                historyJobRefs = Arrays.copyOf(historyJobRefs, cap);
+                historyDepartmentRefs = Arrays.copyOf(historyDepartmentRefs, cap);
+            }
+            t.startDate[row] = epochDay(startDate);
+            t.endDate[row] = epochDay(endDate);
+            historyEmployeeRefs[row] = employeeId;
+            historyJobRefs[row] = strings.encode(jobId);
+            historyDepartmentRefs[row] = ref(departmentId);
+            t.size++;
+            return this;
+        }
+
+        public HrSnapshot build(long version) {
+            if (built) {
+                throw new IllegalStateException("Snapshot already built");
+            }
+            built = true;
+
+            int[] countryOrdinalByCode = ordinalsByCode(countries.id, countries.size);
+            jobOrdinalByCode = ordinalsByCode(jobs.id, jobs.size);
+
+            countries.region = resolve(countryRegionRefs, regionIds, countries.size);
+            locations.country = resolve(locationCountryRefs, countryOrdinalByCode, locations.size);
+            departments.manager = resolve(departmentManagerRefs, employeeIds, departments.size);
+            departments.location = resolve(departmentLocationRefs, locationIds, departments.size);
+            employees.job = resolve(employeeJobRefs, jobOrdinalByCode, employees.size);
+            employees.manager = resolve(employeeManagerRefs, employeeIds, employees.size);
+            employees.department = resolve(employeeDepartmentRefs, departmentIds, employees.size);
+            jobHistory.employee = resolve(historyEmployeeRefs, employeeIds, jobHistory.size);
+            jobHistory.job = resolve(historyJobRefs, jobOrdinalByCode, jobHistory.size);
+            jobHistory.department = resolve(historyDepartmentRefs, departmentIds, jobHistory.size);
+            return new HrSnapshot(this, version);
+        }
+
+        // Maps a string dictionary code to the row holding that key.
+        private int[] ordinalsByCode(int[] keyCodes, int size) {
+            int[] ordinals = new int[strings.size()];
+            Arrays.fill(ordinals, NONE);
+            for (int row = 0; row < size; row++) {
+                ordinals[keyCodes[row]] = row;
+            }
+            return ordinals;
+        }
+
+        private static int[] resolve(long[] refs, LongIntHashMap ordinals, int size) {
+            int[] column = new int[size];
+            for (int i = 0; i < size; i++) {
+                column[i] = refs[i] == NO_VALUE ? NONE : ordinals.get(refs[i]);
+            }
+            return column;
+        }
+
+        private static int[] resolve(int[] codes, int[] ordinalByCode, int size) {
+            int[] column = new int[size];
+            for (int i = 0; i < size; i++) {
+                column[i] = codes[i] == StringDictionary.NULL ? NONE : ordinalByCode[codes[i]];
+            }
+            return column;
+        }
+
+        private static long ref(Long id) {
+            return id == null ? NO_VALUE : id;
+        }
+
+        private static int epochDay(LocalDate date) {
+            return date == null ? NO_DATE : Math.toIntExact(date.toEpochDay());
+        }
+    }
+}
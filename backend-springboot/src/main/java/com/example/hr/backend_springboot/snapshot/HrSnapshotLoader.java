@@ -0,0 +1,84 @@
+package com.example.hr.backend_springboot.snapshot;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+// Reads the seven HR tables with plain, portable SELECTs and streams the rows
+// straight into an HrSnapshot.Builder. Departments, jobs and employees are
+// loaded before the rows that reference them only for readability; the
+// builder resolves foreign keys at build() time.
+@Component
+public class HrSnapshotLoader {
+
+    private static final int FETCH_SIZE = 500;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public HrSnapshot load(long version) {
+        HrSnapshot.Builder builder = HrSnapshot.builder();
+        query("SELECT region_id, region_name FROM regions", rs ->
+            builder.region(rs.getLong(1), rs.getString(2)));
+        query("SELECT country_id, country_name, region_id FROM countries", rs ->
+            builder.country(rs.getString(1), rs.getString(2), nullableLong(rs, 3)));
+        query("SELECT location_id, city, state_province, country_id FROM locations", rs ->
+            builder.location(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4)));
+        query("SELECT department_id, department_name, manager_id, location_id FROM departments", rs ->
+            builder.department(rs.getLong(1), rs.getString(2), nullableLong(rs, 3), nullableLong(rs, 4)));
+        query("SELECT job_id, job_title, min_salary, max_salary FROM jobs", rs ->
+            builder.job(rs.getString(1), rs.getString(2), rs.getBigDecimal(3), rs.getBigDecimal(4)));
+        query("SELECT employee_id, first_name, last_name, hire_date, job_id, salary, commission_pct, manager_id, department_id "
+                + "FROM employees", rs ->
+            builder.employee(rs.getLong(1), rs.getString(2), rs.getString(3), date(rs, 4), rs.getString(5),
+                rs.getBigDecimal(6), rs.getBigDecimal(7), nullableLong(rs, 8), nullableLong(rs, 9)));
+        query("SELECT employee_id, start_date, end_date, job_id, department_id FROM job_history", rs ->
+            builder.jobHistory(rs.getLong(1), date(rs, 2), date(rs, 3), rs.getString(4), nullableLong(rs, 5)));
+        return builder.build(version);
+    }
+
+    // Just what JobIntervals reads: job_history, job titles and the names of
+    // employees with history. Other columns are left null.
+    public HrSnapshot loadJobHistory(long version) {
+        HrSnapshot.Builder builder = HrSnapshot.builder();
+        query("SELECT job_id, job_title FROM jobs", rs ->
+            builder.job(rs.getString(1), rs.getString(2), null, null));
+        query("SELECT employee_id, first_name, last_name FROM employees "
+                + "WHERE employee_id IN (SELECT employee_id FROM job_history)", rs ->
+            builder.employee(rs.getLong(1), rs.getString(2), rs.getString(3), null, null, null, null, null, null));
+        query("SELECT employee_id, start_date, end_date, job_id, department_id FROM job_history", rs ->
+            builder.jobHistory(rs.getLong(1), date(rs, 2), date(rs, 3), rs.getString(4), nullableLong(rs, 5)));
+        return builder.build(version);
+    }
+
+    private void query(String sql, RowConsumer consumer) {
+        jdbcTemplate.query(connection -> {
+            var statement = connection.prepareStatement(sql);
+            statement.setFetchSize(FETCH_SIZE);
+            return statement;
+        }, rs -> {
+            consumer.accept(rs);
+        });
+    }
+
+    private static Long nullableLong(ResultSet rs, int column) throws SQLException {
+        BigDecimal value = rs.getBigDecimal(column);
+        return value == null ? null : value.longValueExact();
+    }
+
+    private static LocalDate date(ResultSet rs, int column) throws SQLException {
+        Date value = rs.getDate(column);
+        return value == null ? null : value.toLocalDate();
+    }
+
+    @FunctionalInterface
+    private interface RowConsumer {
+        void accept(ResultSet rs) throws SQLException;
+    }
+}
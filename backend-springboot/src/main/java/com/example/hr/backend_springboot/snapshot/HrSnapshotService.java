@@ -0,0 +1,44 @@
+package com.example.hr.backend_springboot.snapshot;
+
+import com.example.hr.backend_springboot.service.DataVersion;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+// Holds the current HrSnapshot. The snapshot is built on first use, never at
+// startup, and rebuilt lazily by the first reader after the data version moves.
+@Service
+public class HrSnapshotService {
+    private static final Logger log = LoggerFactory.getLogger(HrSnapshotService.class);
+
+    @Autowired
+    private HrSnapshotLoader loader;
+
+    @Autowired
+    private DataVersion dataVersion;
+
+    private volatile HrSnapshot snapshot;
+
+    public HrSnapshot current() {
+        long version = dataVersion.current();
+        HrSnapshot s = snapshot;
+        if (s != null && s.version == version) {
+            return s;
+        }
+        return rebuild(version);
+    }
+
+    private synchronized HrSnapshot rebuild(long version) {
+        HrSnapshot s = snapshot;
+        if (s != null && s.version == version) {
+            return s;
+        }
+        long started = System.nanoTime();
+        s = loader.load(version);
+        log.debug("Built HR snapshot v{} ({} employees, {} history rows) in {} ms", version,
+            s.employees.size, s.jobHistory.size, (System.nanoTime() - started) / 1_000_000);
+        snapshot = s;
+        return s;
+    }
+}
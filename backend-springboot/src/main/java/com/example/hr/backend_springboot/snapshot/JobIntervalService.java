@@ -0,0 +1,131 @@
+package com.example.hr.backend_springboot.snapshot;
+
+import com.example.hr.backend_springboot.config.JobIntervalProperties;
+import com.example.hr.backend_springboot.dto.ConcurrentRoleDTO;
+import com.example.hr.backend_springboot.event.EmployeeChangedEvent;
+import com.example.hr.backend_springboot.event.EmployeeState;
+import com.example.hr.backend_springboot.metrics.QueryStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Holds JobIntervals over a job-history-only snapshot (history rows, job titles
+// and the names of employees with history), built on first use and rebuilt by
+// the first reader after a write that can change it. History rows are added by
+// the UPDATE_JOB_HISTORY trigger on a job or department change, so salary-only
+// edits keep the index; renames and deletes rebuild it. It is also reloaded
+// after job-intervals.refresh-interval to pick up history written outside the
+// app. Also serves the OVERLAPPING_JOBS result set from the sweep instead of
+// the SQL self-join.
+@Service
+public class JobIntervalService {
+    private static final Logger log = LoggerFactory.getLogger(JobIntervalService.class);
+
+    @Autowired
+    private HrSnapshotLoader loader;
+    @Autowired
+    private JobIntervalProperties properties;
+    @Autowired
+    private QueryStats queryStats;
+
+    private final AtomicLong historyVersion = new AtomicLong();
+    private volatile Loaded loaded;
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public JobIntervals current() {
+        return history().jobIntervals();
+    }
+
+    public List<ConcurrentRoleDTO> concurrentRoles(LocalDate date) {
+        return current().concurrentRoles(date);
+    }
+
+    // The OVERLAPPING_JOBS result set, built once per history snapshot
+    public List<Object[]> overlapRows() {
+        Loaded l = load();
+        List<Object[]> rows = l.overlapRows;
+        if (rows == null) {
+            HrSnapshot h = l.history;
+            List<Object[]> built = new ArrayList<>();
+            h.jobIntervals().forEachOverlap((emp, first, second) ->
+                built.add(SnapshotAnalytics.overlapRow(h, emp, first, second)));
+            rows = Collections.unmodifiableList(built);
+            l.overlapRows = rows;
+        }
+        return rows;
+    }
+
+    private HrSnapshot history() {
+        return load().history;
+    }
+
+    private Loaded load() {
+        long version = historyVersion.get();
+        Loaded l = loaded;
+        if (l != null && l.history.version == version && !expired(l)) {
+            return l;
+        }
+        return rebuild(version);
+    }
+
+    private synchronized Loaded rebuild(long version) {
+        Loaded l = loaded;
+        if (l != null && l.history.version == version && !expired(l)) {
+            return l;
+        }
+        long started = System.nanoTime();
+        HrSnapshot h = loader.loadJobHistory(version);
+        queryStats.recordDb("job-intervals", System.nanoTime() - started, h.jobHistory.size);
+        log.debug("Built job history snapshot v{} ({} history rows) in {} ms", version,
+            h.jobHistory.size, (System.nanoTime() - started) / 1_000_000);
+        l = new Loaded(h, System.nanoTime());
+        loaded = l;
+        return l;
+    }
+
+    private boolean expired(Loaded l) {
+        return System.nanoTime() - l.loadedAtNanos >= properties.getRefreshInterval().toNanos();
+    }
+
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        EmployeeState before = event.getBefore();
+        EmployeeState after = event.getAfter();
+        boolean historyMayChange = switch (event.getType()) {
+            // A new employee has no history yet
+            case CREATED -> false;
+            case UPDATED -> before == null || after == null
+                || !Objects.equals(before.jobId(), after.jobId())
+                || !Objects.equals(before.departmentId(), after.departmentId())
+                || !Objects.equals(before.firstName(), after.firstName())
+                || !Objects.equals(before.lastName(), after.lastName());
+            case DELETED -> true;
+        };
+        if (historyMayChange) {
+            historyVersion.incrementAndGet();
+        }
+    }
+
+    private static final class Loaded {
+        final HrSnapshot history;
+        final long loadedAtNanos;
+        volatile List<Object[]> overlapRows;
+
+        Loaded(HrSnapshot history, long loadedAtNanos) {
+            this.history = history;
+            this.loadedAtNanos = loadedAtNanos;
+        }
+    }
+}
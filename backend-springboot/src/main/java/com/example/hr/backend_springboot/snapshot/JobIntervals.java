@@ -0,0 +1,198 @@
+package com.example.hr.backend_springboot.snapshot;
+
+import com.example.hr.backend_springboot.dto.ConcurrentRoleDTO;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.example.hr.backend_springboot.snapshot.HrSnapshot.NONE;
+import static com.example.hr.backend_springboot.snapshot.HrSnapshot.NO_DATE;
+
+// Job history of a snapshot as [start_date, end_date] intervals (both ends
+// inclusive), in two layouts:
+//   - grouped by employee and sorted by start date, for a single sweep that
+//     finds every overlapping pair: O(n + overlaps) once grouped, where the
+//     self-join compares every pair of an employee's rows;
+//   - sorted by start date with the largest end date of every subtree of the
+//     implicit balanced tree over that order (an augmented interval tree), so
+//     "which assignments were held on day D" costs O(log n + matches).
+// Only rows that survive the SQL's inner joins (known employee and job) take
+// part; a null start or end date never overlaps anything, as in SQL.
+public final class JobIntervals {
+
+    @FunctionalInterface
+    public interface OverlapConsumer {
+        // first started strictly before second and had not ended when second started
+        void accept(int employee, int first, int second);
+    }
+
+    private final HrSnapshot snapshot;
+    private final Grouping byEmployee;
+    // Interval tree: history rows in start order, their dates, and per node the max end below it
+    private final int[] rows;
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] maxEnd;
+
+    private JobIntervals(HrSnapshot snapshot) {
+        this.snapshot = snapshot;
+        HrSnapshot.JobHistory h = snapshot.jobHistory;
+
+        int[] keys = new int[h.size];
+        int bounded = 0;
+        for (int row = 0; row < h.size; row++) {
+            boolean joined = h.job[row] != NONE && h.employee[row] != NONE;
+            keys[row] = joined ? h.employee[row] : NONE;
+            if (joined && h.startDate[row] != NO_DATE && h.endDate[row] != NO_DATE) {
+                bounded++;
+            }
+        }
+        this.byEmployee = Grouping.of(keys, h.size, snapshot.employees.size).sortedBy(h.startDate);
+
+        // Start date in the high half, row in the low half: one primitive sort orders by start
+        long[] packed = new long[bounded];
+        int n = 0;
+        for (int row = 0; row < h.size; row++) {
+            if (keys[row] != NONE && h.startDate[row] != NO_DATE && h.endDate[row] != NO_DATE) {
+                packed[n++] = ((long) h.startDate[row] << 32) | row;
+            }
+        }
+        Arrays.sort(packed);
+        this.rows = new int[n];
+        this.starts = new int[n];
+        this.ends = new int[n];
+        for (int i = 0; i < n; i++) {
+            int row = (int) packed[i];
+            rows[i] = row;
+            starts[i] = h.startDate[row];
+            ends[i] = h.endDate[row];
+        }
+        this.maxEnd = new int[n];
+        buildMaxEnd(0, n);
+    }
+
+    public static JobIntervals of(HrSnapshot snapshot) {
+        return new JobIntervals(snapshot);
+    }
+
+    public HrSnapshot snapshot() {
+        return snapshot;
+    }
+
+    // Every pair matched by findOverlappingJobAssignmentsRaw. Per employee the rows
+    // are swept in start order keeping the assignments still running; each kept one
+    // is either reported, dropped for good, or shares the current start date.
+    public void forEachOverlap(OverlapConsumer consumer) {
+        HrSnapshot.JobHistory h = snapshot.jobHistory;
+        int[] running = new int[8];
+        for (int emp = 0; emp < byEmployee.groupCount(); emp++) {
+            int size = 0;
+            for (int i = byEmployee.start[emp]; i < byEmployee.start[emp + 1]; i++) {
+                int second = byEmployee.members[i];
+                int start = h.startDate[second];
+                if (start == NO_DATE) {
+                    continue;
+                }
+                int kept = 0;
+                for (int r = 0; r < size; r++) {
+                    int first = running[r];
+                    if (h.endDate[first] < start) {
+                        continue;
+                    }
+                    running[kept++] = first;
+                    if (h.startDate[first] < start) {
+                        consumer.accept(emp, first, second);
+                    }
+                }
+                size = kept;
+                if (h.endDate[second] != NO_DATE) {
+                    if (size == running.length) {
+                        running = Arrays.copyOf(running, size * 2);
+                    }
+                    running[size++] = second;
+                }
+            }
+        }
+    }
+
+    // Job history rows whose interval contains the day (epoch days), in start order
+    public int[] heldOn(int epochDay) {
+        IntStream.Builder hits = IntStream.builder();
+        stab(0, rows.length, epochDay, hits);
+        return hits.build().toArray();
+    }
+
+    // Employees holding two or more assignments on the date, with those assignments,
+    // ordered by employee id and start date
+    public List<ConcurrentRoleDTO> concurrentRoles(LocalDate date) {
+        HrSnapshot.JobHistory h = snapshot.jobHistory;
+        int[] held = heldOn(Math.toIntExact(date.toEpochDay()));
+        // Employee id in the high half, start-order position in the low half
+        long[] byEmployeeId = new long[held.length];
+        for (int i = 0; i < held.length; i++) {
+            byEmployeeId[i] = (snapshot.employees.id[h.employee[held[i]]] << 32) | i;
+        }
+        Arrays.sort(byEmployeeId);
+
+        List<ConcurrentRoleDTO> result = new ArrayList<>();
+        int from = 0;
+        while (from < byEmployeeId.length) {
+            int to = from + 1;
+            while (to < byEmployeeId.length && byEmployeeId[to] >>> 32 == byEmployeeId[from] >>> 32) {
+                to++;
+            }
+            if (to - from > 1) {
+                for (int i = from; i < to; i++) {
+                    result.add(concurrentRole(held[(int) byEmployeeId[i]]));
+                }
+            }
+            from = to;
+        }
+        return result;
+    }
+
+    private ConcurrentRoleDTO concurrentRole(int row) {
+        HrSnapshot s = snapshot;
+        HrSnapshot.JobHistory h = s.jobHistory;
+        int emp = h.employee[row];
+        return new ConcurrentRoleDTO(
+            s.employees.id[emp],
+            s.employeeName(emp),
+            s.string(s.jobs.id[h.job[row]]),
+            s.string(s.jobs.title[h.job[row]]),
+            LocalDate.ofEpochDay(h.startDate[row]),
+            LocalDate.ofEpochDay(h.endDate[row]));
+    }
+
+    // The node of [from, to) is its middle element; maxEnd[mid] covers the whole range
+    private int buildMaxEnd(int from, int to) {
+        if (from >= to) {
+            return Integer.MIN_VALUE;
+        }
+        int mid = (from + to) >>> 1;
+        int max = Math.max(ends[mid], Math.max(buildMaxEnd(from, mid), buildMaxEnd(mid + 1, to)));
+        maxEnd[mid] = max;
+        return max;
+    }
+
+    private void stab(int from, int to, int day, IntStream.Builder hits) {
+        if (from >= to) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        if (maxEnd[mid] < day) {
+            return;
+        }
+        stab(from, mid, day, hits);
+        // Everything right of mid starts no earlier than mid
+        if (starts[mid] <= day) {
+            if (ends[mid] >= day) {
+                hits.add(rows[mid]);
+            }
+            stab(mid + 1, to, day, hits);
+        }
+    }
+}
@@ -0,0 +1,932 @@
+package com.example.hr.backend_springboot.snapshot;
+
+import com.example.hr.backend_springboot.service.AnalyticsQuery;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static com.example.hr.backend_springboot.snapshot.HrSnapshot.NONE;
+import static com.example.hr.backend_springboot.snapshot.HrSnapshot.NO_DATE;
+import static com.example.hr.backend_springboot.snapshot.HrSnapshot.NO_VALUE;
+
+// Computes the EmployeeRepository analytics over an HrSnapshot. Each method
+// mirrors one native query: same columns, same value types as the Oracle
+// driver returns (String, BigDecimal, Timestamp), same ordering. Ties that the
+// SQL leaves unordered are broken by row order.
+public class SnapshotAnalytics {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final BigDecimal TWELVE = BigDecimal.valueOf(12);
+    private static final BigDecimal FIVE = BigDecimal.valueOf(5);
+    private static final String ARROW = " → ";
+
+    private final Clock clock;
+
+    public SnapshotAnalytics(Clock clock) {
+        this.clock = clock;
+    }
+
+    public List<Object[]> run(AnalyticsQuery query, HrSnapshot s) {
+        return switch (query) {
+            case TOP_EARNERS -> topEarners(s);
+            case EMPLOYEE_HIERARCHY -> employeeHierarchy(s);
+            case DEPARTMENT_STATS -> departmentStats(s);
+            case REGION_COUNTRY -> employeesByRegionAndCountry(s);
+            case JOB_MOBILITY -> employeeJobMobility(s);
+            case MANAGER_SALARY_IMPACT -> managerSalaryImpact(s);
+            case LONG_TENURE_LOW_SALARY -> longTenureLowSalary(s);
+            case PROMOTION_PATTERNS -> promotionPatterns(s);
+            case OVERLAPPING_JOBS -> overlappingJobAssignments(s);
+            case JOB_ROLES_BY_REGION -> uniqueJobRolesByRegion(s);
+            case EMPLOYEE_TURNOVER -> employeeTurnoverByYear(s);
+            case HIRING_TRENDS -> departmentalHiringTrends(s);
+            case SALARY_PERCENTILES -> salaryPercentileAnalysis(s);
+            case NO_RECENT_CHANGES -> employeesWithoutRecentRoleChanges(s);
+            case SALARY_BUDGET -> departmentalSalaryBudgetAllocation(s);
+            case DEPARTMENT_PATH -> recursiveDepartmentPath(s);
+            case HIGH_COMMISSION -> highCommissionImpact(s);
+            case JOB_TRANSITIONS -> jobRoleTransitionMatrix(s);
+            case DIVERSE_JOB_ROLES -> departmentsWithDiverseJobRoles(s);
+            case MANAGER_WORKLOAD -> managerWorkload(s);
+        };
+    }
+
+    // Query 1: top three employees per department by salary * (1 + commission)
+    List<Object[]> topEarners(HrSnapshot s) {
+        HrSnapshot.Employees e = s.employees;
+        Grouping byDept = Grouping.of(e.department, e.size, s.departments.size);
+        List<Object[]> rows = new ArrayList<>();
+        for (int d = 0; d < byDept.groupCount(); d++) {
+            int[] members = Arrays.copyOfRange(byDept.members, byDept.start[d], byDept.start[d + 1]);
+            long[] scaledTotals = new long[members.length];
+            Integer[] order = new Integer[members.length];
+            for (int i = 0; i < members.length; i++) {
+                int emp = members[i];
+                scaledTotals[i] = e.salary[emp] == NO_VALUE ? NO_VALUE
+                    : e.salary[emp] * (10_000 + commissionOrZero(e.commission[emp]));
+                order[i] = i;
+            }
+            // ORDER BY total DESC puts NULL totals first
+            Arrays.sort(order, (a, b) -> Long.compare(nullsHigh(scaledTotals[b]), nullsHigh(scaledTotals[a])));
+            for (int r = 0; r < Math.min(3, members.length); r++) {
+                int emp = members[order[r]];
+                long total = scaledTotals[order[r]];
+                BigDecimal totalCompensation = total == NO_VALUE ? null
+                    : Decimals.normalize(BigDecimal.valueOf(total, Decimals.MONEY_SCALE + Decimals.COMMISSION_SCALE));
+                rows.add(new Object[] {
+                    s.string(s.departments.name[d]),
+                    s.employeeName(emp),
+                    money(e.salary[emp]),
+                    Decimals.normalize(BigDecimal.valueOf(commissionOrZero(e.commission[emp]), Decimals.COMMISSION_SCALE)),
+                    totalCompensation
+                });
+            }
+        }
+        rows.sort(asc(0)
+            .thenComparing(desc(4)));
+        return rows;
+    }
+
+    // Query 2: CONNECT BY walk from the top managers, siblings ordered by last and first name
+    List<Object[]> employeeHierarchy(HrSnapshot s) {
+        HrSnapshot.Employees e = s.employees;
+        // The joins to jobs and departments are applied before the hierarchy is built
+        int[] parent = new int[e.size];
+        List<Integer> roots = new ArrayList<>();
+        for (int emp = 0; emp < e.size; emp++) {
+            boolean joined = e.job[emp] != NONE && e.department[emp] != NONE;
+            parent[emp] = joined ? e.manager[emp] : NONE;
+            if (joined && e.manager[emp] == NONE) {
+                roots.add(emp);
+            }
+        }
+        Grouping children = Grouping.of(parent, e.size, e.size);
+        Comparator<Integer> siblingOrder = Comparator
+            .<Integer>comparingInt(emp -> s.strings.sortRank(e.lastName[emp]))
+            .thenComparingInt(emp -> s.strings.sortRank(e.firstName[emp]));
+
+        List<Object[]> rows = new ArrayList<>();
+        boolean[] visited = new boolean[e.size];
+        roots.sort(siblingOrder);
+        for (int root : roots) {
+            walkHierarchy(s, root, 1, children, siblingOrder, visited, rows);
+        }
+        return rows;
+    }
+
+    private void walkHierarchy(HrSnapshot s, int root, int rootLevel, Grouping children,
+                               Comparator<Integer> siblingOrder, boolean[] visited, List<Object[]> rows) {
+        HrSnapshot.Employees e = s.employees;
+        // Explicit stack of (employee, level) so deep org trees don't overflow the call stack
+        int[] stackEmp = new int[16];
+        int[] stackLevel = new int[16];
+        int top = 0;
+        stackEmp[top] = root;
+        stackLevel[top++] = rootLevel;
+        while (top > 0) {
+            int emp = stackEmp[--top];
+            int level = stackLevel[top];
+            if (visited[emp]) {
+                continue;
+            }
+            visited[emp] = true;
+            rows.add(new Object[] {
+                Decimals.number(level),
+                " ".repeat(2 * (level - 1)) + s.employeeName(emp),
+                s.string(s.jobs.title[e.job[emp]]),
+                s.string(s.departments.name[e.department[emp]]),
+                money(e.salary[emp])
+            });
+            int from = children.start[emp];
+            int to = children.start[emp + 1];
+            Integer[] kids = new Integer[to - from];
+            for (int i = from; i < to; i++) {
+                kids[i - from] = children.members[i];
+            }
+            Arrays.sort(kids, siblingOrder);
+            for (int i = kids.length - 1; i >= 0; i--) {
+                if (top == stackEmp.length) {
+                    stackEmp = Arrays.copyOf(stackEmp, top * 2);
+                    stackLevel = Arrays.copyOf(stackLevel, top * 2);
+                }
+                stackEmp[top] = kids[i];
+                stackLevel[top++] = level + 1;
+            }
+        }
+    }
+
+    // Query 3: salary statistics per department name with at least five employees
+    List<Object[]> departmentStats(HrSnapshot s) {
+        HrSnapshot.Employees e = s.employees;
+        Grouping byName = Grouping.of(departmentNameKeys(s), e.size, s.strings.size());
+        List<Object[]> rows = new ArrayList<>();
+        for (int name = 0; name < byName.groupCount(); name++) {
+            int count = byName.size(name);
+            if (count < 5) {
+                continue;
+            }
+            long[] salaries = new long[count];
+            int n = 0;
+            long sum = 0;
+            BigInteger sumSquares = BigInteger.ZERO;
+            for (int i = byName.start[name]; i < byName.start[name + 1]; i++) {
+                long salary = e.salary[byName.members[i]];
+                if (salary != NO_VALUE) {
+                    salaries[n++] = salary;
+                    sum += salary;
+                    sumSquares = sumSquares.add(BigInteger.valueOf(salary).multiply(BigInteger.valueOf(salary)));
+                }
+            }
+            Arrays.sort(salaries, 0, n);
+            rows.add(new Object[] {
+                s.string(name),
+                Decimals.number(count),
+                n == 0 ? null : Decimals.averageMoney(sum, n),
+                n == 0 ? null : Decimals.round2(Decimals.median(salaries, 0, n)),
+                n == 0 ? null : Decimals.money(salaries[0]),
+                n == 0 ? null : Decimals.money(salaries[n - 1]),
+                n == 0 ? null : Decimals.sampleStddev(n, sum, sumSquares)
+            });
+        }
+        rows.sort(desc(2));
+        return rows;
+    }
+
+    // Query 4: headcount and salary by region and country, with ROLLUP subtotals
+    List<Object[]> employeesByRegionAndCountry(HrSnapshot s) {
+        HrSnapshot.Employees e = s.employees;
+        TreeMap<Integer, TreeMap<Integer, SalaryAggregate>> groups = new TreeMap<>();
+        Map<Integer, SalaryAggregate> regionTotals = new HashMap<>();
+        SalaryAggregate grandTotal = new SalaryAggregate();
+        for (int emp = 0; emp < e.size; emp++) {
+            int country = countryOfDepartment(s, e.department[emp]);
+            int region = country == NONE ? NONE : s.countries.region[country];
+            if (region == NONE) {
+                continue;
+            }
+            int regionName = s.regions.name[region];
+            int countryName = s.countries.name[country];
+            groups.computeIfAbsent(s.strings.sortRank(regionName), k -> new TreeMap<>())
+                .computeIfAbsent(s.strings.sortRank(countryName), k -> new SalaryAggregate(regionName, countryName))
+                .add(e.salary[emp]);
+            regionTotals.computeIfAbsent(s.strings.sortRank(regionName), k -> new SalaryAggregate(regionName, StringDictionary.NULL))
+                .add(e.salary[emp]);
+            grandTotal.add(e.salary[emp]);
+        }
+        List<Object[]> rows = new ArrayList<>();
+        for (Map.Entry<Integer, TreeMap<Integer, SalaryAggregate>> region : groups.entrySet()) {
+            for (SalaryAggregate country : region.getValue().values()) {
+                rows.add(country.regionCountryRow(s));
+            }
+            rows.add(regionTotals.get(region.getKey()).regionCountryRow(s));
+        }
+        if (grandTotal.count > 0) {
+            rows.add(grandTotal.regionCountryRow(s));
+        }
+        return rows;
+    }
+
+    // Query 5: employees with more than one historical role, their average tenure and titles
+    List<Object[]> employeeJobMobility(HrSnapshot s) {
+        HrSnapshot.JobHistory h = s.jobHistory;
+        Grouping byEmployee = Grouping.of(h.employee, h.size, s.employees.size).sortedBy(h.startDate);
+        // GROUP BY employee_name, role_count, avg_months_per_role merges identical keys
+        Map<String, MobilityGroup> groups = new LinkedHashMap<>();
+        for (int emp = 0; emp < byEmployee.groupCount(); emp++) {
+            int from = byEmployee.start[emp];
+            int to = byEmployee.start[emp + 1];
+            long roleCount = 0;
+            BigDecimal monthsTotal = BigDecimal.ZERO;
+            int monthsCount = 0;
+            for (int i = from; i < to; i++) {
+                int row = byEmployee.members[i];
+                if (h.job[row] != NONE) {
+                    roleCount++;
+                }
+                if (h.startDate[row] != NO_DATE && h.endDate[row] != NO_DATE) {
+                    monthsTotal = monthsTotal.add(Decimals.monthsBetween(h.endDate[row], h.startDate[row]));
+                    monthsCount++;
+                }
+            }
+            if (roleCount <= 1) {
+                continue;
+            }
+            BigDecimal avgMonths = monthsCount == 0 ? null
+                : monthsTotal.divide(BigDecimal.valueOf(monthsCount), java.math.MathContext.DECIMAL128);
+            String name = s.employeeName(emp);
+            String key = name + '\u0000' + roleCount + '\u0000' + (avgMonths == null ? "" : avgMonths.toPlainString());
+            long roles = roleCount;
+            MobilityGroup group = groups.computeIfAbsent(key, k -> new MobilityGroup(name, roles, avgMonths));
+            for (int i = from; i < to; i++) {
+                int row = byEmployee.members[i];
+                if (h.job[row] != NONE) {
+                    group.add(h.startDate[row], s.string(s.jobs.title[h.job[row]]));
+                }
+            }
+        }
+        List<Object[]> rows = new ArrayList<>();
+        for (MobilityGroup group : groups.values()) {
+            rows.add(group.row());
+        }
+        rows.sort(desc(1)
+            .thenComparing(asc(2)));
+        return rows;
+    }
+
+    // Query 6: each manager's average team salary per department against the department average
+    List<Object[]> managerSalaryImpact(HrSnapshot s) {
+        HrSnapshot.Employees e = s.employees;
+        long[] deptSum = new long[s.departments.size];
+        long[] deptCount = new long[s.departments.size];
+        Map<Long, SalaryAggregate> teams = new LinkedHashMap<>();
+        for (int emp = 0; emp < e.size; emp++) {
+            int d = e.department[emp];
+            if (d == NONE) {
+                continue;
+            }
+            if (e.salary[emp] != NO_VALUE) {
+                deptSum[d] += e.salary[emp];
+                deptCount[d]++;
+            }
+            int m = e.manager[emp];
+            if (m != NONE) {
+                teams.computeIfAbsent(((long) m << 32) | d, k -> new SalaryAggregate(m, d)).add(e.salary[emp]);
+            }
+        }
+        List<Object[]> rows = new ArrayList<>();
+        for (SalaryAggregate team : teams.values()) {
+            int d = team.second;
+            if (team.salaryCount == 0 || deptCount[d] == 0) {
+                continue;
+            }
+            // ((S1 / n1) - (S2 / n2)) / (S2 / n2) * 100 == (S1 * n2 - S2 * n1) * 100 / (S2 * n1)
+            BigInteger s1 = BigInteger.valueOf(team.sum);
+            BigInteger n1 = BigInteger.valueOf(team.salaryCount);
+            BigInteger s2 = BigInteger.valueOf(deptSum[d]);
+            BigInteger n2 = BigInteger.valueOf(deptCount[d]);
+            BigDecimal pctDiff = Decimals.round2(
+                new BigDecimal(s1.multiply(n2).subtract(s2.multiply(n1)).multiply(BigInteger.valueOf(100))),
+                new BigDecimal(s2.multiply(n1)));
+            rows.add(new Object[] {
+                s.employeeName(team.first),
+                s.string(s.departments.name[d]),
+                Decimals.averageMoney(team.sum, team.salaryCount),
+                Decimals.averageMoney(deptSum[d], deptCount[d]),
+                pctDiff
+            });
+        }
+        rows.sort(asc(1)
+            .thenComparing(desc(4)));
+        return rows;
+    }
+
+    // Query 7: employees past five years of service paid at or below their job's median
+    List<Object[]> longTenureLowSalary(HrSnapshot s) {
+        HrSnapshot.Employees e = s.employees;
+        BigDecimal[] jobMedian = medianSalaryByJob(s);
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<Object[]> rows = new ArrayList<>();
+        for (int emp = 0; emp < e.size; emp++) {
+            int job = e.job[emp];
+            if (job == NONE || jobMedian[job] == null || e.salary[emp] == NO_VALUE || e.hireDate[emp] == NO_DATE) {
+                continue;
+            }
+            BigDecimal years = yearsOfService(now, e.hireDate[emp]);
+            BigDecimal salary = Decimals.money(e.salary[emp]);
+            if (years.compareTo(FIVE) > 0 && salary.compareTo(jobMedian[job]) <= 0) {
+                rows.add(new Object[] {
+                    Decimals.number(e.id[emp]),
+                    s.employeeName(emp),
+                    s.string(s.jobs.title[job]),
+                    salary,
+                    jobMedian[job],
+                    Decimals.round2(years)
+                });
+            }
+        }
+        rows.sort(desc(5)
+            .thenComparing(asc(3)));
+        return rows;
+    }
+
+    // Query 8: consecutive history entries where the new job has a higher max salary
+    List<Object[]> promotionPatterns(HrSnapshot s) {
+        HrSnapshot.JobHistory h = s.jobHistory;
+        Grouping byEmployee = Grouping.of(joinedHistoryKeys(s), h.size, s.employees.size).sortedBy(h.startDate);
+        long[] maxSalary = s.jobs.maxSalary;
+        List<Object[]> rows = new ArrayList<>();
+        for (int emp = 0; emp < byEmployee.groupCount(); emp++) {
+            for (int i = byEmployee.start[emp] + 1; i < byEmployee.start[emp + 1]; i++) {
+                int prevJob = h.job[byEmployee.members[i - 1]];
+                int newJob = h.job[byEmployee.members[i]];
+                long prevMax = maxSalary[prevJob];
+                long newMax = maxSalary[newJob];
+                if (prevMax == NO_VALUE || newMax == NO_VALUE || newMax <= prevMax) {
+                    continue;
+                }
+                rows.add(new Object[] {
+                    s.employeeName(emp),
+                    s.string(s.jobs.title[prevJob]),
+                    s.string(s.jobs.title[newJob]),
+                    Decimals.money(prevMax),
+                    Decimals.money(newMax),
+                    Decimals.round2(BigDecimal.valueOf(newMax - prevMax).multiply(HUNDRED), BigDecimal.valueOf(prevMax))
+                });
+            }
+        }
+        rows.sort(desc(5));
+        return rows;
+    }
+
+    // Query 9: pairs of one employee's history entries where the earlier one ends after the later starts
+    List<Object[]> overlappingJobAssignments(HrSnapshot s) {
+        List<Object[]> rows = new ArrayList<>();
+        s.jobIntervals().forEachOverlap((emp, first, second) -> rows.add(overlapRow(s, emp, first, second)));
+        return rows;
+    }
+
+    static Object[] overlapRow(HrSnapshot s, int emp, int first, int second) {
+        HrSnapshot.JobHistory h = s.jobHistory;
+        return new Object[] {
+            Decimals.number(s.employees.id[emp]),
+            s.employeeName(emp),
+            s.string(s.jobs.id[h.job[first]]),
+            s.string(s.jobs.title[h.job[first]]),
+            Decimals.timestamp(h.startDate[first]),
+            Decimals.timestamp(h.endDate[first]),
+            s.string(s.jobs.id[h.job[second]]),
+            s.string(s.jobs.title[h.job[second]]),
+            Decimals.timestamp(h.startDate[second]),
+            Decimals.timestamp(h.endDate[second])
+        };
+    }
+
+    // Query 10: distinct (region, job title) pairs from current and historical assignments
+    List<Object[]> uniqueJobRolesByRegion(HrSnapshot s) {
+        Set<Long> pairs = new HashSet<>();
+        HrSnapshot.Employees e = s.employees;
+        for (int emp = 0; emp < e.size; emp++) {
+            addRegionJobPair(s, pairs, e.department[emp], e.job[emp]);
+        }
+        HrSnapshot.JobHistory h = s.jobHistory;
+        for (int row = 0; row < h.size; row++) {
+            if (h.employee[row] != NONE) {
+                addRegionJobPair(s, pairs, h.department[row], h.job[row]);
+            }
+        }
+        List<Object[]> rows = new ArrayList<>(pairs.size());
+        long[] sorted = new long[pairs.size()];
+        int n = 0;
+        for (long pair : pairs) {
+            int regionName = (int) (pair >>> 32);
+            int title = (int) pair;
+            sorted[n++] = ((long) s.strings.sortRank(regionName) << 32) | s.strings.sortRank(title);
+        }
+        Arrays.sort(sorted, 0, n);
+        String[] byRank = stringsBySortRank(s);
+        for (int i = 0; i < n; i++) {
+            rows.add(new Object[] { byRank[(int) (sorted[i] >>> 32)], byRank[(int) sorted[i]] });
+        }
+        return rows;
+    }
+
+    private void addRegionJobPair(HrSnapshot s, Set<Long> pairs, int department, int job) {
+        int country = countryOfDepartment(s, department);
+        int region = country == NONE ? NONE : s.countries.region[country];
+        if (region == NONE || job == NONE) {
+            return;
+        }
+        pairs.add(((long) s.regions.name[region] << 32) | s.jobs.title[job]);
+    }
+
+    // Query 11: job history entries ended per year
+    List<Object[]> employeeTurnoverByYear(HrSnapshot s) {
+        HrSnapshot.JobHistory h = s.jobHistory;
+        TreeMap<Integer, Long> byYear = new TreeMap<>(Comparator.nullsLast(Comparator.naturalOrder()));
+        for (int row = 0; row < h.size; row++) {
+            Integer year = h.endDate[row] == NO_DATE ? null : Decimals.year(h.endDate[row]);
+            byYear.merge(year, 1L, Long::sum);
+        }
+        List<Object[]> rows = new ArrayList<>();
+        byYear.forEach((year, count) -> rows.add(new Object[] {
+            year == null ? null : Decimals.number(year), Decimals.number(count)
+        }));
+        return rows;
+    }
+
+    // Query 12: hires per department name and year
+    List<Object[]> departmentalHiringTrends(HrSnapshot s) {
+        HrSnapshot.Employees e = s.employees;
+        int[] nameKeys = departmentNameKeys(s);
+        TreeMap<Long, long[]> counts = new TreeMap<>();
+        for (int emp = 0; emp < e.size; emp++) {
+            int name = nameKeys[emp];
+            if (name == NONE) {
+                continue;
+            }
+            int year = e.hireDate[emp] == NO_DATE ? Integer.MAX_VALUE : Decimals.year(e.hireDate[emp]);
+            long key = ((long) s.strings.sortRank(name) << 32) | (year & 0xFFFFFFFFL);
+            counts.computeIfAbsent(key, k -> new long[] { name, 0 })[1]++;
+        }
+        List<Object[]> rows = new ArrayList<>(counts.size());
+        counts.forEach((key, value) -> {
+            int year = (int) (long) key;
+            rows.add(new Object[] {
+                s.string((int) value[0]),
+                year == Integer.MAX_VALUE ? null : Decimals.number(year),
+                Decimals.number(value[1])
+            });
+        });
+        return rows;
+    }
+
+    // Query 13: PERCENT_RANK of each salary within its department
+    List<Object[]> salaryPercentileAnalysis(HrSnapshot s) {
+        HrSnapshot.Employees e = s.employees;
+        Grouping byDept = Grouping.of(e.department, e.size, s.departments.size);
+        List<Object[]> rows = new ArrayList<>(byDept.members.length);
+        for (int d = 0; d < byDept.groupCount(); d++) {
+            int n = byDept.size(d);
+            long[] sorted = new long[n];
+            for (int i = 0; i < n; i++) {
+                sorted[i] = nullsHigh(e.salary[byDept.members[byDept.start[d] + i]]);
+            }
+            Arrays.sort(sorted);
+            for (int i = byDept.start[d]; i < byDept.start[d + 1]; i++) {
+                int emp = byDept.members[i];
+                int rank = lowerBound(sorted, nullsHigh(e.salary[emp])) + 1;
+                rows.add(new Object[] {
+                    s.string(s.departments.name[d]),
+                    s.employeeName(emp),
+                    money(e.salary[emp]),
+                    percentRank(rank, n)
+                });
+            }
+        }
+        rows.sort(asc(0)
+            .thenComparing(desc(3)));
+        return rows;
+    }
+
+    // ROUND(PERCENT_RANK() * 100, 2) for a 1-based rank within n rows
+    public static BigDecimal percentRank(int rank, int n) {
+        if (n <= 1) {
+            return BigDecimal.ZERO;
+        }
+        return Decimals.round2(BigDecimal.valueOf((long) (rank - 1) * 100), BigDecimal.valueOf(n - 1));
+    }
+
+    // Query 14: employees past five years of service with no job history
+    List<Object[]> employeesWithoutRecentRoleChanges(HrSnapshot s) {
+        HrSnapshot.Employees e = s.employees;
+        boolean[] hasHistory = new boolean[e.size];
+        for (int row = 0; row < s.jobHistory.size; row++) {
+            int emp = s.jobHistory.employee[row];
+            if (emp != NONE) {
+                hasHistory[emp] = true;
+            }
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        List<Object[]> rows = new ArrayList<>();
+        for (int emp = 0; emp < e.size; emp++) {
+            if (hasHistory[emp] || e.job[emp] == NONE || e.hireDate[emp] == NO_DATE) {
+                continue;
+            }
+            BigDecimal years = yearsOfService(now, e.hireDate[emp]);
+            if (years.compareTo(FIVE) > 0) {
+                rows.add(new Object[] {
+                    Decimals.number(e.id[emp]),
+                    s.employeeName(emp),
+                    s.string(s.jobs.title[e.job[emp]]),
+                    Decimals.timestamp(e.hireDate[emp]),
+                    Decimals.round2(years)
+                });
+            }
+        }
+        rows.sort(desc(4));
+        return rows;
+    }
+
+    // Query 15: total salary of the Executive, Sales and Finance departments pivoted by region
+    List<Object[]> departmentalSalaryBudgetAllocation(HrSnapshot s) {
+        String[] pivot = { "Executive", "Sales", "Finance" };
+        int[] pivotCodes = new int[pivot.length];
+        for (int i = 0; i < pivot.length; i++) {
+            pivotCodes[i] = s.strings.lookup(pivot[i]);
+        }
+        HrSnapshot.Employees e = s.employees;
+        TreeMap<Integer, long[]> byRegion = new TreeMap<>();
+        for (int emp = 0; emp < e.size; emp++) {
+            int country = countryOfDepartment(s, e.department[emp]);
+            int region = country == NONE ? NONE : s.countries.region[country];
+            if (region == NONE) {
+                continue;
+            }
+            int regionName = s.regions.name[region];
+            // [region name code, then (sum, non-null count) per pivot column]
+            long[] sums = byRegion.computeIfAbsent(s.strings.sortRank(regionName), k -> {
+                long[] init = new long[1 + 2 * pivot.length];
+                init[0] = regionName;
+                return init;
+            });
+            int deptName = s.departments.name[e.department[emp]];
+            for (int i = 0; i < pivot.length; i++) {
+                if (deptName != StringDictionary.NULL && deptName == pivotCodes[i] && e.salary[emp] != NO_VALUE) {
+                    sums[1 + 2 * i] += e.salary[emp];
+                    sums[2 + 2 * i]++;
+                }
+            }
+        }
+        List<Object[]> rows = new ArrayList<>(byRegion.size());
+        for (long[] sums : byRegion.values()) {
+            Object[] row = new Object[1 + pivot.length];
+            row[0] = s.string((int) sums[0]);
+            for (int i = 0; i < pivot.length; i++) {
+                row[1 + i] = sums[2 + 2 * i] == 0 ? null : Decimals.money(sums[1 + 2 * i]);
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    // Query 16: "region → country → city" path of each department in the Americas or Europe
+    List<Object[]> recursiveDepartmentPath(HrSnapshot s) {
+        HrSnapshot.Departments d = s.departments;
+        List<Object[]> rows = new ArrayList<>();
+        for (int dept = 0; dept < d.size; dept++) {
+            int location = d.location[dept];
+            int country = location == NONE ? NONE : s.locations.country[location];
+            if (country == NONE) {
+                continue;
+            }
+            int region = s.countries.region[country];
+            String path = nz(region == NONE ? null : s.string(s.regions.name[region])) + ARROW
+                + nz(s.string(s.countries.name[country])) + ARROW
+                + nz(s.string(s.locations.city[location]));
+            if (path.startsWith("Americas") || path.startsWith("Europe")) {
+                rows.add(new Object[] { s.string(d.name[dept]), path });
+            }
+        }
+        rows.sort(asc(0)
+            .thenComparing(asc(1)));
+        return rows;
+    }
+
+    // Query 17: employees whose commission is at least 30% of salary
+    List<Object[]> highCommissionImpact(HrSnapshot s) {
+        HrSnapshot.Employees e = s.employees;
+        List<Object[]> rows = new ArrayList<>();
+        for (int emp = 0; emp < e.size; emp++) {
+            long pct = e.commission[emp];
+            long salary = e.salary[emp];
+            // salary * pct >= 0.3 * salary, in ten-thousandths
+            if (e.job[emp] == NONE || pct == NO_VALUE || salary == NO_VALUE || salary * pct < salary * 3_000) {
+                continue;
+            }
+            if (salary == 0) {
+                throw new ArithmeticException("divisor is equal to zero");
+            }
+            BigDecimal commissionPct = Decimals.normalize(BigDecimal.valueOf(pct, Decimals.COMMISSION_SCALE));
+            rows.add(new Object[] {
+                s.employeeName(emp),
+                s.string(s.jobs.title[e.job[emp]]),
+                Decimals.money(salary),
+                commissionPct,
+                Decimals.normalize(BigDecimal.valueOf(salary * pct, Decimals.MONEY_SCALE + Decimals.COMMISSION_SCALE)),
+                Decimals.round2(commissionPct.multiply(HUNDRED))
+            });
+        }
+        rows.sort(desc(5));
+        return rows;
+    }
+
+    // Query 18: counts of consecutive (from, to) job titles in each employee's history
+    List<Object[]> jobRoleTransitionMatrix(HrSnapshot s) {
+        HrSnapshot.JobHistory h = s.jobHistory;
+        Grouping byEmployee = Grouping.of(h.employee, h.size, s.employees.size).sortedBy(h.startDate);
+        Map<Long, long[]> counts = new LinkedHashMap<>();
+        for (int emp = 0; emp < byEmployee.groupCount(); emp++) {
+            for (int i = byEmployee.start[emp] + 1; i < byEmployee.start[emp + 1]; i++) {
+                int from = h.job[byEmployee.members[i - 1]];
+                int to = h.job[byEmployee.members[i]];
+                if (from == NONE || to == NONE) {
+                    continue;
+                }
+                long key = ((long) s.jobs.title[from] << 32) | (s.jobs.title[to] & 0xFFFFFFFFL);
+                counts.computeIfAbsent(key, k -> new long[1])[0]++;
+            }
+        }
+        List<Object[]> rows = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> rows.add(new Object[] {
+            s.string((int) (key >>> 32)), s.string((int) (long) key), Decimals.number(count[0])
+        }));
+        rows.sort(desc(2));
+        return rows;
+    }
+
+    // Query 19: departments employing more than one distinct job
+    List<Object[]> departmentsWithDiverseJobRoles(HrSnapshot s) {
+        HrSnapshot.Employees e = s.employees;
+        int[] keys = departmentNameKeys(s);
+        for (int emp = 0; emp < e.size; emp++) {
+            if (e.job[emp] == NONE) {
+                keys[emp] = NONE;
+            }
+        }
+        Grouping byName = Grouping.of(keys, e.size, s.strings.size());
+        List<Object[]> rows = new ArrayList<>();
+        for (int name = 0; name < byName.groupCount(); name++) {
+            int n = byName.size(name);
+            if (n < 2) {
+                continue;
+            }
+            int[] jobs = new int[n];
+            for (int i = 0; i < n; i++) {
+                jobs[i] = e.job[byName.members[byName.start[name] + i]];
+            }
+            Arrays.sort(jobs);
+            int distinct = 1;
+            for (int i = 1; i < n; i++) {
+                if (jobs[i] != jobs[i - 1]) {
+                    distinct++;
+                }
+            }
+            if (distinct <= 1) {
+                continue;
+            }
+            // LISTAGG keeps every employee's title, ordered by title
+            String[] titles = new String[n];
+            for (int i = 0; i < n; i++) {
+                titles[i] = s.string(s.jobs.title[jobs[i]]);
+            }
+            Arrays.sort(titles, Comparator.nullsLast(Comparator.naturalOrder()));
+            rows.add(new Object[] { s.string(name), Decimals.number(distinct), String.join(", ", titles) });
+        }
+        rows.sort(desc(1));
+        return rows;
+    }
+
+    // Query 20: direct reports and their total salary for every manager with a department
+    List<Object[]> managerWorkload(HrSnapshot s) {
+        HrSnapshot.Employees e = s.employees;
+        long[] reports = new long[e.size];
+        long[] salarySum = new long[e.size];
+        long[] salaryCount = new long[e.size];
+        for (int emp = 0; emp < e.size; emp++) {
+            int m = e.manager[emp];
+            if (m != NONE) {
+                reports[m]++;
+                if (e.salary[emp] != NO_VALUE) {
+                    salarySum[m] += e.salary[emp];
+                    salaryCount[m]++;
+                }
+            }
+        }
+        List<Object[]> rows = new ArrayList<>();
+        for (int m = 0; m < e.size; m++) {
+            if (reports[m] == 0 || e.department[m] == NONE) {
+                continue;
+            }
+            rows.add(new Object[] {
+                s.employeeName(m),
+                s.string(s.departments.name[e.department[m]]),
+                Decimals.number(reports[m]),
+                salaryCount[m] == 0 ? null : Decimals.money(salarySum[m])
+            });
+        }
+        rows.sort(desc(2)
+            .thenComparing(desc(3)));
+        return rows;
+    }
+
+    // ---- shared helpers ----
+
+    // ORDER BY column ASC: nulls last
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<Object[]> asc(int column) {
+        Comparator<Comparable> values = Comparator.nullsLast(Comparator.naturalOrder());
+        return (a, b) -> values.compare((Comparable) a[column], (Comparable) b[column]);
+    }
+
+    // ORDER BY column DESC: nulls first
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator<Object[]> desc(int column) {
+        Comparator<Comparable> values = Comparator.nullsFirst(Comparator.reverseOrder());
+        return (a, b) -> values.compare((Comparable) a[column], (Comparable) b[column]);
+    }
+
+    private static BigDecimal money(long cents) {
+        return cents == NO_VALUE ? null : Decimals.money(cents);
+    }
+
+    private static long commissionOrZero(long commission) {
+        return commission == NO_VALUE ? 0 : commission;
+    }
+
+    // Orders NULL above every value, as Oracle does for ascending sorts
+    private static long nullsHigh(long value) {
+        return value == NO_VALUE ? Long.MAX_VALUE : value;
+    }
+
+    private static int lowerBound(long[] sorted, long key) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid] < key) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static String nz(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static BigDecimal yearsOfService(LocalDateTime now, int hireDate) {
+        return Decimals.monthsBetween(now, java.time.LocalDate.ofEpochDay(hireDate))
+            .divide(TWELVE, java.math.MathContext.DECIMAL128);
+    }
+
+    // Department name code per employee, NONE when the department join fails
+    private static int[] departmentNameKeys(HrSnapshot s) {
+        HrSnapshot.Employees e = s.employees;
+        int[] keys = new int[e.size];
+        for (int emp = 0; emp < e.size; emp++) {
+            int d = e.department[emp];
+            keys[emp] = d == NONE ? NONE : s.departments.name[d];
+        }
+        return keys;
+    }
+
+    // Employee ordinal per history row, NONE unless the employee and job joins succeed
+    private static int[] joinedHistoryKeys(HrSnapshot s) {
+        HrSnapshot.JobHistory h = s.jobHistory;
+        int[] keys = new int[h.size];
+        for (int row = 0; row < h.size; row++) {
+            keys[row] = h.job[row] == NONE ? NONE : h.employee[row];
+        }
+        return keys;
+    }
+
+    private static int countryOfDepartment(HrSnapshot s, int department) {
+        if (department == NONE) {
+            return NONE;
+        }
+        int location = s.departments.location[department];
+        return location == NONE ? NONE : s.locations.country[location];
+    }
+
+    private static BigDecimal[] medianSalaryByJob(HrSnapshot s) {
+        HrSnapshot.Employees e = s.employees;
+        Grouping byJob = Grouping.of(e.job, e.size, s.jobs.size);
+        BigDecimal[] medians = new BigDecimal[s.jobs.size];
+        for (int job = 0; job < byJob.groupCount(); job++) {
+            long[] salaries = new long[byJob.size(job)];
+            int n = 0;
+            for (int i = byJob.start[job]; i < byJob.start[job + 1]; i++) {
+                long salary = e.salary[byJob.members[i]];
+                if (salary != NO_VALUE) {
+                    salaries[n++] = salary;
+                }
+            }
+            if (n > 0) {
+                Arrays.sort(salaries, 0, n);
+                medians[job] = Decimals.median(salaries, 0, n);
+            }
+        }
+        return medians;
+    }
+
+    private static String[] stringsBySortRank(HrSnapshot s) {
+        String[] byRank = new String[s.strings.size()];
+        for (int code = 0; code < byRank.length; code++) {
+            byRank[s.strings.sortRank(code)] = s.strings.decode(code);
+        }
+        return byRank;
+    }
+
+    // COUNT / SUM / AVG accumulator for one group of salaries
+    private static final class SalaryAggregate {
+        final int first;
+        final int second;
+        long count;
+        long sum;
+        long salaryCount;
+
+        SalaryAggregate() {
+            this(StringDictionary.NULL, StringDictionary.NULL);
+        }
+
+        SalaryAggregate(int first, int second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        void add(long salary) {
+            count++;
+            if (salary != NO_VALUE) {
+                sum += salary;
+                salaryCount++;
+            }
+        }
+
+        Object[] regionCountryRow(HrSnapshot s) {
+            return new Object[] {
+                s.string(first),
+                s.string(second),
+                Decimals.number(count),
+                salaryCount == 0 ? null : Decimals.money(sum),
+                salaryCount == 0 ? null : Decimals.averageMoney(sum, salaryCount)
+            };
+        }
+    }
+
+    private static final class MobilityGroup {
+        final String name;
+        final long roleCount;
+        final BigDecimal avgMonths;
+        final List<long[]> titlesByStart = new ArrayList<>();
+        final List<String> titles = new ArrayList<>();
+
+        MobilityGroup(String name, long roleCount, BigDecimal avgMonths) {
+            this.name = name;
+            this.roleCount = roleCount;
+            this.avgMonths = avgMonths;
+        }
+
+        void add(int startDate, String title) {
+            titlesByStart.add(new long[] { startDate, titles.size() });
+            titles.add(title);
+        }
+
+        Object[] row() {
+            titlesByStart.sort(Comparator.comparingLong(t -> t[0]));
+            List<String> ordered = new ArrayList<>(titles.size());
+            for (long[] t : titlesByStart) {
+                ordered.add(titles.get((int) t[1]));
+            }
+            return new Object[] {
+                name,
+                Decimals.number(roleCount),
+                avgMonths == null ? null : Decimals.round2(avgMonths),
+                String.join(", ", ordered)
+            };
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.hr.backend_springboot.snapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Dictionary encoding for string columns. Each distinct value is stored once
+// and columns hold int codes; sortRank(code) orders codes like their strings.
+public final class StringDictionary {
+    public static final int NULL = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+    private int[] sortRank;
+
+    public int encode(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+            sortRank = null;
+        }
+        return code;
+    }
+
+    public int lookup(String value) {
+        if (value == null) {
+            return NULL;
+        }
+        return codes.getOrDefault(value, NULL);
+    }
+
+    public String decode(int code) {
+        return code == NULL ? null : values.get(code);
+    }
+
+    public int size() {
+        return values.size();
+    }
+
+    // Position of the value in ascending string order; NULL sorts last as in Oracle.
+    public int sortRank(int code) {
+        if (code == NULL) {
+            return Integer.MAX_VALUE;
+        }
+        int[] rank = sortRank;
+        if (rank == null) {
+            rank = buildSortRank();
+        }
+        return rank[code];
+    }
+
+    private synchronized int[] buildSortRank() {
+        if (sortRank != null) {
+            return sortRank;
+        }
+        Integer[] order = new Integer[values.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> values.get(a).compareTo(values.get(b)));
+        int[] rank = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            rank[order[i]] = i;
+        }
+        sortRank = rank;
+        return rank;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.hr.backend_springboot.stats;
+
+import com.example.hr.backend_springboot.snapshot.Decimals;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+// Running salary statistics for one department name, maintained under inserts
+// and deletes. count includes employees without a salary, like COUNT(employee_id);
+// the salary figures ignore them, like the SQL aggregates.
+class DepartmentSalaryStats {
+    static final long NO_SALARY = Long.MIN_VALUE;
+
+    private final String departmentName;
+    private long count;
+    private long salaryCount;
+    private long sumCents;
+    private BigInteger sumSquaresCents = BigInteger.ZERO;
+    private final MedianTracker salaries = new MedianTracker();
+
+    DepartmentSalaryStats(String departmentName) {
+        this.departmentName = departmentName;
+    }
+
+    long count() {
+        return count;
+    }
+
+    void add(long salaryCents) {
+        count++;
+        if (salaryCents != NO_SALARY) {
+            salaryCount++;
+            sumCents += salaryCents;
+            sumSquaresCents = sumSquaresCents.add(square(salaryCents));
+            salaries.add(salaryCents);
+        }
+    }
+
+    void remove(long salaryCents) {
+        count--;
+        if (salaryCents != NO_SALARY && salaries.remove(salaryCents)) {
+            salaryCount--;
+            sumCents -= salaryCents;
+            sumSquaresCents = sumSquaresCents.subtract(square(salaryCents));
+        }
+    }
+
+    // Same columns and rounding as findDepartmentStatsRaw:
+    // [department_name, employee_count, avg, median, min, max, stddev]
+    Object[] row() {
+        long n = salaryCount;
+        return new Object[] {
+            departmentName,
+            Decimals.number(count),
+            n == 0 ? null : Decimals.averageMoney(sumCents, n),
+            n == 0 ? null : Decimals.round2(median()),
+            n == 0 ? null : Decimals.money(salaries.min()),
+            n == 0 ? null : Decimals.money(salaries.max()),
+            n == 0 ? null : Decimals.sampleStddev(n, sumCents, sumSquaresCents)
+        };
+    }
+
+    private BigDecimal median() {
+        long low = salaries.lowerMedian();
+        long high = salaries.upperMedian();
+        if (low == high) {
+            return Decimals.money(low);
+        }
+        return Decimals.normalize(BigDecimal.valueOf(low).add(BigDecimal.valueOf(high)).divide(BigDecimal.valueOf(200)));
+    }
+
+    private static BigInteger square(long cents) {
+        BigInteger value = BigInteger.valueOf(cents);
+        return value.multiply(value);
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.hr.backend_springboot.stats;
+
+import com.example.hr.backend_springboot.config.DepartmentStatsProperties;
+import com.example.hr.backend_springboot.event.EmployeeChangedEvent;
+import com.example.hr.backend_springboot.event.EmployeeState;
+import com.example.hr.backend_springboot.metrics.QueryStats;
+import com.example.hr.backend_springboot.repository.DepartmentRepository;
+import com.example.hr.backend_springboot.repository.EmployeeRepository;
+import com.example.hr.backend_springboot.snapshot.Decimals;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Department salary statistics (the DEPARTMENT_STATS result set) kept up to date
+// per employee write instead of re-aggregating the employees table. Each
+// department name has running count, sum, sum of squares and a median tracker;
+// the result rows are rebuilt from those only when something changed, so reads
+// cost O(1) and a write costs O(log n) in the department's size.
+//
+// The store remembers each member's department and salary, so applying an event
+// is idempotent: a write that a concurrent load already saw changes nothing.
+@Service
+public class DepartmentStatsStore {
+    private static final Logger log = LoggerFactory.getLogger(DepartmentStatsStore.class);
+
+    // HAVING COUNT(e.employee_id) >= 5
+    private static final int MIN_EMPLOYEES = 5;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private DepartmentStatsProperties properties;
+    @Autowired
+    private QueryStats queryStats;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private State state;
+    private long loadedAtNanos;
+
+    private static final class State {
+        final Map<Long, String> departmentNames = new HashMap<>();
+        final Map<String, DepartmentSalaryStats> byName = new HashMap<>();
+        final Map<Long, Member> members = new HashMap<>();
+        List<Object[]> rows;
+    }
+
+    private record Member(String departmentName, long salaryCents) {
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public List<Object[]> rows() {
+        lock.readLock().lock();
+        try {
+            if (state != null && state.rows != null && !expired()) {
+                return state.rows;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (state == null || expired()) {
+                load();
+            }
+            if (state.rows == null) {
+                state.rows = buildRows(state);
+            }
+            return state.rows;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (state == null) {
+                return;
+            }
+            Member previous = state.members.remove(event.getEmployeeId());
+            if (previous != null) {
+                state.byName.get(previous.departmentName()).remove(previous.salaryCents());
+            }
+            EmployeeState after = event.getAfter();
+            if (after != null && after.departmentId() != null) {
+                String name = state.departmentNames.get(after.departmentId());
+                if (name == null) {
+                    // Department created outside the app since the load
+                    log.debug("Department {} unknown to the stats store; reloading on next read", after.departmentId());
+                    state = null;
+                    return;
+                }
+                addMember(state, after.employeeId(), name, after.salary());
+            } else if (after == null && event.getType() != EmployeeChangedEvent.ChangeType.DELETED) {
+                state = null;
+                return;
+            }
+            state.rows = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean expired() {
+        return System.nanoTime() - loadedAtNanos >= properties.getRefreshInterval().toNanos();
+    }
+
+    private void load() {
+        long started = System.nanoTime();
+        State loaded = new State();
+        for (Object[] row : departmentRepository.findDepartmentNames()) {
+            loaded.departmentNames.put(((Number) row[0]).longValue(), (String) row[1]);
+        }
+        List<Object[]> rows = employeeRepository.findDepartmentSalaryRows();
+        for (Object[] row : rows) {
+            addMember(loaded, ((Number) row[0]).longValue(), (String) row[1], (BigDecimal) row[2]);
+        }
+        queryStats.recordDb("department-stats-store", System.nanoTime() - started, rows.size());
+        state = loaded;
+        loadedAtNanos = System.nanoTime();
+        log.debug("Loaded department stats store ({} departments, {} employees) in {} ms",
+            loaded.byName.size(), loaded.members.size(), (loadedAtNanos - started) / 1_000_000);
+    }
+
+    private static void addMember(State s, long employeeId, String departmentName, BigDecimal salary) {
+        long cents = salary == null ? DepartmentSalaryStats.NO_SALARY : Decimals.toCents(salary);
+        s.byName.computeIfAbsent(departmentName, DepartmentSalaryStats::new).add(cents);
+        s.members.put(employeeId, new Member(departmentName, cents));
+    }
+
+    // ORDER BY the rounded average descending, nulls first as in Oracle
+    private static List<Object[]> buildRows(State s) {
+        List<Object[]> rows = new ArrayList<>();
+        for (DepartmentSalaryStats stats : s.byName.values()) {
+            if (stats.count() >= MIN_EMPLOYEES) {
+                rows.add(stats.row());
+            }
+        }
+        rows.sort(Comparator.comparing((Object[] r) -> (BigDecimal) r[2],
+            Comparator.nullsLast(Comparator.<BigDecimal>naturalOrder())).reversed());
+        return Collections.unmodifiableList(rows);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.hr.backend_springboot.stats;
+
+import java.util.TreeMap;
+
+// Multiset of longs split into a lower and an upper half, so the median, min and
+// max are read from the ends of the halves and inserts and deletes cost O(log n).
+// The lower half holds the extra element when the size is odd.
+class MedianTracker {
+    private final TreeMap<Long, Integer> lower = new TreeMap<>();
+    private final TreeMap<Long, Integer> upper = new TreeMap<>();
+    private int lowerSize;
+    private int upperSize;
+
+    int size() {
+        return lowerSize + upperSize;
+    }
+
+    void add(long value) {
+        if (lowerSize == 0 || value <= lower.lastKey()) {
+            increment(lower, value);
+            lowerSize++;
+        } else {
+            increment(upper, value);
+            upperSize++;
+        }
+        rebalance();
+    }
+
+    // Returns false if the value was not present
+    boolean remove(long value) {
+        if (lowerSize > 0 && value <= lower.lastKey()) {
+            if (!decrement(lower, value)) {
+                return false;
+            }
+            lowerSize--;
+        } else {
+            if (!decrement(upper, value)) {
+                return false;
+            }
+            upperSize--;
+        }
+        rebalance();
+        return true;
+    }
+
+    long min() {
+        return lower.firstKey();
+    }
+
+    long max() {
+        return upperSize == 0 ? lower.lastKey() : upper.lastKey();
+    }
+
+    // Middle element for odd sizes; for even sizes the two middle elements, for the caller to average
+    long lowerMedian() {
+        return lower.lastKey();
+    }
+
+    long upperMedian() {
+        return size() % 2 == 1 ? lower.lastKey() : upper.firstKey();
+    }
+
+    private void rebalance() {
+        if (lowerSize > upperSize + 1) {
+            long moved = lower.lastKey();
+            decrement(lower, moved);
+            lowerSize--;
+            increment(upper, moved);
+            upperSize++;
+        } else if (upperSize > lowerSize) {
+            long moved = upper.firstKey();
+            decrement(upper, moved);
+            upperSize--;
+            increment(lower, moved);
+            lowerSize++;
+        }
+    }
+
+    private static void increment(TreeMap<Long, Integer> half, long value) {
+        half.merge(value, 1, Integer::sum);
+    }
+
+    private static boolean decrement(TreeMap<Long, Integer> half, long value) {
+        Integer count = half.get(value);
+        if (count == null) {
+            return false;
+        }
+        if (count == 1) {
+            half.remove(value);
+        } else {
+            half.put(value, count - 1);
+        }
+        return true;
+    }
+}
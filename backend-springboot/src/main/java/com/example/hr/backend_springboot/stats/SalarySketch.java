@@ -0,0 +1,175 @@
+package com.example.hr.backend_springboot.stats;
+
+import java.util.Arrays;
+
+// Quantile sketch with relative-error guarantees (the DDSketch bucketing): a
+// positive value v falls in bucket ceil(log_gamma(v)) with
+// gamma = (1 + a) / (1 - a), so every value in a bucket is within a relative
+// error a of the bucket's representative value.
+//
+// Error bounds, for relative accuracy a:
+//  - quantile(q) returns a value within a * v of the exact order statistic v
+//    at rank q * (n - 1), the same rank PERCENT_RANK uses.
+//  - percentRank(x) counts only values in lower buckets as "below x", so it is
+//    exact unless other salaries lie within a factor (1 +- a) of x, and never
+//    low by more than percentRankError(x) percentage points.
+//
+// Unlike t-digest or KLL, bucket counts can be decremented, so employee updates
+// and deletes are applied exactly. Sketches with the same accuracy merge by
+// adding counts. Memory is one long per populated bucket range: about
+// ln(max / min) / (2a) buckets, ~350 for salaries spanning 1,000x at a = 1%.
+// Not thread-safe; callers guard it.
+public class SalarySketch {
+    private final double relativeAccuracy;
+    private final double logGamma;
+    private final double gamma;
+
+    private long[] counts = new long[0];
+    private int minIndex;
+    // Values <= 0 have no logarithmic bucket
+    private long zeroCount;
+    private long count;
+
+    public SalarySketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("Relative accuracy must be in (0, 1): " + relativeAccuracy);
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public double relativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public void add(double value) {
+        if (value <= 0) {
+            zeroCount++;
+        } else {
+            int index = index(value);
+            ensureCapacity(index);
+            counts[index - minIndex]++;
+        }
+        count++;
+    }
+
+    // Returns false if no value in the sketch falls in the value's bucket
+    public boolean remove(double value) {
+        if (value <= 0) {
+            if (zeroCount == 0) {
+                return false;
+            }
+            zeroCount--;
+        } else {
+            int slot = index(value) - minIndex;
+            if (slot < 0 || slot >= counts.length || counts[slot] == 0) {
+                return false;
+            }
+            counts[slot]--;
+        }
+        count--;
+        return true;
+    }
+
+    public void merge(SalarySketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches with different accuracy");
+        }
+        if (other.counts.length > 0) {
+            ensureCapacity(other.minIndex);
+            ensureCapacity(other.minIndex + other.counts.length - 1);
+            for (int i = 0; i < other.counts.length; i++) {
+                counts[other.minIndex + i - minIndex] += other.counts[i];
+            }
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+    }
+
+    // Value at rank q * (n - 1); NaN when empty
+    public double quantile(double q) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        double rank = Math.max(0, Math.min(1, q)) * (count - 1);
+        long seen = zeroCount;
+        if (seen > rank) {
+            return 0;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                return value(minIndex + i);
+            }
+        }
+        return value(minIndex + counts.length - 1);
+    }
+
+    // Estimated PERCENT_RANK * 100 of a value among the sketched values
+    public double percentRank(double value) {
+        if (count <= 1) {
+            return 0;
+        }
+        return 100.0 * countBelow(value) / (count - 1);
+    }
+
+    // Largest amount, in percentage points, by which percentRank(value) can be low
+    public double percentRankError(double value) {
+        if (count <= 1 || value <= 0) {
+            return 0;
+        }
+        int slot = index(value) - minIndex;
+        long sameBucket = slot >= 0 && slot < counts.length ? counts[slot] : 0;
+        return 100.0 * Math.max(0, sameBucket - 1) / (count - 1);
+    }
+
+    public SalarySketch copy() {
+        SalarySketch copy = new SalarySketch(relativeAccuracy);
+        copy.merge(this);
+        return copy;
+    }
+
+    private long countBelow(double value) {
+        if (value <= 0) {
+            return 0;
+        }
+        long below = zeroCount;
+        int slot = index(value) - minIndex;
+        for (int i = 0; i < Math.min(slot, counts.length); i++) {
+            below += counts[i];
+        }
+        return below;
+    }
+
+    private int index(double value) {
+        return (int) Math.ceil(Math.log(value) / logGamma);
+    }
+
+    // Midpoint of bucket (gamma^(i-1), gamma^i] in relative terms
+    private double value(int index) {
+        return 2 * Math.pow(gamma, index) / (gamma + 1);
+    }
+
+    private void ensureCapacity(int index) {
+        if (counts.length == 0) {
+            counts = new long[16];
+            minIndex = index - 8;
+            return;
+        }
+        if (index < minIndex) {
+            int grow = Math.max(minIndex - index, counts.length / 2);
+            long[] grown = new long[counts.length + grow];
+            System.arraycopy(counts, 0, grown, grow, counts.length);
+            counts = grown;
+            minIndex -= grow;
+        } else if (index >= minIndex + counts.length) {
+            int needed = index - minIndex + 1;
+            counts = Arrays.copyOf(counts, Math.max(needed, counts.length + counts.length / 2));
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.hr.backend_springboot.stats;
+
+import com.example.hr.backend_springboot.config.SalarySketchProperties;
+import com.example.hr.backend_springboot.dto.SalaryBandDTO;
+import com.example.hr.backend_springboot.dto.SalaryDistributionDTO;
+import com.example.hr.backend_springboot.event.EmployeeChangedEvent;
+import com.example.hr.backend_springboot.event.EmployeeState;
+import com.example.hr.backend_springboot.metrics.QueryStats;
+import com.example.hr.backend_springboot.repository.EmployeeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+// One SalarySketch per department and per job, so percentile questions are
+// answered from a few hundred bucket counts instead of a PERCENT_RANK window
+// sort over the employees table. Loaded on first use and kept current from
+// EmployeeChangedEvent; each member's last applied state is remembered so
+// replaying an event is harmless.
+@Service
+public class SalarySketchStore {
+    private static final Logger log = LoggerFactory.getLogger(SalarySketchStore.class);
+
+    public static final String DEPARTMENT = "department";
+    public static final String JOB = "job";
+    public static final String COMPANY = "company";
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private SalarySketchProperties properties;
+    @Autowired
+    private QueryStats queryStats;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private State state;
+    private long loadedAtNanos;
+
+    private static final class State {
+        final Map<Long, SalarySketch> byDepartment = new HashMap<>();
+        final Map<String, SalarySketch> byJob = new HashMap<>();
+        final Map<Long, Member> members = new HashMap<>();
+    }
+
+    private record Member(Long departmentId, String jobId, double salary) {
+    }
+
+    public SalaryDistributionDTO department(long departmentId, List<Double> quantiles) {
+        return read(s -> distribution(DEPARTMENT, String.valueOf(departmentId), s.byDepartment.get(departmentId), quantiles));
+    }
+
+    public SalaryDistributionDTO job(String jobId, List<Double> quantiles) {
+        return read(s -> distribution(JOB, jobId, s.byJob.get(jobId), quantiles));
+    }
+
+    // Company-wide figures come from merging the per-job sketches
+    public SalaryDistributionDTO company(List<Double> quantiles) {
+        return read(s -> {
+            SalarySketch merged = new SalarySketch(properties.getRelativeAccuracy());
+            s.byJob.values().forEach(merged::merge);
+            return distribution(COMPANY, null, merged, quantiles);
+        });
+    }
+
+    public SalaryBandDTO departmentBand(long departmentId, BigDecimal salary) {
+        return read(s -> band(DEPARTMENT, String.valueOf(departmentId), s.byDepartment.get(departmentId), salary));
+    }
+
+    public SalaryBandDTO jobBand(String jobId, BigDecimal salary) {
+        return read(s -> band(JOB, jobId, s.byJob.get(jobId), salary));
+    }
+
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (state == null) {
+                return;
+            }
+            EmployeeState after = event.getAfter();
+            if (after == null && event.getType() != EmployeeChangedEvent.ChangeType.DELETED) {
+                state = null;
+                return;
+            }
+            Member previous = state.members.remove(event.getEmployeeId());
+            if (previous != null) {
+                removeMember(state, previous);
+            }
+            if (after != null && after.salary() != null) {
+                addMember(state, after.employeeId(), after.departmentId(), after.jobId(), after.salary().doubleValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private <T> T read(Function<State, T> query) {
+        lock.readLock().lock();
+        try {
+            if (state != null && !expired()) {
+                return query.apply(state);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (state == null || expired()) {
+                load();
+            }
+            return query.apply(state);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean expired() {
+        return System.nanoTime() - loadedAtNanos >= properties.getRefreshInterval().toNanos();
+    }
+
+    private void load() {
+        long started = System.nanoTime();
+        State loaded = new State();
+        List<Object[]> rows = employeeRepository.findSalarySketchRows();
+        for (Object[] row : rows) {
+            addMember(loaded, ((Number) row[0]).longValue(),
+                row[1] == null ? null : ((Number) row[1]).longValue(),
+                (String) row[2],
+                ((BigDecimal) row[3]).doubleValue());
+        }
+        queryStats.recordDb("salary-sketches", System.nanoTime() - started, rows.size());
+        state = loaded;
+        loadedAtNanos = System.nanoTime();
+        log.debug("Built salary sketches ({} departments, {} jobs) in {} ms",
+            loaded.byDepartment.size(), loaded.byJob.size(), (loadedAtNanos - started) / 1_000_000);
+    }
+
+    private void addMember(State s, long employeeId, Long departmentId, String jobId, double salary) {
+        if (departmentId != null) {
+            s.byDepartment.computeIfAbsent(departmentId, k -> new SalarySketch(properties.getRelativeAccuracy())).add(salary);
+        }
+        if (jobId != null) {
+            s.byJob.computeIfAbsent(jobId, k -> new SalarySketch(properties.getRelativeAccuracy())).add(salary);
+        }
+        s.members.put(employeeId, new Member(departmentId, jobId, salary));
+    }
+
+    private static void removeMember(State s, Member member) {
+        if (member.departmentId() != null) {
+            remove(s.byDepartment, member.departmentId(), member.salary());
+        }
+        if (member.jobId() != null) {
+            remove(s.byJob, member.jobId(), member.salary());
+        }
+    }
+
+    private static <K> void remove(Map<K, SalarySketch> sketches, K key, double salary) {
+        SalarySketch sketch = sketches.get(key);
+        if (sketch != null) {
+            sketch.remove(salary);
+            if (sketch.count() == 0) {
+                sketches.remove(key);
+            }
+        }
+    }
+
+    private static SalaryDistributionDTO distribution(String scope, String key, SalarySketch sketch, List<Double> quantiles) {
+        if (sketch == null || sketch.count() == 0) {
+            return null;
+        }
+        Map<String, BigDecimal> values = new LinkedHashMap<>();
+        for (double q : quantiles) {
+            values.put(label(q), round2(sketch.quantile(q)));
+        }
+        return new SalaryDistributionDTO(scope, key, sketch.count(), sketch.relativeAccuracy(), values);
+    }
+
+    private static SalaryBandDTO band(String scope, String key, SalarySketch sketch, BigDecimal salary) {
+        if (sketch == null || sketch.count() == 0 || salary == null) {
+            return null;
+        }
+        double value = salary.doubleValue();
+        return new SalaryBandDTO(scope, key, sketch.count(),
+            round2(sketch.percentRank(value)),
+            round2(sketch.percentRankError(value)),
+            round2(sketch.quantile(0.5)),
+            round2(sketch.quantile(0.9)));
+    }
+
+    // 0.5 -> "p50", 0.999 -> "p99.9"
+    static String label(double q) {
+        BigDecimal percent = BigDecimal.valueOf(q).movePointRight(2).stripTrailingZeros();
+        return "p" + (percent.scale() < 0 ? percent.setScale(0) : percent).toPlainString();
+    }
+
+    private static BigDecimal round2(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.hr.backend_springboot.transitions;
+
+import com.example.hr.backend_springboot.config.JobTransitionProperties;
+import com.example.hr.backend_springboot.dto.NextRoleDTO;
+import com.example.hr.backend_springboot.event.EmployeeChangedEvent;
+import com.example.hr.backend_springboot.event.EmployeeState;
+import com.example.hr.backend_springboot.metrics.QueryStats;
+import com.example.hr.backend_springboot.repository.JobHistoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+// Holds the TransitionMatrix. It is loaded on first use, never at startup.
+// History rows are added by the UPDATE_JOB_HISTORY trigger when an employee's
+// job or department changes, so such writes only mark the employee; the next
+// reader re-reads those employees' history (an index range scan each) and
+// swaps their transitions in place. Large batches fall back to a full reload.
+@Service
+public class JobTransitionService {
+    private static final Logger log = LoggerFactory.getLogger(JobTransitionService.class);
+
+    // Above this many changed employees one full scan beats the per-employee reads
+    private static final int MAX_PENDING = 1_000;
+
+    @Autowired
+    private JobHistoryRepository jobHistoryRepository;
+    @Autowired
+    private JobTransitionProperties properties;
+    @Autowired
+    private QueryStats queryStats;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private TransitionMatrix matrix;
+    private List<Object[]> rows;
+    private long loadedAtNanos;
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    // The JOB_TRANSITIONS result set
+    public List<Object[]> rows() {
+        lock.readLock().lock();
+        try {
+            if (isCurrent() && rows != null) {
+                return rows;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            update();
+            if (rows == null) {
+                rows = Collections.unmodifiableList(matrix.titleRows());
+            }
+            return rows;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<NextRoleDTO> next(String jobId, int steps, int k) {
+        return read(m -> m.next(jobId, steps, k));
+    }
+
+    public double pathProbability(List<String> jobIds) {
+        return read(m -> m.pathProbability(jobIds));
+    }
+
+    public int count(String fromJobId, String toJobId) {
+        return read(m -> m.count(fromJobId, toJobId));
+    }
+
+    @EventListener
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        EmployeeState before = event.getBefore();
+        EmployeeState after = event.getAfter();
+        boolean historyMayChange = switch (event.getType()) {
+            // A new employee has no history yet
+            case CREATED -> false;
+            case UPDATED -> before == null || after == null
+                || !Objects.equals(before.jobId(), after.jobId())
+                || !Objects.equals(before.departmentId(), after.departmentId());
+            case DELETED -> true;
+        };
+        if (historyMayChange) {
+            pending.add(event.getEmployeeId());
+        }
+    }
+
+    private <T> T read(Function<TransitionMatrix, T> reader) {
+        lock.readLock().lock();
+        try {
+            if (isCurrent()) {
+                return reader.apply(matrix);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            update();
+            return reader.apply(matrix);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean isCurrent() {
+        return matrix != null && pending.isEmpty() && !expired();
+    }
+
+    // Called under the write lock
+    private void update() {
+        if (matrix == null || expired() || pending.size() > MAX_PENDING) {
+            // Events are published after commit, so the load sees every write marked so far
+            pending.clear();
+            load();
+        } else if (!pending.isEmpty()) {
+            applyPending();
+        }
+    }
+
+    private boolean expired() {
+        return System.nanoTime() - loadedAtNanos >= properties.getRefreshInterval().toNanos();
+    }
+
+    private void load() {
+        long started = System.nanoTime();
+        TransitionMatrix loaded = new TransitionMatrix();
+        List<Object[]> history = jobHistoryRepository.findJobSequences();
+        List<Integer> jobs = new ArrayList<>();
+        long employee = 0;
+        for (Object[] row : history) {
+            long id = ((Number) row[0]).longValue();
+            if (!jobs.isEmpty() && id != employee) {
+                loaded.setHistory(employee, toArray(jobs));
+                jobs.clear();
+            }
+            employee = id;
+            jobs.add(loaded.job((String) row[1], (String) row[2]));
+        }
+        if (!jobs.isEmpty()) {
+            loaded.setHistory(employee, toArray(jobs));
+        }
+        queryStats.recordDb("job-transitions-matrix", System.nanoTime() - started, history.size());
+        matrix = loaded;
+        rows = null;
+        loadedAtNanos = System.nanoTime();
+        log.debug("Loaded job transition matrix ({} employees, {} history rows) in {} ms",
+            loaded.employees(), history.size(), (loadedAtNanos - started) / 1_000_000);
+    }
+
+    private void applyPending() {
+        long started = System.nanoTime();
+        int applied = 0;
+        for (Long employeeId : List.copyOf(pending)) {
+            // Removed before the read, so a write racing it marks the employee again
+            pending.remove(employeeId);
+            List<Object[]> history;
+            try {
+                history = jobHistoryRepository.findJobSequenceByEmployeeId(employeeId);
+            } catch (RuntimeException e) {
+                pending.add(employeeId);
+                throw e;
+            }
+            int[] jobs = new int[history.size()];
+            for (int i = 0; i < jobs.length; i++) {
+                jobs[i] = matrix.job((String) history.get(i)[0], (String) history.get(i)[1]);
+            }
+            matrix.setHistory(employeeId, jobs);
+            applied++;
+        }
+        rows = null;
+        queryStats.recordDb("job-transitions-update", System.nanoTime() - started, applied);
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        int[] result = new int[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = values.get(i);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.hr.backend_springboot.transitions;
+
+import com.example.hr.backend_springboot.dto.NextRoleDTO;
+import com.example.hr.backend_springboot.snapshot.Decimals;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Sparse job_id x job_id matrix counting transitions between consecutive
+// job_history rows of an employee (LAG over start_date). Jobs are interned to
+// dense ordinals; each row keeps its non-zero columns in parallel int arrays
+// plus the row total, so the next roles of a job cost O(row size) and an
+// n-step distribution O(n * (jobs + non-zeros)). Every employee's job sequence is kept,
+// so replacing one employee's history moves only that employee's transitions.
+// Not thread-safe; JobTransitionService guards it with a lock.
+public class TransitionMatrix {
+
+    private static final class Row {
+        int[] to = new int[4];
+        int[] count = new int[4];
+        int size;
+        int total;
+
+        int count(int job) {
+            for (int i = 0; i < size; i++) {
+                if (to[i] == job) {
+                    return count[i];
+                }
+            }
+            return 0;
+        }
+
+        void add(int job, int delta) {
+            total += delta;
+            for (int i = 0; i < size; i++) {
+                if (to[i] == job) {
+                    count[i] += delta;
+                    if (count[i] == 0) {
+                        // Keep the row sparse: move the last entry into the hole
+                        size--;
+                        to[i] = to[size];
+                        count[i] = count[size];
+                    }
+                    return;
+                }
+            }
+            if (size == to.length) {
+                to = Arrays.copyOf(to, size * 2);
+                count = Arrays.copyOf(count, size * 2);
+            }
+            to[size] = job;
+            count[size] = delta;
+            size++;
+        }
+    }
+
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final List<String> jobIds = new ArrayList<>();
+    private final List<String> titles = new ArrayList<>();
+    private final List<Row> rows = new ArrayList<>();
+    private final Map<Long, int[]> sequences = new HashMap<>();
+
+    // Ordinal of a job, interning it on first sight
+    public int job(String jobId, String title) {
+        Integer ordinal = ordinals.get(jobId);
+        if (ordinal == null) {
+            ordinal = jobIds.size();
+            ordinals.put(jobId, ordinal);
+            jobIds.add(jobId);
+            titles.add(title);
+            rows.add(new Row());
+        } else if (title != null) {
+            titles.set(ordinal, title);
+        }
+        return ordinal;
+    }
+
+    // Replaces an employee's job sequence (ordinals in start_date order)
+    public void setHistory(long employeeId, int[] jobs) {
+        int[] previous = jobs.length == 0 ? sequences.remove(employeeId) : sequences.put(employeeId, jobs);
+        if (previous != null) {
+            addTransitions(previous, -1);
+        }
+        addTransitions(jobs, 1);
+    }
+
+    private void addTransitions(int[] jobs, int delta) {
+        for (int i = 1; i < jobs.length; i++) {
+            rows.get(jobs[i - 1]).add(jobs[i], delta);
+        }
+    }
+
+    public int employees() {
+        return sequences.size();
+    }
+
+    public int count(String fromJobId, String toJobId) {
+        Integer from = ordinals.get(fromJobId);
+        Integer to = ordinals.get(toJobId);
+        return from == null || to == null ? 0 : rows.get(from).count(to);
+    }
+
+    // Most likely roles exactly `steps` transitions after fromJobId, by probability.
+    // Paths reaching a role nobody ever moved on from end there and drop out.
+    public List<NextRoleDTO> next(String fromJobId, int steps, int k) {
+        Integer from = ordinals.get(fromJobId);
+        if (from == null || k <= 0 || steps <= 0) {
+            return List.of();
+        }
+        if (steps == 1) {
+            Row row = rows.get(from);
+            Integer[] order = new Integer[row.size];
+            for (int i = 0; i < row.size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Integer.compare(row.count[b], row.count[a]));
+            List<NextRoleDTO> result = new ArrayList<>();
+            for (int i = 0; i < Math.min(k, order.length); i++) {
+                int to = row.to[order[i]];
+                int count = row.count[order[i]];
+                result.add(new NextRoleDTO(jobIds.get(to), titles.get(to), count, (double) count / row.total));
+            }
+            return result;
+        }
+
+        double[] distribution = new double[jobIds.size()];
+        distribution[from] = 1.0;
+        for (int step = 0; step < steps; step++) {
+            double[] next = new double[distribution.length];
+            for (int job = 0; job < distribution.length; job++) {
+                Row row = rows.get(job);
+                if (distribution[job] == 0 || row.total == 0) {
+                    continue;
+                }
+                double scale = distribution[job] / row.total;
+                for (int i = 0; i < row.size; i++) {
+                    next[row.to[i]] += scale * row.count[i];
+                }
+            }
+            distribution = next;
+        }
+        Integer[] order = new Integer[distribution.length];
+        int reachable = 0;
+        for (int job = 0; job < distribution.length; job++) {
+            if (distribution[job] > 0) {
+                order[reachable++] = job;
+            }
+        }
+        double[] p = distribution;
+        Arrays.sort(order, 0, reachable, (a, b) -> Double.compare(p[b], p[a]));
+        List<NextRoleDTO> result = new ArrayList<>();
+        for (int i = 0; i < Math.min(k, reachable); i++) {
+            result.add(new NextRoleDTO(jobIds.get(order[i]), titles.get(order[i]), null, p[order[i]]));
+        }
+        return result;
+    }
+
+    // Probability of following the jobs in order, one transition at a time
+    public double pathProbability(List<String> path) {
+        double probability = 1.0;
+        for (int i = 1; i < path.size(); i++) {
+            Integer from = ordinals.get(path.get(i - 1));
+            Integer to = ordinals.get(path.get(i));
+            if (from == null || to == null || rows.get(from).total == 0) {
+                return 0.0;
+            }
+            Row row = rows.get(from);
+            probability *= (double) row.count(to) / row.total;
+        }
+        return probability;
+    }
+
+    // The JOB_TRANSITIONS result set: counts grouped by title pair, largest first
+    public List<Object[]> titleRows() {
+        Map<List<String>, long[]> byTitles = new LinkedHashMap<>();
+        for (int from = 0; from < rows.size(); from++) {
+            Row row = rows.get(from);
+            for (int i = 0; i < row.size; i++) {
+                byTitles.computeIfAbsent(Arrays.asList(titles.get(from), titles.get(row.to[i])), t -> new long[1])[0] +=
+                    row.count[i];
+            }
+        }
+        List<Object[]> result = new ArrayList<>(byTitles.size());
+        byTitles.forEach((pair, count) -> result.add(new Object[] { pair.get(0), pair.get(1), Decimals.number(count[0]) }));
+        result.sort((a, b) -> ((BigDecimal) b[2]).compareTo((BigDecimal) a[2]));
+        return result;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.hr.backend_springboot;
+
+import com.example.hr.backend_springboot.model.*;
+import jakarta.persistence.EntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Entity builders for integration tests running on the embedded "h2" profile
+public final class TestData {
+
+	private TestData() {
+	}
+
+	public static Region region(EntityManager em, long id, String name) {
+		Region region = new Region();
+		region.setRegionId(id);
+		region.setRegionName(name);
+		em.persist(region);
+		return region;
+	}
+
+	public static Location location(EntityManager em, Region region, String countryId, String city) {
+		Country country = em.find(Country.class, countryId);
+		if (country == null) {
+			country = new Country();
+			country.setCountryId(countryId);
+			country.setCountryName("Country " + countryId);
+			country.setRegion(region);
+			em.persist(country);
+		}
+		Location location = new Location();
+		location.setCity(city);
+		location.setStateProvince("State of " + city);
+		location.setCountry(country);
+		em.persist(location);
+		return location;
+	}
+
+	public static Department department(EntityManager em, String name, Location location) {
+		Department department = new Department();
+		department.setDepartmentName(name);
+		department.setLocation(location);
+		em.persist(department);
+		return department;
+	}
+
+	public static Job job(EntityManager em, String id, String title) {
+		Job job = new Job();
+		job.setJobId(id);
+		job.setJobTitle(title);
+		job.setMinSalary(new BigDecimal("1000"));
+		job.setMaxSalary(new BigDecimal("50000"));
+		em.persist(job);
+		return job;
+	}
+
+	public static Employee employee(EntityManager em, String first, String last, String salary,
+									Job job, Department department, Employee manager) {
+		Employee employee = new Employee();
+		employee.setFirstName(first);
+		employee.setLastName(last);
+		employee.setEmail((first + "." + last + "@example.com").toLowerCase().replace(' ', '_'));
+		employee.setHireDate(LocalDate.of(2020, 1, 1));
+		employee.setSalary(new BigDecimal(salary));
+		employee.setJob(job);
+		employee.setDepartment(department);
+		employee.setManager(manager);
+		em.persist(employee);
+		return employee;
+	}
+}
@@ -0,0 +1,106 @@
+package com.example.hr.backend_springboot.bulkhead;
+
+import com.example.hr.backend_springboot.config.AnalyticsExportProperties;
+import com.example.hr.backend_springboot.config.AnalyticsPrecomputeProperties;
+import com.example.hr.backend_springboot.config.BulkheadProperties;
+import com.example.hr.backend_springboot.config.EmployeeImportProperties;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A saturated analytics compartment turns its own requests away quickly and
+// leaves the CRUD pages untouched.
+@SpringBootTest(properties = {
+	"hr.test.database=bulkhead",
+	"bulkhead.compartments.analytics.max-concurrent=1",
+	"bulkhead.compartments.analytics.max-queue=0"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class BulkheadTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private BulkheadRegistry registry;
+
+	@Test
+	void fullCompartmentRejectsOnlyItsOwnPaths() throws Exception {
+		Bulkhead analytics = registry.get("analytics");
+		assertThat(registry.forPath("/api/analytics/top-earners")).isSameAs(analytics);
+		assertThat(registry.forPath("/employees/view/100")).isSameAs(registry.get("crud"));
+		assertThat(registry.forPath("/analytics/top-earners/export")).isNull();
+
+		assertThat(analytics.tryEnter()).isTrue();
+		try {
+			mockMvc.perform(get("/analytics/top-earners"))
+					.andExpect(status().isServiceUnavailable())
+					.andExpect(header().string("Retry-After", "1"));
+			mockMvc.perform(get("/departments")).andExpect(status().isOk());
+		} finally {
+			analytics.exit();
+		}
+		mockMvc.perform(get("/analytics/top-earners")).andExpect(status().isOk());
+
+		Map<String, Object> stats = registry.stats();
+		assertThat(stats.get("analytics")).asInstanceOf(InstanceOfAssertFactories.MAP).containsEntry("rejected", 1L).containsEntry("active", 0);
+		assertThat(stats.get("crud")).asInstanceOf(InstanceOfAssertFactories.MAP).containsEntry("rejected", 0L);
+	}
+
+	@Test
+	void queuedCallersWaitForASlotOrTimeOut() throws Exception {
+		Bulkhead bulkhead = new Bulkhead("test", 1, 1, Duration.ofMillis(500));
+		assertThat(bulkhead.tryEnter()).isTrue();
+
+		// Queue of one: the first waiter times out, a second concurrent caller would be rejected outright
+		assertThat(bulkhead.tryEnter()).isFalse();
+		assertThat(bulkhead.stats()).containsEntry("timedOut", 1L).containsEntry("rejected", 0L);
+
+		CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(bulkhead::tryEnter);
+		while ((Integer) bulkhead.stats().get("queued") == 0) {
+			Thread.onSpinWait();
+		}
+		assertThatThrownBy(() -> bulkhead.call(() -> "never")).isInstanceOf(BulkheadFullException.class);
+		bulkhead.exit();
+		assertThat(waiter.get(1, TimeUnit.SECONDS)).isTrue();
+		bulkhead.exit();
+
+		assertThat(bulkhead.stats()).containsEntry("admitted", 2L).containsEntry("rejected", 1L).containsEntry("active", 0);
+	}
+
+	@Test
+	void poolMustCoverSlotsAndConnectionsHeldOutsideThem() {
+		BulkheadProperties properties = new BulkheadProperties();
+		BulkheadProperties.Compartment compartment = new BulkheadProperties.Compartment();
+		compartment.setMaxConcurrent(3);
+		properties.getCompartments().put("crud", compartment);
+		AnalyticsExportProperties exports = new AnalyticsExportProperties();
+		EmployeeImportProperties imports = new EmployeeImportProperties();
+		AnalyticsPrecomputeProperties precompute = new AnalyticsPrecomputeProperties();
+
+		// 3 slots + 2 exports + 1 import + 1 precompute + 1 health ping
+		assertThat(new BulkheadRegistry(properties, exports, imports, precompute, 8).get("crud")).isNotNull();
+		assertThatThrownBy(() -> new BulkheadRegistry(properties, exports, imports, precompute, 7))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessageContaining("need 8 connections");
+		precompute.setEnabled(false);
+		assertThat(new BulkheadRegistry(properties, exports, imports, precompute, 7).get("crud")).isNotNull();
+		properties.setEnabled(false);
+		assertThat(new BulkheadRegistry(properties, exports, imports, precompute, 1).get("crud")).isNull();
+	}
+}
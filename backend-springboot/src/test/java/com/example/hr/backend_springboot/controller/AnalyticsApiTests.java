@@ -0,0 +1,124 @@
+package com.example.hr.backend_springboot.controller;
+
+import com.example.hr.backend_springboot.TestData;
+import com.example.hr.backend_springboot.model.*;
+import com.example.hr.backend_springboot.service.AnalyticsQuery;
+import com.example.hr.backend_springboot.service.AnalyticsService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The columnar body must decode back to exactly the rows the HTML pages get,
+// in plain and gzip form, and revalidation must come back as 304.
+@SpringBootTest(properties = {"hr.test.database=analyticsapi", "analytics.api.gzip-min-size=0"})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class AnalyticsApiTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private AnalyticsService analyticsService;
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	private static boolean seeded;
+
+	@BeforeEach
+	void seed() {
+		if (seeded) {
+			return;
+		}
+		transactionTemplate.executeWithoutResult(tx -> {
+			Region region = TestData.region(entityManager, 1L, "Europe");
+			Job job = TestData.job(entityManager, "SA_REP", "Sales Representative");
+			for (int d = 0; d < 4; d++) {
+				Location location = TestData.location(entityManager, region, "C" + (char) ('A' + d), "City " + d);
+				Department department = TestData.department(entityManager, "Department " + d, location);
+				for (int e = 0; e < 5; e++) {
+					TestData.employee(entityManager, "First" + e, "Last" + d, String.valueOf(4000 + 750 * e + d), job, department, null);
+				}
+			}
+		});
+		seeded = true;
+	}
+
+	@Test
+	void columnarBodyDecodesToTheQueryRows() throws Exception {
+		MockHttpServletResponse response = mockMvc.perform(get("/api/analytics/top-earners"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse();
+		JsonNode body = mapper.readTree(response.getContentAsByteArray());
+
+		List<Object[]> rows = analyticsService.run(AnalyticsQuery.TOP_EARNERS);
+		assertThat(body.get("rows").asInt()).isEqualTo(rows.size()).isEqualTo(12);
+		JsonNode department = body.get("columns").get(0);
+		assertThat(department.get("name").asText()).isEqualTo("department_name");
+		assertThat(department.get("type").asText()).isEqualTo("string");
+		assertThat(department.get("dictionary")).hasSize(4);
+		assertThat(body.get("columns").get(2).get("type").asText()).isEqualTo("number");
+
+		JsonNode names = body.get("data").get(0);
+		JsonNode salaries = body.get("data").get(2);
+		for (int i = 0; i < rows.size(); i++) {
+			assertThat(department.get("dictionary").get(names.get(i).asInt()).asText()).isEqualTo(rows.get(i)[0]);
+			assertThat(salaries.get(i).decimalValue()).isEqualByComparingTo(rows.get(i)[2].toString());
+		}
+	}
+
+	@Test
+	void gzipAndConditionalRequests() throws Exception {
+		MockHttpServletResponse plain = mockMvc.perform(get("/api/analytics/top-earners"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse();
+		MockHttpServletResponse gzip = mockMvc.perform(get("/api/analytics/top-earners").header("Accept-Encoding", "gzip, deflate"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse();
+
+		assertThat(gzip.getHeader("Content-Encoding")).isEqualTo("gzip");
+		assertThat(gzip.getHeader("ETag")).isNotEqualTo(plain.getHeader("ETag"));
+		try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip.getContentAsByteArray()))) {
+			assertThat(in.readAllBytes()).isEqualTo(plain.getContentAsByteArray());
+		}
+
+		mockMvc.perform(get("/api/analytics/top-earners").header("If-None-Match", plain.getHeader("ETag")))
+				.andExpect(status().isNotModified());
+		mockMvc.perform(get("/api/analytics/top-earners").header("Accept-Encoding", "gzip")
+				.header("If-None-Match", gzip.getHeader("ETag")))
+				.andExpect(status().isNotModified());
+		mockMvc.perform(get("/api/analytics/no-such-query")).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void resultsTheDatabaseCannotDescribeStillEncode() throws Exception {
+		// Department stats come from the in-memory store; H2 cannot parse the Oracle SQL behind them
+		JsonNode body = mapper.readTree(mockMvc.perform(get("/api/analytics/department-stats"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsByteArray());
+
+		assertThat(body.get("rows").asInt()).isEqualTo(4);
+		assertThat(body.get("columns").get(0).get("type").asText()).isEqualTo("string");
+		assertThat(body.get("data")).hasSize(body.get("columns").size());
+	}
+}
@@ -0,0 +1,237 @@
+package com.example.hr.backend_springboot.controller;
+
+import com.example.hr.backend_springboot.TestData;
+import com.example.hr.backend_springboot.model.*;
+import com.example.hr.backend_springboot.service.AnalyticsExportService;
+import com.example.hr.backend_springboot.service.AnalyticsQuery;
+import com.example.hr.backend_springboot.service.ExportFormat;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManager;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIOException;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Exports stream the query's rows as RFC 4180 CSV or NDJSON, flush every
+// flush-rows rows, turn away exports beyond max-concurrent and give the
+// connection and the slot back when the client goes away mid-stream or the
+// request ends before the stream starts.
+@SpringBootTest(properties = {
+	"hr.test.database=export",
+	"analytics.export.max-concurrent=1",
+	"analytics.export.flush-rows=2"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class AnalyticsExportTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private AnalyticsExportService exportService;
+	@Autowired
+	private AnalyticsExportController exportController;
+	@Autowired
+	private DataSource dataSource;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private static boolean seeded;
+
+	@BeforeEach
+	void seed() {
+		if (seeded) {
+			return;
+		}
+		transactionTemplate.executeWithoutResult(tx -> {
+			Region region = TestData.region(entityManager, 1L, "Europe");
+			Location location = TestData.location(entityManager, region, "UK", "London");
+			Job job = TestData.job(entityManager, "SA_REP", "Sales Representative");
+			Department sales = TestData.department(entityManager, "Sales, \"East\"", location);
+			TestData.employee(entityManager, "Ann", "ONeil", "9000", job, sales, null);
+			TestData.employee(entityManager, "Bo", "LineBreak", "8000", job, sales, null);
+			TestData.employee(entityManager, "Cy", "Plain", "7000", job, sales, null);
+			Department ops = TestData.department(entityManager, "Ops", location);
+			TestData.employee(entityManager, "Di", "One", "6000", job, ops, null);
+			TestData.employee(entityManager, "Ed", "Two", "5000", job, ops, null);
+		});
+		// Set behind the entity, whose e-mail is derived from the name
+		jdbcTemplate.update("UPDATE employees SET last_name = ? WHERE last_name = ?", "O\"Neil", "ONeil");
+		jdbcTemplate.update("UPDATE employees SET last_name = ? WHERE last_name = ?", "Line\nBreak", "LineBreak");
+		seeded = true;
+	}
+
+	@Test
+	void csvQuotesSeparatorsQuotesAndLineBreaks() throws Exception {
+		MvcResult started = mockMvc.perform(get("/analytics/top-earners/export").param("format", "csv"))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		String body = mockMvc.perform(asyncDispatch(started))
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"top-earners.csv\""))
+			.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+		assertThat(body).startsWith("department_name,employee_name,salary,commission_pct,total_compensation\r\n");
+		assertThat(body).contains("\"Sales, \"\"East\"\"\",\"Ann O\"\"Neil\",");
+		assertThat(body).contains("\"Sales, \"\"East\"\"\",\"Bo Line\nBreak\",");
+		assertThat(body).contains("Ops,Di One,");
+		// Header plus five rows; the quoted line break does not end a record
+		assertThat(body.split("\r\n")).hasSize(6);
+	}
+
+	@Test
+	void ndjsonWritesOneObjectPerLineWithNumbersAsNumbers() throws Exception {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		exportService.export(AnalyticsQuery.TOP_EARNERS, ExportFormat.NDJSON, out);
+
+		String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+		assertThat(lines).hasSize(5);
+		ObjectMapper mapper = new ObjectMapper();
+		JsonNode first = mapper.readTree(lines[0]);
+		assertThat(first.get("department_name").asText()).isEqualTo("Ops");
+		assertThat(first.get("salary").isNumber()).isTrue();
+		assertThat(first.get("salary").decimalValue()).isEqualByComparingTo("6000");
+		List<String> names = new ArrayList<>();
+		for (String line : lines) {
+			names.add(mapper.readTree(line).get("employee_name").asText());
+		}
+		assertThat(names).contains("Ann O\"Neil", "Bo Line\nBreak");
+	}
+
+	@Test
+	void flushesEveryFlushRowsRows() throws Exception {
+		for (ExportFormat format : ExportFormat.values()) {
+			CountingStream out = new CountingStream(Long.MAX_VALUE);
+			exportService.export(AnalyticsQuery.TOP_EARNERS, format, out);
+			// Five rows with flush-rows=2: after rows 2 and 4, then once at the end
+			assertThat(out.flushes).as(format.name()).isEqualTo(3);
+		}
+	}
+
+	@Test
+	void exportsBeyondMaxConcurrentAreTurnedAway() throws Exception {
+		assertThat(exportService.tryAcquire()).isTrue();
+		try {
+			mockMvc.perform(get("/analytics/top-earners/export"))
+				.andExpect(status().isServiceUnavailable())
+				.andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+		} finally {
+			exportService.release();
+		}
+		mockMvc.perform(get("/analytics/top-earners/export")).andExpect(request().asyncStarted());
+	}
+
+	@Test
+	void disconnectedClientReleasesTheSlotAndTheConnection() throws Exception {
+		StreamingResponseBody body = exportController.export("top-earners", "csv", webRequest()).getBody();
+		assertThat(body).isNotNull();
+
+		assertThatIOException().isThrownBy(() -> body.writeTo(new CountingStream(10)));
+
+		assertThat(exportService.tryAcquire()).isTrue();
+		exportService.release();
+		assertThat(dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean().getActiveConnections()).isZero();
+	}
+
+	@Test
+	void requestEndingBeforeTheBodyRunsReleasesTheSlotOnce() throws Exception {
+		ServletWebRequest webRequest = webRequest();
+		StreamingResponseBody body = exportController.export("top-earners", "csv", webRequest).getBody();
+		assertThat(exportService.tryAcquire()).isFalse();
+
+		// The body is queued on an executor that never runs it, then the container
+		// times the request out
+		MockHttpServletRequest servletRequest = (MockHttpServletRequest) webRequest.getRequest();
+		WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(webRequest);
+		asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(servletRequest, webRequest.getResponse()));
+		asyncManager.setTaskExecutor(task -> { });
+		asyncManager.startCallableProcessing(() -> null);
+		MockAsyncContext context = (MockAsyncContext) servletRequest.getAsyncContext();
+		for (AsyncListener listener : context.getListeners()) {
+			listener.onTimeout(new AsyncEvent(context));
+		}
+		context.complete();
+
+		assertThat(exportService.tryAcquire()).isTrue();
+		// A late run of the body neither exports nor releases a second time
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		body.writeTo(out);
+		assertThat(out.size()).isZero();
+		assertThat(exportService.tryAcquire()).isFalse();
+		exportService.release();
+	}
+
+	private static ServletWebRequest webRequest() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/analytics/top-earners/export");
+		request.setAsyncSupported(true);
+		return new ServletWebRequest(request, new MockHttpServletResponse());
+	}
+
+	// Fails like a closed socket once more than failAfter bytes have been written
+	private static final class CountingStream extends OutputStream {
+		private final long failAfter;
+		private long written;
+		int flushes;
+
+		CountingStream(long failAfter) {
+			this.failAfter = failAfter;
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			written += len;
+			if (written > failAfter) {
+				throw new IOException("Broken pipe");
+			}
+		}
+
+		@Override
+		public void flush() {
+			flushes++;
+		}
+	}
+}
@@ -0,0 +1,161 @@
+package com.example.hr.backend_springboot.controller;
+
+import com.example.hr.backend_springboot.TestData;
+import com.example.hr.backend_springboot.config.AnalyticsRenderProperties;
+import com.example.hr.backend_springboot.model.*;
+import com.example.hr.backend_springboot.service.AnalyticsFragmentCache;
+import com.example.hr.backend_springboot.service.DataVersion;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A page served from the fragment cache must be the page the template renders
+// inline (up to whitespace), and a data change must force a fresh render.
+// employee-hierarchy is CONNECT BY, which H2 lacks, so it is computed over the snapshot.
+@SpringBootTest(properties = {
+	"hr.test.database=fragments",
+	"analytics.render.fragment-cache=true",
+	"analytics.snapshot-queries=employee-hierarchy"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class AnalyticsFragmentCacheTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private AnalyticsFragmentCache fragmentCache;
+	@Autowired
+	private AnalyticsRenderProperties properties;
+	@Autowired
+	private DataVersion dataVersion;
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private static boolean seeded;
+
+	@BeforeEach
+	void seed() {
+		fragmentCache.clear();
+		if (seeded) {
+			return;
+		}
+		transactionTemplate.executeWithoutResult(tx -> {
+			Region region = TestData.region(entityManager, 1L, "Europe");
+			Job job = TestData.job(entityManager, "SA_REP", "Sales Representative");
+			for (int d = 0; d < 3; d++) {
+				Location location = TestData.location(entityManager, region, "C" + (char) ('A' + d), "City " + d);
+				Department department = TestData.department(entityManager, "Department " + d, location);
+				// Departments need five employees to show up in the stats
+				for (int e = 0; e < 6; e++) {
+					TestData.employee(entityManager, "First" + e, "Last" + d, String.valueOf(5000 + 500 * e + d), job, department, null);
+				}
+			}
+		});
+		seeded = true;
+	}
+
+	@AfterEach
+	void restore() {
+		properties.setFragmentCache(true);
+		properties.setMaxCachedRows(2000);
+	}
+
+	@Test
+	void cachedTableMatchesInlineRendering() throws Exception {
+		properties.setFragmentCache(false);
+		String inline = page();
+
+		properties.setFragmentCache(true);
+		long hits = counter("hits");
+		long misses = counter("misses");
+		String first = page();
+		String second = page();
+
+		assertThat(first).isEqualTo(inline).contains("Department 2");
+		assertThat(second).isEqualTo(inline);
+		assertThat(counter("hits")).isEqualTo(hits + 1);
+		assertThat(counter("misses")).isEqualTo(misses + 1);
+		assertThat(fragmentCache.stats()).containsEntry("size", 1);
+	}
+
+	@Test
+	void employeeHierarchyTableIsCachedToo() throws Exception {
+		properties.setFragmentCache(false);
+		String inline = page("/analytics/employee-hierarchy");
+
+		properties.setFragmentCache(true);
+		long hits = counter("hits");
+		String first = page("/analytics/employee-hierarchy");
+		String second = page("/analytics/employee-hierarchy");
+
+		assertThat(first).isEqualTo(inline).contains("First5 Last2");
+		assertThat(second).isEqualTo(inline);
+		assertThat(counter("hits")).isEqualTo(hits + 1);
+		assertThat(fragmentCache.stats()).containsEntry("size", 1);
+	}
+
+	@Test
+	void topEarnersAndManagerWorkloadMatchInlineRendering() throws Exception {
+		for (String path : List.of("/analytics/top-earners", "/analytics/manager-workload")) {
+			properties.setFragmentCache(false);
+			String inline = page(path);
+			properties.setFragmentCache(true);
+
+			assertThat(page(path)).as(path).isEqualTo(inline);
+			assertThat(page(path)).as(path).isEqualTo(inline);
+		}
+		assertThat(fragmentCache.stats()).containsEntry("size", 2);
+	}
+
+	@Test
+	void dataChangeRendersAgain() throws Exception {
+		long hits = counter("hits");
+		page();
+		dataVersion.bump();
+		page();
+
+		assertThat(counter("hits")).isEqualTo(hits);
+	}
+
+	@Test
+	void largeTablesAreNotCached() throws Exception {
+		properties.setMaxCachedRows(2);
+		properties.setFragmentCache(false);
+		String inline = page();
+		properties.setFragmentCache(true);
+
+		assertThat(page()).isEqualTo(inline);
+		assertThat(fragmentCache.stats()).containsEntry("size", 0);
+	}
+
+	private long counter(String name) {
+		return (Long) fragmentCache.stats().get(name);
+	}
+
+	private String page() throws Exception {
+		return page("/analytics/department-stats");
+	}
+
+	private String page(String path) throws Exception {
+		return mockMvc.perform(get(path))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString()
+				.replaceAll("\\s+", " ");
+	}
+}
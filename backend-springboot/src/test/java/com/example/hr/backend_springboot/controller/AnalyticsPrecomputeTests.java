@@ -0,0 +1,124 @@
+package com.example.hr.backend_springboot.controller;
+
+import com.example.hr.backend_springboot.TestData;
+import com.example.hr.backend_springboot.model.*;
+import com.example.hr.backend_springboot.service.AnalyticsPrecomputer;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Precomputed analytics answer from memory: a write makes the result stale,
+// the next page still gets the old rows at once (without a validator) and the
+// refresh happens in the background.
+@SpringBootTest(properties = {
+	"hr.test.database=precompute",
+	"analytics.precompute.enabled=true",
+	"analytics.precompute.queries=top-earners",
+	"analytics.precompute.change-delay=2s",
+	"analytics.precompute.refresh-interval=1h"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class AnalyticsPrecomputeTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private AnalyticsPrecomputer precomputer;
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private static Long departmentId;
+
+	@BeforeEach
+	void seed() throws Exception {
+		if (departmentId != null) {
+			return;
+		}
+		transactionTemplate.executeWithoutResult(tx -> {
+			Region region = TestData.region(entityManager, 1L, "Europe");
+			Location location = TestData.location(entityManager, region, "UK", "London");
+			Job job = TestData.job(entityManager, "SA_REP", "Sales Representative");
+			Department department = TestData.department(entityManager, "Sales", location);
+			TestData.employee(entityManager, "Ann", "Lee", "6000", job, department, null);
+			departmentId = department.getDepartmentId();
+		});
+		// Seeded behind the app's back, so the warm-up result does not know about it
+		precomputer.refreshAll();
+		awaitFresh();
+	}
+
+	@Test
+	void staleResultIsServedAtOnceAndRefreshedInBackground() throws Exception {
+		assertThat(page().getContentAsString()).contains("Lee");
+		long staleReads = (Long) entry().get("staleReads");
+
+		addEmployee("Bo", "Kim", "bo.kim@example.com");
+		MockHttpServletResponse stale = page();
+		assertThat(stale.getContentAsString()).contains("Lee").doesNotContain("Kim");
+		assertThat(stale.getHeader("ETag")).isNull();
+		assertThat(entry()).containsEntry("staleReads", staleReads + 1);
+
+		awaitFresh();
+		MockHttpServletResponse fresh = page();
+		assertThat(fresh.getContentAsString()).contains("Kim");
+		assertThat(fresh.getHeader("ETag")).isNotNull();
+		assertThat(entry()).containsKeys("ageSeconds", "refreshMillis", "computedAt");
+	}
+
+	@Test
+	void writesRefreshWithoutWaitingForARequest() throws Exception {
+		long staleReads = (Long) entry().get("staleReads");
+		long refreshes = (Long) entry().get("refreshes");
+
+		addEmployee("Cy", "Ng", "cy.ng@example.com");
+		awaitFresh();
+
+		assertThat((Long) entry().get("refreshes")).isGreaterThan(refreshes);
+		assertThat(entry()).containsEntry("staleReads", staleReads);
+		assertThat(page().getContentAsString()).contains("Ng");
+	}
+
+	private void addEmployee(String firstName, String lastName, String email) throws Exception {
+		mockMvc.perform(post("/employees/add")
+				.param("firstName", firstName).param("lastName", lastName).param("email", email)
+				.param("hireDate", "2022-05-06").param("salary", "9000")
+				.param("department", String.valueOf(departmentId)).param("job", "SA_REP"))
+			.andExpect(status().is3xxRedirection());
+	}
+
+	private MockHttpServletResponse page() throws Exception {
+		return mockMvc.perform(get("/analytics/top-earners"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse();
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Object> entry() {
+		return (Map<String, Object>) precomputer.stats().get("top-earners");
+	}
+
+	private void awaitFresh() throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 10_000;
+		while (!Boolean.FALSE.equals(entry().get("stale")) || Boolean.TRUE.equals(entry().get("refreshing"))) {
+			assertThat(System.currentTimeMillis()).as("precompute refresh").isLessThan(deadline);
+			Thread.sleep(20);
+		}
+	}
+}
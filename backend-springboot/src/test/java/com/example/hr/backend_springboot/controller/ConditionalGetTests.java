@@ -0,0 +1,99 @@
+package com.example.hr.backend_springboot.controller;
+
+import com.example.hr.backend_springboot.TestData;
+import com.example.hr.backend_springboot.model.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Pages revalidate against the data version: unchanged data is a 304 with no
+// SQL at all, and any write through the app hands out a new validator.
+@SpringBootTest(properties = "hr.test.database=conditional")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class ConditionalGetTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private static Long departmentId;
+
+	@BeforeEach
+	void seed() {
+		if (departmentId != null) {
+			return;
+		}
+		transactionTemplate.executeWithoutResult(tx -> {
+			Region region = TestData.region(entityManager, 1L, "Europe");
+			Location location = TestData.location(entityManager, region, "UK", "London");
+			Job job = TestData.job(entityManager, "SA_REP", "Sales Representative");
+			Department department = TestData.department(entityManager, "Sales", location);
+			TestData.employee(entityManager, "Ann", "Lee", "6000", job, department, null);
+			departmentId = department.getDepartmentId();
+		});
+	}
+
+	@Test
+	void matchingValidatorIsNotModifiedWithoutQueries() throws Exception {
+		for (String uri : new String[] { "/departments", "/jobs", "/employees", "/departments/view/" + departmentId }) {
+			MockHttpServletResponse first = mockMvc.perform(get(uri))
+					.andExpect(status().isOk())
+					.andReturn().getResponse();
+			String etag = first.getHeader("ETag");
+			assertThat(etag).as(uri).isNotNull().doesNotStartWith("W/");
+			assertThat(first.getHeader("Last-Modified")).as(uri).isNotNull();
+
+			Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+			statistics.clear();
+			MockHttpServletResponse revalidated = mockMvc.perform(get(uri).header("If-None-Match", etag))
+					.andExpect(status().isNotModified())
+					.andReturn().getResponse();
+			assertThat(revalidated.getContentLength()).isZero();
+			assertThat(revalidated.getHeader("ETag")).isEqualTo(etag);
+			assertThat(statistics.getPrepareStatementCount()).as(uri).isZero();
+
+			mockMvc.perform(get(uri).header("If-Modified-Since", first.getHeader("Last-Modified")))
+					.andExpect(status().isNotModified());
+		}
+	}
+
+	@Test
+	void writesChangeTheValidator() throws Exception {
+		String etag = mockMvc.perform(get("/employees"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getHeader("ETag");
+
+		mockMvc.perform(post("/employees/add")
+				.param("firstName", "Bo").param("lastName", "Kim").param("email", "bo.kim@example.com")
+				.param("hireDate", "2022-05-06").param("salary", "5000")
+				.param("department", String.valueOf(departmentId)).param("job", "SA_REP"))
+			.andExpect(status().is3xxRedirection());
+
+		MockHttpServletResponse afterWrite = mockMvc.perform(get("/employees").header("If-None-Match", etag))
+				.andExpect(status().isOk())
+				.andReturn().getResponse();
+		assertThat(afterWrite.getContentAsString()).contains("Kim");
+		assertThat(afterWrite.getHeader("ETag")).isNotEqualTo(etag);
+	}
+}
@@ -0,0 +1,127 @@
+package com.example.hr.backend_springboot.controller;
+
+import com.example.hr.backend_springboot.TestData;
+import com.example.hr.backend_springboot.model.*;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Each page loads its entities through one fetch plan, so the number of SQL
+// statements per request stays constant no matter how many departments,
+// managers and locations appear on the page.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class FetchPlanQueryCountTests {
+
+	private static final int DEPARTMENTS = 12;
+	private static final int EMPLOYEES_PER_DEPARTMENT = 6;
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private static Long managedEmployeeId;
+	private static Long departmentId;
+
+	@BeforeEach
+	void seed() {
+		if (managedEmployeeId != null) {
+			return;
+		}
+		transactionTemplate.executeWithoutResult(tx -> {
+			Region region = TestData.region(entityManager, 1L, "Americas");
+			List<Job> jobs = new ArrayList<>();
+			for (int j = 0; j < 4; j++) {
+				jobs.add(TestData.job(entityManager, "JOB_" + j, "Job " + j));
+			}
+			Employee ceo = TestData.employee(entityManager, "Steven", "King", "24000", jobs.get(0), null, null);
+
+			for (int d = 0; d < DEPARTMENTS; d++) {
+				Location location = TestData.location(entityManager, region, "C" + (char) ('A' + d), "City " + d);
+				Department department = TestData.department(entityManager, "Department " + d, location);
+				Employee head = TestData.employee(entityManager, "Head", "Manager" + d, "9000", jobs.get(1), department, ceo);
+				department.setManager(head);
+
+				for (int e = 1; e < EMPLOYEES_PER_DEPARTMENT; e++) {
+					Employee staff = TestData.employee(entityManager, "Staff" + e, "Member" + d, "5000",
+						jobs.get(e % jobs.size()), department, head);
+					managedEmployeeId = staff.getEmployeeId();
+				}
+				departmentId = department.getDepartmentId();
+			}
+		});
+	}
+
+	@Test
+	void employeeListPageIsOneSelectWhateverItShows() throws Exception {
+		String body = mockMvc.perform(get("/employees").param("size", "50"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		assertThat(body).contains("Department 7").contains("Job 3");
+
+		// Steady state: the cached total is reused and the page is a single joined select
+		assertThat(statementsFor("/employees?size=50")).isEqualTo(1);
+		assertThat(statementsFor("/employees?size=50&sort=name")).isEqualTo(1);
+	}
+
+	@Test
+	void employeeDetailLoadsJobDepartmentAndManagerTogether() throws Exception {
+		String body = mockMvc.perform(get("/employees/view/" + managedEmployeeId))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		assertThat(body).contains("Head Manager" + (DEPARTMENTS - 1)).contains("Department " + (DEPARTMENTS - 1));
+
+		assertThat(statementsFor("/employees/view/" + managedEmployeeId)).isEqualTo(1);
+	}
+
+	@Test
+	void employeeEditFormReadsOnlyTheEmployeeRow() throws Exception {
+		String body = mockMvc.perform(get("/employees/edit/" + managedEmployeeId))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		assertThat(body).containsPattern("value=\"" + departmentId + "\"\\s+selected");
+
+		// Dropdowns come from the lookup cache once warm
+		assertThat(statementsFor("/employees/edit/" + managedEmployeeId)).isEqualTo(1);
+	}
+
+	@Test
+	void departmentPagesJoinManagerAndLocation() throws Exception {
+		String body = mockMvc.perform(get("/departments"))
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+		assertThat(body).contains("Manager" + (DEPARTMENTS - 1)).contains("City " + (DEPARTMENTS - 1));
+
+		assertThat(statementsFor("/departments")).isEqualTo(1);
+		assertThat(statementsFor("/departments/view/" + departmentId)).isEqualTo(1);
+	}
+
+	private long statementsFor(String uri) throws Exception {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		mockMvc.perform(get(uri)).andExpect(status().isOk());
+		return statistics.getPrepareStatementCount();
+	}
+}
@@ -0,0 +1,116 @@
+package com.example.hr.backend_springboot.controller;
+
+import com.example.hr.backend_springboot.TestData;
+import com.example.hr.backend_springboot.model.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Typeahead matches a prefix of any word of the label, returns options in
+// label order, caps the result size and sees employees added through the app.
+@SpringBootTest(properties = {"hr.test.database=lookup", "lookup.typeahead-limit=2"})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class LookupApiTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private static Long departmentId;
+
+	@BeforeEach
+	void seed() {
+		if (departmentId != null) {
+			return;
+		}
+		transactionTemplate.executeWithoutResult(tx -> {
+			Region region = TestData.region(entityManager, 1L, "Europe");
+			Location location = TestData.location(entityManager, region, "UK", "London");
+			Job job = TestData.job(entityManager, "SA_REP", "Sales Representative");
+			TestData.job(entityManager, "SA_MAN", "Sales Manager");
+			TestData.job(entityManager, "ST_CLERK", "Stock Clerk");
+			Department department = TestData.department(entityManager, "Sales", location);
+			TestData.employee(entityManager, "John", "Chen", "6000", job, department, null);
+			TestData.employee(entityManager, "Alyssa", "Johnson", "6000", job, department, null);
+			TestData.employee(entityManager, "Mary", "Smith", "6000", job, department, null);
+			TestData.employee(entityManager, "John", "Smith", "6000", job, department, null);
+			for (int i = 0; i < 12; i++) {
+				TestData.employee(entityManager, "Pat" + i, "Zed", "6000", job, department, null);
+			}
+			departmentId = department.getDepartmentId();
+		});
+	}
+
+	@Test
+	void prefixMatchesAnyWordCaseInsensitively() throws Exception {
+		search("employees", "JOH", 10)
+			.andExpect(jsonPath("$[*].label", contains("John Chen", "Alyssa Johnson", "John Smith")));
+		search("jobs", "cl", 10)
+			.andExpect(jsonPath("$[*].label", contains("Stock Clerk")));
+		search("employees", "xyz", 10)
+			.andExpect(jsonPath("$", hasSize(0)));
+	}
+
+	@Test
+	void multiWordQueryMatchesTheWholePhrase() throws Exception {
+		search("employees", "john sm", 10)
+			.andExpect(jsonPath("$[*].label", contains("John Smith")));
+		search("jobs", "sales m", 10)
+			.andExpect(jsonPath("$[*].label", contains("Sales Manager")));
+	}
+
+	@Test
+	void limitDefaultsToTheTypeaheadLimitAndIsCapped() throws Exception {
+		mockMvc.perform(get("/api/lookup/employees").param("q", "john"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$", hasSize(2)));
+		search("employees", "", 1)
+			.andExpect(jsonPath("$", hasSize(1)));
+		// At most five times the typeahead limit whatever the client asks for
+		search("employees", "pat", 1000)
+			.andExpect(jsonPath("$", hasSize(10)));
+	}
+
+	@Test
+	void unknownKindIsNotFound() throws Exception {
+		mockMvc.perform(get("/api/lookup/regions")).andExpect(status().isNotFound());
+	}
+
+	@Test
+	void employeeAddedThroughTheAppIsFoundAtOnce() throws Exception {
+		search("employees", "quinn", 10).andExpect(jsonPath("$", hasSize(0)));
+
+		mockMvc.perform(post("/employees/add")
+				.param("firstName", "Quinn").param("lastName", "Ode").param("email", "quinn.ode@example.com")
+				.param("hireDate", "2021-03-04").param("salary", "6000")
+				.param("department", String.valueOf(departmentId)).param("job", "SA_REP"))
+			.andExpect(status().is3xxRedirection());
+
+		search("employees", "quinn", 10)
+			.andExpect(jsonPath("$[*].label", hasItem("Quinn Ode")));
+	}
+
+	private ResultActions search(String kind, String q, int limit) throws Exception {
+		return mockMvc.perform(get("/api/lookup/" + kind).param("q", q).param("limit", String.valueOf(limit)))
+			.andExpect(status().isOk());
+	}
+}
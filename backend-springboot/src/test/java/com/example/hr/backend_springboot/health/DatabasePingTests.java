@@ -0,0 +1,133 @@
+package com.example.hr.backend_springboot.health;
+
+import com.example.hr.backend_springboot.config.HealthProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The ping reports UP, SATURATED (no pooled connection free within pool-wait)
+// and DOWN (the database refused), moves between them as the pool and the
+// database recover, and never makes a probe wait behind another probe.
+class DatabasePingTests {
+
+	private final HealthProperties properties = new HealthProperties();
+	private HikariDataSource pool;
+
+	@BeforeEach
+	void setUp() {
+		properties.setPingInterval(Duration.ZERO);
+		properties.setPoolWait(Duration.ofMillis(100));
+		pool = new HikariDataSource();
+		pool.setJdbcUrl("jdbc:h2:mem:ping;DB_CLOSE_DELAY=-1");
+		pool.setMaximumPoolSize(1);
+		pool.setConnectionTimeout(20_000);
+	}
+
+	@AfterEach
+	void tearDown() {
+		pool.close();
+	}
+
+	@Test
+	void exhaustedPoolIsSaturatedWithoutWaitingForTheConnectionTimeout() throws SQLException {
+		DatabasePing ping = new DatabasePing(pool, properties);
+		assertThat(ping.ping().status()).isEqualTo(DatabasePing.Status.UP);
+
+		DatabasePing.Result saturated;
+		try (Connection held = pool.getConnection()) {
+			long started = System.nanoTime();
+			saturated = ping.ping();
+			assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(2));
+		}
+		assertThat(saturated.status()).isEqualTo(DatabasePing.Status.SATURATED);
+		assertThat(saturated.up()).isTrue();
+
+		assertThat(ping.ping().status()).isEqualTo(DatabasePing.Status.UP);
+	}
+
+	@Test
+	void refusedConnectionIsDownUntilTheDatabaseIsBack() {
+		SwitchableDataSource database = new SwitchableDataSource(pool);
+		DatabasePing ping = new DatabasePing(database, properties);
+
+		database.refuse = true;
+		DatabasePing.Result down = ping.ping();
+		assertThat(down.status()).isEqualTo(DatabasePing.Status.DOWN);
+		assertThat(down.up()).isFalse();
+		assertThat(down.error()).isEqualTo("Connection refused");
+
+		database.refuse = false;
+		assertThat(ping.ping().status()).isEqualTo(DatabasePing.Status.UP);
+	}
+
+	@Test
+	void resultIsReusedWithinThePingInterval() {
+		properties.setPingInterval(Duration.ofHours(1));
+		DatabasePing ping = new DatabasePing(pool, properties);
+
+		assertThat(ping.ping()).isSameAs(ping.ping());
+	}
+
+	@Test
+	void probesDoNotQueueBehindASlowPing() throws Exception {
+		SwitchableDataSource database = new SwitchableDataSource(pool);
+		DatabasePing ping = new DatabasePing(database, properties);
+		DatabasePing.Result previous = ping.ping();
+
+		database.gate = new CountDownLatch(1);
+		CompletableFuture<DatabasePing.Result> slow = CompletableFuture.supplyAsync(ping::ping);
+		assertThat(database.entered.await(5, TimeUnit.SECONDS)).isTrue();
+		try {
+			// Served the previous result at once while the other probe is still pinging
+			assertThat(ping.ping()).isSameAs(previous);
+		} finally {
+			database.gate.countDown();
+		}
+		assertThat(slow.get(5, TimeUnit.SECONDS).status()).isEqualTo(DatabasePing.Status.UP);
+	}
+
+	// Stands in for a database that can refuse connections or answer slowly
+	private static final class SwitchableDataSource extends DelegatingDataSource {
+		volatile boolean refuse;
+		volatile CountDownLatch gate;
+		final CountDownLatch entered = new CountDownLatch(1);
+
+		SwitchableDataSource(HikariDataSource target) {
+			super(target);
+		}
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			if (refuse) {
+				throw new SQLException("Connection refused");
+			}
+			CountDownLatch g = gate;
+			if (g != null) {
+				entered.countDown();
+				try {
+					g.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			return super.getConnection();
+		}
+
+		@Override
+		public boolean isWrapperFor(Class<?> iface) {
+			// Behave like a plain DataSource so the ping does not go around it to the pool
+			return iface.isInstance(this);
+		}
+	}
+}
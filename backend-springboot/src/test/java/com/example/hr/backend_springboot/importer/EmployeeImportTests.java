@@ -0,0 +1,167 @@
+package com.example.hr.backend_springboot.importer;
+
+import com.example.hr.backend_springboot.TestData;
+import com.example.hr.backend_springboot.model.*;
+import com.example.hr.backend_springboot.orgtree.OrgTreeService;
+import com.example.hr.backend_springboot.repository.EmployeeRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Imports through the endpoint with a chunk size of 2, so ids come from several
+// sequence blocks and rows from several batches.
+@SpringBootTest(properties = {"hr.test.database=import", "employees.import.chunk-size=2"})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class EmployeeImportTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+	@Autowired
+	private OrgTreeService orgTreeService;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	private static Long departmentId;
+	private static Long existingId;
+
+	@BeforeEach
+	void seed() {
+		if (departmentId != null) {
+			return;
+		}
+		transactionTemplate.executeWithoutResult(tx -> {
+			Region region = TestData.region(entityManager, 1L, "Americas");
+			Location location = TestData.location(entityManager, region, "US", "Seattle");
+			Department department = TestData.department(entityManager, "Acquired", location);
+			Job job = TestData.job(entityManager, "IT_PROG", "Programmer");
+			departmentId = department.getDepartmentId();
+			existingId = TestData.employee(entityManager, "Ada", "Lovelace", "9000", job, department, null)
+				.getEmployeeId();
+		});
+	}
+
+	@Test
+	void csvImportResolvesManagersAndReportsBadRows() throws Exception {
+		String csv = "first_name,last_name,email,hire_date,job_id,salary,commission_pct,department_id,manager_id,manager_email\r\n"
+			+ "Grace,Hopper,grace@example.com,2020-01-06,IT_PROG,12000,," + departmentId + "," + existingId + ",\r\n"
+			+ "Alan,\"Turing, Jr\",alan@example.com,2020-02-03,IT_PROG,8000.50,0.1," + departmentId + ",,grace@example.com\r\n"
+			+ "Bad,Job,bad.job@example.com,2020-02-03,NOPE,5000,," + departmentId + ",,\r\n"
+			+ "Dup,Email,grace@example.com,2020-02-03,IT_PROG,5000,,,,\r\n"
+			+ "Bad,Date,bad.date@example.com,03/02/2020,IT_PROG,5000,,,,\r\n"
+			+ "Late,Manager,late@example.com,2020-02-03,IT_PROG,5000,,,,nobody@example.com\r\n"
+			+ "\"Edsger\nW\",Dijkstra,edsger@example.com,2020-03-02,IT_PROG,7000,,,,alan@example.com\n";
+
+		JsonNode report = importFile(csv, "csv", false);
+
+		assertThat(report.get("rowsRead").asLong()).isEqualTo(7);
+		assertThat(report.get("rowsImported").asLong()).isEqualTo(3);
+		assertThat(report.get("rowsRejected").asLong()).isEqualTo(4);
+		assertThat(report.get("chunks").asInt()).isEqualTo(2);
+		assertThat(report.get("errors")).extracting(e -> e.get("line").asLong()).containsExactly(4L, 5L, 6L, 7L);
+		assertThat(report.get("errors").get(0).get("message").asText()).contains("Unknown job_id NOPE");
+		assertThat(report.get("errors").get(1).get("message").asText()).contains("already in use");
+		assertThat(report.get("errors").get(2).get("message").asText()).contains("hire_date");
+
+		Map<String, Object> grace = row("grace@example.com");
+		Map<String, Object> alan = row("alan@example.com");
+		Map<String, Object> edsger = row("edsger@example.com");
+		assertThat(((Number) grace.get("MANAGER_ID")).longValue()).isEqualTo(existingId);
+		assertThat(alan.get("MANAGER_ID")).isEqualTo(grace.get("EMPLOYEE_ID"));
+		assertThat(alan.get("LAST_NAME")).isEqualTo("Turing, Jr");
+		assertThat(edsger.get("MANAGER_ID")).isEqualTo(alan.get("EMPLOYEE_ID"));
+		assertThat(edsger.get("FIRST_NAME")).isEqualTo("Edsger\nW");
+
+		// Imported rows reach the derived structures through the usual change events
+		long edsgerId = ((Number) edsger.get("EMPLOYEE_ID")).longValue();
+		assertThat(orgTreeService.chain(edsgerId)).extracting(n -> n.employeeId())
+			.containsExactly(edsgerId, ((Number) alan.get("EMPLOYEE_ID")).longValue(),
+				((Number) grace.get("EMPLOYEE_ID")).longValue(), existingId);
+	}
+
+	@Test
+	void ndjsonImportSkipsMalformedLines() throws Exception {
+		String ndjson = "{\"firstName\":\"Linus\",\"lastName\":\"Torvalds\",\"email\":\"linus@example.com\","
+			+ "\"hireDate\":\"2021-05-05\",\"jobId\":\"IT_PROG\",\"salary\":9100,\"departmentId\":" + departmentId + "}\n"
+			+ "{\"firstName\":\"Broken\"\n"
+			+ "\n"
+			+ "{\"firstName\":\"Ken\",\"lastName\":\"Thompson\",\"email\":\"not-an-email\","
+			+ "\"hireDate\":\"2021-05-05\",\"jobId\":\"IT_PROG\",\"salary\":9100}\n"
+			+ "{\"firstName\":\"Dennis\",\"lastName\":\"Ritchie\",\"email\":\"dennis@example.com\","
+			+ "\"hireDate\":\"2021-05-05\",\"jobId\":\"IT_PROG\",\"salary\":\"9200.25\",\"managerId\":" + existingId + "}\n";
+
+		JsonNode report = importFile(ndjson, "ndjson", false);
+
+		assertThat(report.get("rowsImported").asLong()).isEqualTo(2);
+		assertThat(report.get("errors")).extracting(e -> e.get("line").asLong()).containsExactly(2L, 4L);
+		assertThat(report.get("errors").get(1).get("message").asText()).startsWith("email ");
+		assertThat(row("dennis@example.com").get("SALARY").toString()).isEqualTo("9200.25");
+	}
+
+	@Test
+	void dryRunWritesNothing() throws Exception {
+		long before = employeeRepository.count();
+		String csv = "first_name,last_name,email,hire_date,job_id,salary\n"
+			+ "Barbara,Liskov,barbara@example.com,2019-09-09,IT_PROG,9900\n";
+
+		JsonNode report = importFile(csv, "csv", true);
+
+		assertThat(report.get("dryRun").asBoolean()).isTrue();
+		assertThat(report.get("rowsImported").asLong()).isEqualTo(1);
+		assertThat(employeeRepository.count()).isEqualTo(before);
+	}
+
+	@Test
+	void unknownFormatIsABadRequestListingTheAcceptedOnes() throws Exception {
+		long before = employeeRepository.count();
+
+		String json = mockMvc.perform(post("/api/employees/import")
+				.queryParam("format", "xlsx")
+				.contentType("application/octet-stream")
+				.content("first_name\n"))
+			.andExpect(status().isBadRequest())
+			.andReturn().getResponse().getContentAsString();
+
+		JsonNode error = objectMapper.readTree(json);
+		assertThat(error.get("error").asText()).contains("xlsx");
+		assertThat(error.get("acceptedFormats")).extracting(JsonNode::asText).containsExactly("csv", "ndjson");
+		assertThat(employeeRepository.count()).isEqualTo(before);
+	}
+
+	private JsonNode importFile(String body, String format, boolean dryRun) throws Exception {
+		String json = mockMvc.perform(post("/api/employees/import")
+				.queryParam("format", format).queryParam("dryRun", String.valueOf(dryRun))
+				.contentType(format.equals("csv") ? "text/csv" : "application/x-ndjson")
+				.content(body))
+			.andExpect(status().isOk())
+			.andReturn().getResponse().getContentAsString();
+		return objectMapper.readTree(json);
+	}
+
+	private Map<String, Object> row(String email) {
+		return jdbcTemplate.queryForMap("SELECT * FROM employees WHERE email = ?", email);
+	}
+}
@@ -0,0 +1,116 @@
+package com.example.hr.backend_springboot.orgtree;
+
+import com.example.hr.backend_springboot.dto.OrgNodeDTO;
+import com.example.hr.backend_springboot.event.EmployeeState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrgTreeTests {
+
+	private OrgTree tree;
+
+	// 100 King
+	// ├── 101 Kochhar
+	// │   ├── 108 Greenberg
+	// │   │   └── 109 Faviet
+	// │   └── 200 Whalen
+	// └── 102 De Haan
+	//     └── 103 Hunold
+	@BeforeEach
+	void build() {
+		List<Object[]> rows = new ArrayList<>();
+		rows.add(row(100, "Steven", "King", null, "24000"));
+		rows.add(row(101, "Neena", "Kochhar", 100L, "17000"));
+		rows.add(row(102, "Lex", "De Haan", 100L, "17000"));
+		rows.add(row(103, "Alexander", "Hunold", 102L, "9000"));
+		rows.add(row(108, "Nancy", "Greenberg", 101L, "12000"));
+		rows.add(row(109, "Daniel", "Faviet", 108L, "9000"));
+		rows.add(row(200, "Jennifer", "Whalen", 101L, "4400"));
+		tree = OrgTree.build(rows);
+	}
+
+	@Test
+	void buildComputesSubtreeAggregatesAndDepth() {
+		assertNode(100, 7, "92400", 0);
+		assertNode(101, 4, "42400", 1);
+		assertNode(108, 2, "21000", 2);
+		assertNode(109, 1, "9000", 3);
+		assertThat(tree.node(101).directReports()).isEqualTo(2);
+	}
+
+	@Test
+	void subtreeIsPreOrderWithSiblingsByName() {
+		assertThat(tree.subtree(100, 50)).extracting(OrgNodeDTO::employeeId)
+			.containsExactly(100L, 102L, 103L, 101L, 108L, 109L, 200L);
+		assertThat(tree.subtree(101, 1)).extracting(OrgNodeDTO::level).containsExactly(0, 1, 1);
+		assertThat(tree.chain(109)).extracting(OrgNodeDTO::employeeId).containsExactly(109L, 108L, 101L, 100L);
+	}
+
+	@Test
+	void salaryChangeUpdatesEveryAncestor() {
+		assertThat(tree.upsert(state(109, 108L, "10000"))).isTrue();
+		assertNode(108, 2, "22000", 2);
+		assertNode(101, 4, "43400", 1);
+		assertNode(100, 7, "93400", 0);
+	}
+
+	@Test
+	void managerChangeMovesTheWholeSubtree() {
+		assertThat(tree.upsert(state(108, 103L, "12000"))).isTrue();
+		assertNode(101, 2, "21400", 1);
+		assertNode(102, 4, "47000", 1);
+		assertNode(103, 3, "30000", 2);
+		assertNode(109, 1, "9000", 4);
+		assertNode(100, 7, "92400", 0);
+	}
+
+	@Test
+	void createAndDeleteAdjustAggregates() {
+		assertThat(tree.upsert(state(300, 200L, "3000"))).isTrue();
+		assertNode(200, 2, "7400", 2);
+		assertNode(100, 8, "95400", 0);
+
+		assertThat(tree.remove(300)).isTrue();
+		assertNode(200, 1, "4400", 2);
+		assertNode(100, 7, "92400", 0);
+	}
+
+	@Test
+	void changesThatNeedARebuildAreRejected() {
+		// King reporting to someone in his own subtree would form a cycle
+		assertThat(tree.upsert(state(100, 109L, "24000"))).isFalse();
+		// Managers with reports cannot be removed in place
+		assertThat(tree.remove(101)).isFalse();
+	}
+
+	@Test
+	void managerCyclesInTheDataAreBrokenOnBuild() {
+		List<Object[]> rows = new ArrayList<>();
+		rows.add(row(1, "A", "A", 2L, "100"));
+		rows.add(row(2, "B", "B", 1L, "100"));
+		OrgTree cyclic = OrgTree.build(rows);
+		assertThat(cyclic.roots()).hasSize(1);
+		assertThat(cyclic.roots().get(0).headcount()).isEqualTo(2);
+	}
+
+	private void assertNode(long id, int headcount, String subtreeSalary, int depth) {
+		OrgNodeDTO node = tree.node(id);
+		assertThat(node.headcount()).isEqualTo(headcount);
+		assertThat(node.subtreeSalary()).isEqualByComparingTo(subtreeSalary);
+		assertThat(node.depth()).isEqualTo(depth);
+	}
+
+	private EmployeeState state(long id, Long managerId, String salary) {
+		return new EmployeeState(id, "Test", "Employee" + id, managerId, null, null, new BigDecimal(salary), null, null);
+	}
+
+	private static Object[] row(long id, String first, String last, Long managerId, String salary) {
+		return new Object[] { id, first, last, managerId, new BigDecimal(salary), null, null };
+	}
+}
@@ -0,0 +1,181 @@
+package com.example.hr.backend_springboot.routing;
+
+import com.example.hr.backend_springboot.TestData;
+import com.example.hr.backend_springboot.config.RoutingProperties;
+import com.example.hr.backend_springboot.model.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Two embedded databases stand in for primary and replica. The replica gets a
+// copy of the primary and then one department renamed, so every page shows
+// which database answered it.
+@SpringBootTest(properties = {
+	"hr.test.database=routing",
+	"routing.enabled=true",
+	"routing.replica.url=jdbc:h2:mem:routing-replica;MODE=Oracle;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS HR\\\\;SET SCHEMA HR",
+	"routing.max-lag=1s",
+	"routing.lag-query=SELECT 0",
+	"routing.read-your-writes=1h",
+	"routing.lag-check-interval=1h",
+	"conditional-get.enabled=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class ReadWriteRoutingTests {
+
+	private static final String REPLICA_NAME = "Sales (replica)";
+
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private ReplicaMonitor monitor;
+	@Autowired
+	private RoutingProperties properties;
+	@Autowired
+	@Qualifier("primaryDataSource")
+	private DataSource primary;
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private static Long departmentId;
+
+	@BeforeEach
+	void seedAndReplicate() throws Exception {
+		if (departmentId == null) {
+			transactionTemplate.executeWithoutResult(tx -> {
+				Region region = TestData.region(entityManager, 1L, "Europe");
+				Location location = TestData.location(entityManager, region, "UK", "London");
+				Job job = TestData.job(entityManager, "SA_REP", "Sales Representative");
+				Department department = TestData.department(entityManager, "Sales", location);
+				TestData.employee(entityManager, "Ann", "Lee", "6000", job, department, null);
+				departmentId = department.getDepartmentId();
+			});
+			replicate();
+		}
+		monitor.check();
+	}
+
+	@AfterEach
+	void restore() {
+		properties.setLagQuery("SELECT 0");
+	}
+
+	@Test
+	void readPagesUseTheReplicaAndWritesThePrimary() throws Exception {
+		assertThat(page(get("/departments"))).contains(REPLICA_NAME);
+		assertThat(page(get("/departments/view/" + departmentId))).contains(REPLICA_NAME);
+
+		MockHttpSession writer = new MockHttpSession();
+		mockMvc.perform(post("/employees/add").session(writer)
+				.param("firstName", "Bo").param("lastName", "Kim").param("email", "bo.kim@example.com")
+				.param("hireDate", "2022-05-06").param("salary", "5000")
+				.param("department", String.valueOf(departmentId)).param("job", "SA_REP"))
+			.andExpect(status().is3xxRedirection());
+		assertThat(new JdbcTemplate(primary).queryForObject(
+			"SELECT COUNT(*) FROM HR.EMPLOYEES WHERE EMAIL = 'bo.kim@example.com'", Integer.class)).isEqualTo(1);
+
+		// Right after a write nobody reads the replica, it may not have caught up yet
+		assertThat(page(get("/departments"))).doesNotContain(REPLICA_NAME);
+
+		Thread.sleep(properties.getMaxLag().toMillis() + 100);
+		assertThat(page(get("/departments"))).contains(REPLICA_NAME);
+		// ...except the writer, who reads its own writes
+		assertThat(page(get("/departments").session(writer))).doesNotContain(REPLICA_NAME);
+	}
+
+	@Test
+	void laggingReplicaIsNotUsed() throws Exception {
+		properties.setLagQuery("SELECT 60");
+		monitor.check();
+		assertThat(monitor.status()).containsEntry("usable", false).containsEntry("lagSeconds", 60.0);
+		assertThat(page(get("/departments"))).doesNotContain(REPLICA_NAME);
+
+		properties.setLagQuery("SELECT 0");
+		monitor.check();
+		assertThat(page(get("/departments"))).contains(REPLICA_NAME);
+	}
+
+	@Test
+	void replicaWithoutALagQueryIsRefused() {
+		RoutingProperties withoutLagQuery = new RoutingProperties();
+		assertThatIllegalStateException().isThrownBy(() -> new ReplicaMonitor(primary, withoutLagQuery))
+			.withMessageContaining("routing.lag-query");
+	}
+
+	@Test
+	void workHandedToOtherThreadsKeepsTheRequestsRoute() throws Exception {
+		// Dashboard widgets run on the dashboard executor, exports on the async request executor
+		assertThat(page(get("/analytics/dashboard"))).contains(REPLICA_NAME);
+
+		MvcResult export = mockMvc.perform(get("/analytics/top-earners/export"))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+		assertThat(mockMvc.perform(asyncDispatch(export)).andReturn().getResponse().getContentAsString())
+			.contains(REPLICA_NAME);
+	}
+
+	@Test
+	void nonReadPathsUseThePrimary() throws Exception {
+		assertThat(page(get("/employees/edit/" + firstEmployeeId()))).doesNotContain(REPLICA_NAME);
+	}
+
+	private Long firstEmployeeId() {
+		return new JdbcTemplate(primary).queryForObject("SELECT MIN(EMPLOYEE_ID) FROM HR.EMPLOYEES", Long.class);
+	}
+
+	private String page(MockHttpServletRequestBuilder request) throws Exception {
+		return mockMvc.perform(request)
+				.andExpect(status().isOk())
+				.andReturn().getResponse().getContentAsString();
+	}
+
+	// Copies the primary into the replica with H2's SCRIPT, then marks the copy
+	private static void replicate() throws Exception {
+		List<String> statements = new ArrayList<>();
+		try (Connection source = DriverManager.getConnection("jdbc:h2:mem:routing", "sa", "");
+			 Statement statement = source.createStatement();
+			 ResultSet script = statement.executeQuery("SCRIPT")) {
+			while (script.next()) {
+				statements.add(script.getString(1));
+			}
+		}
+		try (Connection target = DriverManager.getConnection("jdbc:h2:mem:routing-replica", "sa", "");
+			 Statement statement = target.createStatement()) {
+			for (String sql : statements) {
+				statement.execute(sql);
+			}
+			statement.execute("UPDATE HR.DEPARTMENTS SET DEPARTMENT_NAME = '" + REPLICA_NAME + "'");
+		}
+	}
+}
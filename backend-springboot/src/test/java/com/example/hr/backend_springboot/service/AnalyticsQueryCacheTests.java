@@ -0,0 +1,111 @@
+package com.example.hr.backend_springboot.service;
+
+import com.example.hr.backend_springboot.TestData;
+import com.example.hr.backend_springboot.model.*;
+import com.example.hr.backend_springboot.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Analytics results are served from the cache until the data version moves
+// (a write through the app) or the query's TTL passes.
+@SpringBootTest(properties = {
+	"hr.test.database=querycache",
+	"analytics.cache.ttl.high-commission=0s"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class AnalyticsQueryCacheTests {
+
+	@Autowired
+	private AnalyticsService analyticsService;
+	@Autowired
+	private AnalyticsQueryCache cache;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private static Long employeeId;
+
+	@BeforeEach
+	void seed() {
+		cache.clear();
+		if (employeeId != null) {
+			return;
+		}
+		transactionTemplate.executeWithoutResult(tx -> {
+			Region region = TestData.region(entityManager, 1L, "Europe");
+			Location location = TestData.location(entityManager, region, "UK", "London");
+			Job job = TestData.job(entityManager, "SA_REP", "Sales Representative");
+			Department department = TestData.department(entityManager, "Sales", location);
+			employeeId = TestData.employee(entityManager, "Ann", "Lee", "6000", job, department, null).getEmployeeId();
+			TestData.employee(entityManager, "Bo", "Kim", "7000", job, department, null);
+		});
+	}
+
+	@Test
+	void repeatedQueryIsAHit() {
+		long hits = counter("hits");
+		long misses = counter("misses");
+
+		List<Object[]> first = analyticsService.run(AnalyticsQuery.TOP_EARNERS);
+		List<Object[]> second = analyticsService.run(AnalyticsQuery.TOP_EARNERS);
+
+		assertThat(second).isSameAs(first);
+		assertThat(counter("misses")).isEqualTo(misses + 1);
+		assertThat(counter("hits")).isEqualTo(hits + 1);
+	}
+
+	@Test
+	void employeeWriteMakesTheNextQueryAMiss() throws Exception {
+		List<Object[]> before = analyticsService.run(AnalyticsQuery.TOP_EARNERS);
+		long misses = counter("misses");
+
+		Employee employee = employeeRepository.findById(employeeId).orElseThrow();
+		mockMvc.perform(post("/employees/edit/" + employeeId)
+				.param("firstName", employee.getFirstName()).param("lastName", "Leeson")
+				.param("email", employee.getEmail()).param("hireDate", employee.getHireDate().toString())
+				.param("salary", "9100").param("department", String.valueOf(employee.getDepartment().getDepartmentId()))
+				.param("job", "SA_REP"))
+			.andExpect(status().is3xxRedirection());
+
+		List<Object[]> after = analyticsService.run(AnalyticsQuery.TOP_EARNERS);
+		assertThat(after).isNotSameAs(before);
+		assertThat(counter("misses")).isEqualTo(misses + 1);
+		assertThat(after).anySatisfy(row -> assertThat(List.of(row)).anySatisfy(
+			value -> assertThat(String.valueOf(value)).contains("Leeson")));
+	}
+
+	@Test
+	void expiredEntryIsAMiss() {
+		long hits = counter("hits");
+		long misses = counter("misses");
+
+		analyticsService.run(AnalyticsQuery.HIGH_COMMISSION);
+		analyticsService.run(AnalyticsQuery.HIGH_COMMISSION);
+
+		assertThat(counter("hits")).isEqualTo(hits);
+		assertThat(counter("misses")).isEqualTo(misses + 2);
+	}
+
+	private long counter(String name) {
+		return (Long) cache.stats().get(name);
+	}
+}
@@ -0,0 +1,31 @@
+package com.example.hr.backend_springboot.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+// Every query must resolve its native SQL (used by the exports) from the
+// repository method it calls.
+class AnalyticsQueryTests {
+
+	@Test
+	void everyQueryResolvesItsNativeSql() {
+		for (AnalyticsQuery query : AnalyticsQuery.values()) {
+			String sql = query.sql().strip().toUpperCase(Locale.ROOT);
+			assertThat(sql).as(query.getSlug()).matches("(?s)(SELECT|WITH)\\b.*");
+		}
+	}
+
+	@Test
+	void queriesResolveDistinctSqlAndSlugs() {
+		assertThat(Arrays.stream(AnalyticsQuery.values()).map(AnalyticsQuery::sql)).doesNotHaveDuplicates();
+		for (AnalyticsQuery query : AnalyticsQuery.values()) {
+			assertThat(AnalyticsQuery.fromSlug(query.getSlug())).isSameAs(query);
+		}
+		assertThatIllegalArgumentException().isThrownBy(() -> AnalyticsQuery.fromSlug("no-such-query"));
+	}
+}
@@ -0,0 +1,153 @@
+package com.example.hr.backend_springboot.service;
+
+import com.example.hr.backend_springboot.TestData;
+import com.example.hr.backend_springboot.model.*;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+// Keyset pages must walk the list exactly once in either direction, even when
+// many employees share a last name, and must not trust malformed cursors.
+@SpringBootTest(properties = {
+	"hr.test.database=employeepages",
+	"employees.page.default-size=5",
+	"employees.page.max-size=7"
+})
+@ActiveProfiles("h2")
+class EmployeePageServiceTests {
+
+	private static final String[] LAST_NAMES = { "Smith", "Jones", "Smith", "Brown", "Jones", "Smith" };
+
+	@Autowired
+	private EmployeePageService pageService;
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private static boolean seeded;
+
+	@BeforeEach
+	void seed() {
+		if (seeded) {
+			return;
+		}
+		transactionTemplate.executeWithoutResult(tx -> {
+			Region region = TestData.region(entityManager, 1L, "Europe");
+			Location location = TestData.location(entityManager, region, "UK", "London");
+			Job job = TestData.job(entityManager, "SA_REP", "Sales Representative");
+			Department department = TestData.department(entityManager, "Sales", location);
+			// 23 employees over three last names: every page boundary falls inside a run of equal names
+			for (int i = 0; i < 23; i++) {
+				TestData.employee(entityManager, "E" + i, LAST_NAMES[i % LAST_NAMES.length], "5000", job, department, null);
+			}
+		});
+		seeded = true;
+	}
+
+	@Test
+	void forwardTraversalVisitsEveryEmployeeOnceInNameOrder() {
+		List<List<Long>> pages = forwardPages(EmployeeSort.NAME);
+
+		List<Long> visited = pages.stream().flatMap(List::stream).toList();
+		assertThat(visited).doesNotHaveDuplicates().containsExactlyElementsOf(byNameThenId());
+		assertThat(pages).hasSize(5);
+		assertThat(pages.subList(0, 4)).allSatisfy(page -> assertThat(page).hasSize(5));
+	}
+
+	@Test
+	void backwardTraversalRetracesTheSamePages() {
+		for (EmployeeSort sort : EmployeeSort.values()) {
+			List<List<Long>> forward = forwardPages(sort);
+
+			EmployeePageService.EmployeePage page = lastPage(sort);
+			List<List<Long>> backward = new ArrayList<>();
+			backward.add(ids(page));
+			while (page.hasPrevious()) {
+				page = pageService.page(sort, page.prevCursor(), null);
+				backward.add(ids(page));
+			}
+			Collections.reverse(backward);
+			assertThat(backward).as("sort %s", sort).isEqualTo(forward);
+		}
+	}
+
+	@Test
+	void pageSizeIsClampedToMaxSize() {
+		assertThat(pageService.page(EmployeeSort.ID, null, 1000).content()).hasSize(7);
+		assertThat(pageService.page(EmployeeSort.ID, null, 1000).size()).isEqualTo(7);
+		assertThat(pageService.page(EmployeeSort.ID, null, 0).content()).hasSize(5);
+		assertThat(pageService.page(EmployeeSort.ID, null, null).content()).hasSize(5);
+		assertThat(pageService.page(EmployeeSort.ID, null, 3).content()).hasSize(3);
+	}
+
+	@Test
+	void cursorRoundTripsAndRejectsMalformedTokens() {
+		EmployeeCursor cursor = EmployeeCursor.before(EmployeeSort.NAME, 42, "O'Neil|Smith");
+		assertThat(EmployeeCursor.decode(cursor.encode())).isEqualTo(cursor);
+
+		assertThatIllegalArgumentException().isThrownBy(() -> EmployeeCursor.decode("not a cursor!"));
+		assertThatIllegalArgumentException().isThrownBy(() -> EmployeeCursor.decode(token("2|name|f|42|Smith")));
+		assertThatIllegalArgumentException().isThrownBy(() -> EmployeeCursor.decode(token("1|salary|f|42|Smith")));
+		assertThatIllegalArgumentException().isThrownBy(() -> EmployeeCursor.decode(token("1|name|x|42|Smith")));
+		assertThatIllegalArgumentException().isThrownBy(() -> EmployeeCursor.decode(token("1|name|f|4x2|Smith")));
+		assertThatIllegalArgumentException().isThrownBy(() -> EmployeeCursor.decode(token("1|name|f")));
+	}
+
+	@Test
+	void tamperedOrForeignCursorRestartsFromTheFirstPage() {
+		List<Long> first = ids(pageService.page(EmployeeSort.NAME, null, null));
+		String idCursor = pageService.page(EmployeeSort.ID, null, null).nextCursor();
+
+		assertThat(ids(pageService.page(EmployeeSort.NAME, "garbage", null))).isEqualTo(first);
+		assertThat(ids(pageService.page(EmployeeSort.NAME, token("1|name|x|1|Smith"), null))).isEqualTo(first);
+		assertThat(ids(pageService.page(EmployeeSort.NAME, idCursor, null))).isEqualTo(first);
+		assertThat(pageService.page(EmployeeSort.NAME, "garbage", null).hasPrevious()).isFalse();
+	}
+
+	private List<List<Long>> forwardPages(EmployeeSort sort) {
+		List<List<Long>> pages = new ArrayList<>();
+		EmployeePageService.EmployeePage page = pageService.page(sort, null, null);
+		pages.add(ids(page));
+		while (page.hasNext()) {
+			page = pageService.page(sort, page.nextCursor(), null);
+			pages.add(ids(page));
+		}
+		return pages;
+	}
+
+	private EmployeePageService.EmployeePage lastPage(EmployeeSort sort) {
+		EmployeePageService.EmployeePage page = pageService.page(sort, null, null);
+		while (page.hasNext()) {
+			page = pageService.page(sort, page.nextCursor(), null);
+		}
+		return page;
+	}
+
+	private List<Long> byNameThenId() {
+		return transactionTemplate.execute(tx -> entityManager
+			.createQuery("SELECT e.employeeId FROM Employee e ORDER BY e.lastName, e.employeeId", Long.class)
+			.getResultList());
+	}
+
+	private static List<Long> ids(EmployeePageService.EmployeePage page) {
+		return page.content().stream().map(Employee::getEmployeeId).toList();
+	}
+
+	private static String token(String raw) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,163 @@
+package com.example.hr.backend_springboot.service;
+
+import com.example.hr.backend_springboot.TestData;
+import com.example.hr.backend_springboot.config.JobHistoryCacheProperties;
+import com.example.hr.backend_springboot.dto.JobHistoryEntryDTO;
+import com.example.hr.backend_springboot.event.EmployeeChangedEvent;
+import com.example.hr.backend_springboot.model.*;
+import com.example.hr.backend_springboot.repository.EmployeeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A timeline is one statement (no employee select), is then served from the
+// cache, and is reloaded after the employee is written, the TTL passes or it
+// is evicted as least recently used.
+@SpringBootTest(properties = "hr.test.database=jobhistory")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class JobHistoryServiceTests {
+
+	@Autowired
+	private JobHistoryService jobHistoryService;
+	@Autowired
+	private JobHistoryCacheProperties properties;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private static final List<Long> employees = new ArrayList<>();
+
+	@BeforeEach
+	void seed() {
+		if (!employees.isEmpty()) {
+			return;
+		}
+		transactionTemplate.executeWithoutResult(tx -> {
+			Region region = TestData.region(entityManager, 1L, "Europe");
+			Location location = TestData.location(entityManager, region, "UK", "London");
+			Department department = TestData.department(entityManager, "Sales", location);
+			Job clerk = TestData.job(entityManager, "ST_CLERK", "Stock Clerk");
+			Job rep = TestData.job(entityManager, "SA_REP", "Sales Representative");
+			for (int i = 0; i < 4; i++) {
+				Employee employee = TestData.employee(entityManager, "E" + i, "History", "5000", rep, department, null);
+				history(employee, LocalDate.of(2010, 1, 1), clerk, department);
+				history(employee, LocalDate.of(2012, 1, 1), rep, department);
+				employees.add(employee.getEmployeeId());
+			}
+		});
+	}
+
+	@AfterEach
+	void restore() {
+		properties.setTtl(Duration.ofMinutes(10));
+		properties.setMaxEntries(1000);
+	}
+
+	@Test
+	void timelineIsOneStatementThenCached() {
+		Long employeeId = employees.get(0);
+		jobHistoryService.onEmployeeChanged(changed(employeeId));
+
+		assertThat(statements(() -> {
+			List<JobHistoryEntryDTO> timeline = jobHistoryService.timeline(employeeId);
+			assertThat(timeline).extracting(JobHistoryEntryDTO::getJobId).containsExactly("ST_CLERK", "SA_REP");
+			assertThat(timeline).extracting(JobHistoryEntryDTO::getDepartmentName).containsOnly("Sales");
+		})).isEqualTo(1);
+		assertThat(statements(() -> jobHistoryService.timeline(employeeId))).isZero();
+	}
+
+	@Test
+	void jobChangeThroughTheAppDropsTheTimeline() throws Exception {
+		Long employeeId = employees.get(1);
+		assertThat(jobHistoryService.timeline(employeeId)).hasSize(2);
+
+		Employee employee = employeeRepository.findById(employeeId).orElseThrow();
+		Long departmentId = jdbcTemplate.queryForObject(
+			"SELECT department_id FROM employees WHERE employee_id = ?", Long.class, employeeId);
+		mockMvc.perform(post("/employees/edit/" + employeeId)
+				.param("firstName", employee.getFirstName()).param("lastName", employee.getLastName())
+				.param("email", employee.getEmail()).param("hireDate", employee.getHireDate().toString())
+				.param("salary", "5000").param("department", String.valueOf(departmentId)).param("job", "ST_CLERK"))
+			.andExpect(status().is3xxRedirection());
+		// Stands in for the UPDATE_JOB_HISTORY trigger, which H2 does not have
+		jdbcTemplate.update("INSERT INTO job_history (employee_id, start_date, end_date, job_id, department_id) "
+			+ "VALUES (?, ?, ?, ?, ?)", employeeId, LocalDate.of(2014, 1, 1), LocalDate.of(2014, 12, 31), "SA_REP", departmentId);
+
+		assertThat(jobHistoryService.timeline(employeeId)).hasSize(3);
+	}
+
+	@Test
+	void expiredTimelineIsReloaded() {
+		Long employeeId = employees.get(2);
+		properties.setTtl(Duration.ZERO);
+		jobHistoryService.timeline(employeeId);
+
+		assertThat(statements(() -> jobHistoryService.timeline(employeeId))).isEqualTo(1);
+	}
+
+	@Test
+	void leastRecentlyUsedTimelineIsEvictedAtMaxEntries() {
+		properties.setMaxEntries(2);
+		employees.forEach(id -> jobHistoryService.onEmployeeChanged(changed(id)));
+		jobHistoryService.timeline(employees.get(0));
+		jobHistoryService.timeline(employees.get(1));
+		jobHistoryService.timeline(employees.get(0));
+		jobHistoryService.timeline(employees.get(2));
+
+		// 1 was least recently used when 2 came in
+		assertThat(statements(() -> jobHistoryService.timeline(employees.get(0)))).isZero();
+		assertThat(statements(() -> jobHistoryService.timeline(employees.get(2)))).isZero();
+		assertThat(statements(() -> jobHistoryService.timeline(employees.get(1)))).isEqualTo(1);
+	}
+
+	private long statements(Runnable action) {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+		action.run();
+		return statistics.getPrepareStatementCount();
+	}
+
+	private static EmployeeChangedEvent changed(Long employeeId) {
+		return new EmployeeChangedEvent(EmployeeChangedEvent.ChangeType.UPDATED, employeeId, null, null);
+	}
+
+	private void history(Employee employee, LocalDate start, Job job, Department department) {
+		JobHistory row = new JobHistory();
+		row.setEmployee(employee);
+		row.setStartDate(start);
+		row.setEndDate(start.plusYears(1).minusDays(1));
+		row.setJob(job);
+		row.setDepartment(department);
+		entityManager.persist(row);
+	}
+}
@@ -0,0 +1,190 @@
+package com.example.hr.backend_springboot.snapshot;
+
+import com.example.hr.backend_springboot.TestData;
+import com.example.hr.backend_springboot.config.JobIntervalProperties;
+import com.example.hr.backend_springboot.dto.ConcurrentRoleDTO;
+import com.example.hr.backend_springboot.model.*;
+import com.example.hr.backend_springboot.repository.EmployeeRepository;
+import com.example.hr.backend_springboot.service.AnalyticsQuery;
+import com.example.hr.backend_springboot.service.AnalyticsService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The interval index is read from job_history alone and only rebuilt after a
+// write that can change what it holds.
+@SpringBootTest(properties = "hr.test.database=job-intervals")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class JobIntervalServiceTests {
+
+	private static final LocalDate OVERLAP_DAY = LocalDate.of(2011, 3, 1);
+
+	@Autowired
+	private JobIntervalService service;
+	@Autowired
+	private JobIntervalProperties properties;
+	@Autowired
+	private AnalyticsService analyticsService;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private static Long employeeId;
+
+	@BeforeEach
+	void seed() {
+		if (employeeId != null) {
+			return;
+		}
+		transactionTemplate.executeWithoutResult(tx -> {
+			Region region = TestData.region(entityManager, 1L, "Europe");
+			Location location = TestData.location(entityManager, region, "UK", "London");
+			Department department = TestData.department(entityManager, "Sales", location);
+			Job rep = TestData.job(entityManager, "SA_REP", "Sales Representative");
+			Job manager = TestData.job(entityManager, "SA_MAN", "Sales Manager");
+			Employee employee = TestData.employee(entityManager, "Ann", "Lee", "6000", manager, department, null);
+			history(employee, LocalDate.of(2010, 1, 1), LocalDate.of(2011, 6, 30), rep, department);
+			history(employee, LocalDate.of(2011, 1, 1), LocalDate.of(2012, 12, 31), manager, department);
+			employeeId = employee.getEmployeeId();
+		});
+	}
+
+	@Test
+	void salaryEditKeepsTheIndexAndJobChangeRebuildsIt() throws Exception {
+		JobIntervals intervals = service.current();
+		assertThat(service.concurrentRoles(OVERLAP_DAY)).extracting(ConcurrentRoleDTO::employeeName)
+			.containsExactly("Ann Lee", "Ann Lee");
+
+		edit("7000", currentJob());
+		assertThat(service.current()).isSameAs(intervals);
+
+		edit("7000", otherJob());
+		addHistory(LocalDate.of(2012, 6, 1), LocalDate.of(2013, 6, 30));
+		assertThat(service.current()).isNotSameAs(intervals);
+		assertThat(service.concurrentRoles(LocalDate.of(2012, 7, 1))).hasSize(2);
+	}
+
+	@Test
+	void overlappingJobsMatchesTheSqlBeforeAndAfterAJobChange() throws Exception {
+		List<String> before = sqlOverlaps();
+		assertThat(before).isNotEmpty();
+		// Served by the interval index, not the self-join
+		assertThat(analyticsService.run(AnalyticsQuery.OVERLAPPING_JOBS)).isSameAs(service.overlapRows());
+		assertThat(rows(analyticsService.run(AnalyticsQuery.OVERLAPPING_JOBS))).containsExactlyInAnyOrderElementsOf(before);
+
+		edit("6000", otherJob());
+		addHistory(LocalDate.of(2012, 12, 1), LocalDate.of(2013, 3, 31));
+		List<String> after = sqlOverlaps();
+		assertThat(after).hasSizeGreaterThan(before.size());
+		assertThat(rows(analyticsService.run(AnalyticsQuery.OVERLAPPING_JOBS))).containsExactlyInAnyOrderElementsOf(after);
+	}
+
+	@Test
+	void historyWrittenElsewhereIsPickedUpAfterTheRefreshInterval() {
+		List<Object[]> cached = service.overlapRows();
+		// No event: another client or the trigger outside this app
+		addHistory(LocalDate.of(2010, 6, 1), LocalDate.of(2010, 9, 30));
+		assertThat(service.overlapRows()).isSameAs(cached);
+
+		Duration refreshInterval = properties.getRefreshInterval();
+		properties.setRefreshInterval(Duration.ZERO);
+		try {
+			assertThat(rows(service.overlapRows())).containsExactlyInAnyOrderElementsOf(sqlOverlaps())
+				.hasSizeGreaterThan(cached.size());
+		} finally {
+			properties.setRefreshInterval(refreshInterval);
+		}
+	}
+
+	private List<String> sqlOverlaps() {
+		return rows(jdbcTemplate.query(AnalyticsQuery.OVERLAPPING_JOBS.sql(), (rs, i) -> {
+			Object[] row = new Object[rs.getMetaData().getColumnCount()];
+			for (int c = 0; c < row.length; c++) {
+				row[c] = rs.getObject(c + 1);
+			}
+			return row;
+		}));
+	}
+
+	// Rows as text, with numbers and dates in one notation whichever side produced them
+	private static List<String> rows(List<Object[]> rows) {
+		return rows.stream()
+			.map(r -> Arrays.stream(r).map(JobIntervalServiceTests::text).collect(Collectors.joining("|")))
+			.toList();
+	}
+
+	private static String text(Object value) {
+		if (value instanceof Number n) {
+			return new BigDecimal(n.toString()).stripTrailingZeros().toPlainString();
+		}
+		if (value instanceof Timestamp t) {
+			return t.toLocalDateTime().toLocalDate().toString();
+		}
+		if (value instanceof java.sql.Date d) {
+			return d.toLocalDate().toString();
+		}
+		return String.valueOf(value);
+	}
+
+	// Stands in for the UPDATE_JOB_HISTORY trigger, which H2 does not have
+	private void addHistory(LocalDate start, LocalDate end) {
+		jdbcTemplate.update("INSERT INTO job_history (employee_id, start_date, end_date, job_id, department_id) "
+			+ "SELECT employee_id, ?, ?, job_id, department_id FROM employees WHERE employee_id = ?",
+			start, end, employeeId);
+	}
+
+	private String currentJob() {
+		return jdbcTemplate.queryForObject("SELECT job_id FROM employees WHERE employee_id = ?", String.class, employeeId);
+	}
+
+	private String otherJob() {
+		return "SA_MAN".equals(currentJob()) ? "SA_REP" : "SA_MAN";
+	}
+
+	private void edit(String salary, String jobId) throws Exception {
+		Employee employee = employeeRepository.findById(employeeId).orElseThrow();
+		mockMvc.perform(post("/employees/edit/" + employeeId)
+				.param("firstName", employee.getFirstName()).param("lastName", employee.getLastName())
+				.param("email", employee.getEmail()).param("hireDate", employee.getHireDate().toString())
+				.param("salary", salary).param("department", String.valueOf(employee.getDepartment().getDepartmentId()))
+				.param("job", jobId))
+			.andExpect(status().is3xxRedirection());
+	}
+
+	private void history(Employee employee, LocalDate start, LocalDate end, Job job, Department department) {
+		JobHistory row = new JobHistory();
+		row.setEmployee(employee);
+		row.setStartDate(start);
+		row.setEndDate(end);
+		row.setJob(job);
+		row.setDepartment(department);
+		entityManager.persist(row);
+	}
+}
@@ -0,0 +1,96 @@
+package com.example.hr.backend_springboot.snapshot;
+
+import com.example.hr.backend_springboot.dto.ConcurrentRoleDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobIntervalsTests {
+
+	private static final LocalDate BASE = LocalDate.of(2000, 1, 1);
+
+	@Test
+	void sweepFindsExactlyThePairsOfTheSelfJoin() {
+		HrSnapshot s = randomHistory(new Random(42), 200, 12);
+		List<String> expected = new ArrayList<>();
+		HrSnapshot.JobHistory h = s.jobHistory;
+		// The SQL predicate, pair by pair
+		for (int a = 0; a < h.size; a++) {
+			for (int b = 0; b < h.size; b++) {
+				if (h.employee[a] == h.employee[b] && h.startDate[a] != HrSnapshot.NO_DATE
+						&& h.startDate[a] < h.startDate[b] && h.endDate[a] != HrSnapshot.NO_DATE
+						&& h.endDate[a] >= h.startDate[b]) {
+					expected.add(a + "-" + b);
+				}
+			}
+		}
+		List<String> actual = new ArrayList<>();
+		JobIntervals.of(s).forEachOverlap((emp, first, second) -> {
+			assertThat(h.employee[first]).isEqualTo(emp);
+			actual.add(first + "-" + second);
+		});
+		assertThat(expected).isNotEmpty();
+		assertThat(actual).containsExactlyInAnyOrderElementsOf(expected);
+	}
+
+	@Test
+	void heldOnMatchesAScanOfEveryInterval() {
+		HrSnapshot s = randomHistory(new Random(7), 300, 6);
+		JobIntervals intervals = JobIntervals.of(s);
+		HrSnapshot.JobHistory h = s.jobHistory;
+		int first = Math.toIntExact(BASE.toEpochDay());
+		for (int day = first - 5; day < first + 4000; day += 37) {
+			List<Integer> expected = new ArrayList<>();
+			for (int row = 0; row < h.size; row++) {
+				if (h.endDate[row] != HrSnapshot.NO_DATE && h.startDate[row] <= day && h.endDate[row] >= day) {
+					expected.add(row);
+				}
+			}
+			assertThat(intervals.heldOn(day)).as("day %d", day)
+				.containsExactlyInAnyOrder(expected.stream().mapToInt(Integer::intValue).toArray());
+		}
+	}
+
+	@Test
+	void concurrentRolesListsEmployeesWithTwoAssignmentsThatDay() {
+		HrSnapshot s = HrSnapshot.builder()
+			.job("SA_MAN", "Sales Manager", new BigDecimal("10000"), new BigDecimal("20000"))
+			.job("SA_REP", "Sales Representative", new BigDecimal("6000"), new BigDecimal("12000"))
+			.employee(101, "Bob", "Adams", LocalDate.of(2001, 1, 1), "SA_REP", new BigDecimal("8000"), null, null, null)
+			.employee(102, "Carl", "Brown", LocalDate.of(2001, 1, 1), "SA_REP", new BigDecimal("7000"), null, null, null)
+			.jobHistory(102, LocalDate.of(2001, 1, 1), LocalDate.of(2003, 6, 30), "SA_REP", null)
+			.jobHistory(102, LocalDate.of(2003, 1, 1), LocalDate.of(2004, 12, 31), "SA_MAN", null)
+			.jobHistory(101, LocalDate.of(2001, 1, 1), LocalDate.of(2002, 12, 31), "SA_REP", null)
+			.jobHistory(101, LocalDate.of(2003, 1, 1), LocalDate.of(2004, 12, 31), "SA_MAN", null)
+			.build(1);
+		JobIntervals intervals = JobIntervals.of(s);
+
+		List<ConcurrentRoleDTO> roles = intervals.concurrentRoles(LocalDate.of(2003, 6, 30));
+		assertThat(roles).extracting(ConcurrentRoleDTO::employeeName).containsExactly("Carl Brown", "Carl Brown");
+		assertThat(roles).extracting(ConcurrentRoleDTO::jobId).containsExactly("SA_REP", "SA_MAN");
+		assertThat(intervals.concurrentRoles(LocalDate.of(2003, 7, 1))).isEmpty();
+		assertThat(intervals.concurrentRoles(LocalDate.of(2002, 12, 31))).isEmpty();
+	}
+
+	private static HrSnapshot randomHistory(Random random, int employees, int maxRows) {
+		HrSnapshot.Builder b = HrSnapshot.builder()
+			.job("SA_REP", "Sales Representative", new BigDecimal("6000"), new BigDecimal("12000"));
+		for (int e = 0; e < employees; e++) {
+			b.employee(1000 + e, "First" + e, "Last" + e, BASE, "SA_REP", new BigDecimal("5000"), null, null, null);
+			int rows = random.nextInt(maxRows);
+			for (int r = 0; r < rows; r++) {
+				// Coarse start dates so equal starts are common; some assignments have no end
+				LocalDate start = BASE.plusDays(30L * random.nextInt(100));
+				LocalDate end = random.nextInt(10) == 0 ? null : start.plusDays(random.nextInt(400));
+				b.jobHistory(1000 + e, start, end, "SA_REP", null);
+			}
+		}
+		return b.build(1);
+	}
+}
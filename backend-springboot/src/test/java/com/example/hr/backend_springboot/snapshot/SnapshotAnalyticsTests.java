@@ -0,0 +1,411 @@
+package com.example.hr.backend_springboot.snapshot;
+
+import com.example.hr.backend_springboot.TestData;
+import com.example.hr.backend_springboot.model.*;
+import com.example.hr.backend_springboot.service.AnalyticsQuery;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "hr.test.database=snapshot-analytics")
+@ActiveProfiles("h2")
+class SnapshotAnalyticsTests {
+
+	private static final String NOW = "2026-10-17 12:00:00";
+
+	// H2 equivalents, same columns, filters and order, for the queries whose
+	// Oracle syntax it cannot parse: CONNECT BY, CTEs with HAVING, ROLLUP and PIVOT
+	private static final Map<AnalyticsQuery, String> H2_SQL = Map.of(
+		AnalyticsQuery.EMPLOYEE_HIERARCHY,
+		"WITH RECURSIVE tree (employee_id, hierarchy_level, employee_name, job_title, department_name, salary, sort_path) AS (\n" +
+			"    SELECT e.employee_id, 1, e.first_name || ' ' || e.last_name, j.job_title, d.department_name, e.salary,\n" +
+			"        CAST(e.last_name || CHR(1) || e.first_name AS VARCHAR(4000))\n" +
+			"    FROM employees e\n" +
+			"    JOIN jobs j ON e.job_id = j.job_id\n" +
+			"    JOIN departments d ON e.department_id = d.department_id\n" +
+			"    WHERE e.manager_id IS NULL\n" +
+			"    UNION ALL\n" +
+			"    SELECT e.employee_id, t.hierarchy_level + 1,\n" +
+			"        LPAD(' ', 2 * t.hierarchy_level) || e.first_name || ' ' || e.last_name,\n" +
+			"        j.job_title, d.department_name, e.salary,\n" +
+			"        t.sort_path || CHR(2) || e.last_name || CHR(1) || e.first_name\n" +
+			"    FROM tree t\n" +
+			"    JOIN employees e ON e.manager_id = t.employee_id\n" +
+			"    JOIN jobs j ON e.job_id = j.job_id\n" +
+			"    JOIN departments d ON e.department_id = d.department_id\n" +
+			")\n" +
+			"SELECT hierarchy_level, employee_name, job_title, department_name, salary\n" +
+			"FROM tree\n" +
+			"ORDER BY sort_path",
+		AnalyticsQuery.DEPARTMENT_STATS,
+		"SELECT department_name, employee_count, ROUND(avg_salary, 2) AS avg_salary,\n" +
+			"    ROUND(median_salary, 2) AS median_salary, min_salary, max_salary, ROUND(stddev_salary, 2) AS stddev_salary\n" +
+			"FROM (\n" +
+			"    SELECT d.department_name, COUNT(e.employee_id) AS employee_count, AVG(e.salary) AS avg_salary,\n" +
+			"        MEDIAN(e.salary) AS median_salary, MIN(e.salary) AS min_salary, MAX(e.salary) AS max_salary,\n" +
+			"        STDDEV(e.salary) AS stddev_salary\n" +
+			"    FROM employees e\n" +
+			"    JOIN departments d ON e.department_id = d.department_id\n" +
+			"    GROUP BY d.department_name\n" +
+			"    HAVING COUNT(e.employee_id) >= 5\n" +
+			") DeptStats\n" +
+			"ORDER BY avg_salary DESC",
+		AnalyticsQuery.JOB_MOBILITY,
+		"SELECT employee_name, role_count, ROUND(avg_months_per_role, 2) AS avg_months_per_role,\n" +
+			"    LISTAGG(j.job_title, ', ') WITHIN GROUP (ORDER BY jh.start_date) AS job_titles\n" +
+			"FROM (\n" +
+			"    SELECT e.employee_id, e.first_name || ' ' || e.last_name AS employee_name, COUNT(jh.job_id) AS role_count,\n" +
+			"        AVG(MONTHS_BETWEEN(jh.end_date, jh.start_date)) AS avg_months_per_role\n" +
+			"    FROM employees e\n" +
+			"    JOIN job_history jh ON e.employee_id = jh.employee_id\n" +
+			"    GROUP BY e.employee_id, e.first_name, e.last_name\n" +
+			"    HAVING COUNT(jh.job_id) > 1\n" +
+			") jt\n" +
+			"JOIN job_history jh ON jt.employee_id = jh.employee_id\n" +
+			"JOIN jobs j ON jh.job_id = j.job_id\n" +
+			"GROUP BY employee_name, role_count, avg_months_per_role\n" +
+			"ORDER BY role_count DESC, avg_months_per_role",
+		AnalyticsQuery.REGION_COUNTRY,
+		"SELECT r.region_name, c.country_name, COUNT(e.employee_id), ROUND(SUM(e.salary), 2), ROUND(AVG(e.salary), 2)\n" +
+			"FROM employees e\n" +
+			"JOIN departments d ON e.department_id = d.department_id\n" +
+			"JOIN locations l ON d.location_id = l.location_id\n" +
+			"JOIN countries c ON l.country_id = c.country_id\n" +
+			"JOIN regions r ON c.region_id = r.region_id\n" +
+			"GROUP BY r.region_name, c.country_name\n" +
+			"UNION ALL\n" +
+			"SELECT r.region_name, NULL, COUNT(e.employee_id), ROUND(SUM(e.salary), 2), ROUND(AVG(e.salary), 2)\n" +
+			"FROM employees e\n" +
+			"JOIN departments d ON e.department_id = d.department_id\n" +
+			"JOIN locations l ON d.location_id = l.location_id\n" +
+			"JOIN countries c ON l.country_id = c.country_id\n" +
+			"JOIN regions r ON c.region_id = r.region_id\n" +
+			"GROUP BY r.region_name\n" +
+			"UNION ALL\n" +
+			"SELECT NULL, NULL, COUNT(e.employee_id), ROUND(SUM(e.salary), 2), ROUND(AVG(e.salary), 2)\n" +
+			"FROM employees e\n" +
+			"JOIN departments d ON e.department_id = d.department_id\n" +
+			"JOIN locations l ON d.location_id = l.location_id\n" +
+			"JOIN countries c ON l.country_id = c.country_id\n" +
+			"JOIN regions r ON c.region_id = r.region_id\n" +
+			"ORDER BY 1 NULLS LAST, 2 NULLS LAST",
+		AnalyticsQuery.SALARY_BUDGET,
+		"SELECT region_name,\n" +
+			"    SUM(CASE WHEN department_name = 'Executive' THEN total_salary END) AS Executive,\n" +
+			"    SUM(CASE WHEN department_name = 'Sales' THEN total_salary END) AS Sales,\n" +
+			"    SUM(CASE WHEN department_name = 'Finance' THEN total_salary END) AS Finance\n" +
+			"FROM (\n" +
+			"    SELECT r.region_name, d.department_name, SUM(e.salary) AS total_salary\n" +
+			"    FROM employees e\n" +
+			"    JOIN departments d ON e.department_id = d.department_id\n" +
+			"    JOIN locations l ON d.location_id = l.location_id\n" +
+			"    JOIN countries c ON l.country_id = c.country_id\n" +
+			"    JOIN regions r ON c.region_id = r.region_id\n" +
+			"    GROUP BY r.region_name, d.department_name\n" +
+			") budget\n" +
+			"GROUP BY region_name\n" +
+			"ORDER BY region_name");
+
+	private final SnapshotAnalytics analytics =
+		new SnapshotAnalytics(Clock.fixed(Instant.parse("2026-10-17T12:00:00Z"), ZoneOffset.UTC));
+
+	@Autowired
+	private HrSnapshotLoader loader;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private static boolean seeded;
+
+	private HrSnapshot snapshot;
+
+	@BeforeEach
+	void buildSnapshot() {
+		snapshot = HrSnapshot.builder()
+			.region(1, "Europe")
+			.region(2, "Americas")
+			.country("UK", "United Kingdom", 1L)
+			.country("US", "United States of America", 2L)
+			.location(100, "London", null, "UK")
+			.location(200, "Seattle", "Washington", "US")
+			.department(10, "Sales", 100L, 100L)
+			.department(20, "Executive", 1L, 200L)
+			.job("AD_PRES", "President", new BigDecimal("20000"), new BigDecimal("40000"))
+			.job("SA_MAN", "Sales Manager", new BigDecimal("10000"), new BigDecimal("20000"))
+			.job("SA_REP", "Sales Representative", new BigDecimal("6000"), new BigDecimal("12000"))
+			.employee(1, "Steven", "King", LocalDate.of(2003, 6, 17), "AD_PRES", new BigDecimal("24000"), null, null, 20L)
+			.employee(100, "Anna", "Smith", LocalDate.of(2005, 1, 30), "SA_MAN", new BigDecimal("14000"), new BigDecimal("0.4"), 1L, 10L)
+			.employee(101, "Bob", "Adams", LocalDate.of(2001, 1, 1), "SA_REP", new BigDecimal("8000"), new BigDecimal("0.3"), 100L, 10L)
+			.employee(102, "Carl", "Brown", LocalDate.of(2010, 3, 1), "SA_REP", new BigDecimal("7000"), new BigDecimal("0.1"), 100L, 10L)
+			.employee(103, "Dana", "Clark", LocalDate.of(2012, 7, 1), "SA_REP", new BigDecimal("9000"), null, 100L, 10L)
+			.employee(104, "Eve", "Davis", LocalDate.of(2024, 2, 1), "SA_REP", new BigDecimal("6000"), new BigDecimal("0.2"), 100L, 10L)
+			.jobHistory(101, LocalDate.of(2001, 1, 1), LocalDate.of(2002, 12, 31), "SA_REP", 10L)
+			.jobHistory(101, LocalDate.of(2003, 1, 1), LocalDate.of(2004, 12, 31), "SA_MAN", 10L)
+			.build(7);
+	}
+
+	// Every sort key is distinct so both sides must return the same order
+	@BeforeEach
+	void seed() {
+		if (seeded) {
+			return;
+		}
+		transactionTemplate.executeWithoutResult(tx -> {
+			Region europe = TestData.region(entityManager, 1L, "Europe");
+			Region americas = TestData.region(entityManager, 2L, "Americas");
+			Region asia = TestData.region(entityManager, 3L, "Asia");
+			Department executive = TestData.department(entityManager, "Executive", TestData.location(entityManager, americas, "US", "Seattle"));
+			Department finance = TestData.department(entityManager, "Finance", TestData.location(entityManager, americas, "CA", "Toronto"));
+			Department sales = TestData.department(entityManager, "Sales", TestData.location(entityManager, europe, "UK", "London"));
+			Department it = TestData.department(entityManager, "IT", TestData.location(entityManager, asia, "JP", "Tokyo"));
+
+			Job president = job("AD_PRES", "President", "40000");
+			Job salesManager = job("SA_MAN", "Sales Manager", "20000");
+			Job salesRep = job("SA_REP", "Sales Representative", "12000");
+			Job financeManager = job("FI_MGR", "Finance Manager", "16000");
+			Job accountant = job("FI_ACCOUNT", "Accountant", "9000");
+			Job programmer = job("IT_PROG", "Programmer", "10000");
+			Job clerk = job("ST_CLERK", "Stock Clerk", "5000");
+
+			Employee king = employee("Steven", "King", president, "24000", null, executive, null, "2003-06-17");
+			Employee russell = employee("John", "Russell", salesManager, "14000", "0.4", sales, king, "2004-10-01");
+			Employee tucker = employee("Peter", "Tucker", salesRep, "10000", "0.3", sales, russell, "2005-01-30");
+			employee("Eleni", "Bernstein", salesRep, "9500", "0.25", sales, russell, "2005-03-24");
+			Employee hall = employee("Peter", "Hall", salesRep, "9000", "0.25", sales, russell, "2005-08-20");
+			Employee olsen = employee("Christopher", "Olsen", salesRep, "8000", "0.2", sales, russell, "2006-03-30");
+			employee("Nanette", "Cambrault", salesRep, "7500", "0.2", sales, russell, "2024-02-01");
+			employee("Kimberely", "Grant", salesRep, "7000", "0.15", null, russell, "2007-05-24");
+			Employee greenberg = employee("Nancy", "Greenberg", financeManager, "12008", null, finance, king, "2002-08-17");
+			Employee faviet = employee("Daniel", "Faviet", accountant, "8600", null, finance, greenberg, "2002-08-16");
+			Employee chen = employee("John", "Chen", clerk, "3200", null, finance, greenberg, "2005-09-28");
+			Employee hunold = employee("Alexander", "Hunold", programmer, "9100", null, it, king, "2006-01-03");
+			Employee ernst = employee("Bruce", "Ernst", programmer, "6000", null, it, hunold, "2023-05-21");
+
+			// Three demotions from Accountant, two from Sales Manager and one promotion,
+			// with one overlap
+			history(tucker, "2001-01-13", "2002-06-30", accountant, sales);
+			history(tucker, "2002-03-01", "2004-12-31", clerk, sales);
+			history(chen, "2010-01-01", "2011-12-31", accountant, finance);
+			history(chen, "2012-01-01", "2013-12-31", clerk, finance);
+			history(hall, "2002-01-01", "2003-12-31", accountant, sales);
+			history(hall, "2004-01-01", "2005-08-19", clerk, sales);
+			history(olsen, "2003-01-01", "2004-12-31", salesManager, sales);
+			history(olsen, "2005-01-01", "2006-03-29", salesRep, sales);
+			history(faviet, "2000-01-01", "2001-12-31", salesManager, sales);
+			history(faviet, "2002-01-01", "2002-08-15", salesRep, sales);
+			history(ernst, "2019-01-01", "2020-12-31", clerk, it);
+			history(ernst, "2021-01-01", "2023-05-20", programmer, it);
+			history(greenberg, "2000-01-01", "2001-12-31", salesRep, sales);
+		});
+		jdbcTemplate.execute("CREATE ALIAS MONTHS_BETWEEN FOR \"" + OracleFunctions.class.getName() + ".monthsBetween\"");
+		seeded = true;
+	}
+
+	@Test
+	void everyQueryMatchesItsSqlOnTheSameRows() {
+		HrSnapshot loaded = loader.load(1);
+		for (AnalyticsQuery query : AnalyticsQuery.values()) {
+			String sql = H2_SQL.getOrDefault(query, h2(query.sql()));
+			List<String> expected = rows(jdbcTemplate.query(sql, (rs, i) -> {
+				Object[] row = new Object[rs.getMetaData().getColumnCount()];
+				for (int c = 0; c < row.length; c++) {
+					row[c] = rs.getObject(c + 1);
+				}
+				return row;
+			}));
+			List<String> actual = rows(analytics.run(query, loaded));
+
+			assertThat(expected).as(query.getSlug()).isNotEmpty();
+			if (sql.contains("ORDER BY")) {
+				assertThat(actual).as(query.getSlug()).containsExactlyElementsOf(expected);
+			} else {
+				assertThat(actual).as(query.getSlug()).containsExactlyInAnyOrderElementsOf(expected);
+			}
+		}
+	}
+
+	@Test
+	void topEarnersKeepsThreePerDepartmentOrderedByTotal() {
+		List<Object[]> rows = analytics.run(AnalyticsQuery.TOP_EARNERS, snapshot);
+
+		assertThat(rows).extracting(r -> r[1])
+			.containsExactly("Steven King", "Anna Smith", "Bob Adams", "Dana Clark");
+		assertThat((BigDecimal) rows.get(1)[4]).isEqualByComparingTo("19600");
+		assertThat((BigDecimal) rows.get(3)[3]).isEqualByComparingTo("0");
+	}
+
+	@Test
+	void departmentStatsMatchesOracleAggregates() {
+		List<Object[]> rows = analytics.run(AnalyticsQuery.DEPARTMENT_STATS, snapshot);
+
+		assertThat(rows).hasSize(1);
+		Object[] sales = rows.get(0);
+		assertThat(sales[0]).isEqualTo("Sales");
+		assertThat((BigDecimal) sales[1]).isEqualByComparingTo("5");
+		assertThat((BigDecimal) sales[2]).isEqualByComparingTo("8800");
+		assertThat((BigDecimal) sales[3]).isEqualByComparingTo("8000");
+		assertThat((BigDecimal) sales[4]).isEqualByComparingTo("6000");
+		assertThat((BigDecimal) sales[5]).isEqualByComparingTo("14000");
+		assertThat((BigDecimal) sales[6]).isEqualByComparingTo("3114.48");
+	}
+
+	@Test
+	void hierarchyWalksDepthFirstWithSiblingsByName() {
+		List<Object[]> rows = analytics.run(AnalyticsQuery.EMPLOYEE_HIERARCHY, snapshot);
+
+		assertThat(rows).extracting(r -> r[1]).containsExactly(
+			"Steven King", "  Anna Smith", "    Bob Adams", "    Carl Brown", "    Dana Clark", "    Eve Davis");
+		assertThat((BigDecimal) rows.get(2)[0]).isEqualByComparingTo("3");
+	}
+
+	@Test
+	void regionCountryIncludesRollupSubtotals() {
+		List<Object[]> rows = analytics.run(AnalyticsQuery.REGION_COUNTRY, snapshot);
+
+		assertThat(rows).extracting(r -> r[0] + "/" + r[1]).containsExactly(
+			"Americas/United States of America", "Americas/null",
+			"Europe/United Kingdom", "Europe/null", "null/null");
+		assertThat((BigDecimal) rows.get(4)[2]).isEqualByComparingTo("6");
+		assertThat((BigDecimal) rows.get(4)[3]).isEqualByComparingTo("68000");
+	}
+
+	@Test
+	void historyQueriesFollowStartDateOrder() {
+		List<Object[]> mobility = analytics.run(AnalyticsQuery.JOB_MOBILITY, snapshot);
+		assertThat(mobility).hasSize(1);
+		assertThat(mobility.get(0)[0]).isEqualTo("Bob Adams");
+		assertThat((BigDecimal) mobility.get(0)[2]).isEqualByComparingTo("23.97");
+		assertThat(mobility.get(0)[3]).isEqualTo("Sales Representative, Sales Manager");
+
+		List<Object[]> promotions = analytics.run(AnalyticsQuery.PROMOTION_PATTERNS, snapshot);
+		assertThat(promotions).hasSize(1);
+		assertThat((BigDecimal) promotions.get(0)[5]).isEqualByComparingTo("66.67");
+
+		List<Object[]> transitions = analytics.run(AnalyticsQuery.JOB_TRANSITIONS, snapshot);
+		assertThat(transitions).hasSize(1);
+		assertThat(transitions.get(0)).containsExactly("Sales Representative", "Sales Manager", BigDecimal.ONE);
+	}
+
+	@Test
+	void percentRankAndTenureUseTheSnapshotClock() {
+		List<Object[]> percentiles = analytics.run(AnalyticsQuery.SALARY_PERCENTILES, snapshot);
+		assertThat(percentiles.get(1)[1]).isEqualTo("Anna Smith");
+		assertThat((BigDecimal) percentiles.get(1)[3]).isEqualByComparingTo("100");
+		assertThat((BigDecimal) percentiles.get(5)[3]).isEqualByComparingTo("0");
+
+		// Sole holders of a job sit at its median; Eve Davis is under the SA_REP median of 7500
+		// but was hired less than five years ago
+		List<Object[]> tenure = analytics.run(AnalyticsQuery.LONG_TENURE_LOW_SALARY, snapshot);
+		assertThat(tenure).extracting(r -> r[1]).containsExactly("Steven King", "Anna Smith", "Carl Brown");
+		assertThat((BigDecimal) tenure.get(2)[4]).isEqualByComparingTo("7500");
+	}
+
+	@Test
+	void managerWorkloadCountsDirectReports() {
+		List<Object[]> rows = analytics.run(AnalyticsQuery.MANAGER_WORKLOAD, snapshot);
+
+		assertThat(rows).extracting(r -> r[0]).containsExactly("Anna Smith", "Steven King");
+		assertThat((BigDecimal) rows.get(0)[2]).isEqualByComparingTo("4");
+		assertThat((BigDecimal) rows.get(0)[3]).isEqualByComparingTo("30000");
+	}
+
+	// The repository SQL with the clock fixed, and WITH RECURSIVE for the CTE that
+	// declares a column list (Oracle requires one on recursive subquery factoring)
+	private static String h2(String sql) {
+		return sql.replace("SYSDATE", "TIMESTAMP '" + NOW + "'")
+			.replaceFirst("^WITH (\\w+) \\(", "WITH RECURSIVE $1 (");
+	}
+
+	// Rows as text, with numbers and dates in one notation whichever side produced them
+	private static List<String> rows(List<Object[]> rows) {
+		return rows.stream()
+			.map(r -> Arrays.stream(r).map(SnapshotAnalyticsTests::text).collect(Collectors.joining("|")))
+			.toList();
+	}
+
+	private static String text(Object value) {
+		if (value instanceof Number n) {
+			return new BigDecimal(n.toString()).stripTrailingZeros().toPlainString();
+		}
+		if (value instanceof Timestamp t) {
+			LocalDateTime time = t.toLocalDateTime();
+			return time.toLocalTime().equals(LocalTime.MIDNIGHT) ? time.toLocalDate().toString() : time.toString();
+		}
+		if (value instanceof java.sql.Date d) {
+			return d.toLocalDate().toString();
+		}
+		return String.valueOf(value);
+	}
+
+	private Job job(String id, String title, String maxSalary) {
+		Job job = TestData.job(entityManager, id, title);
+		job.setMaxSalary(new BigDecimal(maxSalary));
+		return job;
+	}
+
+	private Employee employee(String first, String last, Job job, String salary, String commission,
+							  Department department, Employee manager, String hireDate) {
+		Employee employee = TestData.employee(entityManager, first, last, salary, job, department, manager);
+		employee.setCommissionPct(commission == null ? null : new BigDecimal(commission));
+		employee.setHireDate(LocalDate.parse(hireDate));
+		return employee;
+	}
+
+	private void history(Employee employee, String start, String end, Job job, Department department) {
+		JobHistory row = new JobHistory();
+		row.setEmployee(employee);
+		row.setStartDate(LocalDate.parse(start));
+		row.setEndDate(LocalDate.parse(end));
+		row.setJob(job);
+		row.setDepartment(department);
+		entityManager.persist(row);
+	}
+
+	// Public so H2 can call it through the alias
+	public static final class OracleFunctions {
+
+		private OracleFunctions() {
+		}
+
+		// Oracle MONTHS_BETWEEN, registered as an H2 alias: whole months when the days of
+		// month match or both are month ends, otherwise the day and time difference over 31 days
+		public static BigDecimal monthsBetween(Timestamp date1, Timestamp date2) {
+			LocalDateTime a = date1.toLocalDateTime();
+			LocalDateTime b = date2.toLocalDateTime();
+			long months = (a.getYear() - b.getYear()) * 12L + a.getMonthValue() - b.getMonthValue();
+			boolean monthEnds = a.toLocalDate().getDayOfMonth() == a.toLocalDate().lengthOfMonth()
+				&& b.toLocalDate().getDayOfMonth() == b.toLocalDate().lengthOfMonth();
+			if (a.getDayOfMonth() == b.getDayOfMonth() || monthEnds) {
+				return BigDecimal.valueOf(months);
+			}
+			long seconds = (a.getDayOfMonth() - b.getDayOfMonth()) * 86_400L
+				+ a.toLocalTime().toSecondOfDay() - b.toLocalTime().toSecondOfDay();
+			return BigDecimal.valueOf(months)
+				.add(BigDecimal.valueOf(seconds).divide(BigDecimal.valueOf(31 * 86_400L), MathContext.DECIMAL128));
+		}
+	}
+}
@@ -0,0 +1,164 @@
+package com.example.hr.backend_springboot.stats;
+
+import com.example.hr.backend_springboot.TestData;
+import com.example.hr.backend_springboot.model.*;
+import com.example.hr.backend_springboot.repository.EmployeeRepository;
+import com.example.hr.backend_springboot.service.AnalyticsQuery;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The incrementally maintained store must return exactly what the
+// DEPARTMENT_STATS SQL returns, before and after writes through the app.
+@SpringBootTest(properties = "hr.test.database=deptstats")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class DepartmentStatsStoreTests {
+
+	@Autowired
+	private DepartmentStatsStore store;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private static Long sales;
+	private static Long shipping;
+
+	@BeforeEach
+	void seed() {
+		if (sales != null) {
+			return;
+		}
+		transactionTemplate.executeWithoutResult(tx -> {
+			Region region = TestData.region(entityManager, 1L, "Europe");
+			Location location = TestData.location(entityManager, region, "UK", "London");
+			Job job = TestData.job(entityManager, "SA_REP", "Sales Representative");
+			// Six rows: even-sized median and cent amounts
+			sales = salaries(department("Sales", location), job,
+				"7000", "8400.50", "6100", "9500.25", "11000", "6100").getDepartmentId();
+			// Five rows with a repeated salary
+			shipping = salaries(department("Shipping", location), job,
+				"2500", "3100.10", "2500", "4200", "3600").getDepartmentId();
+			// Nine rows: odd-sized median
+			salaries(department("IT", location), job,
+				"4800", "4200", "6000", "9000", "4800", "5100.99", "7300", "4800", "6900");
+			// Below the five-employee threshold
+			salaries(department("Marketing", location), job, "13000", "6000", "9000");
+		});
+	}
+
+	@Test
+	void storeMatchesTheSqlResult() {
+		assertMatchesSql();
+	}
+
+	@Test
+	void writesThroughTheAppKeepTheStoreExact() throws Exception {
+		assertMatchesSql();
+
+		// New employee pushes Marketing over the threshold
+		mockMvc.perform(post("/employees/add")
+				.param("firstName", "Pat").param("lastName", "Fay").param("email", "pat.fay@example.com")
+				.param("hireDate", "2021-03-04").param("salary", "6000")
+				.param("department", String.valueOf(departmentId("Marketing"))).param("job", "SA_REP"))
+			.andExpect(status().is3xxRedirection());
+		mockMvc.perform(post("/employees/add")
+				.param("firstName", "Sam").param("lastName", "Lee").param("email", "sam.lee@example.com")
+				.param("hireDate", "2021-03-04").param("salary", "7777.77")
+				.param("department", String.valueOf(departmentId("Marketing"))).param("job", "SA_REP"))
+			.andExpect(status().is3xxRedirection());
+		assertMatchesSql();
+
+		// Raise and move one employee from Sales to Shipping
+		Employee moved = employeeRepository.findById(anyEmployeeIn(sales)).orElseThrow();
+		mockMvc.perform(post("/employees/edit/" + moved.getEmployeeId())
+				.param("firstName", moved.getFirstName()).param("lastName", moved.getLastName())
+				.param("email", moved.getEmail()).param("hireDate", moved.getHireDate().toString())
+				.param("salary", "12345.67").param("department", String.valueOf(shipping)).param("job", "SA_REP"))
+			.andExpect(status().is3xxRedirection());
+		assertMatchesSql();
+
+		// Delete drops Sales below the threshold
+		mockMvc.perform(get("/employees/delete/" + anyEmployeeIn(sales))).andExpect(status().is3xxRedirection());
+		assertMatchesSql();
+		assertThat(store.rows()).extracting(r -> r[0]).doesNotContain("Sales");
+	}
+
+	private void assertMatchesSql() {
+		List<Object[]> expected = departmentStatsSql();
+		List<Object[]> actual = store.rows();
+		assertThat(expected).hasSizeGreaterThanOrEqualTo(2);
+		assertThat(actual).hasSameSizeAs(expected);
+		for (int i = 0; i < expected.size(); i++) {
+			assertThat(actual.get(i)[0]).isEqualTo(expected.get(i)[0]);
+			for (int c = 1; c < expected.get(i).length; c++) {
+				BigDecimal want = new BigDecimal(expected.get(i)[c].toString());
+				assertThat((BigDecimal) actual.get(i)[c])
+					.as("%s column %d", expected.get(i)[0], c)
+					.isEqualByComparingTo(want);
+			}
+		}
+	}
+
+	// The DEPARTMENT_STATS query with its CTE inlined as a derived table: H2 rejects the
+	// HAVING clause inside the WITH block, the arithmetic is unchanged.
+	private List<Object[]> departmentStatsSql() {
+		String sql = AnalyticsQuery.DEPARTMENT_STATS.sql();
+		int open = sql.indexOf('(');
+		int close = sql.indexOf("\n)\n");
+		String inner = sql.substring(open + 1, close);
+		String outer = sql.substring(close + 3).replace("FROM DeptStats", "FROM (" + inner + ") DeptStats");
+		return jdbcTemplate.query(outer, (rs, i) -> {
+			Object[] row = new Object[7];
+			for (int c = 0; c < row.length; c++) {
+				row[c] = rs.getObject(c + 1);
+			}
+			return row;
+		});
+	}
+
+	private Department department(String name, Location location) {
+		return TestData.department(entityManager, name, location);
+	}
+
+	private Department salaries(Department department, Job job, String... salaries) {
+		for (int i = 0; i < salaries.length; i++) {
+			TestData.employee(entityManager, "E" + i, department.getDepartmentName(), salaries[i], job, department, null);
+		}
+		return department;
+	}
+
+	private Long departmentId(String name) {
+		return transactionTemplate.execute(tx -> entityManager
+			.createQuery("SELECT d.departmentId FROM Department d WHERE d.departmentName = :name", Long.class)
+			.setParameter("name", name).getSingleResult());
+	}
+
+	private Long anyEmployeeIn(Long departmentId) {
+		return transactionTemplate.execute(tx -> entityManager
+			.createQuery("SELECT MIN(e.employeeId) FROM Employee e WHERE e.department.departmentId = :id", Long.class)
+			.setParameter("id", departmentId).getSingleResult());
+	}
+}
@@ -0,0 +1,106 @@
+package com.example.hr.backend_springboot.stats;
+
+import com.example.hr.backend_springboot.dto.EmployeeSalaryPercentileDTO;
+import com.example.hr.backend_springboot.snapshot.SnapshotAnalytics;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class SalarySketchTests {
+
+	private static final double ACCURACY = 0.01;
+
+	@Test
+	void percentRankStaysWithinTheDocumentedErrorOfTheExactResult() {
+		Random random = new Random(42);
+		for (int size : new int[] { 5, 37, 400, 5000 }) {
+			double[] salaries = salaries(random, size);
+			SalarySketch sketch = sketchOf(salaries);
+			for (EmployeeSalaryPercentileDTO exact : exactPercentiles(salaries)) {
+				double salary = exact.getSalary().doubleValue();
+				double estimate = sketch.percentRank(salary);
+				double error = sketch.percentRankError(salary);
+				// Never above the exact rank, and low by at most the documented bound (+ SQL rounding)
+				assertThat(estimate).isLessThanOrEqualTo(exact.getSalaryPercentile().doubleValue() + 0.005);
+				assertThat(exact.getSalaryPercentile().doubleValue() - estimate).isLessThanOrEqualTo(error + 0.005);
+			}
+		}
+	}
+
+	@Test
+	void quantilesAreWithinTheRelativeAccuracy() {
+		Random random = new Random(7);
+		double[] salaries = salaries(random, 20_000);
+		SalarySketch sketch = sketchOf(salaries);
+		double[] sorted = salaries.clone();
+		Arrays.sort(sorted);
+		for (double q : new double[] { 0, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 0.999, 1 }) {
+			double exact = sorted[(int) Math.floor(q * (sorted.length - 1))];
+			assertThat(sketch.quantile(q)).isCloseTo(exact, within(exact * ACCURACY));
+		}
+	}
+
+	@Test
+	void removeUndoesAddAndMergeMatchesTheUnion() {
+		Random random = new Random(3);
+		double[] first = salaries(random, 300);
+		double[] second = salaries(random, 500);
+		SalarySketch merged = sketchOf(first);
+		merged.merge(sketchOf(second));
+		double[] both = Arrays.copyOf(first, first.length + second.length);
+		System.arraycopy(second, 0, both, first.length, second.length);
+		SalarySketch union = sketchOf(both);
+
+		for (double value : second) {
+			assertThat(union.remove(value)).isTrue();
+		}
+		SalarySketch onlyFirst = sketchOf(first);
+		for (double q = 0; q <= 1; q += 0.05) {
+			assertThat(merged.quantile(q)).isEqualTo(sketchOf(both).quantile(q));
+			assertThat(union.quantile(q)).isEqualTo(onlyFirst.quantile(q));
+		}
+		assertThat(union.count()).isEqualTo(first.length);
+		assertThat(union.remove(1_000_000_000)).isFalse();
+	}
+
+	// Lognormal salaries rounded to the nearest 100, so ties are common as in the HR data
+	private static double[] salaries(Random random, int size) {
+		double[] salaries = new double[size];
+		for (int i = 0; i < size; i++) {
+			salaries[i] = Math.max(100, Math.round(Math.exp(8.8 + 0.5 * random.nextGaussian()) / 100) * 100.0);
+		}
+		return salaries;
+	}
+
+	private static SalarySketch sketchOf(double[] salaries) {
+		SalarySketch sketch = new SalarySketch(ACCURACY);
+		for (double salary : salaries) {
+			sketch.add(salary);
+		}
+		return sketch;
+	}
+
+	// What the SALARY_PERCENTILES query returns for one department:
+	// ROUND(PERCENT_RANK() OVER (ORDER BY salary) * 100, 2)
+	private static List<EmployeeSalaryPercentileDTO> exactPercentiles(double[] salaries) {
+		double[] sorted = salaries.clone();
+		Arrays.sort(sorted);
+		List<EmployeeSalaryPercentileDTO> rows = new ArrayList<>(sorted.length);
+		int rank = 1;
+		for (int i = 0; i < sorted.length; i++) {
+			if (i > 0 && sorted[i] != sorted[i - 1]) {
+				rank = i + 1;
+			}
+			rows.add(new EmployeeSalaryPercentileDTO("Dept", "Employee " + i, BigDecimal.valueOf(sorted[i]),
+				SnapshotAnalytics.percentRank(rank, sorted.length)));
+		}
+		return rows;
+	}
+}
@@ -0,0 +1,151 @@
+package com.example.hr.backend_springboot.transitions;
+
+import com.example.hr.backend_springboot.TestData;
+import com.example.hr.backend_springboot.dto.NextRoleDTO;
+import com.example.hr.backend_springboot.model.*;
+import com.example.hr.backend_springboot.repository.EmployeeRepository;
+import com.example.hr.backend_springboot.service.AnalyticsQuery;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// The matrix must count exactly what the JOB_TRANSITIONS SQL counts, and keep
+// doing so after an employee's job changes through the app.
+@SpringBootTest(properties = "hr.test.database=transitions")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class JobTransitionServiceTests {
+
+	@Autowired
+	private JobTransitionService service;
+	@Autowired
+	private EmployeeRepository employeeRepository;
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+	@Autowired
+	private MockMvc mockMvc;
+	@Autowired
+	private EntityManager entityManager;
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	private static Long mover;
+
+	@BeforeEach
+	void seed() {
+		if (mover != null) {
+			return;
+		}
+		transactionTemplate.executeWithoutResult(tx -> {
+			Region region = TestData.region(entityManager, 1L, "Europe");
+			Location location = TestData.location(entityManager, region, "UK", "London");
+			Department department = TestData.department(entityManager, "Sales", location);
+			Job clerk = TestData.job(entityManager, "ST_CLERK", "Stock Clerk");
+			Job rep = TestData.job(entityManager, "SA_REP", "Sales Representative");
+			Job manager = TestData.job(entityManager, "SA_MAN", "Sales Manager");
+			Job accountant = TestData.job(entityManager, "AC_ACCOUNT", "Public Accountant");
+			// ST_CLERK -> SA_REP three times, ST_CLERK -> AC_ACCOUNT once, SA_REP -> SA_MAN twice
+			history(department, "A", clerk, rep, manager);
+			history(department, "B", clerk, rep, manager);
+			history(department, "C", clerk, rep);
+			history(department, "D", clerk, accountant);
+			mover = history(department, "E", rep).getEmployeeId();
+		});
+	}
+
+	@Test
+	void matrixMatchesTheSqlAndAnswersNextRoleQueries() throws Exception {
+		assertMatchesSql();
+		assertThat(service.count("ST_CLERK", "SA_REP")).isGreaterThanOrEqualTo(3);
+
+		assertThat(service.next("SA_MAN", 1, 5)).isEmpty();
+		assertThat(service.next("ST_CLERK", 1, 1)).extracting(NextRoleDTO::jobId).containsExactly("SA_REP");
+
+		// Two steps from a clerk: every path through SA_REP that moved on reached SA_MAN
+		List<NextRoleDTO> twoSteps = service.next("ST_CLERK", 2, 5);
+		assertThat(twoSteps).extracting(NextRoleDTO::jobId).contains("SA_MAN");
+		assertThat(twoSteps).allSatisfy(role -> assertThat(role.transitions()).isNull());
+
+		double clerkToRep = (double) service.count("ST_CLERK", "SA_REP")
+			/ (service.count("ST_CLERK", "SA_REP") + service.count("ST_CLERK", "AC_ACCOUNT"));
+		double repToManager = (double) service.count("SA_REP", "SA_MAN")
+			/ (service.count("SA_REP", "SA_MAN") + service.count("SA_REP", "ST_CLERK"));
+		assertThat(service.pathProbability(List.of("ST_CLERK", "SA_REP", "SA_MAN")))
+			.isCloseTo(clerkToRep * repToManager, within(1e-12));
+		assertThat(service.pathProbability(List.of("SA_MAN", "ST_CLERK"))).isZero();
+
+		mockMvc.perform(get("/api/job-transitions/next").param("job", "ST_CLERK").param("k", "1"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$[0].jobId").value("SA_REP"));
+		mockMvc.perform(get("/api/job-transitions/path").param("jobs", "ST_CLERK,SA_REP"))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.probability").value(clerkToRep));
+	}
+
+	@Test
+	void jobChangeThroughTheAppUpdatesTheMatrix() throws Exception {
+		assertMatchesSql();
+		int before = service.count("SA_REP", "ST_CLERK");
+
+		Employee employee = employeeRepository.findById(mover).orElseThrow();
+		mockMvc.perform(post("/employees/edit/" + mover)
+				.param("firstName", employee.getFirstName()).param("lastName", employee.getLastName())
+				.param("email", employee.getEmail()).param("hireDate", employee.getHireDate().toString())
+				.param("salary", "5000").param("department", String.valueOf(employee.getDepartment().getDepartmentId()))
+				.param("job", "ST_CLERK"))
+			.andExpect(status().is3xxRedirection());
+		// Stands in for the UPDATE_JOB_HISTORY trigger, which H2 does not have
+		jdbcTemplate.update("INSERT INTO job_history (employee_id, start_date, end_date, job_id, department_id) "
+			+ "VALUES (?, ?, ?, ?, ?)", mover, LocalDate.of(2030, 1, 1), LocalDate.of(2030, 6, 30), "ST_CLERK",
+			employee.getDepartment().getDepartmentId());
+
+		assertThat(service.count("SA_REP", "ST_CLERK")).isEqualTo(before + 1);
+		assertMatchesSql();
+	}
+
+	// Ties in transition_count come back in any order, so compare as sets
+	private void assertMatchesSql() {
+		List<String> expected = jdbcTemplate.query(AnalyticsQuery.JOB_TRANSITIONS.sql(),
+			(rs, i) -> rs.getString(1) + " -> " + rs.getString(2) + ": " + rs.getLong(3));
+		List<Object[]> rows = service.rows();
+		assertThat(expected).isNotEmpty();
+		assertThat(rows).extracting(r -> r[0] + " -> " + r[1] + ": " + r[2])
+			.containsExactlyInAnyOrderElementsOf(expected);
+		for (int i = 1; i < rows.size(); i++) {
+			assertThat(((BigDecimal) rows.get(i - 1)[2]).compareTo((BigDecimal) rows.get(i)[2])).isGreaterThanOrEqualTo(0);
+		}
+	}
+
+	// One employee whose history holds the jobs in order, a year each
+	private Employee history(Department department, String name, Job... jobs) {
+		Employee employee = TestData.employee(entityManager, name, "Career", "5000", jobs[jobs.length - 1], department, null);
+		for (int i = 0; i < jobs.length; i++) {
+			JobHistory row = new JobHistory();
+			row.setEmployee(employee);
+			row.setStartDate(LocalDate.of(2010 + i, 1, 1));
+			row.setEndDate(LocalDate.of(2010 + i, 12, 31));
+			row.setJob(jobs[i]);
+			row.setDepartment(department);
+			entityManager.persist(row);
+		}
+		return employee;
+	}
+}